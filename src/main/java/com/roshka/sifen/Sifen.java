@@ -6,14 +6,40 @@ import com.roshka.sifen.core.beans.EventosDE;
 import com.roshka.sifen.core.beans.ValidezFirmaDigital;
 import com.roshka.sifen.core.beans.response.*;
 import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.resilience.CircuitBreakerListener;
+import com.roshka.sifen.core.resilience.EndpointMetrics;
+import com.roshka.sifen.core.signature.FuenteDE;
+import com.roshka.sifen.core.signature.ResultadoValidacionFirma;
+import com.roshka.sifen.core.signature.ValidacionMasivaFirmas;
+import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.AsyncHelper;
+import com.roshka.sifen.internal.helpers.BulkSignatureHelper;
+import com.roshka.sifen.internal.helpers.CertificateTrustHelper;
+import com.roshka.sifen.internal.helpers.DEXmlHelper;
+import com.roshka.sifen.internal.helpers.ResilienceHelper;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
 import com.roshka.sifen.internal.helpers.SignatureHelper;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.WireCaptureHelper;
 import com.roshka.sifen.internal.request.*;
+import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
 
+import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
@@ -21,8 +47,8 @@ import java.util.logging.Logger;
  */
 public class Sifen {
     private final static Logger logger = Logger.getLogger(Sifen.class.toString());
-    private static SifenConfig sifenConfig = null;
-    private static long dId = 1;
+    private static volatile SifenConfig sifenConfig = null;
+    private static final AtomicLong dId = new AtomicLong(1);
 
     /**
      * Establece la configuración necesaria para el funcionamiento correcto de todas las funcionalidades. Solo
@@ -49,6 +75,79 @@ public class Sifen {
         return sifenConfig;
     }
 
+    /**
+     * Establece el executor en el que se ejecutan las operaciones asíncronas (métodos terminados en <i>Async</i>)
+     * que no reciben un executor como argumento. Si es nulo, se utiliza el executor interno de la librería, o un hilo
+     * virtual por petición si la configuración lo habilita (ver {@link SifenConfig#setUsarHilosVirtuales(boolean)}).
+     *
+     * @param executor Executor a ser utilizado por las operaciones asíncronas.
+     */
+    public static void setEjecutorAsincrono(Executor executor) {
+        AsyncHelper.setDefaultExecutor(executor);
+    }
+
+    /**
+     * Obtiene las métricas de reintentos y el estado del circuito de cada endpoint de Sifen al que se realizaron
+     * peticiones.
+     *
+     * @return La lista de métricas, una por endpoint.
+     */
+    public static List<EndpointMetrics> getMetricasEndpoints() {
+        return ResilienceHelper.getMetrics();
+    }
+
+    /**
+     * Detiene los hilos en segundo plano que guardan las capturas de mensajes, luego de guardar las capturas
+     * pendientes. Se debe invocar al finalizar la aplicación si la captura está habilitada; las peticiones posteriores
+     * vuelven a iniciarlos.
+     *
+     * @param timeoutMillis Tiempo máximo de espera por cada destino de captura, en milisegundos.
+     */
+    public static void detenerCapturas(long timeoutMillis) {
+        try {
+            WireCaptureHelper.shutdown(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Descarta de la memoria el certificado de la configuración recibida (almacén de claves y contexto SSL). Se debe
+     * invocar si el certificado fue reemplazado por otro con la misma ruta y fecha de modificación, o si dejó de
+     * utilizarse.
+     *
+     * @param sifenConfig Configuración cuyo certificado se descarta.
+     */
+    public static void invalidarCertificado(SifenConfig sifenConfig) {
+        SSLContextHelper.invalidate(sifenConfig);
+    }
+
+    /**
+     * Descarta de la memoria todos los certificados cargados, incluyendo las anclas de confianza, las CRL y los
+     * resultados de validación de cadenas de certificados de firmantes.
+     */
+    public static void invalidarCertificados() {
+        SSLContextHelper.invalidateAll();
+        CertificateTrustHelper.invalidateAll();
+    }
+
+    /**
+     * Agrega un listener que es notificado cada vez que el circuito de un endpoint de Sifen cambia de estado (Ej.:
+     * cuando se abre por fallos consecutivos).
+     *
+     * @param listener Listener a ser agregado.
+     */
+    public static void agregarCircuitBreakerListener(CircuitBreakerListener listener) {
+        ResilienceHelper.addListener(listener);
+    }
+
+    /**
+     * @param listener Listener previamente agregado con {@link #agregarCircuitBreakerListener(CircuitBreakerListener)}.
+     */
+    public static void quitarCircuitBreakerListener(CircuitBreakerListener listener) {
+        ResilienceHelper.removeListener(listener);
+    }
+
     /**
      * Realiza una consulta a Sifen y devuelve como resultado los datos y el estado del RUC de un contribuyente.
      *
@@ -90,10 +189,10 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Consulta de RUC'");
-        ReqConsRuc reqConsRuc = new ReqConsRuc(dId++, sifenConfig);
+        ReqConsRuc reqConsRuc = new ReqConsRuc(dId.getAndIncrement(), sifenConfig);
         reqConsRuc.setdRUCCons(ruc);
 
-        return (RespuestaConsultaRUC) reqConsRuc.makeRequest(generationCtx, sifenConfig.getPathConsultaRUC());
+        return (RespuestaConsultaRUC) reqConsRuc.makeRequest(generationCtx);
     }
 
     /**
@@ -138,10 +237,10 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Consulta de DE'");
-        ReqConsDe reqConsDe = new ReqConsDe(dId++, sifenConfig);
+        ReqConsDe reqConsDe = new ReqConsDe(dId.getAndIncrement(), sifenConfig);
         reqConsDe.setdCDC(cdc);
 
-        return (RespuestaConsultaDE) reqConsDe.makeRequest(generationCtx, sifenConfig.getPathConsulta());
+        return (RespuestaConsultaDE) reqConsDe.makeRequest(generationCtx);
     }
 
     /**
@@ -186,10 +285,10 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Consulta de Resultado de Lote de DE'");
-        ReqConsLoteDe reqConsLoteDe = new ReqConsLoteDe(dId++, sifenConfig);
+        ReqConsLoteDe reqConsLoteDe = new ReqConsLoteDe(dId.getAndIncrement(), sifenConfig);
         reqConsLoteDe.setdProtConsLote(nroLote);
 
-        return (RespuestaConsultaLoteDE) reqConsLoteDe.makeRequest(generationCtx, sifenConfig.getPathConsultaLote());
+        return (RespuestaConsultaLoteDE) reqConsLoteDe.makeRequest(generationCtx);
     }
 
     /**
@@ -224,10 +323,73 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Recepción de DE'");
-        ReqRecDe reqRecDe = new ReqRecDe(dId++, sifenConfig);
+        ReqRecDe reqRecDe = new ReqRecDe(dId.getAndIncrement(), sifenConfig);
         reqRecDe.setDE(de);
 
-        return (RespuestaRecepcionDE) reqRecDe.makeRequest(generationCtx, sifenConfig.getPathRecibe());
+        return (RespuestaRecepcionDE) reqRecDe.makeRequest(generationCtx);
+    }
+
+    /**
+     * Realiza un envío a Sifen de un Documento Electrónico ya generado como XML, para su correspondiente aprobación.
+     * El DE se firma y se le agrega el QR tal como fue recibido, sin construir el objeto <i>DocumentoElectronico</i>
+     * ni volver a generar su contenido.
+     *
+     * @param rDE XML del rDE, con el DE completo y sin firmar (si ya tiene una firma o un gCamFuFD, se reemplazan).
+     * @return La respuesta a la consulta proveída por Sifen, en forma de clase.
+     * @throws SifenException Si la configuración de Sifen no fue establecida o, si el XML es inválido o, si la firma
+     *                        digital del DE falla o, si la consulta no pudo ser realizada.
+     */
+    public static RespuestaRecepcionDE recepcionDEDesdeXml(byte[] rDE) throws SifenException {
+        return recepcionDEDesdeXml(rDE, sifenConfig);
+    }
+
+    /**
+     * Realiza un envío a Sifen de un Documento Electrónico ya generado como XML, para su correspondiente aprobación.
+     * El DE se firma y se le agrega el QR tal como fue recibido, sin construir el objeto <i>DocumentoElectronico</i>
+     * ni volver a generar su contenido.
+     *
+     * @param rDE         XML del rDE, con el DE completo y sin firmar (si ya tiene una firma o un gCamFuFD, se reemplazan).
+     * @param sifenConfig Configuración de Sifen a ser utilizada en esta petición.
+     * @return La respuesta a la consulta proveída por Sifen, en forma de clase.
+     * @throws SifenException Si la configuración de Sifen no fue establecida o, si el XML es inválido o, si la firma
+     *                        digital del DE falla o, si la consulta no pudo ser realizada.
+     */
+    public static RespuestaRecepcionDE recepcionDEDesdeXml(byte[] rDE, SifenConfig sifenConfig) throws SifenException {
+        if (sifenConfig == null) {
+            throw SifenExceptionUtil.invalidConfiguration("Falta establecer la configuración de Sifen.");
+        }
+
+        validateConfiguration(sifenConfig);
+        logger.info("Preparando petición 'Recepción de DE'");
+        ReqRecDe reqRecDe = new ReqRecDe(dId.getAndIncrement(), sifenConfig);
+        reqRecDe.setRDEXml(rDE);
+
+        return (RespuestaRecepcionDE) reqRecDe.makeRequest(GenerationCtx.getDefaultFromConfig(sifenConfig));
+    }
+
+    /**
+     * Firma un Documento Electrónico ya generado como XML y le agrega el QR, sin enviarlo a Sifen ni construir el
+     * objeto <i>DocumentoElectronico</i>.
+     *
+     * @param rDE         XML del rDE, con el DE completo y sin firmar (si ya tiene una firma o un gCamFuFD, se reemplazan).
+     * @param sifenConfig Configuración de Sifen, de la que se obtienen el certificado y el CSC.
+     * @return El XML del rDE firmado.
+     * @throws SifenException Si la configuración de Sifen no fue establecida o, si el XML es inválido o, si la firma
+     *                        digital del DE falla.
+     */
+    public static String firmarDEDesdeXml(byte[] rDE, SifenConfig sifenConfig) throws SifenException {
+        if (sifenConfig == null) {
+            throw SifenExceptionUtil.invalidConfiguration("Falta establecer la configuración de Sifen.");
+        }
+
+        validateConfiguration(sifenConfig);
+        try {
+            SOAPElement xDE = SoapHelper.createSoapMessage().getSOAPBody()
+                    .addBodyElement(new QName(Constants.SIFEN_NS_URI, "xDE"));
+            return ResponseUtil.getXmlFromNode(DEXmlHelper.appendSignedRDE(xDE, rDE, sifenConfig));
+        } catch (SOAPException e) {
+            throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al preparar el documento a firmar", e);
+        }
     }
 
     /**
@@ -275,10 +437,10 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Recepción de Lote de DE'");
-        ReqRecLoteDe reqRecLoteDe = new ReqRecLoteDe(dId++, sifenConfig);
+        ReqRecLoteDe reqRecLoteDe = new ReqRecLoteDe(dId.getAndIncrement(), sifenConfig);
         reqRecLoteDe.setDEList(deList);
 
-        return (RespuestaRecepcionLoteDE) reqRecLoteDe.makeRequest(generationCtx, sifenConfig.getPathRecibeLote());
+        return (RespuestaRecepcionLoteDE) reqRecLoteDe.makeRequest(generationCtx);
     }
 
     /**
@@ -315,10 +477,244 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Recepción de Eventos'");
-        ReqRecEventoDe reqRecEventoDe = new ReqRecEventoDe(dId++, sifenConfig);
+        ReqRecEventoDe reqRecEventoDe = new ReqRecEventoDe(dId.getAndIncrement(), sifenConfig);
         reqRecEventoDe.setEventoDE(eventosDE);
 
-        return (RespuestaRecepcionEvento) reqRecEventoDe.makeRequest(generationCtx, sifenConfig.getPathEvento());
+        return (RespuestaRecepcionEvento) reqRecEventoDe.makeRequest(generationCtx);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta de RUC, utilizando la configuración establecida y el executor por defecto. Equivalente a
+     * {@link #consultaRUC(String)}.
+     *
+     * @param ruc RUC de un contribuyente a ser consultado en Sifen, sin el DV.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaRUC> consultaRUCAsync(String ruc) {
+        return consultaRUCAsync(ruc, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta de RUC, utilizando el executor por defecto. Equivalente a
+     * {@link #consultaRUC(String, SifenConfig)}.
+     *
+     * @param ruc RUC de un contribuyente a ser consultado en Sifen, sin el DV.
+     * @param sifenConfig Configuración de Sifen a ser utilizada en esta petición.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaRUC> consultaRUCAsync(String ruc, SifenConfig sifenConfig) {
+        return AsyncHelper.supplyAsync(() -> consultaRUC(ruc, sifenConfig), null, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta de RUC. Equivalente a {@link #consultaRUC(String, SifenConfig, GenerationCtx)}.
+     *
+     * @param ruc           RUC de un contribuyente a ser consultado en Sifen, sin el DV.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en esta petición.
+     * @param generationCtx Contexto de generación de la petición.
+     * @param executor      Executor en el que se ejecuta la petición. Si es nulo, se utiliza el executor por defecto.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaRUC> consultaRUCAsync(String ruc, SifenConfig sifenConfig, GenerationCtx generationCtx, Executor executor) {
+        return AsyncHelper.supplyAsync(() -> consultaRUC(ruc, sifenConfig, generationCtx), executor, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta de un Documento Electrónico, utilizando la configuración establecida y el executor por defecto. Equivalente a
+     * {@link #consultaDE(String)}.
+     *
+     * @param cdc Código de Control, que es el identificador único de un Documento Electrónico.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaDE> consultaDEAsync(String cdc) {
+        return consultaDEAsync(cdc, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta de un Documento Electrónico, utilizando el executor por defecto. Equivalente a
+     * {@link #consultaDE(String, SifenConfig)}.
+     *
+     * @param cdc Código de Control, que es el identificador único de un Documento Electrónico.
+     * @param sifenConfig Configuración de Sifen a ser utilizada en esta petición.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaDE> consultaDEAsync(String cdc, SifenConfig sifenConfig) {
+        return AsyncHelper.supplyAsync(() -> consultaDE(cdc, sifenConfig), null, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta de un Documento Electrónico. Equivalente a {@link #consultaDE(String, SifenConfig, GenerationCtx)}.
+     *
+     * @param cdc           Código de Control, que es el identificador único de un Documento Electrónico.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en esta petición.
+     * @param generationCtx Contexto de generación de la petición.
+     * @param executor      Executor en el que se ejecuta la petición. Si es nulo, se utiliza el executor por defecto.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaDE> consultaDEAsync(String cdc, SifenConfig sifenConfig, GenerationCtx generationCtx, Executor executor) {
+        return AsyncHelper.supplyAsync(() -> consultaDE(cdc, sifenConfig, generationCtx), executor, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta del estado de un lote, utilizando la configuración establecida y el executor por defecto. Equivalente a
+     * {@link #consultaLoteDE(String)}.
+     *
+     * @param nroLote Número de Lote recibido como respuesta en el envío del mismo.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaLoteDE> consultaLoteDEAsync(String nroLote) {
+        return consultaLoteDEAsync(nroLote, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta del estado de un lote, utilizando el executor por defecto. Equivalente a
+     * {@link #consultaLoteDE(String, SifenConfig)}.
+     *
+     * @param nroLote Número de Lote recibido como respuesta en el envío del mismo.
+     * @param sifenConfig Configuración de Sifen a ser utilizada en esta petición.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaLoteDE> consultaLoteDEAsync(String nroLote, SifenConfig sifenConfig) {
+        return AsyncHelper.supplyAsync(() -> consultaLoteDE(nroLote, sifenConfig), null, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona la consulta del estado de un lote. Equivalente a {@link #consultaLoteDE(String, SifenConfig, GenerationCtx)}.
+     *
+     * @param nroLote       Número de Lote recibido como respuesta en el envío del mismo.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en esta petición.
+     * @param generationCtx Contexto de generación de la petición.
+     * @param executor      Executor en el que se ejecuta la petición. Si es nulo, se utiliza el executor por defecto.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaConsultaLoteDE> consultaLoteDEAsync(String nroLote, SifenConfig sifenConfig, GenerationCtx generationCtx, Executor executor) {
+        return AsyncHelper.supplyAsync(() -> consultaLoteDE(nroLote, sifenConfig, generationCtx), executor, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de un Documento Electrónico, utilizando la configuración establecida y el executor por defecto. Equivalente a
+     * {@link #recepcionDE(DocumentoElectronico)}.
+     *
+     * @param de Objeto que hace referencia a un Documento Electrónico, con todos sus datos.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionDE> recepcionDEAsync(DocumentoElectronico de) {
+        return recepcionDEAsync(de, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de un Documento Electrónico, utilizando el executor por defecto. Equivalente a
+     * {@link #recepcionDE(DocumentoElectronico, SifenConfig)}.
+     *
+     * @param de Objeto que hace referencia a un Documento Electrónico, con todos sus datos.
+     * @param sifenConfig Configuración de Sifen a ser utilizada en esta petición.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionDE> recepcionDEAsync(DocumentoElectronico de, SifenConfig sifenConfig) {
+        return AsyncHelper.supplyAsync(() -> recepcionDE(de, sifenConfig), null, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de un Documento Electrónico. Equivalente a {@link #recepcionDE(DocumentoElectronico, SifenConfig, GenerationCtx)}.
+     *
+     * @param de            Objeto que hace referencia a un Documento Electrónico, con todos sus datos.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en esta petición.
+     * @param generationCtx Contexto de generación de la petición.
+     * @param executor      Executor en el que se ejecuta la petición. Si es nulo, se utiliza el executor por defecto.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionDE> recepcionDEAsync(DocumentoElectronico de, SifenConfig sifenConfig, GenerationCtx generationCtx, Executor executor) {
+        return AsyncHelper.supplyAsync(() -> recepcionDE(de, sifenConfig, generationCtx), executor, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de un lote de Documentos Electrónicos, utilizando la configuración establecida y el executor por defecto. Equivalente a
+     * {@link #recepcionLoteDE(List)}.
+     *
+     * @param deList Listado de los objetos que hacen referencia a los Documentos Electrónicos, con todos los datos.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionLoteDE> recepcionLoteDEAsync(List<DocumentoElectronico> deList) {
+        return recepcionLoteDEAsync(deList, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de un lote de Documentos Electrónicos, utilizando el executor por defecto. Equivalente a
+     * {@link #recepcionLoteDE(List, SifenConfig)}.
+     *
+     * @param deList Listado de los objetos que hacen referencia a los Documentos Electrónicos, con todos los datos.
+     * @param sifenConfig Configuración de Sifen a ser utilizada en esta petición.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionLoteDE> recepcionLoteDEAsync(List<DocumentoElectronico> deList, SifenConfig sifenConfig) {
+        return AsyncHelper.supplyAsync(() -> recepcionLoteDE(deList, sifenConfig), null, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de un lote de Documentos Electrónicos. Equivalente a {@link #recepcionLoteDE(List, SifenConfig, GenerationCtx)}.
+     *
+     * @param deList        Listado de los objetos que hacen referencia a los Documentos Electrónicos, con todos los datos.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en esta petición.
+     * @param generationCtx Contexto de generación de la petición.
+     * @param executor      Executor en el que se ejecuta la petición. Si es nulo, se utiliza el executor por defecto.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionLoteDE> recepcionLoteDEAsync(List<DocumentoElectronico> deList, SifenConfig sifenConfig, GenerationCtx generationCtx, Executor executor) {
+        return AsyncHelper.supplyAsync(() -> recepcionLoteDE(deList, sifenConfig, generationCtx), executor, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de eventos, utilizando la configuración establecida y el executor por defecto. Equivalente a
+     * {@link #recepcionEvento(EventosDE)}.
+     *
+     * @param eventosDE Objeto que contiene el listado de eventos a ser enviados a Sifen.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionEvento> recepcionEventoAsync(EventosDE eventosDE) {
+        return recepcionEventoAsync(eventosDE, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de eventos, utilizando el executor por defecto. Equivalente a
+     * {@link #recepcionEvento(EventosDE, SifenConfig)}.
+     *
+     * @param eventosDE Objeto que contiene el listado de eventos a ser enviados a Sifen.
+     * @param sifenConfig Configuración de Sifen a ser utilizada en esta petición.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionEvento> recepcionEventoAsync(EventosDE eventosDE, SifenConfig sifenConfig) {
+        return AsyncHelper.supplyAsync(() -> recepcionEvento(eventosDE, sifenConfig), null, sifenConfig);
+    }
+
+    /**
+     * Realiza de forma asíncrona el envío de eventos. Equivalente a {@link #recepcionEvento(EventosDE, SifenConfig, GenerationCtx)}.
+     *
+     * @param eventosDE     Objeto que contiene el listado de eventos a ser enviados a Sifen.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en esta petición.
+     * @param generationCtx Contexto de generación de la petición.
+     * @param executor      Executor en el que se ejecuta la petición. Si es nulo, se utiliza el executor por defecto.
+     * @return Futuro que se completa con la respuesta de Sifen, o con la misma {@link SifenException} que lanzaría la
+     * llamada síncrona.
+     */
+    public static CompletableFuture<RespuestaRecepcionEvento> recepcionEventoAsync(EventosDE eventosDE, SifenConfig sifenConfig, GenerationCtx generationCtx, Executor executor) {
+        return AsyncHelper.supplyAsync(() -> recepcionEvento(eventosDE, sifenConfig, generationCtx), executor, sifenConfig);
     }
 
     /**
@@ -329,7 +725,7 @@ public class Sifen {
      * motivo en caso de que no lo sea, y los datos del sujeto encontrados en el certificado.
      */
     public static ValidezFirmaDigital validarFirmaDEDesdeXml(String xml) {
-        return SignatureHelper.validateSignature(xml, "XML");
+        return SignatureHelper.validateSignature(xml, "XML", sifenConfig);
     }
 
     /**
@@ -340,7 +736,7 @@ public class Sifen {
      * motivo en caso de que no lo sea, y los datos del sujeto encontrados en el certificado.
      */
     public static ValidezFirmaDigital validarFirmaDE(String rutaArchivo) {
-        return SignatureHelper.validateSignature(rutaArchivo, "PATH");
+        return SignatureHelper.validateSignature(rutaArchivo, "PATH", sifenConfig);
     }
 
     /**
@@ -351,7 +747,108 @@ public class Sifen {
      * motivo en caso de que no lo sea, y los datos del sujeto encontrados en el certificado.
      */
     public static ValidezFirmaDigital validarFirmaDE(File archivoXml) {
-        return SignatureHelper.validateSignature(archivoXml);
+        return SignatureHelper.validateSignature(archivoXml, sifenConfig);
+    }
+
+    /**
+     * Verifica si la firma digital del Documento Electrónico recibido como argumento es válida. La verificación se
+     * realiza completamente en memoria, sin crear archivos temporales.
+     *
+     * @param xml Bytes del Documento Electrónico a validar, en formato XML.
+     * @return Instancia del objeto <i>ValidezFirmaDigital</i>, especificando si la firma es válida, el
+     * motivo en caso de que no lo sea, y los datos del sujeto encontrados en el certificado.
+     */
+    public static ValidezFirmaDigital validarFirmaDE(byte[] xml) {
+        return SignatureHelper.validateSignature(xml, sifenConfig);
+    }
+
+    /**
+     * Verifica si la firma digital del Documento Electrónico recibido como argumento es válida. La verificación se
+     * realiza completamente en memoria, sin crear archivos temporales. El stream no se cierra.
+     *
+     * @param xml Stream del que se lee el Documento Electrónico a validar, en formato XML.
+     * @return Instancia del objeto <i>ValidezFirmaDigital</i>, especificando si la firma es válida, el
+     * motivo en caso de que no lo sea, y los datos del sujeto encontrados en el certificado.
+     */
+    public static ValidezFirmaDigital validarFirmaDE(InputStream xml) {
+        return SignatureHelper.validateSignature(xml, sifenConfig);
+    }
+
+    /**
+     * Verifica si la firma digital del Documento Electrónico recibido como argumento es válida. La verificación se
+     * realiza completamente en memoria, sobre el contenido restante del buffer y sin modificar su posición.
+     *
+     * @param xml Buffer con el Documento Electrónico a validar, en formato XML.
+     * @return Instancia del objeto <i>ValidezFirmaDigital</i>, especificando si la firma es válida, el
+     * motivo en caso de que no lo sea, y los datos del sujeto encontrados en el certificado.
+     */
+    public static ValidezFirmaDigital validarFirmaDE(ByteBuffer xml) {
+        return SignatureHelper.validateSignature(xml, sifenConfig);
+    }
+
+    /**
+     * Valida las firmas digitales de los Documentos Electrónicos (archivos .xml) de un directorio, sin incluir
+     * subdirectorios, o de un archivo ZIP. Los documentos se validan en paralelo, utilizando tantos hilos como
+     * procesadores, y cada certificado de firmante distinto se procesa una sola vez.
+     *
+     * @param directorioOZip Directorio o archivo ZIP que contiene los Documentos Electrónicos.
+     * @param consumidor     Recibe el resultado de cada documento a medida que se valida. Se invoca de a un resultado
+     *                       por vez, desde los hilos de validación, por lo que no debe bloquear.
+     * @return Validación en curso, desde la que se obtienen los contadores y el futuro que se completa al terminar.
+     * @throws SifenException Si no se pudo abrir el directorio o el archivo ZIP.
+     */
+    public static ValidacionMasivaFirmas validarFirmasDE(Path directorioOZip, Consumer<ResultadoValidacionFirma> consumidor) throws SifenException {
+        return validarFirmasDE(directorioOZip, consumidor, 0, null);
+    }
+
+    /**
+     * Valida las firmas digitales de los Documentos Electrónicos (archivos .xml) de un directorio, sin incluir
+     * subdirectorios, o de un archivo ZIP. Los documentos se validan en paralelo, y cada certificado de firmante
+     * distinto se procesa una sola vez.
+     *
+     * @param directorioOZip Directorio o archivo ZIP que contiene los Documentos Electrónicos.
+     * @param consumidor     Recibe el resultado de cada documento a medida que se valida. Se invoca de a un resultado
+     *                       por vez, desde los hilos de validación, por lo que no debe bloquear.
+     * @param paralelismo    Cantidad máxima de documentos validados a la vez. Si es menor a 1, se utiliza la cantidad
+     *                       de procesadores.
+     * @param executor       Executor en el que se validan los documentos. Si es nulo, se utiliza el executor por defecto.
+     * @return Validación en curso, desde la que se obtienen los contadores y el futuro que se completa al terminar.
+     * @throws SifenException Si no se pudo abrir el directorio o el archivo ZIP.
+     */
+    public static ValidacionMasivaFirmas validarFirmasDE(Path directorioOZip, Consumer<ResultadoValidacionFirma> consumidor, int paralelismo, Executor executor) throws SifenException {
+        return BulkSignatureHelper.validate(directorioOZip, consumidor, paralelismo, executor, sifenConfig);
+    }
+
+    /**
+     * Valida las firmas digitales de los Documentos Electrónicos de las fuentes recibidas. Los documentos se validan
+     * en paralelo, utilizando tantos hilos como procesadores, y cada certificado de firmante distinto se procesa una
+     * sola vez.
+     *
+     * @param fuentes    Fuentes de los Documentos Electrónicos. Se recorren desde los hilos de validación, de a un
+     *                   elemento por vez.
+     * @param consumidor Recibe el resultado de cada documento a medida que se valida. Se invoca de a un resultado por
+     *                   vez, desde los hilos de validación, por lo que no debe bloquear.
+     * @return Validación en curso, desde la que se obtienen los contadores y el futuro que se completa al terminar.
+     */
+    public static ValidacionMasivaFirmas validarFirmasDE(Iterator<FuenteDE> fuentes, Consumer<ResultadoValidacionFirma> consumidor) {
+        return validarFirmasDE(fuentes, consumidor, 0, null);
+    }
+
+    /**
+     * Valida las firmas digitales de los Documentos Electrónicos de las fuentes recibidas. Los documentos se validan
+     * en paralelo, y cada certificado de firmante distinto se procesa una sola vez.
+     *
+     * @param fuentes     Fuentes de los Documentos Electrónicos. Se recorren desde los hilos de validación, de a un
+     *                    elemento por vez.
+     * @param consumidor  Recibe el resultado de cada documento a medida que se valida. Se invoca de a un resultado por
+     *                    vez, desde los hilos de validación, por lo que no debe bloquear.
+     * @param paralelismo Cantidad máxima de documentos validados a la vez. Si es menor a 1, se utiliza la cantidad de
+     *                    procesadores.
+     * @param executor    Executor en el que se validan los documentos. Si es nulo, se utiliza el executor por defecto.
+     * @return Validación en curso, desde la que se obtienen los contadores y el futuro que se completa al terminar.
+     */
+    public static ValidacionMasivaFirmas validarFirmasDE(Iterator<FuenteDE> fuentes, Consumer<ResultadoValidacionFirma> consumidor, int paralelismo, Executor executor) {
+        return BulkSignatureHelper.validate(fuentes, null, consumidor, paralelismo, executor, sifenConfig);
     }
 
     private static void validateConfiguration(SifenConfig sifenConfig) throws SifenException {
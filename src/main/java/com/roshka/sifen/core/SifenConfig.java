@@ -1,5 +1,6 @@
 package com.roshka.sifen.core;
 
+import com.roshka.sifen.core.capture.WireCaptureSink;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
@@ -10,6 +11,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 import static com.roshka.sifen.internal.Constants.SDK_CURRENT_VERSION;
 
@@ -34,6 +37,85 @@ import static com.roshka.sifen.internal.Constants.SDK_CURRENT_VERSION;
  *
  *      <li>tipoCertificadoCliente (TipoCertificadoCliente): Tipo de archivo del certificado. Solo PFX es soportado
  *      actualmente.</li>
+ *
+ *      <li>certificadosCacheMax (int): Cantidad máxima de certificados (almacén de claves y contexto SSL) que se
+ *      mantienen cargados en memoria. Al superarla, se descartan los usados menos recientemente. Por defecto 32.</li>
+ *
+ *      <li>httpKeepAlive (Boolean): Define si las conexiones HTTPS hacia Sifen se mantienen abiertas (keep-alive) y se
+ *      reutilizan entre peticiones, evitando repetir el handshake TCP y mTLS en cada llamada. Por defecto true.</li>
+ *
+ *      <li>httpMaxConexionesPorHost (int): Cantidad máxima de conexiones simultáneas por endpoint de Sifen. El caché
+ *      keep-alive del JDK solo conserva para su reutilización hasta http.maxConnections conexiones por destino (5 por
+ *      defecto).</li>
+ *
+ *      <li>httpTiempoMaxInactividad (int): Tiempo máximo, en milisegundos, que una conexión puede quedar inactiva
+ *      antes de ser descartada del pool.</li>
+ *
+ *      <li>tlsTiempoSesion (int): Tiempo, en segundos, durante el cual una sesión TLS puede ser reanudada sin un
+ *      handshake completo.</li>
+ *
+ *      <li>usarHilosVirtuales (Boolean): Si es true y la JVM es Java 21+, las operaciones asíncronas de Sifen se
+ *      ejecutan en un hilo virtual por petición, en lugar del executor interno de la librería. Por defecto false.</li>
+ *
+ *      <li>guardarRespuestaBruta (Boolean): Define si se conserva el XML recibido de Sifen en la respuesta
+ *      (respuestaBruta). Si es false, la respuesta se procesa directamente desde la conexión, sin copiarla en memoria,
+ *      y respuestaBruta queda nula. Las respuestas con error HTTP siempre se conservan. Por defecto true.</li>
+ *
+ *      <li>capturaHabilitada (Boolean): Define si se capturan los mensajes intercambiados con Sifen, con fines de
+ *      depuración. Las capturas se escriben en segundo plano, sin demorar las peticiones. Por defecto false.</li>
+ *
+ *      <li>capturaTasaMuestreo (double): Proporción de peticiones a capturar, entre 0 y 1. Por defecto 1.</li>
+ *
+ *      <li>capturaSoloErrores (Boolean): Si es true, solo se capturan las peticiones que terminaron con error.</li>
+ *
+ *      <li>capturaDirectorio (String), capturaMaxArchivos (int): Directorio en el que se guardan las capturas, y
+ *      cantidad máxima de archivos a conservar en él. No se utilizan si se establece un capturaSink.</li>
+ *
+ *      <li>capturaCapacidad (int): Cantidad máxima de capturas pendientes de escritura. Al superarla, las capturas
+ *      nuevas se descartan.</li>
+ *
+ *      <li>capturaSink (WireCaptureSink): Destino personalizado de las capturas. Solo se puede establecer por
+ *      código.</li>
+ *
+ *      <li>reintentosMax (int): Cantidad máxima de reintentos ante errores transitorios (E/S o HTTP 429/502/503/504).
+ *      Las consultas y la recepción de un DE (identificado por su CDC) se reintentan siempre; la recepción de lotes y
+ *      de eventos, solo si el mensaje no llegó a enviarse. Por defecto 2.</li>
+ *
+ *      <li>reintentosEsperaInicial, reintentosEsperaMax (int): Espera, en milisegundos, antes del primer reintento y
+ *      máxima entre reintentos. La espera crece exponencialmente y se elige al azar hasta ese valor.</li>
+ *
+ *      <li>circuitoUmbralFallos (int): Cantidad de fallos transitorios consecutivos que abren el circuito de un
+ *      endpoint. Mientras el circuito está abierto, las peticiones fallan sin ser enviadas. Con 0 se deshabilita.</li>
+ *
+ *      <li>circuitoTiempoAbierto (int): Tiempo, en milisegundos, que el circuito permanece abierto antes de permitir
+ *      una petición de prueba.</li>
+ *
+ *      <li>loteParalelo (Boolean): Si es true, los DE de un lote se preparan y firman en paralelo, uno por hilo. El XML
+ *      del lote es idéntico al generado secuencialmente. Por defecto false.</li>
+ *
+ *      <li>loteEjecutor (Executor): Executor en el que se preparan los DE de un lote en paralelo. Si es nulo, se
+ *      utiliza el ForkJoinPool común. Solo se puede establecer por código.</li>
+ *
+ *      <li>loteNivelCompresion (int): Nivel de compresión del zip de un lote, de 0 (sin compresión) a 9 (máxima
+ *      compresión), o -1 para el nivel por defecto. Por defecto -1.</li>
+ *
+ *      <li>firmaValidarCadena (Boolean): Si es true, al validar la firma de un DE también se verifica que el certificado
+ *      del firmante tenga una cadena válida hasta una de las anclas de confianza y, si se configuraron CRL, que no esté
+ *      revocado. Aplica a la configuración establecida con Sifen.setSifenConfig. Por defecto false.</li>
+ *
+ *      <li>firmaAnclasConfianza (String): Rutas, separadas por coma, de los archivos con los certificados de las CA de
+ *      confianza (PEM o DER). Los certificados que no son autofirmados se utilizan como intermedios.</li>
+ *
+ *      <li>firmaCrls (String): Rutas, separadas por coma, de los archivos con las CRL a consultar. Si es vacío, no se
+ *      verifica la revocación. Los archivos se vuelven a leer cuando cambian; los cambios se detectan a más tardar luego
+ *      del tiempo firmaCadenaTtl.</li>
+ *
+ *      <li>firmaCadenaTtl (int): Tiempo, en segundos, durante el cual se reutiliza el resultado de la validación de la
+ *      cadena de un certificado. Por defecto 3600 (1 hora).</li>
+ *
+ *      <li>generacionXmlStreaming (Boolean): Si es true, el XML de los DE se genera con un escritor de XML, sin crear
+ *      un nodo SAAJ por campo, y solo el rDE terminado se carga como DOM para firmarlo. La firma y el QR son idénticos
+ *      a los de la generación por defecto. Por defecto false.</li>
  * </ul>
  */
 public class SifenConfig {
@@ -79,6 +161,8 @@ public class SifenConfig {
     private String certificadoCliente;
     private static final String SIFEN_PASSWORD_CERTIFICADO_CLIENTE_KEY = "sifen.certificado_cliente.contrasena";
     private String contrasenaCertificadoCliente;
+    private static final String SIFEN_CERTIFICADOS_CACHE_MAX_KEY = "sifen.certificado_cliente.cache_max";
+    private int certificadosCacheMax;
 
     private static final String SIFEN_ID_CSC_KEY = "sifen.csc.id";
     private String idCSC;
@@ -89,6 +173,64 @@ public class SifenConfig {
     private final int httpReadTimeout;
     private final String userAgent;
 
+    private static final String SIFEN_HTTP_KEEP_ALIVE_KEY = "sifen.http.keep_alive";
+    private boolean httpKeepAlive;
+    private static final String SIFEN_HTTP_MAX_CONEXIONES_POR_HOST_KEY = "sifen.http.max_conexiones_por_host";
+    private int httpMaxConexionesPorHost;
+    private static final String SIFEN_HTTP_TIEMPO_MAX_INACTIVIDAD_KEY = "sifen.http.tiempo_max_inactividad";
+    private int httpTiempoMaxInactividad;
+    private static final String SIFEN_TLS_TIEMPO_SESION_KEY = "sifen.tls.tiempo_sesion";
+    private int tlsTiempoSesion;
+
+    private static final String SIFEN_ASYNC_HILOS_VIRTUALES_KEY = "sifen.async.hilos_virtuales";
+    private boolean usarHilosVirtuales;
+
+    private static final String SIFEN_RESPUESTA_GUARDAR_BRUTA_KEY = "sifen.respuesta.guardar_bruta";
+    private boolean guardarRespuestaBruta;
+
+    private static final String SIFEN_CAPTURA_HABILITADA_KEY = "sifen.captura.habilitada";
+    private boolean capturaHabilitada;
+    private static final String SIFEN_CAPTURA_TASA_MUESTREO_KEY = "sifen.captura.tasa_muestreo";
+    private double capturaTasaMuestreo;
+    private static final String SIFEN_CAPTURA_SOLO_ERRORES_KEY = "sifen.captura.solo_errores";
+    private boolean capturaSoloErrores;
+    private static final String SIFEN_CAPTURA_DIRECTORIO_KEY = "sifen.captura.directorio";
+    private String capturaDirectorio;
+    private static final String SIFEN_CAPTURA_MAX_ARCHIVOS_KEY = "sifen.captura.max_archivos";
+    private int capturaMaxArchivos;
+    private static final String SIFEN_CAPTURA_CAPACIDAD_KEY = "sifen.captura.capacidad";
+    private int capturaCapacidad;
+    private WireCaptureSink capturaSink;
+
+    private static final String SIFEN_REINTENTOS_MAX_KEY = "sifen.reintentos.max";
+    private int reintentosMax;
+    private static final String SIFEN_REINTENTOS_ESPERA_INICIAL_KEY = "sifen.reintentos.espera_inicial";
+    private int reintentosEsperaInicial;
+    private static final String SIFEN_REINTENTOS_ESPERA_MAX_KEY = "sifen.reintentos.espera_max";
+    private int reintentosEsperaMax;
+    private static final String SIFEN_CIRCUITO_UMBRAL_FALLOS_KEY = "sifen.circuito.umbral_fallos";
+    private int circuitoUmbralFallos;
+    private static final String SIFEN_CIRCUITO_TIEMPO_ABIERTO_KEY = "sifen.circuito.tiempo_abierto";
+    private int circuitoTiempoAbierto;
+
+    private static final String SIFEN_LOTE_PARALELO_KEY = "sifen.lote.paralelo";
+    private boolean loteParalelo;
+    private Executor loteEjecutor;
+    private static final String SIFEN_LOTE_NIVEL_COMPRESION_KEY = "sifen.lote.nivel_compresion";
+    private int loteNivelCompresion;
+
+    private static final String SIFEN_FIRMA_VALIDAR_CADENA_KEY = "sifen.firma.validar_cadena";
+    private boolean firmaValidarCadena;
+    private static final String SIFEN_FIRMA_ANCLAS_CONFIANZA_KEY = "sifen.firma.anclas_confianza";
+    private String firmaAnclasConfianza;
+    private static final String SIFEN_FIRMA_CRLS_KEY = "sifen.firma.crls";
+    private String firmaCrls;
+    private static final String SIFEN_FIRMA_CADENA_TTL_KEY = "sifen.firma.cadena_ttl";
+    private int firmaCadenaTtl;
+
+    private static final String SIFEN_XML_GENERACION_STREAMING_KEY = "sifen.xml.generacion_streaming";
+    private boolean generacionXmlStreaming;
+
     // Valores Finales
     private final String URL_BASE_DEV = "https://sifen-test.set.gov.py";
     private final String URL_BASE_PROD = "https://sifen.set.gov.py";
@@ -109,6 +251,7 @@ public class SifenConfig {
         this.pathConsultaRUC = "/de/ws/consultas/consulta-ruc";
 this.pathConsulta = "/de/ws/consultas/consulta";
         this.usarCertificadoCliente = true;
+        this.certificadosCacheMax = 32;
 
         this.idCSC = "0002";
         this.CSC = "EFGH0000000000000000000000000000";
@@ -117,6 +260,32 @@ this.pathConsulta = "/de/ws/consultas/consulta";
         this.httpReadTimeout = 45 * 1000; // 45 Segundos
         this.userAgent = "rshk-jsifenlib" + "/" + SDK_CURRENT_VERSION + " (LVEA)";
 
+        this.httpKeepAlive = true;
+        this.httpMaxConexionesPorHost = 5;
+        this.httpTiempoMaxInactividad = 5 * 1000; // 5 Segundos
+        this.tlsTiempoSesion = 24 * 60 * 60; // 24 Horas
+        this.usarHilosVirtuales = false;
+        this.guardarRespuestaBruta = true;
+
+        this.capturaHabilitada = false;
+        this.capturaTasaMuestreo = 1;
+        this.capturaSoloErrores = false;
+        this.capturaDirectorio = "build/tmp/sifen";
+        this.capturaMaxArchivos = 1000;
+        this.capturaCapacidad = 256;
+
+        this.reintentosMax = 2;
+        this.reintentosEsperaInicial = 200; // 200 Milisegundos
+        this.reintentosEsperaMax = 5 * 1000; // 5 Segundos
+        this.circuitoUmbralFallos = 5;
+        this.circuitoTiempoAbierto = 30 * 1000; // 30 Segundos
+        this.loteParalelo = false;
+        this.loteNivelCompresion = Deflater.DEFAULT_COMPRESSION;
+
+        this.firmaValidarCadena = false;
+        this.firmaCadenaTtl = 60 * 60; // 1 Hora
+        this.generacionXmlStreaming = false;
+
         this.habilitarNotaTecnica13 = false;
     }
 
@@ -172,6 +341,14 @@ this.pathConsulta = "/de/ws/consultas/consulta";
         sifenConfig.setCertificadoCliente(propiedades.getProperty(SIFEN_ARCHIVO_CERTIFICADO_CLIENTE_KEY));
         sifenConfig.setContrasenaCertificadoCliente(propiedades.getProperty(SIFEN_PASSWORD_CERTIFICADO_CLIENTE_KEY));
 
+        if (propiedades.containsKey(SIFEN_CERTIFICADOS_CACHE_MAX_KEY)) {
+            try {
+                sifenConfig.setCertificadosCacheMax(Integer.parseInt(propiedades.getProperty(SIFEN_CERTIFICADOS_CACHE_MAX_KEY).trim()));
+            } catch (NumberFormatException e) {
+                throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_CERTIFICADOS_CACHE_MAX_KEY + " debe ser un valor numérico entero.", e);
+            }
+        }
+
         if (propiedades.containsKey(SIFEN_CSC_KEY)) {
             sifenConfig.setCSC(propiedades.getProperty(SIFEN_CSC_KEY));
         }
@@ -186,6 +363,119 @@ this.pathConsulta = "/de/ws/consultas/consulta";
             throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_HABILITAR_NOTA_TECNICA_13_KEY + " no es válido.", e);
         }
 
+        if (propiedades.containsKey(SIFEN_HTTP_KEEP_ALIVE_KEY)) {
+            sifenConfig.setHttpKeepAlive(Boolean.parseBoolean(propiedades.getProperty(SIFEN_HTTP_KEEP_ALIVE_KEY)));
+        }
+
+        if (propiedades.containsKey(SIFEN_ASYNC_HILOS_VIRTUALES_KEY)) {
+            sifenConfig.setUsarHilosVirtuales(Boolean.parseBoolean(propiedades.getProperty(SIFEN_ASYNC_HILOS_VIRTUALES_KEY)));
+        }
+
+        if (propiedades.containsKey(SIFEN_RESPUESTA_GUARDAR_BRUTA_KEY)) {
+            sifenConfig.setGuardarRespuestaBruta(Boolean.parseBoolean(propiedades.getProperty(SIFEN_RESPUESTA_GUARDAR_BRUTA_KEY)));
+        }
+
+        try {
+            if (propiedades.containsKey(SIFEN_HTTP_MAX_CONEXIONES_POR_HOST_KEY)) {
+                sifenConfig.setHttpMaxConexionesPorHost(Integer.parseInt(propiedades.getProperty(SIFEN_HTTP_MAX_CONEXIONES_POR_HOST_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_HTTP_TIEMPO_MAX_INACTIVIDAD_KEY)) {
+                sifenConfig.setHttpTiempoMaxInactividad(Integer.parseInt(propiedades.getProperty(SIFEN_HTTP_TIEMPO_MAX_INACTIVIDAD_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_TLS_TIEMPO_SESION_KEY)) {
+                sifenConfig.setTlsTiempoSesion(Integer.parseInt(propiedades.getProperty(SIFEN_TLS_TIEMPO_SESION_KEY).trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw SifenExceptionUtil.invalidConfiguration("Los parámetros de conexión HTTP/TLS deben ser valores numéricos enteros.", e);
+        }
+
+        if (propiedades.containsKey(SIFEN_CAPTURA_HABILITADA_KEY)) {
+            sifenConfig.setCapturaHabilitada(Boolean.parseBoolean(propiedades.getProperty(SIFEN_CAPTURA_HABILITADA_KEY)));
+        }
+
+        if (propiedades.containsKey(SIFEN_CAPTURA_SOLO_ERRORES_KEY)) {
+            sifenConfig.setCapturaSoloErrores(Boolean.parseBoolean(propiedades.getProperty(SIFEN_CAPTURA_SOLO_ERRORES_KEY)));
+        }
+
+        if (propiedades.containsKey(SIFEN_CAPTURA_DIRECTORIO_KEY)) {
+            sifenConfig.setCapturaDirectorio(propiedades.getProperty(SIFEN_CAPTURA_DIRECTORIO_KEY).trim());
+        }
+
+        try {
+            if (propiedades.containsKey(SIFEN_CAPTURA_TASA_MUESTREO_KEY)) {
+                sifenConfig.setCapturaTasaMuestreo(Double.parseDouble(propiedades.getProperty(SIFEN_CAPTURA_TASA_MUESTREO_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_CAPTURA_MAX_ARCHIVOS_KEY)) {
+                sifenConfig.setCapturaMaxArchivos(Integer.parseInt(propiedades.getProperty(SIFEN_CAPTURA_MAX_ARCHIVOS_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_CAPTURA_CAPACIDAD_KEY)) {
+                sifenConfig.setCapturaCapacidad(Integer.parseInt(propiedades.getProperty(SIFEN_CAPTURA_CAPACIDAD_KEY).trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw SifenExceptionUtil.invalidConfiguration("Los parámetros de captura de mensajes deben ser valores numéricos.", e);
+        }
+
+        try {
+            if (propiedades.containsKey(SIFEN_REINTENTOS_MAX_KEY)) {
+                sifenConfig.setReintentosMax(Integer.parseInt(propiedades.getProperty(SIFEN_REINTENTOS_MAX_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_REINTENTOS_ESPERA_INICIAL_KEY)) {
+                sifenConfig.setReintentosEsperaInicial(Integer.parseInt(propiedades.getProperty(SIFEN_REINTENTOS_ESPERA_INICIAL_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_REINTENTOS_ESPERA_MAX_KEY)) {
+                sifenConfig.setReintentosEsperaMax(Integer.parseInt(propiedades.getProperty(SIFEN_REINTENTOS_ESPERA_MAX_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_CIRCUITO_UMBRAL_FALLOS_KEY)) {
+                sifenConfig.setCircuitoUmbralFallos(Integer.parseInt(propiedades.getProperty(SIFEN_CIRCUITO_UMBRAL_FALLOS_KEY).trim()));
+            }
+            if (propiedades.containsKey(SIFEN_CIRCUITO_TIEMPO_ABIERTO_KEY)) {
+                sifenConfig.setCircuitoTiempoAbierto(Integer.parseInt(propiedades.getProperty(SIFEN_CIRCUITO_TIEMPO_ABIERTO_KEY).trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw SifenExceptionUtil.invalidConfiguration("Los parámetros de reintentos y circuito deben ser valores numéricos enteros.", e);
+        }
+
+        if (propiedades.containsKey(SIFEN_LOTE_PARALELO_KEY)) {
+            sifenConfig.setLoteParalelo(Boolean.parseBoolean(propiedades.getProperty(SIFEN_LOTE_PARALELO_KEY).trim()));
+        }
+
+        if (propiedades.containsKey(SIFEN_LOTE_NIVEL_COMPRESION_KEY)) {
+            int loteNivelCompresion;
+            try {
+                loteNivelCompresion = Integer.parseInt(propiedades.getProperty(SIFEN_LOTE_NIVEL_COMPRESION_KEY).trim());
+            } catch (NumberFormatException e) {
+                throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_LOTE_NIVEL_COMPRESION_KEY + " debe ser un valor numérico entero.", e);
+            }
+            if (loteNivelCompresion < Deflater.DEFAULT_COMPRESSION || loteNivelCompresion > Deflater.BEST_COMPRESSION) {
+                throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_LOTE_NIVEL_COMPRESION_KEY + " debe estar entre -1 y 9.");
+            }
+            sifenConfig.setLoteNivelCompresion(loteNivelCompresion);
+        }
+
+        if (propiedades.containsKey(SIFEN_FIRMA_VALIDAR_CADENA_KEY)) {
+            sifenConfig.setFirmaValidarCadena(Boolean.parseBoolean(propiedades.getProperty(SIFEN_FIRMA_VALIDAR_CADENA_KEY).trim()));
+        }
+
+        if (propiedades.containsKey(SIFEN_FIRMA_ANCLAS_CONFIANZA_KEY)) {
+            sifenConfig.setFirmaAnclasConfianza(propiedades.getProperty(SIFEN_FIRMA_ANCLAS_CONFIANZA_KEY).trim());
+        }
+
+        if (propiedades.containsKey(SIFEN_FIRMA_CRLS_KEY)) {
+            sifenConfig.setFirmaCrls(propiedades.getProperty(SIFEN_FIRMA_CRLS_KEY).trim());
+        }
+
+        if (propiedades.containsKey(SIFEN_FIRMA_CADENA_TTL_KEY)) {
+            try {
+                sifenConfig.setFirmaCadenaTtl(Integer.parseInt(propiedades.getProperty(SIFEN_FIRMA_CADENA_TTL_KEY).trim()));
+            } catch (NumberFormatException e) {
+                throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_FIRMA_CADENA_TTL_KEY + " debe ser un valor numérico entero.", e);
+            }
+        }
+
+        if (propiedades.containsKey(SIFEN_XML_GENERACION_STREAMING_KEY)) {
+            sifenConfig.setGeneracionXmlStreaming(Boolean.parseBoolean(propiedades.getProperty(SIFEN_XML_GENERACION_STREAMING_KEY).trim()));
+        }
+
         return sifenConfig;
     }
 
@@ -260,12 +550,37 @@ this.pathConsulta = "/de/ws/consultas/consulta";
                 ", tipoCertificadoCliente=" + tipoCertificadoCliente +
                 ", certificadoCliente='" + certificadoCliente + '\'' +
                 ", contrasenaCertificadoCliente='" + contrasenaCertificadoCliente + '\'' +
+                ", certificadosCacheMax=" + certificadosCacheMax +
                 ", idCSC='" + idCSC + '\'' +
                 ", CSC='" + CSC + '\'' +
                 ", httpConnectTimeout=" + httpConnectTimeout +
                 ", httpReadTimeout=" + httpReadTimeout +
                 ", userAgent='" + userAgent + '\'' +
                 ", habilitarNotaTecnica13=" + habilitarNotaTecnica13 +
+                ", httpKeepAlive=" + httpKeepAlive +
+                ", httpMaxConexionesPorHost=" + httpMaxConexionesPorHost +
+                ", httpTiempoMaxInactividad=" + httpTiempoMaxInactividad +
+                ", tlsTiempoSesion=" + tlsTiempoSesion +
+                ", usarHilosVirtuales=" + usarHilosVirtuales +
+                ", guardarRespuestaBruta=" + guardarRespuestaBruta +
+                ", capturaHabilitada=" + capturaHabilitada +
+                ", capturaTasaMuestreo=" + capturaTasaMuestreo +
+                ", capturaSoloErrores=" + capturaSoloErrores +
+                ", capturaDirectorio='" + capturaDirectorio + '\'' +
+                ", capturaMaxArchivos=" + capturaMaxArchivos +
+                ", capturaCapacidad=" + capturaCapacidad +
+                ", reintentosMax=" + reintentosMax +
+                ", reintentosEsperaInicial=" + reintentosEsperaInicial +
+                ", reintentosEsperaMax=" + reintentosEsperaMax +
+                ", circuitoUmbralFallos=" + circuitoUmbralFallos +
+                ", circuitoTiempoAbierto=" + circuitoTiempoAbierto +
+                ", loteParalelo=" + loteParalelo +
+                ", loteNivelCompresion=" + loteNivelCompresion +
+                ", firmaValidarCadena=" + firmaValidarCadena +
+                ", firmaAnclasConfianza='" + firmaAnclasConfianza + '\'' +
+                ", firmaCrls='" + firmaCrls + '\'' +
+                ", firmaCadenaTtl=" + firmaCadenaTtl +
+                ", generacionXmlStreaming=" + generacionXmlStreaming +
                 ", URL_BASE_DEV='" + URL_BASE_DEV + '\'' +
                 ", URL_BASE_PROD='" + URL_BASE_PROD + '\'' +
                 ", URL_CONSULTA_QR_DEV='" + URL_CONSULTA_QR_DEV + '\'' +
@@ -380,6 +695,14 @@ this.pathConsulta = "/de/ws/consultas/consulta";
         this.contrasenaCertificadoCliente = contrasenaCertificadoCliente;
     }
 
+    public int getCertificadosCacheMax() {
+        return certificadosCacheMax;
+    }
+
+    public void setCertificadosCacheMax(int certificadosCacheMax) {
+        this.certificadosCacheMax = certificadosCacheMax;
+    }
+
     public TipoCertificadoCliente getTipoCertificadoCliente() {
         return tipoCertificadoCliente;
     }
@@ -423,4 +746,212 @@ this.pathConsulta = "/de/ws/consultas/consulta";
     public void setHabilitarNotaTecnica13(boolean habilitarNotaTecnica13) {
         this.habilitarNotaTecnica13 = habilitarNotaTecnica13;
     }
+
+    public boolean isHttpKeepAlive() {
+        return httpKeepAlive;
+    }
+
+    public void setHttpKeepAlive(boolean httpKeepAlive) {
+        this.httpKeepAlive = httpKeepAlive;
+    }
+
+    public int getHttpMaxConexionesPorHost() {
+        return httpMaxConexionesPorHost;
+    }
+
+    public void setHttpMaxConexionesPorHost(int httpMaxConexionesPorHost) {
+        this.httpMaxConexionesPorHost = httpMaxConexionesPorHost;
+    }
+
+    public int getHttpTiempoMaxInactividad() {
+        return httpTiempoMaxInactividad;
+    }
+
+    public void setHttpTiempoMaxInactividad(int httpTiempoMaxInactividad) {
+        this.httpTiempoMaxInactividad = httpTiempoMaxInactividad;
+    }
+
+    public int getTlsTiempoSesion() {
+        return tlsTiempoSesion;
+    }
+
+    public void setTlsTiempoSesion(int tlsTiempoSesion) {
+        this.tlsTiempoSesion = tlsTiempoSesion;
+    }
+
+    public boolean isUsarHilosVirtuales() {
+        return usarHilosVirtuales;
+    }
+
+    public void setUsarHilosVirtuales(boolean usarHilosVirtuales) {
+        this.usarHilosVirtuales = usarHilosVirtuales;
+    }
+
+    public boolean isGuardarRespuestaBruta() {
+        return guardarRespuestaBruta;
+    }
+
+    public void setGuardarRespuestaBruta(boolean guardarRespuestaBruta) {
+        this.guardarRespuestaBruta = guardarRespuestaBruta;
+    }
+
+    public boolean isCapturaHabilitada() {
+        return capturaHabilitada;
+    }
+
+    public void setCapturaHabilitada(boolean capturaHabilitada) {
+        this.capturaHabilitada = capturaHabilitada;
+    }
+
+    public double getCapturaTasaMuestreo() {
+        return capturaTasaMuestreo;
+    }
+
+    public void setCapturaTasaMuestreo(double capturaTasaMuestreo) {
+        this.capturaTasaMuestreo = capturaTasaMuestreo;
+    }
+
+    public boolean isCapturaSoloErrores() {
+        return capturaSoloErrores;
+    }
+
+    public void setCapturaSoloErrores(boolean capturaSoloErrores) {
+        this.capturaSoloErrores = capturaSoloErrores;
+    }
+
+    public String getCapturaDirectorio() {
+        return capturaDirectorio;
+    }
+
+    public void setCapturaDirectorio(String capturaDirectorio) {
+        this.capturaDirectorio = capturaDirectorio;
+    }
+
+    public int getCapturaMaxArchivos() {
+        return capturaMaxArchivos;
+    }
+
+    public void setCapturaMaxArchivos(int capturaMaxArchivos) {
+        this.capturaMaxArchivos = capturaMaxArchivos;
+    }
+
+    public int getCapturaCapacidad() {
+        return capturaCapacidad;
+    }
+
+    public void setCapturaCapacidad(int capturaCapacidad) {
+        this.capturaCapacidad = capturaCapacidad;
+    }
+
+    public WireCaptureSink getCapturaSink() {
+        return capturaSink;
+    }
+
+    public void setCapturaSink(WireCaptureSink capturaSink) {
+        this.capturaSink = capturaSink;
+    }
+
+    public int getReintentosMax() {
+        return reintentosMax;
+    }
+
+    public void setReintentosMax(int reintentosMax) {
+        this.reintentosMax = reintentosMax;
+    }
+
+    public int getReintentosEsperaInicial() {
+        return reintentosEsperaInicial;
+    }
+
+    public void setReintentosEsperaInicial(int reintentosEsperaInicial) {
+        this.reintentosEsperaInicial = reintentosEsperaInicial;
+    }
+
+    public int getReintentosEsperaMax() {
+        return reintentosEsperaMax;
+    }
+
+    public void setReintentosEsperaMax(int reintentosEsperaMax) {
+        this.reintentosEsperaMax = reintentosEsperaMax;
+    }
+
+    public int getCircuitoUmbralFallos() {
+        return circuitoUmbralFallos;
+    }
+
+    public void setCircuitoUmbralFallos(int circuitoUmbralFallos) {
+        this.circuitoUmbralFallos = circuitoUmbralFallos;
+    }
+
+    public int getCircuitoTiempoAbierto() {
+        return circuitoTiempoAbierto;
+    }
+
+    public void setCircuitoTiempoAbierto(int circuitoTiempoAbierto) {
+        this.circuitoTiempoAbierto = circuitoTiempoAbierto;
+    }
+
+    public boolean isLoteParalelo() {
+        return loteParalelo;
+    }
+
+    public void setLoteParalelo(boolean loteParalelo) {
+        this.loteParalelo = loteParalelo;
+    }
+
+    public Executor getLoteEjecutor() {
+        return loteEjecutor;
+    }
+
+    public void setLoteEjecutor(Executor loteEjecutor) {
+        this.loteEjecutor = loteEjecutor;
+    }
+
+    public boolean isFirmaValidarCadena() {
+        return firmaValidarCadena;
+    }
+
+    public void setFirmaValidarCadena(boolean firmaValidarCadena) {
+        this.firmaValidarCadena = firmaValidarCadena;
+    }
+
+    public String getFirmaAnclasConfianza() {
+        return firmaAnclasConfianza;
+    }
+
+    public void setFirmaAnclasConfianza(String firmaAnclasConfianza) {
+        this.firmaAnclasConfianza = firmaAnclasConfianza;
+    }
+
+    public String getFirmaCrls() {
+        return firmaCrls;
+    }
+
+    public void setFirmaCrls(String firmaCrls) {
+        this.firmaCrls = firmaCrls;
+    }
+
+    public int getFirmaCadenaTtl() {
+        return firmaCadenaTtl;
+    }
+
+    public void setFirmaCadenaTtl(int firmaCadenaTtl) {
+        this.firmaCadenaTtl = firmaCadenaTtl;
+    }
+
+    public boolean isGeneracionXmlStreaming() {
+        return generacionXmlStreaming;
+    }
+
+    public void setGeneracionXmlStreaming(boolean generacionXmlStreaming) {
+        this.generacionXmlStreaming = generacionXmlStreaming;
+    }
+
+    public int getLoteNivelCompresion() {
+        return loteNivelCompresion;
+    }
+
+    public void setLoteNivelCompresion(int loteNivelCompresion) {
+        this.loteNivelCompresion = loteNivelCompresion;
+    }
 }
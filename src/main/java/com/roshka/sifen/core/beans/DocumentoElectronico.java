@@ -7,24 +7,29 @@ import com.roshka.sifen.core.fields.request.de.*;
 import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.DEXmlHelper;
 import com.roshka.sifen.internal.helpers.SignatureHelper;
 import com.roshka.sifen.internal.helpers.SoapHelper;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.ByteArrayBuffer;
+import com.roshka.sifen.internal.util.DateTimeCodec;
+import com.roshka.sifen.internal.util.DocumentBuilderPool;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.SerializedSoapMessage;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.StreamingXmlWriter;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
-import javax.xml.crypto.dsig.Reference;
 import javax.xml.crypto.dsig.SignedInfo;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.soap.*;
 import java.io.FileWriter;
@@ -32,9 +37,7 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.logging.Logger;
@@ -60,6 +63,8 @@ public class DocumentoElectronico extends SifenObjectBase {
 
     private String enlaceQR;
     private final static Logger logger = Logger.getLogger(DocumentoElectronico.class.toString());
+    private static final String XSI_NS_URI = "http://www.w3.org/2001/XMLSchema-instance";
+    private static final int STREAMING_BUFFER_SIZE = 8192;
 
     /**
      * Constructor base del Documento Electrónico.
@@ -80,10 +85,7 @@ public class DocumentoElectronico extends SifenObjectBase {
         // Parseamos el xml
         Document xmlDocument;
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            xmlDocument = builder.parse(new InputSource(new StringReader(xml)));
+            xmlDocument = DocumentBuilderPool.parse(new InputSource(new StringReader(xml)));
         } catch (ParserConfigurationException | IOException | SAXException e) {
             throw SifenExceptionUtil.xmlParsingError("Se produjo un error al parsear el archivo XML. Formato incorrecto.");
         }
@@ -101,10 +103,7 @@ public class DocumentoElectronico extends SifenObjectBase {
         // Parseamos el xml
         Document xmlDocument;
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            xmlDocument = builder.parse(new InputSource(new StringReader(xml)));
+            xmlDocument = DocumentBuilderPool.parse(new InputSource(new StringReader(xml)));
         } catch (ParserConfigurationException | IOException | SAXException e) {
             throw SifenExceptionUtil.xmlParsingError("Se produjo un error al parsear el archivo XML. Formato incorrecto.");
         }
@@ -127,17 +126,18 @@ public class DocumentoElectronico extends SifenObjectBase {
         // Se intenta la generación del CDC
         String CDC;
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-            CDC = SifenUtil.leftPad(String.valueOf(this.getgTimb().getiTiDE().getVal()), '0', 2) +
-                    SifenUtil.leftPad(this.getgDatGralOpe().getgEmis().getdRucEm(), '0', 8) +
-                    this.getgDatGralOpe().getgEmis().getdDVEmi() +
-                    this.getgTimb().getdEst() +
-                    this.getgTimb().getdPunExp() +
-                    this.getgTimb().getdNumDoc() +
-                    this.getgDatGralOpe().getgEmis().getiTipCont().getVal() +
-                    this.getgDatGralOpe().getdFeEmiDE().format(formatter) +
-                    this.getgOpeDE().getiTipEmi().getVal() +
-                    this.getgOpeDE().getdCodSeg();
+            StringBuilder builder = new StringBuilder(44);
+            SifenUtil.appendLeftPad(builder, String.valueOf(this.getgTimb().getiTiDE().getVal()), '0', 2);
+            SifenUtil.appendLeftPad(builder, this.getgDatGralOpe().getgEmis().getdRucEm(), '0', 8)
+                    .append(this.getgDatGralOpe().getgEmis().getdDVEmi())
+                    .append(this.getgTimb().getdEst())
+                    .append(this.getgTimb().getdPunExp())
+                    .append(this.getgTimb().getdNumDoc())
+                    .append(this.getgDatGralOpe().getgEmis().getiTipCont().getVal());
+            DateTimeCodec.appendCompactDate(builder, this.getgDatGralOpe().getdFeEmiDE().toLocalDate())
+                    .append(this.getgOpeDE().getiTipEmi().getVal())
+                    .append(this.getgOpeDE().getdCodSeg());
+            CDC = builder.toString();
         } catch (Exception e) {
             throw SifenExceptionUtil.fieldNotFound("Se produjo un error al generar el CDC. Verificar si todos los campos necesarios están presentes.");
         }
@@ -245,6 +245,10 @@ public class DocumentoElectronico extends SifenObjectBase {
      * @throws SifenException -
      */
     public SOAPMessage setupSOAPElements(GenerationCtx generationCtx, long dId, SifenConfig sifenConfig) throws SOAPException, SifenException {
+        if (sifenConfig.isGeneracionXmlStreaming()) {
+            return this.setupSerializedMessage(generationCtx, dId, sifenConfig);
+        }
+
         SOAPMessage message = SoapHelper.createSoapMessage();
         SOAPBody soapBody = message.getSOAPBody();
 
@@ -258,6 +262,21 @@ public class DocumentoElectronico extends SifenObjectBase {
         return message;
     }
 
+    // El mensaje se arma con los bytes del rDE firmado y se envía sin construir el árbol SAAJ
+    private SOAPMessage setupSerializedMessage(GenerationCtx generationCtx, long dId, SifenConfig sifenConfig) throws SOAPException, SifenException {
+        byte[] signedRDE = this.generateSignedRDE(generationCtx, sifenConfig, this.obtenerCDC());
+
+        ByteArrayBuffer body = new ByteArrayBuffer(signedRDE.length + 256);
+        try {
+            body.write(("<rEnviDe xmlns=\"" + Constants.SIFEN_NS_URI + "\"><dId>" + dId + "</dId><xDE>").getBytes(StandardCharsets.UTF_8));
+            DEXmlHelper.writeRDE(body, signedRDE);
+            body.write("</xDE></rEnviDe>".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new SOAPException("Ocurrió un error al escribir el cuerpo de la petición SOAP", e);
+        }
+        return new SerializedSoapMessage(body);
+    }
+
     /**
      * Método interno, no usar.
      *
@@ -269,13 +288,16 @@ public class DocumentoElectronico extends SifenObjectBase {
 //    INICIO CAMBIO AM
 //    se realizo un overload del metodo  setupDE para que reciba receivedCDC
     public void setupDE(GenerationCtx generationCtx, SOAPElement parentNode, SifenConfig sifenConfig, String receivedCDC) throws SOAPException, SifenException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        if (sifenConfig.isGeneracionXmlStreaming()) {
+            DEXmlHelper.importRDE(parentNode, this.generateSignedRDE(generationCtx, sifenConfig, receivedCDC));
+            return;
+        }
 
         SOAPElement rDE = parentNode.addChildElement(new QName(Constants.SIFEN_NS_URI, "rDE"));
 
-        rDE.addNamespaceDeclaration("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        rDE.addNamespaceDeclaration("xsi", XSI_NS_URI);
         // Recepción (incluye lote): rDE debe apuntar a siRecepDE_v150.xsd
-        rDE.setAttributeNS("http://www.w3.org/2001/XMLSchema-instance", "xsi:schemaLocation", Constants.SIFEN_NS_URI_RECEP_DE);
+        rDE.setAttributeNS(XSI_NS_URI, "xsi:schemaLocation", Constants.SIFEN_NS_URI_RECEP_DE);
 // rDE.setAttributeNS("http://www.w3.org/2001/XMLSchema-instance", "xsi:schemaLocation", Constants.SIFEN_NS_URI_RECEP_DE);
         // NOTE: en lote (rLoteDE) esto puede causar 0160 si apunta a siRecepDE_v150.xsd
         rDE.addChildElement("dVerFor").setTextContent(SIFEN_CURRENT_VERSION);
@@ -297,8 +319,34 @@ public class DocumentoElectronico extends SifenObjectBase {
             logger.fine("Could not mark Id as ID attribute: " + e.getMessage());
         }
 
+        this.setupDEContent(generationCtx, XmlElement.of(DE));
+        this.signDE(rDE, DE, sifenConfig);
+    }
+
+    // Genera el rDE con un escritor de XML, sin nodos SAAJ; solo para calcular la firma se carga el rDE en un DOM
+    private byte[] generateSignedRDE(GenerationCtx generationCtx, SifenConfig sifenConfig, String receivedCDC) throws SOAPException, SifenException {
+        StreamingXmlWriter xmlWriter = new StreamingXmlWriter(Constants.SIFEN_NS_URI, "rDE", STREAMING_BUFFER_SIZE);
+        xmlWriter.addNamespaceDeclaration("xsi", XSI_NS_URI);
+        xmlWriter.setRootAttributeNS(XSI_NS_URI, "schemaLocation", Constants.SIFEN_NS_URI_RECEP_DE);
+
+        XmlElement rDE = xmlWriter.getRoot();
+        rDE.addChildElement("dVerFor").setTextContent(SIFEN_CURRENT_VERSION);
+
+        this.obtenerCDC(receivedCDC);
+
+        XmlElement DE = rDE.addChildElement("DE");
+        DE.setAttribute("Id", this.getId());
+        this.setupDEContent(generationCtx, DE);
+
+        return DEXmlHelper.signRDE(xmlWriter.toByteArray(), sifenConfig, signedInfo -> {
+            this.enlaceQR = this.generateQRLink(signedInfo, sifenConfig);
+            return this.enlaceQR;
+        });
+    }
+
+    private void setupDEContent(GenerationCtx generationCtx, XmlElement DE) throws SOAPException, SifenException {
         DE.addChildElement("dDVId").setTextContent(this.getdDVId());
-        DE.addChildElement("dFecFirma").setTextContent(this.getdFecFirma().format(formatter));
+        DE.addChildElement("dFecFirma").setTextContent(DateTimeCodec.formatDateTime(this.getdFecFirma()));
         DE.addChildElement("dSisFact").setTextContent(String.valueOf(this.getdSisFact()));
 
         // Se prepara el cuerpo del documento electrónico
@@ -330,9 +378,11 @@ public class DocumentoElectronico extends SifenObjectBase {
                 gCamDEAsoc.setupSOAPElements(DE, this.gDatGralOpe.getgOpeCom() != null ? this.gDatGralOpe.getgOpeCom().getiTipTra() : null, withholdingExists);
             }
         }
+    }
 
+    private void signDE(SOAPElement rDE, Element DE, SifenConfig sifenConfig) throws SOAPException, SifenException {
         // Firma Digital del XML
-        SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, rDE, this.getId());
+        SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, rDE, DE);
 
         // Preparación de la URL del QR
         this.enlaceQR = this.generateQRLink(signedInfo, sifenConfig);
@@ -391,12 +441,11 @@ public class DocumentoElectronico extends SifenObjectBase {
     }
 
     private String generateQRLink(SignedInfo signedInfo, SifenConfig sifenConfig) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
         LinkedHashMap<String, String> queryParams = new LinkedHashMap<>();
 
         queryParams.put("nVersion", SIFEN_CURRENT_VERSION);
         queryParams.put("Id", this.getId());
-        queryParams.put("dFeEmiDE", SifenUtil.bytesToHex(this.getgDatGralOpe().getdFeEmiDE().format(formatter).getBytes(StandardCharsets.UTF_8)));
+        queryParams.put("dFeEmiDE", SifenUtil.stringToHex(DateTimeCodec.formatDateTime(this.getgDatGralOpe().getdFeEmiDE())));
 
         if (this.getgDatGralOpe().getgDatRec().getiNatRec().getVal() == 1) {
             queryParams.put("dRucRec", this.getgDatGralOpe().getgDatRec().getdRucRec());
@@ -418,16 +467,9 @@ public class DocumentoElectronico extends SifenObjectBase {
             queryParams.put("dTotIVA", "0");
         }
 
-        queryParams.put("cItems", String.valueOf(this.getgDtipDE().getgCamItemList().size()));
-
-        byte[] digestValue = Base64.getEncoder().encode(((Reference) signedInfo.getReferences().get(0)).getDigestValue());
-        queryParams.put("DigestValue", SifenUtil.bytesToHex(digestValue));
-        queryParams.put("IdCSC", sifenConfig.getIdCSC());
-
-        String urlParamsString = SifenUtil.buildUrlParams(queryParams);
-        String hashedParams = SifenUtil.sha256Hex(urlParamsString + sifenConfig.getCSC());
+        queryParams.put("cItems", String.valueOf(this.getgDtipDE().getCantidadItems()));
 
-        return sifenConfig.getUrlConsultaQr() + urlParamsString + "&cHashQR=" + hashedParams;
+        return DEXmlHelper.buildQRLink(queryParams, signedInfo, sifenConfig);
     }
 
     public String getId() {
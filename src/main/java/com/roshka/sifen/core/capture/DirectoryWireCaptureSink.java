@@ -0,0 +1,68 @@
+package com.roshka.sifen.core.capture;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Guarda los mensajes capturados como archivos en un directorio, conservando solo los últimos archivos escritos.
+ * <p>
+ * El nombre de cada archivo incluye la fecha con milisegundos, el dId de la petición y un número de secuencia, por lo
+ * que no colisionan entre peticiones concurrentes.
+ */
+public class DirectoryWireCaptureSink implements WireCaptureSink {
+    private final static Logger logger = Logger.getLogger(DirectoryWireCaptureSink.class.toString());
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final Path directorio;
+    private final int maxArchivos;
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Deque<Path> archivos = new ArrayDeque<>();
+
+    /**
+     * @param directorio  Directorio en el que se guardan los archivos. Se crea si no existe.
+     * @param maxArchivos Cantidad máxima de archivos a conservar. Al superarla, se eliminan los más antiguos.
+     */
+    public DirectoryWireCaptureSink(Path directorio, int maxArchivos) {
+        this.directorio = directorio;
+        this.maxArchivos = Math.max(1, maxArchivos);
+    }
+
+    @Override
+    public synchronized void write(WireCapture capture) throws IOException {
+        Files.createDirectories(directorio);
+
+        StringBuilder name = new StringBuilder()
+                .append(FORMATTER.format(capture.getFecha()))
+                .append('_').append(capture.getdId())
+                .append('_').append(secuencia.getAndIncrement())
+                .append('_').append(capture.getTipo().getPrefijo());
+        if (capture.getStatus() > 0 && capture.getTipo() != WireCapture.Tipo.SOAP_REQUEST) {
+            name.append('_').append(capture.getStatus());
+        }
+        name.append('.').append(capture.getTipo().getExtension());
+
+        Path out = directorio.resolve(name.toString());
+        try (OutputStream outputStream = Files.newOutputStream(out)) {
+            capture.writeTo(outputStream);
+        }
+        logger.fine("Mensaje capturado en: " + out.toAbsolutePath());
+
+        archivos.addLast(out);
+        while (archivos.size() > maxArchivos) {
+            Files.deleteIfExists(archivos.removeFirst());
+        }
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+}
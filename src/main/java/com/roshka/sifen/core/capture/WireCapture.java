@@ -0,0 +1,120 @@
+package com.roshka.sifen.core.capture;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Mensaje capturado en el intercambio con Sifen.
+ */
+public class WireCapture {
+    /**
+     * Tipos de mensajes capturados.
+     */
+    public enum Tipo {
+        SOAP_REQUEST("soap_request", "xml"),
+        SOAP_RESPONSE("soap_response", "xml"),
+        SOAP_ERROR("soap_error", "xml"),
+        LOTE_XML("rLoteDE_raw", "xml"),
+        LOTE_ZIP("rLoteDE_zip", "zip");
+
+        private final String prefijo;
+        private final String extension;
+
+        Tipo(String prefijo, String extension) {
+            this.prefijo = prefijo;
+            this.extension = extension;
+        }
+
+        public String getPrefijo() {
+            return prefijo;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final Tipo tipo;
+    private final long dId;
+    private final String url;
+    private final int status;
+    private final Instant fecha;
+    private final ByteBuffer data;
+
+    /**
+     * @param data Contenido del mensaje. No se copia, por lo que no debe ser modificado luego.
+     */
+    public WireCapture(Tipo tipo, long dId, String url, int status, byte[] data) {
+        this(tipo, dId, url, status, ByteBuffer.wrap(data));
+    }
+
+    /**
+     * @param data Contenido del mensaje, desde su posición hasta su límite. Se conserva una vista de solo lectura, sin
+     *             copiarlo, por lo que no debe ser modificado luego.
+     */
+    public WireCapture(Tipo tipo, long dId, String url, int status, ByteBuffer data) {
+        this.tipo = tipo;
+        this.dId = dId;
+        this.url = url;
+        this.status = status;
+        this.fecha = Instant.now();
+        this.data = data.slice().asReadOnlyBuffer();
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return Identificador de la petición (dId). Todos los mensajes de una misma petición comparten el identificador.
+     */
+    public long getdId() {
+        return dId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return Código de estado HTTP de la respuesta, o -1 si la petición falló antes de obtener una respuesta.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public Instant getFecha() {
+        return fecha;
+    }
+
+    public int getSize() {
+        return data.remaining();
+    }
+
+    /**
+     * @return Una copia del contenido del mensaje.
+     */
+    public byte[] getData() {
+        byte[] copy = new byte[data.remaining()];
+        data.duplicate().get(copy);
+        return copy;
+    }
+
+    /**
+     * Escribe el contenido del mensaje en el stream recibido, por bloques.
+     *
+     * @param outputStream Stream de destino.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        ByteBuffer source = data.duplicate();
+        byte[] chunk = new byte[Math.min(source.remaining(), 8 * 1024)];
+        while (source.hasRemaining()) {
+            int length = Math.min(source.remaining(), chunk.length);
+            source.get(chunk, 0, length);
+            outputStream.write(chunk, 0, length);
+        }
+    }
+}
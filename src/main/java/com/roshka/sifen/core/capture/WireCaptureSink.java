@@ -0,0 +1,19 @@
+package com.roshka.sifen.core.capture;
+
+import java.io.IOException;
+
+/**
+ * Destino de los mensajes capturados en el intercambio con Sifen.
+ * <p>
+ * Las capturas se entregan desde un único hilo en segundo plano, nunca desde el hilo que realiza la petición, por lo que
+ * la implementación puede realizar operaciones de entrada/salida lentas sin afectar el envío de documentos.
+ */
+public interface WireCaptureSink {
+    /**
+     * Guarda el mensaje capturado.
+     *
+     * @param capture Mensaje capturado.
+     * @throws IOException Si no se pudo guardar el mensaje. El error se registra y la captura se descarta.
+     */
+    void write(WireCapture capture) throws IOException;
+}
@@ -0,0 +1,4 @@
+/**
+ * Contiene las clases para capturar los mensajes intercambiados con Sifen, con fines de depuración.
+ */
+package com.roshka.sifen.core.capture;
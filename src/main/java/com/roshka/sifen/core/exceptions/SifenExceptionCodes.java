@@ -16,6 +16,8 @@ public class SifenExceptionCodes {
     public static final String INVALID_SOAP_REQUEST_MESSAGE = "Llamada SOAP inválida";
     public static final String INVALID_SOAP_RESPONSE_CODE = "i301";
     public static final String INVALID_SOAP_RESPONSE_MESSAGE = "Respuesta SOAP inválida";
+    public static final String SERVICE_UNAVAILABLE_CODE = "i302";
+    public static final String SERVICE_UNAVAILABLE_MESSAGE = "Servicio de Sifen no disponible";
     public static final String REQUEST_PREPARATION_ERROR_CODE = "i400";
     public static final String REQUEST_PREPARATION_ERROR_MESSAGE = "Error al preparar el cuerpo de la petición";
     public static final String REQUEST_SIGNING_ERROR_CODE = "i401";
@@ -36,6 +38,7 @@ public class SifenExceptionCodes {
         errorMessages.put(INVALID_SSL_CONTEXT_CODE, INVALID_SSL_CONTEXT_MESSAGE);
         errorMessages.put(INVALID_SOAP_REQUEST_CODE, INVALID_SOAP_REQUEST_MESSAGE);
         errorMessages.put(INVALID_SOAP_RESPONSE_CODE, INVALID_SOAP_RESPONSE_MESSAGE);
+        errorMessages.put(SERVICE_UNAVAILABLE_CODE, SERVICE_UNAVAILABLE_MESSAGE);
         errorMessages.put(REQUEST_PREPARATION_ERROR_CODE, REQUEST_PREPARATION_ERROR_MESSAGE);
         errorMessages.put(REQUEST_SIGNING_ERROR_CODE, REQUEST_SIGNING_ERROR_MESSAGE);
         errorMessages.put(FIELD_NOT_FOUND_CODE, FIELD_NOT_FOUND_MESSAGE);
@@ -0,0 +1,370 @@
+package com.roshka.sifen.core.fields.request.de;
+
+import com.roshka.sifen.core.types.TTiDE;
+import com.roshka.sifen.core.types.TcUniMed;
+import com.roshka.sifen.core.types.TiAfecIVA;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.DecimalColumn;
+import com.roshka.sifen.internal.util.XmlElement;
+
+import javax.xml.soap.SOAPException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ítems de un DE almacenados por columnas, para documentos con miles de ítems (Ej.: facturas de servicios). En lugar
+ * de un {@link TgCamItem} con sus objetos y BigDecimal por ítem, cada campo se guarda en un arreglo: los decimales
+ * como valor sin escala y escala, la unidad de medida y la afectación del IVA como su código, y las descripciones se
+ * comparten entre los ítems que las repiten.
+ * <p>
+ * Se asigna con {@link TgDtipDE#setTablaItems(TablaItems)}, y sus ítems se generan a continuación de los de
+ * {@link TgDtipDE#getgCamItemList()}, con el mismo XML y los mismos totales que si se cargaran como TgCamItem. Cada
+ * ítem se carga con {@link #nuevoItem()}:
+ * <pre>
+ * TablaItems tablaItems = new TablaItems(5000);
+ * tablaItems.nuevoItem()
+ *         .setdCodInt("001")
+ *         .setdDesProSer("Consumo de energía")
+ *         .setcUniMed(TcUniMed.UNI)
+ *         .setdCantProSer(BigDecimal.ONE)
+ *         .setdPUniProSer(BigDecimal.valueOf(150000))
+ *         .setiAfecIVA(TiAfecIVA.GRAVADO)
+ *         .setdPropIVA(BigDecimal.valueOf(100))
+ *         .setdTasaIVA(BigDecimal.valueOf(10))
+ *         .agregar();
+ * </pre>
+ * Solo admite los campos de uso habitual de gCamItem, gValorItem, gValorRestaItem y gCamIVA; los ítems que necesiten
+ * otros campos (Ej.: dNCM, gRasMerc o gVehNuevo) deben cargarse en gCamItemList.
+ */
+public class TablaItems {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Map<String, String> strings = new HashMap<>();
+    private final NuevoItem nuevoItem = new NuevoItem();
+    private int size;
+
+    private String[] dCodInt;
+    private String[] dDesProSer;
+    private String[] dInfItem;
+    private short[] cUniMed;
+    private byte[] iAfecIVA;
+    private final DecimalColumn dCantProSer;
+    private final DecimalColumn dPUniProSer;
+    private final DecimalColumn dTiCamIt;
+    private final DecimalColumn dDescItem;
+    private final DecimalColumn dDescGloItem;
+    private final DecimalColumn dAntPreUniIt;
+    private final DecimalColumn dAntGloPreUniIt;
+    private final DecimalColumn dPropIVA;
+    private final DecimalColumn dTasaIVA;
+
+    // Importes calculados al generar el XML, utilizados por TgTotSub
+    private final DecimalColumn dTotOpeItem;
+    private final DecimalColumn dTotOpeGs;
+    private final DecimalColumn dLiqIVAItem;
+    private final DecimalColumn dBasGravIVA;
+
+    public TablaItems() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacidad Cantidad de ítems prevista. La tabla crece si se agregan más.
+     */
+    public TablaItems(int capacidad) {
+        this.dCodInt = new String[capacidad];
+        this.dDesProSer = new String[capacidad];
+        this.dInfItem = new String[capacidad];
+        this.cUniMed = new short[capacidad];
+        this.iAfecIVA = new byte[capacidad];
+        this.dCantProSer = new DecimalColumn(capacidad);
+        this.dPUniProSer = new DecimalColumn(capacidad);
+        this.dTiCamIt = new DecimalColumn(capacidad);
+        this.dDescItem = new DecimalColumn(capacidad);
+        this.dDescGloItem = new DecimalColumn(capacidad);
+        this.dAntPreUniIt = new DecimalColumn(capacidad);
+        this.dAntGloPreUniIt = new DecimalColumn(capacidad);
+        this.dPropIVA = new DecimalColumn(capacidad);
+        this.dTasaIVA = new DecimalColumn(capacidad);
+        this.dTotOpeItem = new DecimalColumn(capacidad);
+        this.dTotOpeGs = new DecimalColumn(capacidad);
+        this.dLiqIVAItem = new DecimalColumn(capacidad);
+        this.dBasGravIVA = new DecimalColumn(capacidad);
+    }
+
+    /**
+     * Inicia la carga de un ítem, que se agrega a la tabla con {@link NuevoItem#agregar()}. Se reutiliza el mismo
+     * objeto para todos los ítems, por lo que no debe conservarse luego de agregarlo.
+     *
+     * @return El ítem a cargar, con todos los campos vacíos y dDescItem en 0.
+     */
+    public NuevoItem nuevoItem() {
+        return nuevoItem.clear();
+    }
+
+    /**
+     * @return Cantidad de ítems de la tabla.
+     */
+    public int getCantidadItems() {
+        return size;
+    }
+
+    /**
+     * Crea el TgCamItem equivalente a un ítem de la tabla, con los campos cargados (sin los importes calculados).
+     *
+     * @param indice Posición del ítem, desde 0.
+     * @return El ítem.
+     */
+    public TgCamItem getItem(int indice) {
+        if (indice < 0 || indice >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", cantidad de ítems: " + size);
+        }
+
+        TgCamItem gCamItem = new TgCamItem();
+        gCamItem.setdCodInt(dCodInt[indice]);
+        gCamItem.setdDesProSer(dDesProSer[indice]);
+        gCamItem.setdInfItem(dInfItem[indice]);
+        gCamItem.setcUniMed(cUniMed[indice] != 0 ? TcUniMed.getByVal(cUniMed[indice]) : null);
+        gCamItem.setdCantProSer(dCantProSer.get(indice));
+
+        TgValorRestaItem gValorRestaItem = new TgValorRestaItem();
+        gValorRestaItem.setdDescItem(dDescItem.get(indice));
+        gValorRestaItem.setdDescGloItem(dDescGloItem.get(indice));
+        gValorRestaItem.setdAntPreUniIt(dAntPreUniIt.get(indice));
+        gValorRestaItem.setdAntGloPreUniIt(dAntGloPreUniIt.get(indice));
+
+        TgValorItem gValorItem = new TgValorItem();
+        gValorItem.setdPUniProSer(dPUniProSer.get(indice));
+        gValorItem.setdTiCamIt(dTiCamIt.get(indice));
+        gValorItem.setgValorRestaItem(gValorRestaItem);
+        gCamItem.setgValorItem(gValorItem);
+
+        if (iAfecIVA[indice] != 0) {
+            TgCamIVA gCamIVA = new TgCamIVA();
+            gCamIVA.setiAfecIVA(TiAfecIVA.getByVal(iAfecIVA[indice]));
+            gCamIVA.setdPropIVA(dPropIVA.get(indice));
+            gCamIVA.setdTasaIVA(dTasaIVA.get(indice));
+            gCamItem.setgCamIVA(gCamIVA);
+        }
+        return gCamItem;
+    }
+
+    // Cada ítem se genera con un TgCamItem temporal, por lo que el XML es el mismo que con gCamItemList; de él se
+    // guardan en las columnas los importes calculados que luego suma TgTotSub
+    void setupSOAPElements(GenerationCtx generationCtx, XmlElement gDtipDE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
+        for (int i = 0; i < size; i++) {
+            TgCamItem gCamItem = getItem(i);
+            gCamItem.setupSOAPElements(generationCtx, gDtipDE, iTiDE, gDatGralOpe);
+
+            TgValorRestaItem gValorRestaItem = gCamItem.getgValorItem().getgValorRestaItem();
+            dTotOpeItem.set(i, gValorRestaItem.getdTotOpeItem());
+            dTotOpeGs.set(i, gValorRestaItem.getdTotOpeGs());
+            dLiqIVAItem.set(i, gCamItem.getgCamIVA() != null ? gCamItem.getgCamIVA().getdLiqIVAItem() : null);
+            dBasGravIVA.set(i, gCamItem.getgCamIVA() != null ? gCamItem.getgCamIVA().getdBasGravIVA() : null);
+        }
+    }
+
+    short getiAfecIVA(int row) {
+        return iAfecIVA[row];
+    }
+
+    DecimalColumn getdCantProSer() {
+        return dCantProSer;
+    }
+
+    DecimalColumn getdDescItem() {
+        return dDescItem;
+    }
+
+    DecimalColumn getdDescGloItem() {
+        return dDescGloItem;
+    }
+
+    DecimalColumn getdAntPreUniIt() {
+        return dAntPreUniIt;
+    }
+
+    DecimalColumn getdAntGloPreUniIt() {
+        return dAntGloPreUniIt;
+    }
+
+    DecimalColumn getdTasaIVA() {
+        return dTasaIVA;
+    }
+
+    DecimalColumn getdTotOpeItem() {
+        return dTotOpeItem;
+    }
+
+    DecimalColumn getdTotOpeGs() {
+        return dTotOpeGs;
+    }
+
+    DecimalColumn getdLiqIVAItem() {
+        return dLiqIVAItem;
+    }
+
+    DecimalColumn getdBasGravIVA() {
+        return dBasGravIVA;
+    }
+
+    private String intern(String string) {
+        if (string == null) {
+            return null;
+        }
+        String interned = strings.putIfAbsent(string, string);
+        return interned != null ? interned : string;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > dCodInt.length) {
+            int newCapacity = Math.max(capacity, dCodInt.length * 2);
+            dCodInt = Arrays.copyOf(dCodInt, newCapacity);
+            dDesProSer = Arrays.copyOf(dDesProSer, newCapacity);
+            dInfItem = Arrays.copyOf(dInfItem, newCapacity);
+            cUniMed = Arrays.copyOf(cUniMed, newCapacity);
+            iAfecIVA = Arrays.copyOf(iAfecIVA, newCapacity);
+        }
+    }
+
+    /**
+     * Ítem en carga. Los campos tienen el mismo significado que en {@link TgCamItem}, {@link TgValorItem},
+     * {@link TgValorRestaItem} y {@link TgCamIVA}; si no se asigna iAfecIVA, el ítem no tiene gCamIVA.
+     */
+    public class NuevoItem {
+        private String dCodInt;
+        private String dDesProSer;
+        private String dInfItem;
+        private TcUniMed cUniMed;
+        private BigDecimal dCantProSer;
+        private BigDecimal dPUniProSer;
+        private BigDecimal dTiCamIt;
+        private BigDecimal dDescItem;
+        private BigDecimal dDescGloItem;
+        private BigDecimal dAntPreUniIt;
+        private BigDecimal dAntGloPreUniIt;
+        private TiAfecIVA iAfecIVA;
+        private BigDecimal dPropIVA;
+        private BigDecimal dTasaIVA;
+
+        private NuevoItem() {
+        }
+
+        public NuevoItem setdCodInt(String dCodInt) {
+            this.dCodInt = dCodInt;
+            return this;
+        }
+
+        public NuevoItem setdDesProSer(String dDesProSer) {
+            this.dDesProSer = dDesProSer;
+            return this;
+        }
+
+        public NuevoItem setdInfItem(String dInfItem) {
+            this.dInfItem = dInfItem;
+            return this;
+        }
+
+        public NuevoItem setcUniMed(TcUniMed cUniMed) {
+            this.cUniMed = cUniMed;
+            return this;
+        }
+
+        public NuevoItem setdCantProSer(BigDecimal dCantProSer) {
+            this.dCantProSer = dCantProSer;
+            return this;
+        }
+
+        public NuevoItem setdPUniProSer(BigDecimal dPUniProSer) {
+            this.dPUniProSer = dPUniProSer;
+            return this;
+        }
+
+        public NuevoItem setdTiCamIt(BigDecimal dTiCamIt) {
+            this.dTiCamIt = dTiCamIt;
+            return this;
+        }
+
+        public NuevoItem setdDescItem(BigDecimal dDescItem) {
+            this.dDescItem = dDescItem;
+            return this;
+        }
+
+        public NuevoItem setdDescGloItem(BigDecimal dDescGloItem) {
+            this.dDescGloItem = dDescGloItem;
+            return this;
+        }
+
+        public NuevoItem setdAntPreUniIt(BigDecimal dAntPreUniIt) {
+            this.dAntPreUniIt = dAntPreUniIt;
+            return this;
+        }
+
+        public NuevoItem setdAntGloPreUniIt(BigDecimal dAntGloPreUniIt) {
+            this.dAntGloPreUniIt = dAntGloPreUniIt;
+            return this;
+        }
+
+        public NuevoItem setiAfecIVA(TiAfecIVA iAfecIVA) {
+            this.iAfecIVA = iAfecIVA;
+            return this;
+        }
+
+        public NuevoItem setdPropIVA(BigDecimal dPropIVA) {
+            this.dPropIVA = dPropIVA;
+            return this;
+        }
+
+        public NuevoItem setdTasaIVA(BigDecimal dTasaIVA) {
+            this.dTasaIVA = dTasaIVA;
+            return this;
+        }
+
+        /**
+         * Agrega el ítem al final de la tabla.
+         *
+         * @return La tabla, para continuar con el siguiente ítem.
+         */
+        public TablaItems agregar() {
+            int row = size;
+            ensureCapacity(row + 1);
+            TablaItems.this.dCodInt[row] = this.dCodInt;
+            TablaItems.this.dDesProSer[row] = intern(this.dDesProSer);
+            TablaItems.this.dInfItem[row] = intern(this.dInfItem);
+            TablaItems.this.cUniMed[row] = this.cUniMed != null ? this.cUniMed.getVal() : 0;
+            TablaItems.this.iAfecIVA[row] = this.iAfecIVA != null ? (byte) this.iAfecIVA.getVal() : 0;
+            TablaItems.this.dCantProSer.set(row, this.dCantProSer);
+            TablaItems.this.dPUniProSer.set(row, this.dPUniProSer);
+            TablaItems.this.dTiCamIt.set(row, this.dTiCamIt);
+            TablaItems.this.dDescItem.set(row, this.dDescItem);
+            TablaItems.this.dDescGloItem.set(row, this.dDescGloItem);
+            TablaItems.this.dAntPreUniIt.set(row, this.dAntPreUniIt);
+            TablaItems.this.dAntGloPreUniIt.set(row, this.dAntGloPreUniIt);
+            TablaItems.this.dPropIVA.set(row, this.dPropIVA);
+            TablaItems.this.dTasaIVA.set(row, this.dTasaIVA);
+            size = row + 1;
+            clear();
+            return TablaItems.this;
+        }
+
+        private NuevoItem clear() {
+            dCodInt = null;
+            dDesProSer = null;
+            dInfItem = null;
+            cUniMed = null;
+            dCantProSer = null;
+            dPUniProSer = null;
+            dTiCamIt = null;
+            dDescItem = BigDecimal.ZERO;
+            dDescGloItem = null;
+            dAntPreUniIt = null;
+            dAntGloPreUniIt = null;
+            iAfecIVA = null;
+            dPropIVA = null;
+            dTasaIVA = null;
+            return this;
+        }
+    }
+}
@@ -4,13 +4,14 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.DateTimeCodec;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class TdDatGralOpe extends SifenObjectBase {
     private LocalDateTime dFeEmiDE;
@@ -19,10 +20,12 @@ public class TdDatGralOpe extends SifenObjectBase {
     private TgDatRec gDatRec;
 
     public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE) throws SOAPException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        setupSOAPElements(XmlElement.of(DE), iTiDE);
+    }
 
-        SOAPElement gDatGralOpe = DE.addChildElement("gDatGralOpe");
-        gDatGralOpe.addChildElement("dFeEmiDE").setTextContent(this.dFeEmiDE.format(formatter));
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE) throws SOAPException {
+        XmlElement gDatGralOpe = DE.addChildElement("gDatGralOpe");
+        gDatGralOpe.addChildElement("dFeEmiDE").setTextContent(DateTimeCodec.formatDateTime(this.dFeEmiDE));
         if (iTiDE.getVal() != 7)
             this.gOpeCom.setupSOAPElements(gDatGralOpe, iTiDE);
         this.gEmis.setupSOAPElements(gDatGralOpe);
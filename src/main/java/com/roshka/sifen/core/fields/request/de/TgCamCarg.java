@@ -6,6 +6,7 @@ import com.roshka.sifen.core.types.TiCarCarga;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -21,7 +22,11 @@ public class TgCamCarg extends SifenObjectBase {
     private String dDesCarCarga;
 
     public void setupSOAPElements(SOAPElement gCamGen) throws SOAPException {
-        SOAPElement gCamCarg = gCamGen.addChildElement("gCamCarg");
+        setupSOAPElements(XmlElement.of(gCamGen));
+    }
+
+    public void setupSOAPElements(XmlElement gCamGen) throws SOAPException {
+        XmlElement gCamCarg = gCamGen.addChildElement("gCamCarg");
         if (this.cUniMedTotVol != null) {
             gCamCarg.addChildElement("cUniMedTotVol").setTextContent(String.valueOf(this.cUniMedTotVol.getVal()));
             gCamCarg.addChildElement("dDesUniMedTotVol").setTextContent(this.cUniMedTotVol.getAbreviatura());
@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.TiCondOpe;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -19,7 +20,11 @@ public class TgCamCond extends SifenObjectBase {
     private TgPagCred gPagCred;
 
     public void setupSOAPElements(SOAPElement gDtipDE) throws SOAPException {
-        SOAPElement gCamCond = gDtipDE.addChildElement("gCamCond");
+        setupSOAPElements(XmlElement.of(gDtipDE));
+    }
+
+    public void setupSOAPElements(XmlElement gDtipDE) throws SOAPException {
+        XmlElement gCamCond = gDtipDE.addChildElement("gCamCond");
         gCamCond.addChildElement("iCondOpe").setTextContent(String.valueOf(this.iCondOpe.getVal()));
         gCamCond.addChildElement("dDCondOpe").setTextContent(this.iCondOpe.getDescripcion());
 
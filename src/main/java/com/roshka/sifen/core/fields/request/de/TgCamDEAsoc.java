@@ -8,6 +8,7 @@ import com.roshka.sifen.core.types.TiTipDocAso;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -31,7 +32,11 @@ public class TgCamDEAsoc extends SifenObjectBase {
     private String dNumControl;
 
     public void setupSOAPElements(SOAPElement DE, TTipTra iTipTra, boolean withholdingExists) throws SOAPException {
-        SOAPElement gCamDEAsoc = DE.addChildElement("gCamDEAsoc");
+        setupSOAPElements(XmlElement.of(DE), iTipTra, withholdingExists);
+    }
+
+    public void setupSOAPElements(XmlElement DE, TTipTra iTipTra, boolean withholdingExists) throws SOAPException {
+        XmlElement gCamDEAsoc = DE.addChildElement("gCamDEAsoc");
         gCamDEAsoc.addChildElement("iTipDocAso").setTextContent(String.valueOf(this.iTipDocAso.getVal()));
         gCamDEAsoc.addChildElement("dDesTipDocAso").setTextContent(this.iTipDocAso.getDescripcion());
 
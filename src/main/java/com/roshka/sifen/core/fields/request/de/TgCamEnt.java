@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TDepartamento;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -22,7 +23,11 @@ public class TgCamEnt extends SifenObjectBase {
     private String dTelEnt;
 
     public void setupSOAPElements(SOAPElement gTransp) throws SOAPException {
-        SOAPElement gCamEnt = gTransp.addChildElement("gCamEnt");
+        setupSOAPElements(XmlElement.of(gTransp));
+    }
+
+    public void setupSOAPElements(XmlElement gTransp) throws SOAPException {
+        XmlElement gCamEnt = gTransp.addChildElement("gCamEnt");
         gCamEnt.addChildElement("dDirLocEnt").setTextContent(this.dDirLocEnt);
         gCamEnt.addChildElement("dNumCasEnt").setTextContent(String.valueOf(this.dNumCasEnt));
 
@@ -3,6 +3,7 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -15,7 +16,11 @@ public class TgCamEsp extends SifenObjectBase {
     private TgGrupAdi gGrupAdi;
 
     public void setupSOAPElements(SOAPElement gDtipDE) throws SOAPException {
-        SOAPElement gCamEsp = gDtipDE.addChildElement("gCamEsp");
+        setupSOAPElements(XmlElement.of(gDtipDE));
+    }
+
+    public void setupSOAPElements(XmlElement gDtipDE) throws SOAPException {
+        XmlElement gCamEsp = gDtipDE.addChildElement("gCamEsp");
         if (this.gGrupEner != null)
             this.gGrupEner.setupSOAPElements(gCamEsp);
 
@@ -7,6 +7,7 @@ import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -21,7 +22,11 @@ public class TgCamFE extends SifenObjectBase {
     private TgCompPub gCompPub;
 
     public void setupSOAPElements(SOAPElement gDtipDE, TiTiOpe iTiOpe) throws SOAPException {
-        SOAPElement gCamFE = gDtipDE.addChildElement("gCamFE");
+        setupSOAPElements(XmlElement.of(gDtipDE), iTiOpe);
+    }
+
+    public void setupSOAPElements(XmlElement gDtipDE, TiTiOpe iTiOpe) throws SOAPException {
+        XmlElement gCamFE = gDtipDE.addChildElement("gCamFE");
         gCamFE.addChildElement("iIndPres").setTextContent(String.valueOf(this.iIndPres.getVal()));
         gCamFE.addChildElement("dDesIndPres").setTextContent(SifenUtil.coalesce(this.iIndPres.getDescripcion(), this.dDesIndPres));
 
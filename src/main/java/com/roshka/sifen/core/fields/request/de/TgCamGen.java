@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -17,7 +18,11 @@ public class TgCamGen extends SifenObjectBase {
     private TgCamCarg gCamCarg;
 
     public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE) throws SOAPException {
-        SOAPElement gCamGen = DE.addChildElement("gCamGen");
+        setupSOAPElements(XmlElement.of(DE), iTiDE);
+    }
+
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE) throws SOAPException {
+        XmlElement gCamGen = DE.addChildElement("gCamGen");
         if (this.dOrdCompra != null)
             gCamGen.addChildElement("dOrdCompra").setTextContent(this.dOrdCompra);
 
@@ -5,15 +5,19 @@ import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.core.types.TiAfecIVA;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.util.FixedPointDecimal;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 public class TgCamIVA extends SifenObjectBase {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal TEN_THOUSAND = BigDecimal.valueOf(10000);
+
     private TiAfecIVA iAfecIVA;
     private BigDecimal dPropIVA;
     private BigDecimal dTasaIVA;
@@ -22,30 +26,33 @@ public class TgCamIVA extends SifenObjectBase {
     private BigDecimal dBasExe;
 
     public void setupSOAPElements(GenerationCtx generationCtx, SOAPElement gCamItem, CMondT cMoneOpe, BigDecimal dTotOpeItem) throws SOAPException {
-        SOAPElement gCamIVA = gCamItem.addChildElement("gCamIVA");
+        setupSOAPElements(generationCtx, XmlElement.of(gCamItem), cMoneOpe, dTotOpeItem);
+    }
+
+    public void setupSOAPElements(GenerationCtx generationCtx, XmlElement gCamItem, CMondT cMoneOpe, BigDecimal dTotOpeItem) throws SOAPException {
+        XmlElement gCamIVA = gCamItem.addChildElement("gCamIVA");
         gCamIVA.addChildElement("iAfecIVA").setTextContent(String.valueOf(this.iAfecIVA.getVal()));
         gCamIVA.addChildElement("dDesAfecIVA").setTextContent(this.iAfecIVA.getDescripcion());
         gCamIVA.addChildElement("dPropIVA").setTextContent(String.valueOf(this.dPropIVA));
         gCamIVA.addChildElement("dTasaIVA").setTextContent(String.valueOf(this.dTasaIVA));
         int scale = cMoneOpe.name().equals("PYG") ? 0 : 2;
-        dTotOpeItem = dTotOpeItem.setScale(scale, RoundingMode.HALF_UP);
+        FixedPointDecimal totOpeItem = FixedPointDecimal.of(dTotOpeItem).setScale(scale);
 
-        BigDecimal hundred = BigDecimal.valueOf(100);
-        BigDecimal propIVA = this.dPropIVA.divide(hundred, scale, RoundingMode.HALF_UP);
+        FixedPointDecimal propIVA = FixedPointDecimal.of(this.dPropIVA).divide(HUNDRED, scale);
         if (this.iAfecIVA.getVal() == 1 || this.iAfecIVA.getVal() == 4) {
+            // Los divisores 1.1 y 1.05 se expresan como valor sin escala y escala
             if (this.dTasaIVA.equals(BigDecimal.valueOf(10))) {
-                this.dBasGravIVA = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.1), scale, RoundingMode.HALF_UP);
-                this.dLiqIVAItem = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(11), scale, RoundingMode.HALF_UP);
+                this.dBasGravIVA = totOpeItem.copy().multiply(propIVA).divide(11, 1, scale).toBigDecimal();
+                this.dLiqIVAItem = totOpeItem.copy().multiply(propIVA).divide(11, 0, scale).toBigDecimal();
             } else if (this.dTasaIVA.equals(BigDecimal.valueOf(5))) {
-                this.dBasGravIVA = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.05), scale, RoundingMode.HALF_UP);
-                this.dLiqIVAItem = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(21), scale, RoundingMode.HALF_UP);
+                this.dBasGravIVA = totOpeItem.copy().multiply(propIVA).divide(105, 2, scale).toBigDecimal();
+                this.dLiqIVAItem = totOpeItem.copy().multiply(propIVA).divide(21, 0, scale).toBigDecimal();
             }
         } else {
             this.dBasGravIVA = BigDecimal.ZERO;
             this.dLiqIVAItem = BigDecimal.ZERO;
         }
 
-
         gCamIVA.addChildElement("dBasGravIVA").setTextContent(String.valueOf(this.dBasGravIVA));
         gCamIVA.addChildElement("dLiqIVAItem").setTextContent(String.valueOf(this.dLiqIVAItem));
 
@@ -53,7 +60,9 @@ public class TgCamIVA extends SifenObjectBase {
             if (this.iAfecIVA.getVal() == 4) {
                 // Actualización: https://ekuatia.set.gov.py/portal/ekuatia/detail?content-id=/repository/collaboration/sites/ekuatia/documents/documentacion/documentacion-tecnica/NT_E_KUATIA_013_MT_V150.pdf
                 // E737 = [100 * EA008 * (100 – E733)] / [10000 + (E734 * E733)]
-                this.dBasExe = (dTotOpeItem.multiply(hundred.subtract(dPropIVA)).multiply(hundred)).divide((this.dTasaIVA.multiply(dPropIVA)).add(BigDecimal.valueOf(10000)), scale, RoundingMode.HALF_UP);
+                FixedPointDecimal divisor = FixedPointDecimal.of(this.dTasaIVA).multiply(this.dPropIVA).add(TEN_THOUSAND);
+                this.dBasExe = totOpeItem.multiply(FixedPointDecimal.of(HUNDRED).subtract(this.dPropIVA)).multiply(HUNDRED)
+                        .divide(divisor, scale).toBigDecimal();
             } else {
                 this.dBasExe = BigDecimal.valueOf(0);
             }
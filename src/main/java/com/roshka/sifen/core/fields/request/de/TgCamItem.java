@@ -7,6 +7,7 @@ import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -36,6 +37,10 @@ public class TgCamItem extends SifenObjectBase {
     private TgVehNuevo gVehNuevo;
 
     public void setupSOAPElements(GenerationCtx generationCtx, SOAPElement gDtipDE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
+        setupSOAPElements(generationCtx, XmlElement.of(gDtipDE), iTiDE, gDatGralOpe);
+    }
+
+    public void setupSOAPElements(GenerationCtx generationCtx, XmlElement gDtipDE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
         TiTiOpe iTiOpe = gDatGralOpe.getgDatRec().getiTiOpe();
         TTipTra iTipTra = null;
         TdCondTiCam dCondTiCam = null;
@@ -48,7 +53,7 @@ public class TgCamItem extends SifenObjectBase {
             cMoneOpe = gDatGralOpe.getgOpeCom().getcMoneOpe();
         }
 
-        SOAPElement gCamItem = gDtipDE.addChildElement("gCamItem");
+        XmlElement gCamItem = gDtipDE.addChildElement("gCamItem");
         gCamItem.addChildElement("dCodInt").setTextContent(this.dCodInt);
 
         if (this.dParAranc != 0)
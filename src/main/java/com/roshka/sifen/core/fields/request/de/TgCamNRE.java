@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.TiMotivTras;
 import com.roshka.sifen.core.types.TiRespEmiNR;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -21,7 +22,11 @@ public class TgCamNRE extends SifenObjectBase {
     private LocalDate dFecEm;
 
     public void setupSOAPElements(SOAPElement gDtipDE) throws SOAPException {
-        SOAPElement gCamNRE = gDtipDE.addChildElement("gCamNRE");
+        setupSOAPElements(XmlElement.of(gDtipDE));
+    }
+
+    public void setupSOAPElements(XmlElement gDtipDE) throws SOAPException {
+        XmlElement gCamNRE = gDtipDE.addChildElement("gCamNRE");
         gCamNRE.addChildElement("iMotEmiNR").setTextContent(String.valueOf(this.iMotEmiNR.getVal()));
         gCamNRE.addChildElement("dDesMotEmiNR").setTextContent(this.iMotEmiNR.getDescripcion());
         gCamNRE.addChildElement("iRespEmiNR").setTextContent(String.valueOf(this.iRespEmiNR.getVal()));
@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TDepartamento;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -22,7 +23,11 @@ public class TgCamSal extends SifenObjectBase {
     private String dTelSal;
 
     public void setupSOAPElements(SOAPElement gTransp) throws SOAPException {
-        SOAPElement gCamSal = gTransp.addChildElement("gCamSal");
+        setupSOAPElements(XmlElement.of(gTransp));
+    }
+
+    public void setupSOAPElements(XmlElement gTransp) throws SOAPException {
+        XmlElement gCamSal = gTransp.addChildElement("gCamSal");
         gCamSal.addChildElement("dDirLocSal").setTextContent(this.dDirLocSal);
         gCamSal.addChildElement("dNumCasSal").setTextContent(String.valueOf(this.dNumCasSal));
 
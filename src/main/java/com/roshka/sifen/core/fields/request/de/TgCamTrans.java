@@ -6,6 +6,7 @@ import com.roshka.sifen.core.types.TiNatRec;
 import com.roshka.sifen.core.types.TiTipDoc;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -29,7 +30,11 @@ public class TgCamTrans extends SifenObjectBase {
     private String dDirAge;
 
     public void setupSOAPElements(SOAPElement gTransp) throws SOAPException {
-        SOAPElement gCamTrans = gTransp.addChildElement("gCamTrans");
+        setupSOAPElements(XmlElement.of(gTransp));
+    }
+
+    public void setupSOAPElements(XmlElement gTransp) throws SOAPException {
+        XmlElement gCamTrans = gTransp.addChildElement("gCamTrans");
         gCamTrans.addChildElement("iNatTrans").setTextContent(String.valueOf(this.iNatTrans.getVal()));
         gCamTrans.addChildElement("dNomTrans").setTextContent(this.dNomTrans);
 
@@ -3,6 +3,7 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -17,7 +18,11 @@ public class TgCompPub extends SifenObjectBase {
     private LocalDate dFeCodCont;
 
     public void setupSOAPElements(SOAPElement gCamFE) throws SOAPException {
-        SOAPElement gCompPub = gCamFE.addChildElement("gCompPub");
+        setupSOAPElements(XmlElement.of(gCamFE));
+    }
+
+    public void setupSOAPElements(XmlElement gCamFE) throws SOAPException {
+        XmlElement gCompPub = gCamFE.addChildElement("gCompPub");
         gCompPub.addChildElement("dModCont").setTextContent(this.dModCont);
         gCompPub.addChildElement("dEntCont").setTextContent(String.valueOf(this.dEntCont));
         gCompPub.addChildElement("dAnoCont").setTextContent(String.valueOf(this.dAnoCont));
@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -17,7 +18,11 @@ public class TgCuotas extends SifenObjectBase {
     private LocalDate dVencCuo;
 
     public void setupSOAPElements(SOAPElement gPagCred) throws SOAPException {
-        SOAPElement gCuotas = gPagCred.addChildElement("gCuotas");
+        setupSOAPElements(XmlElement.of(gPagCred));
+    }
+
+    public void setupSOAPElements(XmlElement gPagCred) throws SOAPException {
+        XmlElement gCuotas = gPagCred.addChildElement("gCuotas");
         gCuotas.addChildElement("cMoneCuo").setTextContent(this.cMoneCuo.name());
         gCuotas.addChildElement("dDMoneCuo").setTextContent(this.cMoneCuo.getDescripcion());
         gCuotas.addChildElement("dMonCuota").setTextContent(String.valueOf(this.dMonCuota));
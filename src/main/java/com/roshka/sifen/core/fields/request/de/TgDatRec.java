@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.*;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -35,7 +36,11 @@ public class TgDatRec extends SifenObjectBase {
     private String dCodCliente;
 
     public void setupSOAPElements(SOAPElement gDatGralOpe, TTiDE iTiDE) throws SOAPException {
-        SOAPElement gDatRec = gDatGralOpe.addChildElement("gDatRec");
+        setupSOAPElements(XmlElement.of(gDatGralOpe), iTiDE);
+    }
+
+    public void setupSOAPElements(XmlElement gDatGralOpe, TTiDE iTiDE) throws SOAPException {
+        XmlElement gDatRec = gDatGralOpe.addChildElement("gDatRec");
         gDatRec.addChildElement("iNatRec").setTextContent(String.valueOf(this.iNatRec.getVal()));
         gDatRec.addChildElement("iTiOpe").setTextContent(String.valueOf(this.iTiOpe.getVal()));
         gDatRec.addChildElement("cPaisRec").setTextContent(this.cPaisRec.name());
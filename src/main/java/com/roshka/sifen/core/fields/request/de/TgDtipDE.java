@@ -6,6 +6,7 @@ import com.roshka.sifen.core.types.TiTiOpe;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -20,13 +21,18 @@ public class TgDtipDE extends SifenObjectBase {
     private TgCamNRE gCamNRE;
     private TgCamCond gCamCond;
     private List<TgCamItem> gCamItemList;
+    private TablaItems tablaItems;
     private TgCamEsp gCamEsp;
     private TgTransp gTransp;
 
     public void setupSOAPElements(GenerationCtx generationCtx, SOAPElement DE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
+        setupSOAPElements(generationCtx, XmlElement.of(DE), iTiDE, gDatGralOpe);
+    }
+
+    public void setupSOAPElements(GenerationCtx generationCtx, XmlElement DE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
         TiTiOpe iTiOpe = gDatGralOpe.getgDatRec().getiTiOpe();
 
-        SOAPElement gDtipDE = DE.addChildElement("gDtipDE");
+        XmlElement gDtipDE = DE.addChildElement("gDtipDE");
         if (iTiDE.getVal() == 1)
             this.gCamFE.setupSOAPElements(gDtipDE, iTiOpe);
         else if (iTiDE.getVal() == 4)
@@ -39,9 +45,13 @@ public class TgDtipDE extends SifenObjectBase {
         if (iTiDE.getVal() == 1 || iTiDE.getVal() == 4)
             this.gCamCond.setupSOAPElements(gDtipDE);
 
-        for (TgCamItem gCamItem : this.gCamItemList) {
-            gCamItem.setupSOAPElements(generationCtx, gDtipDE, iTiDE, gDatGralOpe);
+        if (this.gCamItemList != null) {
+            for (TgCamItem gCamItem : this.gCamItemList) {
+                gCamItem.setupSOAPElements(generationCtx, gDtipDE, iTiDE, gDatGralOpe);
+            }
         }
+        if (this.tablaItems != null)
+            this.tablaItems.setupSOAPElements(generationCtx, gDtipDE, iTiDE, gDatGralOpe);
 
         if (this.gCamEsp != null)
             this.gCamEsp.setupSOAPElements(gDtipDE);
@@ -131,6 +141,27 @@ public class TgDtipDE extends SifenObjectBase {
         this.gCamItemList = gCamItemList;
     }
 
+    public TablaItems getTablaItems() {
+        return tablaItems;
+    }
+
+    /**
+     * Asigna ítems almacenados por columnas, que se generan a continuación de los de gCamItemList. Conviene para DE
+     * con miles de ítems.
+     *
+     * @param tablaItems Tabla de ítems.
+     */
+    public void setTablaItems(TablaItems tablaItems) {
+        this.tablaItems = tablaItems;
+    }
+
+    /**
+     * @return Cantidad total de ítems del DE, de gCamItemList y de la tabla de ítems.
+     */
+    public int getCantidadItems() {
+        return (gCamItemList != null ? gCamItemList.size() : 0) + (tablaItems != null ? tablaItems.getCantidadItems() : 0);
+    }
+
     public TgCamEsp getgCamEsp() {
         return gCamEsp;
     }
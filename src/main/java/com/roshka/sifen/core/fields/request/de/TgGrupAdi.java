@@ -3,6 +3,7 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -21,7 +22,11 @@ public class TgGrupAdi extends SifenObjectBase {
     private BigDecimal dSalAnt;
 
     public void setupSOAPElements(SOAPElement gCamEsp) throws SOAPException {
-        SOAPElement gGrupAdi = gCamEsp.addChildElement("gGrupAdi");
+        setupSOAPElements(XmlElement.of(gCamEsp));
+    }
+
+    public void setupSOAPElements(XmlElement gCamEsp) throws SOAPException {
+        XmlElement gGrupAdi = gCamEsp.addChildElement("gGrupAdi");
         if (this.dCiclo != null) {
             gGrupAdi.addChildElement("dCiclo").setTextContent(this.dCiclo);
             gGrupAdi.addChildElement("dFecIniC").setTextContent(this.dFecIniC.toString());
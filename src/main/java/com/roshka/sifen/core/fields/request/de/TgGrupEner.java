@@ -3,6 +3,7 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -18,7 +19,11 @@ public class TgGrupEner extends SifenObjectBase {
     private BigDecimal dConKwh;
 
     public void setupSOAPElements(SOAPElement gCamEsp) throws SOAPException {
-        SOAPElement gGrupEner = gCamEsp.addChildElement("gGrupEner");
+        setupSOAPElements(XmlElement.of(gCamEsp));
+    }
+
+    public void setupSOAPElements(XmlElement gCamEsp) throws SOAPException {
+        XmlElement gGrupEner = gCamEsp.addChildElement("gGrupEner");
         if (this.dNroMed != null)
             gGrupEner.addChildElement("dNroMed").setTextContent(this.dNroMed);
 
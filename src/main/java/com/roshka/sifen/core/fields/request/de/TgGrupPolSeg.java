@@ -2,14 +2,15 @@ package com.roshka.sifen.core.fields.request.de;
 
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.util.DateTimeCodec;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class TgGrupPolSeg extends SifenObjectBase {
     private String dPoliza;
@@ -21,19 +22,21 @@ public class TgGrupPolSeg extends SifenObjectBase {
     private String dCodInt;
 
     public void setupSOAPElements(SOAPElement gGrupSeg) throws SOAPException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        setupSOAPElements(XmlElement.of(gGrupSeg));
+    }
 
-        SOAPElement gGrupPolSeg = gGrupSeg.addChildElement("gGrupPolSeg");
+    public void setupSOAPElements(XmlElement gGrupSeg) throws SOAPException {
+        XmlElement gGrupPolSeg = gGrupSeg.addChildElement("gGrupPolSeg");
         gGrupPolSeg.addChildElement("dPoliza").setTextContent(this.dPoliza);
         gGrupPolSeg.addChildElement("dUnidVig").setTextContent(this.dUnidVig);
         gGrupPolSeg.addChildElement("dVigencia").setTextContent(String.valueOf(this.dVigencia));
         gGrupPolSeg.addChildElement("dNumPoliza").setTextContent(this.dNumPoliza);
 
         if (this.dFecIniVig != null)
-            gGrupPolSeg.addChildElement("dFecIniVig").setTextContent(this.dFecIniVig.format(formatter));
+            gGrupPolSeg.addChildElement("dFecIniVig").setTextContent(DateTimeCodec.formatDateTime(this.dFecIniVig));
 
         if (this.dFecFinVig != null)
-            gGrupPolSeg.addChildElement("dFecFinVig").setTextContent(this.dFecFinVig.format(formatter));
+            gGrupPolSeg.addChildElement("dFecFinVig").setTextContent(DateTimeCodec.formatDateTime(this.dFecFinVig));
 
         if (this.dCodInt != null)
             gGrupPolSeg.addChildElement("dCodInt").setTextContent(this.dCodInt);
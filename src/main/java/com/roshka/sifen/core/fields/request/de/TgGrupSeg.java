@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -16,7 +17,11 @@ public class TgGrupSeg extends SifenObjectBase {
     private List<TgGrupPolSeg> gGrupPolSegList;
 
     public void setupSOAPElements(SOAPElement gCamEsp) throws SOAPException {
-        SOAPElement gGrupSeg = gCamEsp.addChildElement("gGrupSeg");
+        setupSOAPElements(XmlElement.of(gCamEsp));
+    }
+
+    public void setupSOAPElements(XmlElement gCamEsp) throws SOAPException {
+        XmlElement gGrupSeg = gCamEsp.addChildElement("gGrupSeg");
         if (this.dCodEmpSeg != null)
             gGrupSeg.addChildElement("dCodEmpSeg").setTextContent(this.dCodEmpSeg);
 
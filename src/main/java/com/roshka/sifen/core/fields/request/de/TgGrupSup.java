@@ -3,6 +3,7 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -17,7 +18,11 @@ public class TgGrupSup extends SifenObjectBase {
     private String dDesDonac;
 
     public void setupSOAPElements(SOAPElement gCamEsp) throws SOAPException {
-        SOAPElement gGrupSup = gCamEsp.addChildElement("gGrupSup");
+        setupSOAPElements(XmlElement.of(gCamEsp));
+    }
+
+    public void setupSOAPElements(XmlElement gCamEsp) throws SOAPException {
+        XmlElement gGrupSup = gCamEsp.addChildElement("gGrupSup");
         if (this.dNomCaj != null)
             gGrupSup.addChildElement("dNomCaj").setTextContent(this.dNomCaj);
 
@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.*;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -19,7 +20,11 @@ public class TgOpeCom extends SifenObjectBase {
     private TiCondAnt iCondAnt;
 
     public void setupSOAPElements(SOAPElement gDatGralOpe, TTiDE iTiDE) throws SOAPException {
-        SOAPElement gOpeCom = gDatGralOpe.addChildElement("gOpeCom");
+        setupSOAPElements(XmlElement.of(gDatGralOpe), iTiDE);
+    }
+
+    public void setupSOAPElements(XmlElement gDatGralOpe, TTiDE iTiDE) throws SOAPException {
+        XmlElement gOpeCom = gDatGralOpe.addChildElement("gOpeCom");
         if (iTiDE.getVal() == 1 || iTiDE.getVal() == 4) {
             gOpeCom.addChildElement("iTipTra").setTextContent(String.valueOf(this.iTipTra.getVal()));
             gOpeCom.addChildElement("dDesTipTra").setTextContent(this.iTipTra.getDescripcion());
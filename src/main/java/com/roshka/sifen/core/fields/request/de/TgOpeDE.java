@@ -6,6 +6,7 @@ import com.roshka.sifen.core.types.TTipEmi;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -22,7 +23,11 @@ public class TgOpeDE extends SifenObjectBase {
     }
 
     public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE) throws SOAPException {
-        SOAPElement gOpeDE = DE.addChildElement("gOpeDE");
+        setupSOAPElements(XmlElement.of(DE), iTiDE);
+    }
+
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE) throws SOAPException {
+        XmlElement gOpeDE = DE.addChildElement("gOpeDE");
         gOpeDE.addChildElement("iTipEmi").setTextContent(String.valueOf(this.iTipEmi.getVal()));
         gOpeDE.addChildElement("dDesTipEmi").setTextContent(this.iTipEmi.getDescripcion());
         gOpeDE.addChildElement("dCodSeg").setTextContent(this.dCodSeg);
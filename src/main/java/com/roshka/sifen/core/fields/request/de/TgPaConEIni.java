@@ -6,6 +6,7 @@ import com.roshka.sifen.core.types.TiTiPago;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -22,7 +23,11 @@ public class TgPaConEIni extends SifenObjectBase {
     private TgPagCheq gPagCheq;
 
     public void setupSOAPElements(SOAPElement gCamCond) throws SOAPException {
-        SOAPElement gPaConEIni = gCamCond.addChildElement("gPaConEIni");
+        setupSOAPElements(XmlElement.of(gCamCond));
+    }
+
+    public void setupSOAPElements(XmlElement gCamCond) throws SOAPException {
+        XmlElement gPaConEIni = gCamCond.addChildElement("gPaConEIni");
         gPaConEIni.addChildElement("iTiPago").setTextContent(String.valueOf(this.iTiPago.getVal()));
         gPaConEIni.addChildElement("dDesTiPag").setTextContent(this.iTiPago.getDescripcion());
         gPaConEIni.addChildElement("dMonTiPag").setTextContent(String.valueOf(this.dMonTiPag));
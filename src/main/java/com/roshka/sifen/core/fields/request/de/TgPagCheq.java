@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -14,7 +15,11 @@ public class TgPagCheq extends SifenObjectBase {
     private String dBcoEmi;
 
     public void setupSOAPElements(SOAPElement gPaConEIni) throws SOAPException {
-        SOAPElement gPagCheq = gPaConEIni.addChildElement("gPagCheq");
+        setupSOAPElements(XmlElement.of(gPaConEIni));
+    }
+
+    public void setupSOAPElements(XmlElement gPaConEIni) throws SOAPException {
+        XmlElement gPagCheq = gPaConEIni.addChildElement("gPagCheq");
         gPagCheq.addChildElement("dNumCheq").setTextContent(this.dNumCheq);
         gPagCheq.addChildElement("dBcoEmi").setTextContent(this.dBcoEmi);
     }
@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.TiCondCred;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -21,7 +22,11 @@ public class TgPagCred extends SifenObjectBase {
     private List<TgCuotas> gCuotasList;
 
     public void setupSOAPElements(SOAPElement gCamCond) throws SOAPException {
-        SOAPElement gPagCred = gCamCond.addChildElement("gPagCred");
+        setupSOAPElements(XmlElement.of(gCamCond));
+    }
+
+    public void setupSOAPElements(XmlElement gCamCond) throws SOAPException {
+        XmlElement gPagCred = gCamCond.addChildElement("gPagCred");
         gPagCred.addChildElement("iCondCred").setTextContent(String.valueOf(this.iCondCred.getVal()));
         gPagCred.addChildElement("dDCondCred").setTextContent(this.iCondCred.getDescripcion());
 
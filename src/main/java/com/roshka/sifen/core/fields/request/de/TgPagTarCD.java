@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.TiDenTarj;
 import com.roshka.sifen.core.types.TiForProPa;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -22,7 +23,11 @@ public class TgPagTarCD extends SifenObjectBase {
     private short dNumTarj;
 
     public void setupSOAPElements(SOAPElement gPaConEIni) throws SOAPException {
-        SOAPElement gPagTarCD = gPaConEIni.addChildElement("gPagTarCD");
+        setupSOAPElements(XmlElement.of(gPaConEIni));
+    }
+
+    public void setupSOAPElements(XmlElement gPaConEIni) throws SOAPException {
+        XmlElement gPagTarCD = gPaConEIni.addChildElement("gPagTarCD");
         gPagTarCD.addChildElement("iDenTarj").setTextContent(String.valueOf(this.iDenTarj.getVal()));
         gPagTarCD.addChildElement("dDesDenTarj").setTextContent(this.iDenTarj.getDescripcion());
 
@@ -3,6 +3,7 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -22,7 +23,11 @@ public class TgRasMerc extends SifenObjectBase {
     private String dNumRegEntCom;
 
     public void setupSOAPElements(SOAPElement gCamItem) throws SOAPException {
-        SOAPElement gRasMerc = gCamItem.addChildElement("gRasMerc");
+        setupSOAPElements(XmlElement.of(gCamItem));
+    }
+
+    public void setupSOAPElements(XmlElement gCamItem) throws SOAPException {
+        XmlElement gRasMerc = gCamItem.addChildElement("gRasMerc");
         if (this.dNumLote != null)
             gRasMerc.addChildElement("dNumLote").setTextContent(this.dNumLote);
 
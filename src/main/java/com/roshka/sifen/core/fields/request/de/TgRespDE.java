@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.TiTipIDRespDE;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -18,7 +19,11 @@ public class TgRespDE extends SifenObjectBase {
     private String dCarRespDE;
 
     public void setupSOAPElements(SOAPElement gEmis) throws SOAPException {
-        SOAPElement gRespDE = gEmis.addChildElement("gRespDE");
+        setupSOAPElements(XmlElement.of(gEmis));
+    }
+
+    public void setupSOAPElements(XmlElement gEmis) throws SOAPException {
+        XmlElement gRespDE = gEmis.addChildElement("gRespDE");
         gRespDE.addChildElement("iTipIDRespDE").setTextContent(String.valueOf(this.iTipIDRespDE.getVal()));
         gRespDE.addChildElement("dDTipIDRespDE").setTextContent(SifenUtil.coalesce(this.iTipIDRespDE.getDescripcion(), this.dDTipIDRespDE));
         gRespDE.addChildElement("dNumIDRespDE").setTextContent(this.dNumIDRespDE);
@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -22,7 +23,11 @@ public class TgTimb extends SifenObjectBase {
     private LocalDate dFeFinT;  // fecha de fin de vigencia del timbrado
 
     public void setupSOAPElements(SOAPElement DE) throws SOAPException {
-        SOAPElement gTimb = DE.addChildElement("gTimb");
+        setupSOAPElements(XmlElement.of(DE));
+    }
+
+    public void setupSOAPElements(XmlElement DE) throws SOAPException {
+        XmlElement gTimb = DE.addChildElement("gTimb");
         gTimb.addChildElement("iTiDE").setTextContent(String.valueOf(this.iTiDE.getVal()));
         gTimb.addChildElement("dDesTiDE").setTextContent(this.iTiDE.getDescripcion());
         gTimb.addChildElement("dNumTim").setTextContent(String.valueOf(this.dNumTim));
@@ -7,8 +7,11 @@ import com.roshka.sifen.core.types.TTImp;
 import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.core.types.TdCondTiCam;
 import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.util.DecimalColumn;
+import com.roshka.sifen.internal.util.FixedPointDecimal;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -46,6 +49,10 @@ public class TgTotSub extends SifenObjectBase {
     private BigDecimal dTotalGs = BigDecimal.ZERO;
 
     public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE, TgDtipDE gDtipDE, TgOpeCom gOpeCom) throws SOAPException {
+        setupSOAPElements(XmlElement.of(DE), iTiDE, gDtipDE, gOpeCom);
+    }
+
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE, TgDtipDE gDtipDE, TgOpeCom gOpeCom) throws SOAPException {
         resetValues();
 
         TTImp iTImp = gOpeCom.getiTImp();
@@ -55,49 +62,37 @@ public class TgTotSub extends SifenObjectBase {
 
         int scale = cMoneOpe == CMondT.PYG ? 0 : 2;
 
-        SOAPElement gTotSub = DE.addChildElement("gTotSub");
+        XmlElement gTotSub = DE.addChildElement("gTotSub");
 
         // CALCULOS
-        for (TgCamItem gCamItem : gDtipDE.getgCamItemList()) {
-            TgCamIVA gCamIVA = gCamItem.getgCamIVA();
-            BigDecimal dTotOpeItem = gCamItem.getgValorItem().getgValorRestaItem().getdTotOpeItem();
-
-            dTotOpeItem = dTotOpeItem.setScale(scale, RoundingMode.HALF_UP);
-            if (gCamIVA != null) {
-                BigDecimal dLiqIVAItem = gCamIVA.getdLiqIVAItem();
-                BigDecimal dBasGravIVA = gCamIVA.getdBasGravIVA();
-
-                if (gCamIVA.getiAfecIVA().getVal() == 1 || gCamIVA.getiAfecIVA().getVal() == 4) {
-                    if (gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(10))) {
-                        this.dSub10 = this.dSub10.add(dTotOpeItem);
-                        this.dIVA10 = this.dIVA10.add(dLiqIVAItem);
-                        this.dBaseGrav10 = this.dBaseGrav10.add(dBasGravIVA);
-                        this.dLiqTotIVA10 = BigDecimal.ZERO;
-                    } else if (gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(5))) {
-                        this.dSub5 = this.dSub5.add(dTotOpeItem);
-                        this.dIVA5 = this.dIVA5.add(dLiqIVAItem);
-                        this.dBaseGrav5 = this.dBaseGrav5.add(dBasGravIVA);
-                        this.dLiqTotIVA5 = BigDecimal.ZERO;
-                    }
-                } else if (gCamIVA.getiAfecIVA().getVal() == 2) {
-                    this.dSubExo = this.dSubExo.add(dTotOpeItem);
-                } else if (gCamIVA.getiAfecIVA().getVal() == 3) {
-                    this.dSubExe = this.dSubExe.add(dTotOpeItem);
-                }
+        AcumuladorItems items = new AcumuladorItems(scale, iTiDE.getVal() == 4, !cMoneOpe.name().equals("PYG") && dCondTiCam.getVal() == 2);
+        if (gDtipDE.getgCamItemList() != null) {
+            for (TgCamItem gCamItem : gDtipDE.getgCamItemList()) {
+                items.agregar(gCamItem);
+            }
+        }
+        TablaItems tablaItems = gDtipDE.getTablaItems();
+        if (tablaItems != null) {
+            for (int i = 0; i < tablaItems.getCantidadItems(); i++) {
+                items.agregar(tablaItems, i);
             }
-
-            if (iTiDE.getVal() == 4)
-                this.dTotOpe = this.dTotOpe.add(dTotOpeItem);
-
-            this.dTotDesc = this.dTotDesc.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdDescItem().multiply(gCamItem.getdCantProSer()), BigDecimal.ZERO));
-            this.dTotDescGlotem = this.dTotDescGlotem.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdDescGloItem(), BigDecimal.ZERO));
-            this.dTotAntItem = this.dTotAntItem.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdAntPreUniIt(), BigDecimal.ZERO));
-            this.dTotAnt = this.dTotAnt.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdAntGloPreUniIt(), BigDecimal.ZERO));
-
-            if (!cMoneOpe.name().equals("PYG") && dCondTiCam.getVal() == 2)
-                this.dTotalGs = this.dTotalGs.add(gCamItem.getgValorItem().getgValorRestaItem().getdTotOpeGs());
         }
 
+        this.dSub10 = items.sub10.toBigDecimal();
+        this.dIVA10 = items.iva10.toBigDecimal();
+        this.dBaseGrav10 = items.baseGrav10.toBigDecimal();
+        this.dSub5 = items.sub5.toBigDecimal();
+        this.dIVA5 = items.iva5.toBigDecimal();
+        this.dBaseGrav5 = items.baseGrav5.toBigDecimal();
+        this.dSubExo = items.subExo.toBigDecimal();
+        this.dSubExe = items.subExe.toBigDecimal();
+        this.dTotOpe = items.totOpe.toBigDecimal();
+        this.dTotDesc = items.totDesc.toBigDecimal();
+        this.dTotDescGlotem = items.totDescGlotem.toBigDecimal();
+        this.dTotAntItem = items.totAntItem.toBigDecimal();
+        this.dTotAnt = items.totAnt.toBigDecimal();
+        this.dTotalGs = items.totalGs.toBigDecimal();
+
         if (iTiDE.getVal() != 4 && (iTImp.getVal() == 1 || iTImp.getVal() == 3 || iTImp.getVal() == 4 || iTImp.getVal() == 5)) {
             this.dTotOpe = this.dSub10.add(this.dSub5).add(this.dSubExo).add(this.dSubExe);
         }
@@ -285,6 +280,110 @@ public class TgTotSub extends SifenObjectBase {
         dTotalGs = BigDecimal.ZERO;
     }
 
+    // Suma los importes de los ítems en punto fijo, desde gCamItemList o desde la tabla de ítems; los resultados son
+    // idénticos a los de BigDecimal
+    private static final class AcumuladorItems {
+        private final int scale;
+        private final boolean sumarTotOpe;
+        private final boolean sumarTotOpeGs;
+
+        private final FixedPointDecimal sub10 = FixedPointDecimal.zero(), iva10 = FixedPointDecimal.zero(), baseGrav10 = FixedPointDecimal.zero();
+        private final FixedPointDecimal sub5 = FixedPointDecimal.zero(), iva5 = FixedPointDecimal.zero(), baseGrav5 = FixedPointDecimal.zero();
+        private final FixedPointDecimal subExo = FixedPointDecimal.zero(), subExe = FixedPointDecimal.zero(), totOpe = FixedPointDecimal.zero();
+        private final FixedPointDecimal totDesc = FixedPointDecimal.zero(), totDescGlotem = FixedPointDecimal.zero();
+        private final FixedPointDecimal totAntItem = FixedPointDecimal.zero(), totAnt = FixedPointDecimal.zero(), totalGs = FixedPointDecimal.zero();
+
+        // Valores del ítem en curso
+        private final FixedPointDecimal dTotOpeItem = FixedPointDecimal.zero(), dLiqIVAItem = FixedPointDecimal.zero();
+        private final FixedPointDecimal dBasGravIVA = FixedPointDecimal.zero(), dDescItem = FixedPointDecimal.zero();
+        private final FixedPointDecimal dCantProSer = FixedPointDecimal.zero(), valor = FixedPointDecimal.zero();
+
+        private AcumuladorItems(int scale, boolean sumarTotOpe, boolean sumarTotOpeGs) {
+            this.scale = scale;
+            this.sumarTotOpe = sumarTotOpe;
+            this.sumarTotOpeGs = sumarTotOpeGs;
+        }
+
+        private void agregar(TgCamItem gCamItem) {
+            TgCamIVA gCamIVA = gCamItem.getgCamIVA();
+            TgValorRestaItem gValorRestaItem = gCamItem.getgValorItem().getgValorRestaItem();
+
+            dTotOpeItem.set(gValorRestaItem.getdTotOpeItem()).setScale(scale);
+            if (gCamIVA != null) {
+                short iAfecIVA = gCamIVA.getiAfecIVA().getVal();
+                int tasaIVA = gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(10)) ? 10 : gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(5)) ? 5 : 0;
+                if (esGravado(iAfecIVA, tasaIVA)) {
+                    dLiqIVAItem.set(gCamIVA.getdLiqIVAItem());
+                    dBasGravIVA.set(gCamIVA.getdBasGravIVA());
+                }
+                agregarIVA(iAfecIVA, tasaIVA);
+            }
+
+            if (sumarTotOpe)
+                totOpe.add(dTotOpeItem);
+
+            totDesc.add(dDescItem.set(gValorRestaItem.getdDescItem()).multiply(gCamItem.getdCantProSer()));
+            totDescGlotem.add(SifenUtil.coalesce(gValorRestaItem.getdDescGloItem(), BigDecimal.ZERO));
+            totAntItem.add(SifenUtil.coalesce(gValorRestaItem.getdAntPreUniIt(), BigDecimal.ZERO));
+            totAnt.add(SifenUtil.coalesce(gValorRestaItem.getdAntGloPreUniIt(), BigDecimal.ZERO));
+
+            if (sumarTotOpeGs)
+                totalGs.add(gValorRestaItem.getdTotOpeGs());
+        }
+
+        private void agregar(TablaItems tablaItems, int row) {
+            tablaItems.getdTotOpeItem().load(row, dTotOpeItem).setScale(scale);
+            short iAfecIVA = tablaItems.getiAfecIVA(row);
+            if (iAfecIVA != 0) {
+                DecimalColumn dTasaIVA = tablaItems.getdTasaIVA();
+                int tasaIVA = dTasaIVA.equalsValue(row, 10, 0) ? 10 : dTasaIVA.equalsValue(row, 5, 0) ? 5 : 0;
+                if (esGravado(iAfecIVA, tasaIVA)) {
+                    tablaItems.getdLiqIVAItem().load(row, dLiqIVAItem);
+                    tablaItems.getdBasGravIVA().load(row, dBasGravIVA);
+                }
+                agregarIVA(iAfecIVA, tasaIVA);
+            }
+
+            if (sumarTotOpe)
+                totOpe.add(dTotOpeItem);
+
+            totDesc.add(tablaItems.getdDescItem().load(row, dDescItem).multiply(tablaItems.getdCantProSer().load(row, dCantProSer)));
+            agregarOpcional(totDescGlotem, tablaItems.getdDescGloItem(), row);
+            agregarOpcional(totAntItem, tablaItems.getdAntPreUniIt(), row);
+            agregarOpcional(totAnt, tablaItems.getdAntGloPreUniIt(), row);
+
+            if (sumarTotOpeGs)
+                totalGs.add(tablaItems.getdTotOpeGs().load(row, valor));
+        }
+
+        private static boolean esGravado(short iAfecIVA, int tasaIVA) {
+            return (iAfecIVA == 1 || iAfecIVA == 4) && tasaIVA != 0;
+        }
+
+        private void agregarIVA(short iAfecIVA, int tasaIVA) {
+            if (iAfecIVA == 1 || iAfecIVA == 4) {
+                if (tasaIVA == 10) {
+                    sub10.add(dTotOpeItem);
+                    iva10.add(dLiqIVAItem);
+                    baseGrav10.add(dBasGravIVA);
+                } else if (tasaIVA == 5) {
+                    sub5.add(dTotOpeItem);
+                    iva5.add(dLiqIVAItem);
+                    baseGrav5.add(dBasGravIVA);
+                }
+            } else if (iAfecIVA == 2) {
+                subExo.add(dTotOpeItem);
+            } else if (iAfecIVA == 3) {
+                subExe.add(dTotOpeItem);
+            }
+        }
+
+        // Los campos opcionales nulos suman 0, igual que con SifenUtil.coalesce
+        private void agregarOpcional(FixedPointDecimal total, DecimalColumn column, int row) {
+            total.add(column.isNull(row) ? valor.set(0, 0) : column.load(row, valor));
+        }
+    }
+
     public BigDecimal getdSubExe() {
         return dSubExe;
     }
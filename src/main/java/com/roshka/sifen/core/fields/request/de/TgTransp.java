@@ -5,6 +5,7 @@ import com.roshka.sifen.core.types.*;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -29,7 +30,11 @@ public class TgTransp extends SifenObjectBase {
     private TgCamTrans gCamTrans;
 
     public void setupSOAPElements(SOAPElement gDtipDE, TTiDE iTiDE, TiMotivTras iMotEmiNR) throws SOAPException {
-        SOAPElement gTransp = gDtipDE.addChildElement("gTransp");
+        setupSOAPElements(XmlElement.of(gDtipDE), iTiDE, iMotEmiNR);
+    }
+
+    public void setupSOAPElements(XmlElement gDtipDE, TTiDE iTiDE, TiMotivTras iMotEmiNR) throws SOAPException {
+        XmlElement gTransp = gDtipDE.addChildElement("gTransp");
 
         if (iTiDE.getVal() == 7 || this.iTipTrans != null) {
             gTransp.addChildElement("iTipTrans").setTextContent(String.valueOf(this.iTipTrans.getVal()));
@@ -7,13 +7,14 @@ import com.roshka.sifen.core.types.TdCondTiCam;
 import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.FixedPointDecimal;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 public class TgValorItem extends SifenObjectBase {
     private BigDecimal dPUniProSer;
@@ -22,16 +23,19 @@ public class TgValorItem extends SifenObjectBase {
     private TgValorRestaItem gValorRestaItem;
 
     public void setupSOAPElements(SOAPElement gCamItem, TTiDE iTiDE, TdCondTiCam dCondTiCam, TTImp iTImp, BigDecimal dCantProSer, CMondT cMoneOpe) throws SOAPException {
-        SOAPElement gValorItem = gCamItem.addChildElement("gValorItem");
+        setupSOAPElements(XmlElement.of(gCamItem), iTiDE, dCondTiCam, iTImp, dCantProSer, cMoneOpe);
+    }
+
+    public void setupSOAPElements(XmlElement gCamItem, TTiDE iTiDE, TdCondTiCam dCondTiCam, TTImp iTImp, BigDecimal dCantProSer, CMondT cMoneOpe) throws SOAPException {
+        XmlElement gValorItem = gCamItem.addChildElement("gValorItem");
         gValorItem.addChildElement("dPUniProSer").setTextContent(String.valueOf(this.dPUniProSer));
 
         if (dCondTiCam != null && dCondTiCam.getVal() == 2)
             gValorItem.addChildElement("dTiCamIt").setTextContent(String.valueOf(this.dTiCamIt));
 
-        this.dTotBruOpeItem = this.dPUniProSer.multiply(dCantProSer);
         // am2811
         int scale = cMoneOpe.name().equals("PYG") ? 0 : 2;
-        this.dTotBruOpeItem = this.dTotBruOpeItem.setScale(scale, RoundingMode.HALF_UP);
+        this.dTotBruOpeItem = FixedPointDecimal.of(this.dPUniProSer).multiply(dCantProSer).setScale(scale).toBigDecimal();
         gValorItem.addChildElement("dTotBruOpeItem").setTextContent(String.valueOf(this.dTotBruOpeItem));
 
         this.gValorRestaItem.setupSOAPElements(gValorItem, iTiDE, iTImp, dCondTiCam, this.dTiCamIt, this.dPUniProSer, dCantProSer, cMoneOpe);
@@ -6,8 +6,10 @@ import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.core.types.TdCondTiCam;
 import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.util.FixedPointDecimal;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -16,6 +18,8 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 public class TgValorRestaItem extends SifenObjectBase {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
     private BigDecimal dDescItem;
     private BigDecimal dPorcDesIt;
     private BigDecimal dDescGloItem;
@@ -30,12 +34,17 @@ public class TgValorRestaItem extends SifenObjectBase {
 
     public void setupSOAPElements(SOAPElement gValorItem, TTiDE iTiDE, TTImp iTImp, TdCondTiCam dCondTiCam, BigDecimal dTiCamIt,
                                   BigDecimal dPUniProSer, BigDecimal dCantProSer, CMondT cMoneOpe) throws SOAPException {
-        SOAPElement gValorRestaItem = gValorItem.addChildElement("gValorRestaItem");
+        setupSOAPElements(XmlElement.of(gValorItem), iTiDE, iTImp, dCondTiCam, dTiCamIt, dPUniProSer, dCantProSer, cMoneOpe);
+    }
+
+    public void setupSOAPElements(XmlElement gValorItem, TTiDE iTiDE, TTImp iTImp, TdCondTiCam dCondTiCam, BigDecimal dTiCamIt,
+                                  BigDecimal dPUniProSer, BigDecimal dCantProSer, CMondT cMoneOpe) throws SOAPException {
+        XmlElement gValorRestaItem = gValorItem.addChildElement("gValorRestaItem");
 
         if (this.dDescItem != null) {
             gValorRestaItem.addChildElement("dDescItem").setTextContent(this.dDescItem.setScale(2, RoundingMode.HALF_UP).toPlainString());
 
-            this.dPorcDesIt = this.dDescItem.multiply(BigDecimal.valueOf(100)).divide(dPUniProSer, 2, RoundingMode.HALF_UP);
+            this.dPorcDesIt = FixedPointDecimal.of(this.dDescItem).multiply(HUNDRED).divide(dPUniProSer, 2).toBigDecimal();
             gValorRestaItem.addChildElement("dPorcDesIt").setTextContent(String.valueOf(this.dPorcDesIt));
         }
 
@@ -46,13 +55,15 @@ public class TgValorRestaItem extends SifenObjectBase {
         gValorRestaItem.addChildElement("dAntGloPreUniIt").setTextContent(String.valueOf(SifenUtil.coalesce(this.dAntGloPreUniIt, BigDecimal.ZERO)));
 
         if (iTiDE.getVal() == 4) {
-            this.dTotOpeItem = dPUniProSer.multiply(dCantProSer);
+            this.dTotOpeItem = FixedPointDecimal.of(dPUniProSer).multiply(dCantProSer).toBigDecimal();
         } else if (iTImp != null && (iTImp.getVal() == 1 || iTImp.getVal() == 3 || iTImp.getVal() == 4 || iTImp.getVal() == 5)) {
-            this.dTotOpeItem = (dPUniProSer.subtract(SifenUtil.coalesce(this.dDescItem, BigDecimal.ZERO))
+            this.dTotOpeItem = FixedPointDecimal.of(dPUniProSer)
+                    .subtract(SifenUtil.coalesce(this.dDescItem, BigDecimal.ZERO))
                     .subtract(SifenUtil.coalesce(this.dDescGloItem, BigDecimal.ZERO))
                     .subtract(SifenUtil.coalesce(this.dAntPreUniIt, BigDecimal.ZERO))
-                    .subtract(SifenUtil.coalesce(this.dAntGloPreUniIt, BigDecimal.ZERO)))
-                    .multiply(dCantProSer);
+                    .subtract(SifenUtil.coalesce(this.dAntGloPreUniIt, BigDecimal.ZERO))
+                    .multiply(dCantProSer)
+                    .toBigDecimal();
         }
 //        gValorRestaItem.addChildElement("dTotOpeItem").setTextContent(String.valueOf(this.dTotOpeItem));
         //am 22_11
@@ -60,7 +71,7 @@ public class TgValorRestaItem extends SifenObjectBase {
         gValorRestaItem.addChildElement("dTotOpeItem").setTextContent(String.valueOf(this.dTotOpeItem.setScale(scale, RoundingMode.HALF_UP)));
 
         if (dCondTiCam != null && dCondTiCam.getVal() == 2) {
-            this.dTotOpeGs = this.dTotOpeItem.multiply(dTiCamIt);
+            this.dTotOpeGs = FixedPointDecimal.of(this.dTotOpeItem).multiply(dTiCamIt).toBigDecimal();
             gValorRestaItem.addChildElement("dTotOpeGs").setTextContent(String.valueOf(this.dTotOpeGs));
         }
     }
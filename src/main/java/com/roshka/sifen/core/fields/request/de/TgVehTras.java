@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TiModTrans;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.XmlElement;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
@@ -19,7 +20,11 @@ public class TgVehTras extends SifenObjectBase {
     private String dNroVuelo;
 
     public void setupSOAPElements(SOAPElement gTransp, TiModTrans iModTrans) throws SOAPException {
-        SOAPElement gVehTras = gTransp.addChildElement("gVehTras");
+        setupSOAPElements(XmlElement.of(gTransp), iModTrans);
+    }
+
+    public void setupSOAPElements(XmlElement gTransp, TiModTrans iModTrans) throws SOAPException {
+        XmlElement gVehTras = gTransp.addChildElement("gVehTras");
         gVehTras.addChildElement("dTiVehTras").setTextContent(this.dTiVehTras);
         gVehTras.addChildElement("dMarVeh").setTextContent(this.dMarVeh);
         gVehTras.addChildElement("dTipIdenVeh").setTextContent(String.valueOf(this.dTipIdenVeh));
@@ -3,13 +3,13 @@ package com.roshka.sifen.core.fields.request.event;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TiTipConf;
 import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.util.DateTimeCodec;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class TrGeVeConf extends SifenObjectBase {
     private String Id;
@@ -17,15 +17,13 @@ public class TrGeVeConf extends SifenObjectBase {
     private LocalDateTime dFecRecep;
 
     public void setupSOAPElements(SOAPElement gGroupTiEvt) throws SOAPException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-
         SOAPElement rGeVeConf = gGroupTiEvt.addChildElement("rGeVeConf");
 
         rGeVeConf.addChildElement("Id").setTextContent(this.Id);
         rGeVeConf.addChildElement("iTipConf").setTextContent(String.valueOf(this.iTipConf.getVal()));
 
         if (this.dFecRecep != null || this.iTipConf.getVal() == 2)
-            rGeVeConf.addChildElement("dFecRecep").setTextContent(this.dFecRecep.format(formatter));
+            rGeVeConf.addChildElement("dFecRecep").setTextContent(DateTimeCodec.formatDateTime(this.dFecRecep));
     }
 
     @Override
@@ -4,13 +4,13 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TiNatRec;
 import com.roshka.sifen.core.types.TiTipDocRec;
 import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.util.DateTimeCodec;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class TrGeVeDescon extends SifenObjectBase {
     private String Id;
@@ -25,13 +25,11 @@ public class TrGeVeDescon extends SifenObjectBase {
     private String mOtEve;
 
     public void setupSOAPElements(SOAPElement gGroupTiEvt) throws SOAPException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-
         SOAPElement rGeVeDescon = gGroupTiEvt.addChildElement("rGeVeDescon");
 
         rGeVeDescon.addChildElement("Id").setTextContent(this.Id);
-        rGeVeDescon.addChildElement("dFecEmi").setTextContent(this.dFecEmi.format(formatter));
-        rGeVeDescon.addChildElement("dFecRecep").setTextContent(this.dFecRecep.format(formatter));
+        rGeVeDescon.addChildElement("dFecEmi").setTextContent(DateTimeCodec.formatDateTime(this.dFecEmi));
+        rGeVeDescon.addChildElement("dFecRecep").setTextContent(DateTimeCodec.formatDateTime(this.dFecRecep));
         rGeVeDescon.addChildElement("iTipRec").setTextContent(String.valueOf(this.iTipRec.getVal()));
         rGeVeDescon.addChildElement("dNomRec").setTextContent(this.dNomRec);
 
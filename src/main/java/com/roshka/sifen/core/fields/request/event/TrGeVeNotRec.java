@@ -4,6 +4,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TiNatRec;
 import com.roshka.sifen.core.types.TiTipDocRec;
 import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.util.DateTimeCodec;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import org.w3c.dom.Node;
 
@@ -11,7 +12,6 @@ import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class TrGeVeNotRec extends SifenObjectBase {
     private String Id;
@@ -26,13 +26,11 @@ public class TrGeVeNotRec extends SifenObjectBase {
     private BigDecimal dTotalGs;
 
     public void setupSOAPElements(SOAPElement gGroupTiEvt) throws SOAPException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-
         SOAPElement rGeVeNotRec = gGroupTiEvt.addChildElement("rGeVeNotRec");
 
         rGeVeNotRec.addChildElement("Id").setTextContent(this.Id);
-        rGeVeNotRec.addChildElement("dFecEmi").setTextContent(this.dFecEmi.format(formatter));
-        rGeVeNotRec.addChildElement("dFecRecep").setTextContent(this.dFecRecep.format(formatter));
+        rGeVeNotRec.addChildElement("dFecEmi").setTextContent(DateTimeCodec.formatDateTime(this.dFecEmi));
+        rGeVeNotRec.addChildElement("dFecRecep").setTextContent(DateTimeCodec.formatDateTime(this.dFecRecep));
         rGeVeNotRec.addChildElement("iTipRec").setTextContent(String.valueOf(this.iTipRec.getVal()));
         rGeVeNotRec.addChildElement("dNomRec").setTextContent(this.dNomRec);
 
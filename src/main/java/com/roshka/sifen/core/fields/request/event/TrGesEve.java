@@ -5,6 +5,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.helpers.SignatureHelper;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.DateTimeCodec;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Element;
@@ -14,7 +15,6 @@ import org.w3c.dom.NodeList;
 import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import static com.roshka.sifen.internal.Constants.SIFEN_CURRENT_VERSION;
 
@@ -24,8 +24,6 @@ public class TrGesEve extends SifenObjectBase {
     private TgGroupTiEvt gGroupTiEvt;
 
     public void setupSOAPElements(SOAPElement gGroupGesEve, SifenConfig sifenConfig) throws SOAPException, SifenException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-
         SOAPElement rGesEve = gGroupGesEve.addChildElement("rGesEve");
 
         SOAPElement rEve = rGesEve.addChildElement("rEve");
@@ -33,12 +31,12 @@ public class TrGesEve extends SifenObjectBase {
         Attr idAttribute = rEve.getAttributeNode("Id");
         rEve.setIdAttributeNode(idAttribute, true);
 
-        rEve.addChildElement("dFecFirma").setTextContent(this.dFecFirma.format(formatter));
+        rEve.addChildElement("dFecFirma").setTextContent(DateTimeCodec.formatDateTime(this.dFecFirma));
         rEve.addChildElement("dVerFor").setTextContent(SIFEN_CURRENT_VERSION);
         this.gGroupTiEvt.setupSOAPElements(rEve);
 
         // Firma Digital del Evento
-        SignatureHelper.signDocument(sifenConfig, rGesEve, this.Id);
+        SignatureHelper.signDocument(sifenConfig, rGesEve, rEve);
     }
 
     @Override
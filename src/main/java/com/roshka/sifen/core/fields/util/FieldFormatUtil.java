@@ -7,7 +7,7 @@ import java.text.NumberFormat;
 
 public class FieldFormatUtil {
 
-    private static DecimalFormat _tdCRedFormat = (DecimalFormat) DecimalFormat.getInstance();
+    private static final DecimalFormat _tdCRedFormat = (DecimalFormat) DecimalFormat.getInstance();
 
     static {
         DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance();
@@ -20,7 +20,8 @@ public class FieldFormatUtil {
     }
 
     public static String formattdCRed(BigDecimal val) {
-        return _tdCRedFormat.format(val);
+        // DecimalFormat no es thread-safe: se formatea sobre una copia del formato base
+        return ((DecimalFormat) _tdCRedFormat.clone()).format(val);
     }
 
 }
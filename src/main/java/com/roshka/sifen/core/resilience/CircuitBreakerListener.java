@@ -0,0 +1,15 @@
+package com.roshka.sifen.core.resilience;
+
+/**
+ * Recibe las transiciones de estado de los circuitos hacia los endpoints de Sifen. Los métodos se invocan en el hilo
+ * de la petición que provocó la transición, por lo que no deben bloquear.
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+    /**
+     * @param endpoint URL del endpoint.
+     * @param anterior Estado anterior del circuito.
+     * @param nuevo    Estado nuevo del circuito.
+     */
+    void onTransicion(String endpoint, EstadoCircuito anterior, EstadoCircuito nuevo);
+}
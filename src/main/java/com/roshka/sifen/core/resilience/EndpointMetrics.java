@@ -0,0 +1,98 @@
+package com.roshka.sifen.core.resilience;
+
+/**
+ * Métricas de las peticiones realizadas hacia un endpoint de Sifen, tomadas en un momento dado.
+ */
+public class EndpointMetrics {
+    private final String endpoint;
+    private final EstadoCircuito estado;
+    private final long llamadas;
+    private final long fallos;
+    private final long reintentos;
+    private final long rechazos;
+    private final long aperturas;
+    private final long semiaperturas;
+    private final long cierres;
+
+    public EndpointMetrics(String endpoint, EstadoCircuito estado, long llamadas, long fallos, long reintentos,
+                           long rechazos, long aperturas, long semiaperturas, long cierres) {
+        this.endpoint = endpoint;
+        this.estado = estado;
+        this.llamadas = llamadas;
+        this.fallos = fallos;
+        this.reintentos = reintentos;
+        this.rechazos = rechazos;
+        this.aperturas = aperturas;
+        this.semiaperturas = semiaperturas;
+        this.cierres = cierres;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public EstadoCircuito getEstado() {
+        return estado;
+    }
+
+    /**
+     * @return Cantidad de intentos enviados al endpoint, incluyendo los reintentos.
+     */
+    public long getLlamadas() {
+        return llamadas;
+    }
+
+    /**
+     * @return Cantidad de intentos que fallaron por errores transitorios (E/S o HTTP 429/502/503/504).
+     */
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getReintentos() {
+        return reintentos;
+    }
+
+    /**
+     * @return Cantidad de peticiones rechazadas sin ser enviadas por estar abierto el circuito.
+     */
+    public long getRechazos() {
+        return rechazos;
+    }
+
+    /**
+     * @return Cantidad de transiciones al estado {@link EstadoCircuito#ABIERTO}.
+     */
+    public long getAperturas() {
+        return aperturas;
+    }
+
+    /**
+     * @return Cantidad de transiciones al estado {@link EstadoCircuito#SEMIABIERTO}.
+     */
+    public long getSemiaperturas() {
+        return semiaperturas;
+    }
+
+    /**
+     * @return Cantidad de transiciones al estado {@link EstadoCircuito#CERRADO}.
+     */
+    public long getCierres() {
+        return cierres;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointMetrics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", estado=" + estado +
+                ", llamadas=" + llamadas +
+                ", fallos=" + fallos +
+                ", reintentos=" + reintentos +
+                ", rechazos=" + rechazos +
+                ", aperturas=" + aperturas +
+                ", semiaperturas=" + semiaperturas +
+                ", cierres=" + cierres +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package com.roshka.sifen.core.resilience;
+
+/**
+ * Estados del circuito hacia un endpoint de Sifen.
+ */
+public enum EstadoCircuito {
+    /**
+     * El endpoint funciona normalmente y las peticiones se realizan.
+     */
+    CERRADO,
+    /**
+     * El endpoint falló repetidamente; las peticiones se rechazan sin ser enviadas hasta que pase el tiempo configurado.
+     */
+    ABIERTO,
+    /**
+     * Pasó el tiempo de espera; se permite una única petición de prueba para verificar si el endpoint se recuperó.
+     */
+    SEMIABIERTO
+}
@@ -0,0 +1,4 @@
+/**
+ * Contiene las clases para monitorear los reintentos y el estado de los circuitos hacia los endpoints de Sifen.
+ */
+package com.roshka.sifen.core.resilience;
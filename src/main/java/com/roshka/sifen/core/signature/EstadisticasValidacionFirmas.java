@@ -0,0 +1,97 @@
+package com.roshka.sifen.core.signature;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contadores de una validación masiva de firmas, tomados en un momento dado.
+ */
+public class EstadisticasValidacionFirmas {
+    private final long procesados;
+    private final long validos;
+    private final long invalidos;
+    private final long errores;
+    private final long certificadosDistintos;
+    private final long certificadosReutilizados;
+    private final long tiempoNanos;
+
+    public EstadisticasValidacionFirmas(long procesados, long validos, long invalidos, long errores,
+                                        long certificadosDistintos, long certificadosReutilizados, long tiempoNanos) {
+        this.procesados = procesados;
+        this.validos = validos;
+        this.invalidos = invalidos;
+        this.errores = errores;
+        this.certificadosDistintos = certificadosDistintos;
+        this.certificadosReutilizados = certificadosReutilizados;
+        this.tiempoNanos = tiempoNanos;
+    }
+
+    /**
+     * @return Cantidad de documentos validados hasta el momento.
+     */
+    public long getProcesados() {
+        return procesados;
+    }
+
+    /**
+     * @return Cantidad de documentos con firma válida.
+     */
+    public long getValidos() {
+        return validos;
+    }
+
+    /**
+     * @return Cantidad de documentos con firma inválida, incluyendo los que no pudieron leerse.
+     */
+    public long getInvalidos() {
+        return invalidos;
+    }
+
+    /**
+     * @return Cantidad de documentos que no pudieron leerse desde su fuente.
+     */
+    public long getErrores() {
+        return errores;
+    }
+
+    /**
+     * @return Cantidad de certificados de firmantes distintos encontrados.
+     */
+    public long getCertificadosDistintos() {
+        return certificadosDistintos;
+    }
+
+    /**
+     * @return Cantidad de documentos cuyo certificado ya había sido procesado en la misma validación.
+     */
+    public long getCertificadosReutilizados() {
+        return certificadosReutilizados;
+    }
+
+    /**
+     * @return Tiempo transcurrido desde el inicio de la validación, en nanosegundos.
+     */
+    public long getTiempoNanos() {
+        return tiempoNanos;
+    }
+
+    /**
+     * @return Documentos validados por segundo desde el inicio de la validación.
+     */
+    public double getDocumentosPorSegundo() {
+        return tiempoNanos > 0 ? procesados * (double) TimeUnit.SECONDS.toNanos(1) / tiempoNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasValidacionFirmas{" +
+                "procesados=" + procesados +
+                ", validos=" + validos +
+                ", invalidos=" + invalidos +
+                ", errores=" + errores +
+                ", certificadosDistintos=" + certificadosDistintos +
+                ", certificadosReutilizados=" + certificadosReutilizados +
+                ", tiempoNanos=" + tiempoNanos +
+                ", documentosPorSegundo=" + String.format("%.1f", getDocumentosPorSegundo()) +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.roshka.sifen.core.signature;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Origen del XML de un Documento Electrónico a ser validado. El contenido se lee recién al momento de validarlo, desde
+ * el hilo que realiza la validación.
+ */
+public interface FuenteDE {
+    /**
+     * @return Nombre con el que se identifica el documento en los resultados (Ej.: nombre del archivo).
+     */
+    String getNombre();
+
+    /**
+     * Abre el contenido del documento. El stream es cerrado por quien lo abre.
+     *
+     * @return Stream con el XML del Documento Electrónico.
+     * @throws IOException Si no se pudo abrir el contenido.
+     */
+    InputStream abrir() throws IOException;
+
+    static FuenteDE desdeArchivo(Path archivo) {
+        return new FuenteDE() {
+            @Override
+            public String getNombre() {
+                return archivo.toString();
+            }
+
+            @Override
+            public InputStream abrir() throws IOException {
+                return Files.newInputStream(archivo);
+            }
+        };
+    }
+
+    static FuenteDE desdeBytes(String nombre, byte[] xml) {
+        return new FuenteDE() {
+            @Override
+            public String getNombre() {
+                return nombre;
+            }
+
+            @Override
+            public InputStream abrir() {
+                return new ByteArrayInputStream(xml);
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.roshka.sifen.core.signature;
+
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+
+/**
+ * Resultado de la validación de la firma digital de uno de los documentos de una validación masiva.
+ */
+public class ResultadoValidacionFirma {
+    private final String nombre;
+    private final ValidezFirmaDigital validez;
+    private final long duracionNanos;
+
+    public ResultadoValidacionFirma(String nombre, ValidezFirmaDigital validez, long duracionNanos) {
+        this.nombre = nombre;
+        this.validez = validez;
+        this.duracionNanos = duracionNanos;
+    }
+
+    /**
+     * @return Nombre de la fuente del documento.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    public ValidezFirmaDigital getValidez() {
+        return validez;
+    }
+
+    /**
+     * @return Tiempo, en nanosegundos, que llevó leer y validar el documento.
+     */
+    public long getDuracionNanos() {
+        return duracionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoValidacionFirma{" +
+                "nombre='" + nombre + '\'' +
+                ", valido=" + validez.isValido() +
+                ", motivoInvalidez='" + validez.getMotivoInvalidez() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.roshka.sifen.core.signature;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Validación masiva de firmas en curso. Los resultados se entregan al consumidor a medida que se completan; este
+ * objeto permite consultar los contadores mientras tanto, esperar el final o cancelar la validación.
+ */
+public class ValidacionMasivaFirmas {
+    private final CompletableFuture<EstadisticasValidacionFirmas> resultado;
+    private final Supplier<EstadisticasValidacionFirmas> estadisticas;
+    private final Runnable cancelacion;
+
+    /**
+     * Método interno, no usar.
+     */
+    public ValidacionMasivaFirmas(CompletableFuture<EstadisticasValidacionFirmas> resultado,
+                                  Supplier<EstadisticasValidacionFirmas> estadisticas, Runnable cancelacion) {
+        this.resultado = resultado;
+        this.estadisticas = estadisticas;
+        this.cancelacion = cancelacion;
+    }
+
+    /**
+     * @return Futuro que se completa con los contadores finales, una vez entregados todos los resultados. Si la
+     * fuente de documentos o el consumidor fallan, se completa con ese error.
+     */
+    public CompletableFuture<EstadisticasValidacionFirmas> getResultado() {
+        return resultado;
+    }
+
+    /**
+     * @return Contadores de la validación en este momento.
+     */
+    public EstadisticasValidacionFirmas getEstadisticas() {
+        return estadisticas.get();
+    }
+
+    /**
+     * Deja de tomar documentos de la fuente. Los documentos que ya se están validando terminan y se entregan.
+     */
+    public void cancelar() {
+        cancelacion.run();
+    }
+}
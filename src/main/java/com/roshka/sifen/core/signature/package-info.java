@@ -0,0 +1,4 @@
+/**
+ * Contiene las clases para la validación masiva de firmas digitales de Documentos Electrónicos recibidos.
+ */
+package com.roshka.sifen.core.signature;
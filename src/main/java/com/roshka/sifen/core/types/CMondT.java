@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumNameIndex;
 
 public enum CMondT {
 
@@ -807,12 +807,14 @@ public enum CMondT {
 
     private String descripcion;
 
+    private static final EnumNameIndex<CMondT> BY_NAME = EnumNameIndex.of(values());
+
     CMondT(String descripcion) {
         this.descripcion = descripcion;
     }
 
     public static CMondT getByName(String name) {
-        return Arrays.stream(CMondT.values()).filter(e -> e.name().equalsIgnoreCase(name)).findFirst().orElse(null);
+        return BY_NAME.get(name);
     }
 
     public String getDescripcion() {
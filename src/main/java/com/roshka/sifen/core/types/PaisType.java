@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumNameIndex;
 
 /**
  * Este enumerado contiene los países oficiales según la SET,
@@ -1003,12 +1003,14 @@ public enum PaisType {
 
     private String nombre;
 
+    private static final EnumNameIndex<PaisType> BY_NAME = EnumNameIndex.of(values());
+
     PaisType(String nombre) {
         this.nombre = nombre;
     }
 
     public static PaisType getByName(String name) {
-        return Arrays.stream(PaisType.values()).filter(e -> e.name().equalsIgnoreCase(name)).findFirst().orElse(null);
+        return BY_NAME.get(name);
     }
 
     public String getNombre() {
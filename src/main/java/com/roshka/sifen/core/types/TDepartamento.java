@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 /**
  * Este enumerado contiene los códigos de departamento y sus descripciones oficiales para la SET
@@ -30,13 +30,15 @@ public enum TDepartamento {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TDepartamento> BY_VAL = EnumCodeIndex.of(values(), TDepartamento::getVal);
+
     TDepartamento(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TDepartamento getByVal(short val) {
-        return Arrays.stream(TDepartamento.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
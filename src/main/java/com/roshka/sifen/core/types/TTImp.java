@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 /**
  * Esta clase engloba los datos/tipos tiTipTra y tdDesTiTran
@@ -15,13 +15,15 @@ public enum TTImp {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TTImp> BY_VAL = EnumCodeIndex.of(values(), TTImp::getVal);
+
     TTImp(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TTImp getByVal(short val) {
-        return Arrays.stream(TTImp.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
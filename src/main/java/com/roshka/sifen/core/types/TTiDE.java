@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 /**
  * Esta clase engloba los datos/tipos tiTiDE y tdDesTiDE
@@ -18,13 +18,15 @@ public enum TTiDE {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TTiDE> BY_VAL = EnumCodeIndex.of(values(), TTiDE::getVal);
+
     TTiDE(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TTiDE getByVal(short val) {
-        return Arrays.stream(TTiDE.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
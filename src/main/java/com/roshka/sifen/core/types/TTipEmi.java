@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 /**
  * Esta clase engloba los datos/tipos tiTipEmi y tdDesTipEmi
@@ -12,13 +12,15 @@ public enum TTipEmi {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TTipEmi> BY_VAL = EnumCodeIndex.of(values(), TTipEmi::getVal);
+
     TTipEmi(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TTipEmi getByVal(short val) {
-        return Arrays.stream(TTipEmi.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TTipReg {
     REGIMEN_TURISMO((short) 1, "Régimen de Turismo"),
@@ -15,13 +15,15 @@ public enum TTipReg {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TTipReg> BY_VAL = EnumCodeIndex.of(values(), TTipReg::getVal);
+
     TTipReg(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TTipReg getByVal(short val) {
-        return Arrays.stream(TTipReg.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
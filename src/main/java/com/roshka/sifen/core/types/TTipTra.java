@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 /**
  * Esta clase engloba los datos/tipos tiTipTra y tdDesTiTran
@@ -23,13 +23,15 @@ public enum TTipTra {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TTipTra> BY_VAL = EnumCodeIndex.of(values(), TTipTra::getVal);
+
     TTipTra(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TTipTra getByVal(short val) {
-        return Arrays.stream(TTipTra.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
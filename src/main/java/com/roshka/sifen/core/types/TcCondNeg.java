@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumNameIndex;
 
 public enum TcCondNeg {
     CFR("Costo y flete"),
@@ -17,12 +17,14 @@ public enum TcCondNeg {
 
     private String descripcion;
 
+    private static final EnumNameIndex<TcCondNeg> BY_NAME = EnumNameIndex.of(values());
+
     TcCondNeg(String descripcion) {
         this.descripcion = descripcion;
     }
 
     public static TcCondNeg getByDescription(String description) {
-        return Arrays.stream(TcCondNeg.values()).filter(e -> e.name().equalsIgnoreCase(description)).findFirst().orElse(null);
+        return BY_NAME.get(description);
     }
 
     public String getDescripcion() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TcRelMerc {
     TOLERANCIA_DE_QUIEBRA((short) 1, "Tolerancia de quiebra"),
@@ -9,13 +9,15 @@ public enum TcRelMerc {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TcRelMerc> BY_VAL = EnumCodeIndex.of(values(), TcRelMerc::getVal);
+
     TcRelMerc(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TcRelMerc getByVal(short val) {
-        return Arrays.stream(TcRelMerc.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TcUniMed {
     m("m", (short) 87, "Metros - m", "Metros"),
@@ -43,6 +43,8 @@ public enum TcUniMed {
     private String documentacion;
     private String descripcion;
 
+    private static final EnumCodeIndex<TcUniMed> BY_VAL = EnumCodeIndex.of(values(), TcUniMed::getVal);
+
     TcUniMed(String abreviatura, short val, String documentacion, String descripcion) {
         this.abreviatura = abreviatura;
         this.val = val;
@@ -51,7 +53,7 @@ public enum TcUniMed {
     }
 
     public static TcUniMed getByVal(short val) {
-        return Arrays.stream(TcUniMed.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public String getAbreviatura() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TdCondTiCam {
     GLOBAL((short) 1, "Global"),
@@ -9,13 +9,15 @@ public enum TdCondTiCam {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TdCondTiCam> BY_VAL = EnumCodeIndex.of(values(), TdCondTiCam::getVal);
+
     TdCondTiCam(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TdCondTiCam getByVal(short val) {
-        return Arrays.stream(TdCondTiCam.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TdMotEv {
     CAMBIO_LOCAL_ENTREGA((short) 1, "Cambio del local de la entrega"),
@@ -11,13 +11,15 @@ public enum TdMotEv {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TdMotEv> BY_VAL = EnumCodeIndex.of(values(), TdMotEv::getVal);
+
     TdMotEv(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TdMotEv getByVal(short val) {
-        return Arrays.stream(TdMotEv.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TdTipCons {
     CONSTANCIA_NO_CONTRIBUYENTE((short) 1, "Constancia de no ser contribuyente"),
@@ -9,13 +9,15 @@ public enum TdTipCons {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TdTipCons> BY_VAL = EnumCodeIndex.of(values(), TdTipCons::getVal);
+
     TdTipCons(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TdTipCons getByVal(short val) {
-        return Arrays.stream(TdTipCons.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TdTipIdenVeh {
     NRO_IDENTIFICACION((short) 1, "Número de identificación del vehículo"),
@@ -9,13 +9,15 @@ public enum TdTipIdenVeh {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TdTipIdenVeh> BY_VAL = EnumCodeIndex.of(values(), TdTipIdenVeh::getVal);
+
     TdTipIdenVeh(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TdTipIdenVeh getByVal(short val) {
-        return Arrays.stream(TdTipIdenVeh.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
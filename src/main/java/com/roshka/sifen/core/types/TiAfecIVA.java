@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiAfecIVA {
     GRAVADO((short) 1, "Gravado IVA"),
@@ -11,13 +11,15 @@ public enum TiAfecIVA {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiAfecIVA> BY_VAL = EnumCodeIndex.of(values(), TiAfecIVA::getVal);
+
     TiAfecIVA(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiAfecIVA getByVal(short val) {
-        return Arrays.stream(TiAfecIVA.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
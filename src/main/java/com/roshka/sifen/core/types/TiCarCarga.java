@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiCarCarga {
     MERCADERIA_CON_CADENA_DE_FRIO((short) 1, "Mercaderías con cadena de frío"),
@@ -10,13 +10,15 @@ public enum TiCarCarga {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiCarCarga> BY_VAL = EnumCodeIndex.of(values(), TiCarCarga::getVal);
+
     TiCarCarga(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiCarCarga getByVal(short val) {
-        return Arrays.stream(TiCarCarga.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 /**
  * Esta clase engloba los datos/tipos tiCondAnt y tdDesCondAnt
@@ -12,13 +12,15 @@ public enum TiCondAnt {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiCondAnt> BY_VAL = EnumCodeIndex.of(values(), TiCondAnt::getVal);
+
     TiCondAnt(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiCondAnt getByVal(short val) {
-        return Arrays.stream(TiCondAnt.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiCondCred {
     PLAZO((short) 1, "Plazo"),
@@ -9,13 +9,15 @@ public enum TiCondCred {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiCondCred> BY_VAL = EnumCodeIndex.of(values(), TiCondCred::getVal);
+
     TiCondCred(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiCondCred getByVal(short val) {
-        return Arrays.stream(TiCondCred.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiCondOpe {
     CONTADO((short) 1, "Contado"),
@@ -9,13 +9,15 @@ public enum TiCondOpe {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiCondOpe> BY_VAL = EnumCodeIndex.of(values(), TiCondOpe::getVal);
+
     TiCondOpe(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiCondOpe getByVal(short val) {
-        return Arrays.stream(TiCondOpe.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
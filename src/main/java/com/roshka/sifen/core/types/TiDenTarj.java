@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiDenTarj {
     VISA((short) 1, "Visa"),
@@ -14,13 +14,15 @@ public enum TiDenTarj {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiDenTarj> BY_VAL = EnumCodeIndex.of(values(), TiDenTarj::getVal);
+
     TiDenTarj(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiDenTarj getByVal(short val) {
-        return Arrays.stream(TiDenTarj.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
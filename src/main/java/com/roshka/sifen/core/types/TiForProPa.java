@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiForProPa {
     POS((short) 1, "POS"),
@@ -10,13 +10,15 @@ public enum TiForProPa {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiForProPa> BY_VAL = EnumCodeIndex.of(values(), TiForProPa::getVal);
+
     TiForProPa(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiForProPa getByVal(short val) {
-        return Arrays.stream(TiForProPa.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
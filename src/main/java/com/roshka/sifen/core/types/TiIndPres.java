@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiIndPres {
     OPERACION_PRESENCIAL((short) 1, "Operación presencial"),
@@ -14,13 +14,15 @@ public enum TiIndPres {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiIndPres> BY_VAL = EnumCodeIndex.of(values(), TiIndPres::getVal);
+
     TiIndPres(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiIndPres getByVal(short val) {
-        return Arrays.stream(TiIndPres.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
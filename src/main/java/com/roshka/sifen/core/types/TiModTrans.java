@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiModTrans {
     TERRESTRE((short) 1, "Terrestre"),
@@ -11,13 +11,15 @@ public enum TiModTrans {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiModTrans> BY_VAL = EnumCodeIndex.of(values(), TiModTrans::getVal);
+
     TiModTrans(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiModTrans getByVal(short val) {
-        return Arrays.stream(TiModTrans.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
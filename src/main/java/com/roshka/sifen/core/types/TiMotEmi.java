@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiMotEmi {
     DEVOLUCION_Y_AJUSTES_DE_PRECIOS((short) 1, "Devolución y Ajuste de precios"),
@@ -15,13 +15,15 @@ public enum TiMotEmi {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiMotEmi> BY_VAL = EnumCodeIndex.of(values(), TiMotEmi::getVal);
+
     TiMotEmi(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiMotEmi getByVal(short val) {
-        return Arrays.stream(TiMotEmi.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
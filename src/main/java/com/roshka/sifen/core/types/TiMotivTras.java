@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiMotivTras {
     TRASLADO_POR_VENTAS((short) 1, "Traslado por ventas"),
@@ -22,13 +22,15 @@ public enum TiMotivTras {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiMotivTras> BY_VAL = EnumCodeIndex.of(values(), TiMotivTras::getVal);
+
     TiMotivTras(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiMotivTras getByVal(short val) {
-        return Arrays.stream(TiMotivTras.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
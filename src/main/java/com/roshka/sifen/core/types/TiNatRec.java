@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiNatRec {
     CONTRIBUYENTE((short) 1, "Contribuyente"),
@@ -9,13 +9,15 @@ public enum TiNatRec {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiNatRec> BY_VAL = EnumCodeIndex.of(values(), TiNatRec::getVal);
+
     TiNatRec(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiNatRec getByVal(short val) {
-        return Arrays.stream(TiNatRec.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
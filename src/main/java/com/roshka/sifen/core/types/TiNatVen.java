@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiNatVen {
     NO_CONTRIBUYENTE((short) 1, "No contribuyente"),
@@ -9,13 +9,15 @@ public enum TiNatVen {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiNatVen> BY_VAL = EnumCodeIndex.of(values(), TiNatVen::getVal);
+
     TiNatVen(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiNatVen getByVal(short val) {
-        return Arrays.stream(TiNatVen.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
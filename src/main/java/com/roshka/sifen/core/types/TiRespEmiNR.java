@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiRespEmiNR {
     EMISOR_FACTURA((short) 1, "Emisor de la factura"),
@@ -12,13 +12,15 @@ public enum TiRespEmiNR {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiRespEmiNR> BY_VAL = EnumCodeIndex.of(values(), TiRespEmiNR::getVal);
+
     TiRespEmiNR(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiRespEmiNR getByVal(short val) {
-        return Arrays.stream(TiRespEmiNR.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiRespFlete {
     EMISOR_FACTURA_ELECTRONICA((short) 1),
@@ -11,12 +11,14 @@ public enum TiRespFlete {
 
     private short val;
 
+    private static final EnumCodeIndex<TiRespFlete> BY_VAL = EnumCodeIndex.of(values(), TiRespFlete::getVal);
+
     TiRespFlete(short val) {
         this.val = val;
     }
 
     public static TiRespFlete getByVal(short val) {
-        return Arrays.stream(TiRespFlete.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTIpoDoc {
     FACTURA((short) 1, "Factura"),
@@ -12,13 +12,15 @@ public enum TiTIpoDoc {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTIpoDoc> BY_VAL = EnumCodeIndex.of(values(), TiTIpoDoc::getVal);
+
     TiTIpoDoc(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTIpoDoc getByVal(short val) {
-        return Arrays.stream(TiTIpoDoc.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTTrans {
     PROPIO((short) 1, "Propio"),
@@ -9,13 +9,15 @@ public enum TiTTrans {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTTrans> BY_VAL = EnumCodeIndex.of(values(), TiTTrans::getVal);
+
     TiTTrans(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTTrans getByVal(short val) {
-        return Arrays.stream(TiTTrans.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
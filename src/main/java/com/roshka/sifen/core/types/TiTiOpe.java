@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTiOpe {
     B2B((short) 1, "Business To Business"),
@@ -11,13 +11,15 @@ public enum TiTiOpe {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTiOpe> BY_VAL = EnumCodeIndex.of(values(), TiTiOpe::getVal);
+
     TiTiOpe(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTiOpe getByVal(short val) {
-        return Arrays.stream(TiTiOpe.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
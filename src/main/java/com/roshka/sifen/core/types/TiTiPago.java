@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTiPago {
     EFECTIVO((short) 1, "Efectivo"),
@@ -29,13 +29,15 @@ public enum TiTiPago {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTiPago> BY_VAL = EnumCodeIndex.of(values(), TiTiPago::getVal);
+
     TiTiPago(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTiPago getByVal(short val) {
-        return Arrays.stream(TiTiPago.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
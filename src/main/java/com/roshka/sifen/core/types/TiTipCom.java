@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipCom {
     GASOLINA((short) 1, "Gasolina"),
@@ -13,13 +13,15 @@ public enum TiTipCom {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipCom> BY_VAL = EnumCodeIndex.of(values(), TiTipCom::getVal);
+
     TiTipCom(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipCom getByVal(short val) {
-        return Arrays.stream(TiTipCom.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
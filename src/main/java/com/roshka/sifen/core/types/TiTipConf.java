@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipConf {
     CONFORMIDAD_TOTAL((short) 1, "Conformidad Total del DTE"),
@@ -9,13 +9,15 @@ public enum TiTipConf {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipConf> BY_VAL = EnumCodeIndex.of(values(), TiTipConf::getVal);
+
     TiTipConf(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipConf getByVal(short val) {
-        return Arrays.stream(TiTipConf.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipCont {
     PERSONA_FISICA((short) 1, "Persona Física"),
@@ -9,13 +9,15 @@ public enum TiTipCont {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipCont> BY_VAL = EnumCodeIndex.of(values(), TiTipCont::getVal);
+
     TiTipCont(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipCont getByVal(short val) {
-        return Arrays.stream(TiTipCont.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipDoc {
     CEDULA_PARAGUAYA((short) 1, "Cédula paraguaya"),
@@ -11,13 +11,15 @@ public enum TiTipDoc {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipDoc> BY_VAL = EnumCodeIndex.of(values(), TiTipDoc::getVal);
+
     TiTipDoc(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipDoc getByVal(short val) {
-        return Arrays.stream(TiTipDoc.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipDocAso {
     ELECTRONICO((short) 1, "Electrónico"),
@@ -10,13 +10,15 @@ public enum TiTipDocAso {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipDocAso> BY_VAL = EnumCodeIndex.of(values(), TiTipDocAso::getVal);
+
     TiTipDocAso(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipDocAso getByVal(short val) {
-        return Arrays.stream(TiTipDocAso.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
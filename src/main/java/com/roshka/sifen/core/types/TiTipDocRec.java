@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipDocRec {
     CEDULA_PARAGUAYA((short) 1, "Cédula paraguaya"),
@@ -14,13 +14,15 @@ public enum TiTipDocRec {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipDocRec> BY_VAL = EnumCodeIndex.of(values(), TiTipDocRec::getVal);
+
     TiTipDocRec(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipDocRec getByVal(short val) {
-        return Arrays.stream(TiTipDocRec.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
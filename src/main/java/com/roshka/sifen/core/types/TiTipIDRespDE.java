@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipIDRespDE {
     CEDULA_PARAGUAYA((short) 1, "Cédula paraguaya"),
@@ -12,13 +12,15 @@ public enum TiTipIDRespDE {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipIDRespDE> BY_VAL = EnumCodeIndex.of(values(), TiTipIDRespDE::getVal);
+
     TiTipIDRespDE(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipIDRespDE getByVal(short val) {
-        return Arrays.stream(TiTipIDRespDE.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumCodeIndex;
 
 public enum TiTipOpVN {
     VENTA_A_REPRESENTANTE((short) 1, "Venta a representante"),
@@ -11,13 +11,15 @@ public enum TiTipOpVN {
     private short val;
     private String descripcion;
 
+    private static final EnumCodeIndex<TiTipOpVN> BY_VAL = EnumCodeIndex.of(values(), TiTipOpVN::getVal);
+
     TiTipOpVN(short val, String descripcion) {
         this.val = val;
         this.descripcion = descripcion;
     }
 
     public static TiTipOpVN getByVal(short val) {
-        return Arrays.stream(TiTipOpVN.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return BY_VAL.get(val);
     }
 
     public short getVal() {
@@ -1,15 +1,20 @@
 package com.roshka.sifen.internal;
 
-import javax.xml.soap.SOAPMessage;
+import com.roshka.sifen.internal.util.ByteArrayBuffer;
+import org.w3c.dom.Node;
+
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Clase interna que almacena la respuesta SOAP proveída por Sifen.
  */
 public class SOAPResponse {
     private int status;
-    private SOAPMessage soapResponse;
-    private byte[] rawData;
+    private String soapProtocol;
+    private Node bodyNode;
+    private ByteArrayBuffer rawData;
+    private ByteArrayBuffer requestBody;
 
     public int getStatus() {
         return status;
@@ -19,23 +24,59 @@ public class SOAPResponse {
         this.status = status;
     }
 
-    public SOAPMessage getSoapResponse() {
-        return soapResponse;
+    /**
+     * @return El protocolo SOAP de la respuesta ({@link javax.xml.soap.SOAPConstants#SOAP_1_1_PROTOCOL} o
+     * {@link javax.xml.soap.SOAPConstants#SOAP_1_2_PROTOCOL}), detectado a partir del namespace del Envelope.
+     */
+    public String getSoapProtocol() {
+        return soapProtocol;
+    }
+
+    public void setSoapProtocol(String soapProtocol) {
+        this.soapProtocol = soapProtocol;
     }
 
-    public void setSoapResponse(SOAPMessage soapResponse) {
-        this.soapResponse = soapResponse;
+    /**
+     * @return El primer elemento del cuerpo (Body) del mensaje SOAP, o null si el cuerpo está vacío.
+     */
+    public Node getBodyNode() {
+        return bodyNode;
     }
 
-    public byte[] getRawData() {
+    public void setBodyNode(Node bodyNode) {
+        this.bodyNode = bodyNode;
+    }
+
+    /**
+     * @return Los bytes de la respuesta tal como fueron recibidos, o null si no fueron conservados.
+     */
+    public ByteArrayBuffer getRawData() {
         return rawData;
     }
 
-    public void setRawData(byte[] rawData) {
+    public void setRawData(ByteArrayBuffer rawData) {
         this.rawData = rawData;
     }
 
+    /**
+     * @return La respuesta tal como fue recibida, o null si no fue conservada.
+     */
+    public String getRawDataAsString() {
+        return rawData != null ? rawData.toString(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * @return Los bytes del mensaje SOAP tal como fueron enviados a Sifen.
+     */
+    public ByteArrayBuffer getRequestBody() {
+        return requestBody;
+    }
+
+    public void setRequestBody(ByteArrayBuffer requestBody) {
+        this.requestBody = requestBody;
+    }
+
     public boolean isRequestSuccessful() {
         return status == HttpURLConnection.HTTP_ACCEPTED || status == HttpURLConnection.HTTP_OK;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Helper encargado de ejecutar las peticiones a Sifen de forma asíncrona.
+ */
+public class AsyncHelper {
+    private final static Logger logger = Logger.getLogger(AsyncHelper.class.toString());
+    private static final ConcurrentHashMap<Integer, ExecutorService> defaultExecutors = new ConcurrentHashMap<>();
+    private static volatile Executor customExecutor;
+
+    /**
+     * Operación a ser ejecutada de forma asíncrona.
+     *
+     * @param <T> Tipo del resultado de la operación.
+     */
+    @FunctionalInterface
+    public interface SifenCall<T> {
+        T call() throws SifenException;
+    }
+
+    /**
+     * Ejecuta la operación en el executor recibido y retorna un futuro con su resultado. Si la operación falla, el
+     * futuro se completa con la misma {@link SifenException} que hubiera lanzado la llamada síncrona.
+     *
+     * @param sifenCall   Operación a ser ejecutada.
+     * @param executor    Executor en el que se ejecuta la operación. Si es nulo, se utiliza el executor por defecto.
+     * @param sifenConfig Configuración de Sifen de la petición, utilizada para elegir el executor por defecto.
+     * @param <T>         Tipo del resultado de la operación.
+     * @return Futuro que se completa con el resultado de la operación.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(SifenCall<T> sifenCall, Executor executor, SifenConfig sifenConfig) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            (executor != null ? executor : getDefaultExecutor(sifenConfig)).execute(() -> {
+                try {
+                    future.complete(sifenCall.call());
+                } catch (SifenException e) {
+                    future.completeExceptionally(e);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(SifenExceptionUtil.unexpectedError(
+                            "Ocurrió un error inesperado al ejecutar la petición asíncrona: " + e.getLocalizedMessage(), e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(SifenExceptionUtil.unexpectedError(
+                    "El executor rechazó la petición asíncrona: " + e.getLocalizedMessage(), e));
+        }
+        return future;
+    }
+
+    /**
+     * Obtiene el executor por defecto para una petición realizada con la configuración recibida. Si se estableció un
+     * executor con {@link #setDefaultExecutor(Executor)}, se utiliza ese. Si no, y la configuración habilita los hilos
+     * virtuales y la JVM los soporta (Java 21+), se utiliza un hilo virtual por petición. En otro caso se utiliza el
+     * executor interno de la librería, con tantos hilos como conexiones simultáneas por host (httpMaxConexionesPorHost),
+     * ya que las peticiones que excedan ese límite solo esperarían una conexión libre. Las peticiones adicionales quedan
+     * en una cola hasta que se libere un hilo.
+     *
+     * @param sifenConfig Configuración de Sifen de la petición. Puede ser nula, para operaciones sin peticiones a Sifen;
+     *                    en ese caso el executor interno tiene tantos hilos como procesadores.
+     * @return El executor a utilizar.
+     */
+    public static Executor getDefaultExecutor(SifenConfig sifenConfig) {
+        Executor executor = customExecutor;
+        if (executor != null) {
+            return executor;
+        }
+
+        if (sifenConfig != null && sifenConfig.isUsarHilosVirtuales()) {
+            executor = VirtualThreadExecutorHolder.EXECUTOR;
+            if (executor != null) {
+                return executor;
+            }
+        }
+        int threads = Math.max(1, sifenConfig != null ? sifenConfig.getHttpMaxConexionesPorHost() : Runtime.getRuntime().availableProcessors());
+        return defaultExecutors.computeIfAbsent(threads, AsyncHelper::createDefaultExecutor);
+    }
+
+    /**
+     * Establece el executor utilizado por defecto para las peticiones asíncronas. Si es nulo, se vuelve a utilizar el
+     * executor interno de la librería.
+     *
+     * @param executor Executor a ser utilizado.
+     */
+    public static void setDefaultExecutor(Executor executor) {
+        customExecutor = executor;
+    }
+
+    /**
+     * @return true si la JVM actual soporta hilos virtuales (Java 21+).
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreadExecutorHolder.EXECUTOR != null;
+    }
+
+    private static ExecutorService createDefaultExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sifen-async-" + threads + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Los hilos inactivos terminan, igual que en un pool sin límite
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class VirtualThreadExecutorHolder {
+        private static final Executor EXECUTOR = createVirtualThreadExecutor();
+
+        // La librería compila para Java 8, por lo que el executor de hilos virtuales se obtiene por reflexión
+        private static Executor createVirtualThreadExecutor() {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) method.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                logger.warning("La JVM actual no soporta hilos virtuales (Java 21+). Se utilizará el executor por defecto.");
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.signature.EstadisticasValidacionFirmas;
+import com.roshka.sifen.core.signature.FuenteDE;
+import com.roshka.sifen.core.signature.ResultadoValidacionFirma;
+import com.roshka.sifen.core.signature.ValidacionMasivaFirmas;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Helper encargado de la validación masiva de firmas de DE recibidos.
+ */
+public class BulkSignatureHelper {
+    private final static Logger logger = Logger.getLogger(BulkSignatureHelper.class.toString());
+
+    /**
+     * Valida las firmas de los archivos XML de un directorio (sin incluir subdirectorios) o de un archivo ZIP.
+     *
+     * @param directoryOrZip Directorio o archivo ZIP con los DE.
+     * @param consumer       Consumidor de los resultados, invocado a medida que se completan.
+     * @param parallelism    Cantidad máxima de documentos validados a la vez. Si es menor a 1, se utiliza la cantidad
+     *                       de procesadores.
+     * @param executor       Executor en el que se validan los documentos. Si es nulo, se utiliza el executor por defecto.
+     * @param sifenConfig    Configuración de Sifen, de la que se obtiene la validación de la cadena del certificado.
+     *                       Puede ser nula.
+     * @return La validación en curso.
+     * @throws SifenException Si no se pudo abrir el directorio o el archivo ZIP.
+     */
+    public static ValidacionMasivaFirmas validate(Path directoryOrZip, Consumer<ResultadoValidacionFirma> consumer,
+                                                  int parallelism, Executor executor, SifenConfig sifenConfig) throws SifenException {
+        try {
+            if (Files.isDirectory(directoryOrZip)) {
+                DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directoryOrZip,
+                        path -> Files.isRegularFile(path) && isXml(path.getFileName().toString()));
+                return validate(new DirectorySources(directoryStream), directoryStream, consumer, parallelism, executor, sifenConfig);
+            }
+
+            ZipFile zipFile = new ZipFile(directoryOrZip.toFile());
+            return validate(new ZipSources(zipFile), zipFile, consumer, parallelism, executor, sifenConfig);
+        } catch (IOException e) {
+            throw SifenExceptionUtil.unexpectedError("No se pudo abrir el directorio o archivo ZIP '" +
+                    directoryOrZip + "': " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Valida las firmas de los documentos de las fuentes recibidas.
+     *
+     * @param sources     Fuentes de los documentos. Se recorren desde los hilos de validación, de a una por vez.
+     * @param resource    Recurso a ser cerrado al terminar la validación. Puede ser nulo.
+     * @param consumer    Consumidor de los resultados, invocado a medida que se completan.
+     * @param parallelism Cantidad máxima de documentos validados a la vez. Si es menor a 1, se utiliza la cantidad de
+     *                    procesadores.
+     * @param executor    Executor en el que se validan los documentos. Si es nulo, se utiliza el executor por defecto.
+     * @param sifenConfig Configuración de Sifen, de la que se obtiene la validación de la cadena del certificado. Puede
+     *                    ser nula.
+     * @return La validación en curso.
+     */
+    public static ValidacionMasivaFirmas validate(Iterator<FuenteDE> sources, Closeable resource,
+                                                  Consumer<ResultadoValidacionFirma> consumer, int parallelism,
+                                                  Executor executor, SifenConfig sifenConfig) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        BulkValidation validation = new BulkValidation(sources, resource, consumer, workers, sifenConfig);
+        validation.start(executor != null ? executor : AsyncHelper.getDefaultExecutor(null));
+        return new ValidacionMasivaFirmas(validation.future, validation::statistics, validation::cancel);
+    }
+
+    private static boolean isXml(String name) {
+        return name.toLowerCase().endsWith(".xml");
+    }
+
+    private static class BulkValidation {
+        private final Iterator<FuenteDE> sources;
+        private final Closeable resource;
+        private final Consumer<ResultadoValidacionFirma> consumer;
+        private final SifenConfig sifenConfig;
+        // Locks propios, y no los objetos recibidos, para no bloquear ni ser bloqueados por código ajeno a la validación
+        private final ReentrantLock sourcesLock = new ReentrantLock();
+        private final ReentrantLock consumerLock = new ReentrantLock();
+        private final SignatureHelper.SignerCache signerCache = new SignatureHelper.SignerCache();
+        private final CompletableFuture<EstadisticasValidacionFirmas> future = new CompletableFuture<>();
+        private final AtomicInteger activeWorkers;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong valid = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final long start = System.nanoTime();
+        private volatile boolean cancelled;
+
+        private BulkValidation(Iterator<FuenteDE> sources, Closeable resource,
+                               Consumer<ResultadoValidacionFirma> consumer, int workers, SifenConfig sifenConfig) {
+            this.sources = sources;
+            this.resource = resource;
+            this.consumer = consumer;
+            this.sifenConfig = sifenConfig;
+            this.activeWorkers = new AtomicInteger(workers);
+        }
+
+        private void start(Executor executor) {
+            for (int i = activeWorkers.get(); i > 0; i--) {
+                try {
+                    executor.execute(this::work);
+                } catch (RejectedExecutionException e) {
+                    failure.compareAndSet(null, e);
+                    workerFinished();
+                }
+            }
+        }
+
+        private void work() {
+            try {
+                while (!cancelled && failure.get() == null) {
+                    FuenteDE source;
+                    sourcesLock.lock();
+                    try {
+                        if (!sources.hasNext()) break;
+                        source = sources.next();
+                    } finally {
+                        sourcesLock.unlock();
+                    }
+                    if (source == null) continue;
+
+                    ResultadoValidacionFirma result = validate(source);
+                    // Los resultados se entregan de a uno, por lo que el consumidor no necesita ser thread-safe
+                    consumerLock.lock();
+                    try {
+                        consumer.accept(result);
+                    } finally {
+                        consumerLock.unlock();
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                workerFinished();
+            }
+        }
+
+        private ResultadoValidacionFirma validate(FuenteDE source) {
+            long startNanos = System.nanoTime();
+            ValidezFirmaDigital validity;
+            try (InputStream inputStream = source.abrir()) {
+                validity = SignatureHelper.validateSignature(inputStream, signerCache, sifenConfig);
+            } catch (IOException e) {
+                errors.incrementAndGet();
+                validity = ValidezFirmaDigital.create(false, "No se pudo leer el Documento Electrónico: " +
+                        e.getLocalizedMessage());
+            }
+
+            if (validity.isValido()) valid.incrementAndGet();
+            processed.incrementAndGet();
+            return new ResultadoValidacionFirma(source.getNombre(), validity, System.nanoTime() - startNanos);
+        }
+
+        private void workerFinished() {
+            if (activeWorkers.decrementAndGet() > 0) return;
+
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (IOException e) {
+                    logger.warning("No se pudo cerrar la fuente de documentos: " + e.getLocalizedMessage());
+                }
+            }
+
+            Throwable t = failure.get();
+            if (t == null) {
+                future.complete(statistics());
+            } else if (t instanceof SifenException) {
+                future.completeExceptionally(t);
+            } else {
+                future.completeExceptionally(SifenExceptionUtil.unexpectedError(
+                        "Ocurrió un error inesperado en la validación masiva de firmas: " + t.getLocalizedMessage(), t));
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private EstadisticasValidacionFirmas statistics() {
+            long processedCount = processed.get();
+            long validCount = valid.get();
+            return new EstadisticasValidacionFirmas(processedCount, validCount, processedCount - validCount,
+                    errors.get(), signerCache.size(), signerCache.getHits(), System.nanoTime() - start);
+        }
+    }
+
+    private static class DirectorySources implements Iterator<FuenteDE> {
+        private final Iterator<Path> paths;
+
+        private DirectorySources(DirectoryStream<Path> directoryStream) {
+            this.paths = directoryStream.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return paths.hasNext();
+        }
+
+        @Override
+        public FuenteDE next() {
+            return FuenteDE.desdeArchivo(paths.next());
+        }
+    }
+
+    // ZipFile permite leer varias entradas a la vez desde distintos hilos
+    private static class ZipSources implements Iterator<FuenteDE> {
+        private final ZipFile zipFile;
+        private final Enumeration<? extends ZipEntry> entries;
+        private ZipEntry nextEntry;
+
+        private ZipSources(ZipFile zipFile) {
+            this.zipFile = zipFile;
+            this.entries = zipFile.entries();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextEntry == null && entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && isXml(entry.getName())) {
+                    nextEntry = entry;
+                }
+            }
+            return nextEntry != null;
+        }
+
+        @Override
+        public FuenteDE next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            ZipEntry entry = nextEntry;
+            nextEntry = null;
+            return new FuenteDE() {
+                @Override
+                public String getNombre() {
+                    return entry.getName();
+                }
+
+                @Override
+                public InputStream abrir() throws IOException {
+                    return zipFile.getInputStream(entry);
+                }
+            };
+        }
+    }
+}
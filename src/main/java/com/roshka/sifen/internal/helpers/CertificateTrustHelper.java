@@ -0,0 +1,280 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.internal.util.LruCache;
+import com.roshka.sifen.internal.util.SifenUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.cert.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Helper encargado de verificar la cadena de confianza y la revocación de los certificados de firmantes.
+ * <p>
+ * Las anclas de confianza y las CRL se leen de archivos locales, sin acceder a la red, y se verifica si cambiaron una
+ * vez por cada período del tiempo configurado. El resultado de la verificación de cada certificado se guarda, por su
+ * huella SHA-256, durante ese mismo tiempo, por lo que los DE de un mismo firmante cuestan una sola verificación de
+ * cadena.
+ */
+public class CertificateTrustHelper {
+    private static final int SOURCES_CACHE_MAX = 8;
+    private static final int RESULTS_CACHE_MAX = 4096;
+    private static final int MAX_IDLE_DIGESTS = 32;
+
+    private static final LruCache<String, TrustSources> sources = new LruCache<>(null);
+    private static final ConcurrentLinkedQueue<MessageDigest> idleDigests = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger idleDigestsCount = new AtomicInteger();
+
+    /**
+     * Verifica que el certificado tenga una cadena válida hasta una de las anclas de confianza configuradas y, si se
+     * configuraron CRL, que ningún certificado de la cadena esté revocado.
+     *
+     * @param certificate Certificado del firmante.
+     * @param sifenConfig Configuración de Sifen, de la que se obtienen las anclas de confianza y las CRL.
+     * @return null si el certificado es de confianza, o el motivo por el que no lo es.
+     */
+    public static String validateTrust(X509Certificate certificate, SifenConfig sifenConfig) {
+        if (certificate == null) {
+            return "No se encontró el certificado del firmante.";
+        }
+
+        String anchorPaths = sifenConfig.getFirmaAnclasConfianza();
+        String crlPaths = sifenConfig.getFirmaCrls();
+        TrustSources trustSources = sources.computeIfAbsent(anchorPaths + "|" + crlPaths,
+                key -> new TrustSources(getFiles(anchorPaths), getFiles(crlPaths)), SOURCES_CACHE_MAX);
+        if (trustSources.anchorFiles.isEmpty()) {
+            return "No se configuraron las anclas de confianza para validar la cadena del certificado.";
+        }
+
+        long now = System.nanoTime();
+        long ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, sifenConfig.getFirmaCadenaTtl()));
+        TrustContext context;
+        try {
+            context = trustSources.getContext(now, ttlNanos);
+        } catch (IOException | GeneralSecurityException e) {
+            return "No se pudieron cargar las anclas de confianza o las CRL: " + e.getLocalizedMessage();
+        }
+
+        String fingerprint;
+        try {
+            fingerprint = fingerprint(certificate);
+        } catch (GeneralSecurityException e) {
+            return "No se pudo obtener la huella del certificado del firmante: " + e.getLocalizedMessage();
+        }
+
+        TrustEntry entry = context.results.computeIfAbsent(fingerprint, key -> new TrustEntry(), RESULTS_CACHE_MAX);
+        if (entry.isExpired(now)) {
+            context.results.remove(fingerprint, entry);
+            entry = context.results.computeIfAbsent(fingerprint, key -> new TrustEntry(), RESULTS_CACHE_MAX);
+        }
+        return entry.get(context, certificate, now + ttlNanos);
+    }
+
+    /**
+     * Descarta las anclas de confianza, las CRL y los resultados de verificación guardados.
+     */
+    public static void invalidateAll() {
+        sources.clear();
+    }
+
+    // Los MessageDigest no son thread-safe; se reutilizan desde un pool, sin depender de ThreadLocal
+    private static String fingerprint(X509Certificate certificate) throws GeneralSecurityException {
+        MessageDigest digest = idleDigests.poll();
+        if (digest != null) {
+            idleDigestsCount.decrementAndGet();
+        } else {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+
+        try {
+            return SifenUtil.bytesToHex(digest.digest(certificate.getEncoded()));
+        } finally {
+            digest.reset();
+            if (idleDigestsCount.incrementAndGet() <= MAX_IDLE_DIGESTS) {
+                idleDigests.offer(digest);
+            } else {
+                idleDigestsCount.decrementAndGet();
+            }
+        }
+    }
+
+    private static List<File> getFiles(String paths) {
+        List<File> files = new ArrayList<>();
+        if (SifenUtil.isBlank(paths)) return files;
+
+        for (String path : paths.split(",")) {
+            if (SifenUtil.isNotBlank(path)) {
+                files.add(new File(path.trim()));
+            }
+        }
+        return files;
+    }
+
+    private static String describe(CertPathBuilderException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CertPathValidatorException) {
+                CertPathValidatorException.Reason reason = ((CertPathValidatorException) cause).getReason();
+                if (reason == CertPathValidatorException.BasicReason.REVOKED) {
+                    return "El certificado del firmante, o uno de su cadena, fue revocado.";
+                }
+                if (reason == CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS) {
+                    return "No se pudo determinar el estado de revocación del certificado del firmante con las CRL configuradas.";
+                }
+                if (reason == CertPathValidatorException.BasicReason.EXPIRED) {
+                    return "El certificado del firmante, o uno de su cadena, está vencido.";
+                }
+            }
+        }
+        return "No se pudo construir una cadena de confianza hasta una de las anclas configuradas: " + e.getLocalizedMessage();
+    }
+
+    // Archivos de anclas y CRL configurados. Su estado (fecha de modificación y tamaño) se vuelve a consultar una vez
+    // por TTL, y no en cada validación; si cambió, se vuelven a cargar
+    private static class TrustSources {
+        private final List<File> anchorFiles;
+        private final List<File> crlFiles;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile TrustContext context;
+        private volatile long checkedAt;
+        private String state;
+
+        private TrustSources(List<File> anchorFiles, List<File> crlFiles) {
+            this.anchorFiles = anchorFiles;
+            this.crlFiles = crlFiles;
+        }
+
+        private TrustContext getContext(long now, long ttlNanos) throws IOException, GeneralSecurityException {
+            TrustContext current = context;
+            if (current != null && now - checkedAt < ttlNanos) {
+                return current;
+            }
+
+            lock.lock();
+            try {
+                String currentState = getState();
+                if (context == null || !currentState.equals(state)) {
+                    context = TrustContext.load(anchorFiles, crlFiles);
+                    state = currentState;
+                }
+                checkedAt = now;
+                return context;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private String getState() {
+            StringBuilder sb = new StringBuilder();
+            for (File file : anchorFiles) {
+                sb.append(file.lastModified()).append(':').append(file.length()).append(',');
+            }
+            sb.append('|');
+            for (File file : crlFiles) {
+                sb.append(file.lastModified()).append(':').append(file.length()).append(',');
+            }
+            return sb.toString();
+        }
+    }
+
+    private static class TrustContext {
+        private final Set<TrustAnchor> anchors;
+        private final List<X509Certificate> intermediates;
+        private final List<X509CRL> crls;
+        private final LruCache<String, TrustEntry> results = new LruCache<>(null);
+
+        private TrustContext(Set<TrustAnchor> anchors, List<X509Certificate> intermediates, List<X509CRL> crls) {
+            this.anchors = anchors;
+            this.intermediates = intermediates;
+            this.crls = crls;
+        }
+
+        // Los certificados autofirmados se utilizan como anclas y el resto como intermedios para construir la cadena
+        private static TrustContext load(List<File> anchorFiles, List<File> crlFiles) throws IOException, GeneralSecurityException {
+            CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+
+            Set<TrustAnchor> anchors = new HashSet<>();
+            List<X509Certificate> intermediates = new ArrayList<>();
+            for (File file : anchorFiles) {
+                try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+                    for (Certificate certificate : certificateFactory.generateCertificates(inputStream)) {
+                        X509Certificate x509Certificate = (X509Certificate) certificate;
+                        if (x509Certificate.getSubjectX500Principal().equals(x509Certificate.getIssuerX500Principal())) {
+                            anchors.add(new TrustAnchor(x509Certificate, null));
+                        } else {
+                            intermediates.add(x509Certificate);
+                        }
+                    }
+                }
+            }
+            if (anchors.isEmpty()) {
+                throw new CertificateException("Los archivos de anclas de confianza no contienen certificados autofirmados.");
+            }
+
+            List<X509CRL> crls = new ArrayList<>();
+            for (File file : crlFiles) {
+                try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+                    for (CRL crl : certificateFactory.generateCRLs(inputStream)) {
+                        crls.add((X509CRL) crl);
+                    }
+                }
+            }
+            return new TrustContext(anchors, intermediates, crls);
+        }
+
+        private String check(X509Certificate certificate) {
+            try {
+                X509CertSelector target = new X509CertSelector();
+                target.setCertificate(certificate);
+
+                Collection<Object> storeContent = new ArrayList<>(intermediates);
+                storeContent.add(certificate);
+                storeContent.addAll(crls);
+
+                PKIXBuilderParameters parameters = new PKIXBuilderParameters(anchors, target);
+                parameters.addCertStore(CertStore.getInstance("Collection", new CollectionCertStoreParameters(storeContent)));
+                parameters.setRevocationEnabled(!crls.isEmpty());
+
+                CertPathBuilder.getInstance("PKIX").build(parameters);
+                return null;
+            } catch (CertPathBuilderException e) {
+                return describe(e);
+            } catch (GeneralSecurityException e) {
+                return "Ocurrió un error al validar la cadena del certificado del firmante: " + e.getLocalizedMessage();
+            }
+        }
+    }
+
+    // Resultado de un certificado, verificado una sola vez aunque varios hilos lo soliciten a la vez
+    private static class TrustEntry {
+        private boolean checked;
+        private String reason;
+        private long expiresAt;
+
+        private synchronized String get(TrustContext context, X509Certificate certificate, long expiresAt) {
+            if (!checked) {
+                this.reason = context.check(certificate);
+                this.expiresAt = expiresAt;
+                this.checked = true;
+            }
+            return reason;
+        }
+
+        private synchronized boolean isExpired(long now) {
+            return checked && now - expiresAt >= 0;
+        }
+    }
+}
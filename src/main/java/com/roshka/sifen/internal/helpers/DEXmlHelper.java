@@ -0,0 +1,297 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.Constants;
+import com.roshka.sifen.internal.util.ByteArrayBuffer;
+import com.roshka.sifen.internal.util.DocumentBuilderPool;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.TransformerPool;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.crypto.dsig.Reference;
+import javax.xml.crypto.dsig.SignedInfo;
+import javax.xml.crypto.dsig.XMLSignature;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+import static com.roshka.sifen.internal.Constants.SIFEN_CURRENT_VERSION;
+
+/**
+ * Helper encargado de firmar Documentos Electrónicos recibidos directamente como XML, sin construir el objeto
+ * DocumentoElectronico ni volver a generar su contenido, y de agregar a la petición SOAP los rDE generados como XML.
+ */
+public class DEXmlHelper {
+    private static final byte[] RDE_START = "<rDE".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RDE_START_WITH_NAMESPACE = ("<rDE xmlns=\"" + Constants.SIFEN_NS_URI + "\"").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RDE_END = "</rDE>".getBytes(StandardCharsets.UTF_8);
+    private static final int QR_LINK_CAPACITY = 512;
+
+
+    /**
+     * Agrega al nodo padre el rDE recibido, firmando su DE y agregando el enlace del QR. Si el rDE ya tenía una firma o
+     * un gCamFuFD, se reemplazan. Los espacios en blanco entre etiquetas se descartan.
+     *
+     * @param parentNode  Elemento al que se agrega el rDE (Ej.: xDE).
+     * @param rDEXml      XML del rDE, con el DE completo y sin firmar, en el namespace de Sifen.
+     * @param sifenConfig Configuración de Sifen, de la que se obtienen el certificado y el CSC.
+     * @return El rDE agregado y firmado.
+     * @throws SifenException Si el XML es inválido, si no contiene el rDE o el Id del DE, o si la firma falla.
+     */
+    public static SOAPElement appendSignedRDE(SOAPElement parentNode, byte[] rDEXml, SifenConfig sifenConfig) throws SifenException {
+        Element rDE = parseRDE(rDEXml);
+        prepareRDE(rDE);
+
+        try {
+            SOAPElement signedRDE = (SOAPElement) parentNode.appendChild(parentNode.getOwnerDocument().importNode(rDE, true));
+            Element DE = getDE(signedRDE);
+            SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, signedRDE, DE);
+            signedRDE.addChildElement("gCamFuFD").addChildElement("dCarQR").setTextContent(generateQRLink(DE, signedInfo, sifenConfig));
+            return signedRDE;
+        } catch (SOAPException e) {
+            throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al agregar el rDE a la petición SOAP", e);
+        }
+    }
+
+    /**
+     * Firma el DE del rDE recibido y le agrega el QR, sin pasar por SAAJ: el rDE se carga en un DOM solo para calcular
+     * la firma, y el resultado se arma a partir de los bytes recibidos, agregando la firma y el gCamFuFD serializados.
+     *
+     * @param rDEXml          XML del rDE sin firmar, en UTF-8, tal como lo genera el StreamingXmlWriter (sin contenido
+     *                        luego del cierre del rDE).
+     * @param sifenConfig     Configuración de Sifen, de la que se obtiene el certificado.
+     * @param qrLinkGenerator Generador del enlace del QR, a partir del SignedInfo de la firma.
+     * @return El XML del rDE firmado, en UTF-8.
+     * @throws SifenException Si el XML es inválido, si no contiene el DE o su Id, o si la firma falla.
+     */
+    public static byte[] signRDE(byte[] rDEXml, SifenConfig sifenConfig, Function<SignedInfo, String> qrLinkGenerator) throws SifenException {
+        Element rDE = parseRDE(rDEXml);
+        SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, rDE, getDE(rDE));
+        Node signature = rDE.getLastChild();
+
+        int contentLength = rDEXml.length - RDE_END.length;
+        if (contentLength < 0 || !endsWith(rDEXml, RDE_END)) {
+            throw SifenExceptionUtil.xmlParsingError("El XML del rDE debe terminar con el cierre del rDE.");
+        }
+
+        ByteArrayBuffer signedRDE = new ByteArrayBuffer(rDEXml.length + 4096);
+        signedRDE.write(rDEXml, 0, contentLength);
+        try {
+            TransformerPool.transformFragment(new DOMSource(signature), new StreamResult(signedRDE));
+        } catch (TransformerException e) {
+            throw SifenExceptionUtil.requestSigningError("Ocurrió un error al serializar la firma del DE", e);
+        }
+
+        String gCamFuFD = "<gCamFuFD><dCarQR>" + escapeText(qrLinkGenerator.apply(signedInfo)) + "</dCarQR></gCamFuFD>";
+        byte[] gCamFuFDBytes = gCamFuFD.getBytes(StandardCharsets.UTF_8);
+        signedRDE.write(gCamFuFDBytes, 0, gCamFuFDBytes.length);
+        signedRDE.write(RDE_END, 0, RDE_END.length);
+        return signedRDE.toByteArray();
+    }
+
+    /**
+     * Escribe el rDE dentro de un elemento que ya declara el namespace de Sifen por defecto (Ej.: xDE), omitiendo la
+     * declaración repetida en el rDE.
+     *
+     * @param outputStream Stream en el que se escribe el rDE.
+     * @param rDEXml       XML del rDE, en UTF-8, tal como lo genera el StreamingXmlWriter.
+     * @throws IOException Si no se pudo escribir en el stream.
+     */
+    public static void writeRDE(OutputStream outputStream, byte[] rDEXml) throws IOException {
+        if (startsWith(rDEXml, RDE_START_WITH_NAMESPACE)) {
+            outputStream.write(RDE_START);
+            outputStream.write(rDEXml, RDE_START_WITH_NAMESPACE.length, rDEXml.length - RDE_START_WITH_NAMESPACE.length);
+        } else {
+            outputStream.write(rDEXml);
+        }
+    }
+
+    /**
+     * Agrega al nodo padre el rDE recibido, tal como está, sin firmarlo.
+     *
+     * @param parentNode Elemento al que se agrega el rDE (Ej.: xDE).
+     * @param rDEXml     XML del rDE, en el namespace de Sifen.
+     * @return El rDE agregado.
+     * @throws SifenException Si el XML es inválido o si no contiene el rDE.
+     */
+    public static SOAPElement importRDE(SOAPElement parentNode, byte[] rDEXml) throws SifenException {
+        Element rDE = parseRDE(rDEXml);
+        return (SOAPElement) parentNode.appendChild(parentNode.getOwnerDocument().importNode(rDE, true));
+    }
+
+    /**
+     * @param rDE Elemento rDE.
+     * @return El DE hijo del rDE.
+     * @throws SifenException Si el rDE no contiene el DE o si el DE no tiene el atributo Id.
+     */
+    public static Element getDE(Element rDE) throws SifenException {
+        Element DE = getChildElement(rDE, "DE");
+        if (DE == null || SifenUtil.isBlank(DE.getAttribute("Id"))) {
+            throw SifenExceptionUtil.fieldNotFound("No se encontró el nodo 'DE', con su atributo 'Id', en el rDE recibido.");
+        }
+        return DE;
+    }
+
+    /**
+     * Completa los parámetros del enlace del QR con el DigestValue de la firma y el CSC, y construye el enlace.
+     *
+     * @param queryParams Parámetros del DE, desde nVersion hasta cItems, en orden.
+     * @param signedInfo  SignedInfo de la firma del DE.
+     * @param sifenConfig Configuración de Sifen, de la que se obtienen el CSC y la URL de consulta.
+     * @return El enlace del QR.
+     */
+    public static String buildQRLink(LinkedHashMap<String, String> queryParams, SignedInfo signedInfo, SifenConfig sifenConfig) {
+        byte[] digestValue = Base64.getEncoder().encode(((Reference) signedInfo.getReferences().get(0)).getDigestValue());
+        queryParams.put("DigestValue", SifenUtil.bytesToHex(digestValue));
+        queryParams.put("IdCSC", sifenConfig.getIdCSC());
+
+        // El hash se calcula sobre los parámetros seguidos del CSC, que luego se quita del enlace
+        StringBuilder qrLink = new StringBuilder(QR_LINK_CAPACITY).append(sifenConfig.getUrlConsultaQr());
+        int paramsStart = qrLink.length();
+        int paramsEnd = SifenUtil.appendUrlParams(qrLink, queryParams).length();
+        String hashedParams = SifenUtil.sha256Hex(qrLink.append(sifenConfig.getCSC()), paramsStart, qrLink.length());
+        qrLink.setLength(paramsEnd);
+
+        return qrLink.append("&cHashQR=").append(hashedParams).toString();
+    }
+
+    // Mismos parámetros que DocumentoElectronico, tomados del XML tal como fue firmado
+    private static String generateQRLink(Element DE, SignedInfo signedInfo, SifenConfig sifenConfig) throws SifenException {
+        LinkedHashMap<String, String> queryParams = new LinkedHashMap<>();
+
+        queryParams.put("nVersion", SIFEN_CURRENT_VERSION);
+        queryParams.put("Id", DE.getAttribute("Id"));
+        queryParams.put("dFeEmiDE", SifenUtil.stringToHex(getRequiredText(DE, "dFeEmiDE")));
+
+        String dNumIDRec = getText(DE, "dNumIDRec");
+        if ("1".equals(getRequiredText(DE, "iNatRec"))) {
+            queryParams.put("dRucRec", getText(DE, "dRucRec"));
+        } else {
+            queryParams.put("dNumIDRec", dNumIDRec != null ? dNumIDRec : "0");
+        }
+
+        if (!"7".equals(getRequiredText(DE, "iTiDE"))) {
+            String iTImp = getText(DE, "iTImp");
+            queryParams.put("dTotGralOpe", getRequiredText(DE, "dTotGralOpe"));
+            queryParams.put("dTotIVA", "1".equals(iTImp) || "5".equals(iTImp) ? getRequiredText(DE, "dTotIVA") : "0");
+        } else {
+            queryParams.put("dTotGralOpe", "0");
+            queryParams.put("dTotIVA", "0");
+        }
+
+        queryParams.put("cItems", String.valueOf(DE.getElementsByTagNameNS(Constants.SIFEN_NS_URI, "gCamItem").getLength()));
+
+        return buildQRLink(queryParams, signedInfo, sifenConfig);
+    }
+
+    private static Element parseRDE(byte[] rDEXml) throws SifenException {
+        Document document;
+        try {
+            document = DocumentBuilderPool.parse(new ByteArrayInputStream(rDEXml));
+        } catch (SAXException | IOException | ParserConfigurationException e) {
+            throw SifenExceptionUtil.xmlParsingError("Se produjo un error al parsear el XML del rDE. Formato incorrecto.", e);
+        }
+
+        Element rDE = document.getDocumentElement();
+        if (!isSifenElement(rDE, "rDE")) {
+            rDE = (Element) document.getElementsByTagNameNS(Constants.SIFEN_NS_URI, "rDE").item(0);
+        }
+        if (rDE == null) {
+            throw SifenExceptionUtil.fieldNotFound("No se encontró el nodo 'rDE', en el namespace " + Constants.SIFEN_NS_URI + ", en el XML recibido.");
+        }
+        return rDE;
+    }
+
+    // Quita la firma y el QR anteriores, si los hay, y los nodos de texto vacíos que deja el formateo del XML
+    private static void prepareRDE(Element rDE) {
+        Node child = rDE.getFirstChild();
+        while (child != null) {
+            Node next = child.getNextSibling();
+            if (isSifenElement(child, "gCamFuFD")
+                    || (child.getNodeType() == Node.ELEMENT_NODE && XMLSignature.XMLNS.equals(child.getNamespaceURI()))) {
+                rDE.removeChild(child);
+            }
+            child = next;
+        }
+        removeWhitespace(rDE);
+    }
+
+    private static void removeWhitespace(Node node) {
+        Node child = node.getFirstChild();
+        while (child != null) {
+            Node next = child.getNextSibling();
+            if (child.getNodeType() == Node.TEXT_NODE) {
+                if (child.getNodeValue().trim().isEmpty()) {
+                    node.removeChild(child);
+                }
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                removeWhitespace(child);
+            }
+            child = next;
+        }
+    }
+
+    private static String escapeText(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean endsWith(byte[] bytes, byte[] suffix) {
+        int offset = bytes.length - suffix.length;
+        if (offset < 0) return false;
+        for (int i = 0; i < suffix.length; i++) {
+            if (bytes[offset + i] != suffix[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSifenElement(Node node, String localName) {
+        return node.getNodeType() == Node.ELEMENT_NODE && localName.equals(node.getLocalName())
+                && Constants.SIFEN_NS_URI.equals(node.getNamespaceURI());
+    }
+
+    private static Element getChildElement(Element parent, String localName) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (isSifenElement(child, localName)) {
+                return (Element) child;
+            }
+        }
+        return null;
+    }
+
+    private static String getText(Element parent, String localName) {
+        NodeList nodes = parent.getElementsByTagNameNS(Constants.SIFEN_NS_URI, localName);
+        return nodes.getLength() > 0 ? nodes.item(0).getTextContent() : null;
+    }
+
+    private static String getRequiredText(Element parent, String localName) throws SifenException {
+        String text = getText(parent, localName);
+        if (text == null) {
+            throw SifenExceptionUtil.fieldNotFound("No se encontró el nodo '" + localName + "' en el DE recibido.");
+        }
+        return text;
+    }
+}
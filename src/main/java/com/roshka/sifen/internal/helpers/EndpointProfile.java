@@ -0,0 +1,140 @@
+package com.roshka.sifen.internal.helpers;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPConstants;
+import javax.xml.soap.SOAPException;
+import javax.xml.soap.SOAPMessage;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Perfil inmutable de un endpoint de Sifen: URL, versión de SOAP, fábrica de mensajes y cabeceras HTTP. Se construye
+ * una sola vez por configuración (ver {@link EndpointRegistry}), por lo que al realizar una petición no es necesario
+ * analizar el URL para decidir cómo enviarla.
+ */
+public class EndpointProfile {
+    /**
+     * Operaciones de Sifen, con las particularidades de cada endpoint.
+     */
+    public enum Operacion {
+        RECIBE(null, false, true),
+        // SOAP 1.2: Sifen requiere el action en el Content-Type
+        RECIBE_LOTE("siRecepLoteDE", false, true),
+        EVENTO(null, false, true),
+        CONSULTA(null, false, true),
+        // Endpoint quisquilloso: action en el Content-Type, Connection: close y SOAPAction vacío (soapAction="" en el
+        // WSDL), que ayuda a ciertos gateways
+        CONSULTA_LOTE("siConsLoteDE", true, true),
+        // Sifen responde 0160 si la petición no reproduce exactamente estas cabeceras; no se envía User-Agent
+        CONSULTA_RUC("siConsRUC", false, false);
+
+        private final String action;
+        private final boolean closeConnection;
+        private final boolean sendUserAgent;
+
+        Operacion(String action, boolean closeConnection, boolean sendUserAgent) {
+            this.action = action;
+            this.closeConnection = closeConnection;
+            this.sendUserAgent = sendUserAgent;
+        }
+    }
+
+    private static final String ACCEPT = "application/soap+xml, text/xml, */*";
+
+    private final Operacion operacion;
+    private final URL url;
+    private final String urlString;
+    private final String soapProtocol;
+    private final MessageFactory messageFactory;
+    private final Map<String, String> headers;
+    private final boolean closeConnection;
+    private final boolean https;
+
+    EndpointProfile(Operacion operacion, URL url, MessageFactory messageFactory, String userAgent) {
+        this.operacion = operacion;
+        this.url = url;
+        this.urlString = url.toString();
+        this.soapProtocol = SOAPConstants.SOAP_1_2_PROTOCOL;
+        this.messageFactory = messageFactory;
+        this.closeConnection = operacion.closeConnection;
+        this.https = "https".equalsIgnoreCase(url.getProtocol());
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (operacion.sendUserAgent) {
+            headers.put("User-Agent", userAgent);
+        }
+        headers.put("Accept", ACCEPT);
+        headers.put("Content-Type", "application/soap+xml; charset=utf-8"
+                + (operacion.action != null ? "; action=\"" + operacion.action + "\"" : ""));
+        if (operacion.closeConnection) {
+            headers.put("Connection", "close");
+            headers.put("SOAPAction", "");
+        }
+        this.headers = Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Crea un mensaje SOAP vacío con la versión de SOAP del endpoint.
+     *
+     * @return El mensaje creado.
+     * @throws SOAPException Si no se pudo crear el mensaje.
+     */
+    public SOAPMessage createSoapMessage() throws SOAPException {
+        return messageFactory.createMessage();
+    }
+
+    /**
+     * Establece las cabeceras HTTP del endpoint en la conexión.
+     *
+     * @param httpsConnection Conexión de la petición.
+     */
+    public void applyHeaders(HttpsURLConnection httpsConnection) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            httpsConnection.setRequestProperty(header.getKey(), header.getValue());
+        }
+    }
+
+    public Operacion getOperacion() {
+        return operacion;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public String getUrlString() {
+        return urlString;
+    }
+
+    public String getSoapProtocol() {
+        return soapProtocol;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public boolean isHttps() {
+        return https;
+    }
+
+    /**
+     * @return true si el endpoint requiere cerrar la conexión luego de cada petición (sin keep-alive).
+     */
+    public boolean isCloseConnection() {
+        return closeConnection;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointProfile{" +
+                "operacion=" + operacion +
+                ", url=" + urlString +
+                ", soapProtocol='" + soapProtocol + '\'' +
+                ", headers=" + headers +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+import com.roshka.sifen.internal.util.SifenUtil;
+
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Registro de los perfiles de los endpoints de Sifen de una configuración.
+ * <p>
+ * El registro se construye la primera vez que se utiliza una configuración y se vuelve a construir solo si cambió el
+ * URL base o algún path. Para detectarlo se comparan las referencias de los valores de la configuración, sin
+ * recorrer ni comparar strings.
+ */
+public class EndpointRegistry {
+    private final static Logger logger = Logger.getLogger(EndpointRegistry.class.toString());
+    private static final Map<SifenConfig, EndpointRegistry> registries = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String[] source;
+    private final Map<EndpointProfile.Operacion, EndpointProfile> profiles;
+
+    private EndpointRegistry(String[] source, Map<EndpointProfile.Operacion, EndpointProfile> profiles) {
+        this.source = source;
+        this.profiles = profiles;
+    }
+
+    /**
+     * Obtiene el perfil del endpoint de la operación, para la configuración recibida.
+     *
+     * @param sifenConfig Configuración de Sifen.
+     * @param operacion   Operación a realizar.
+     * @return El perfil del endpoint.
+     * @throws SifenException Si el URL del endpoint es inválido.
+     */
+    public static EndpointProfile getProfile(SifenConfig sifenConfig, EndpointProfile.Operacion operacion) throws SifenException {
+        EndpointRegistry registry = registries.get(sifenConfig);
+        if (registry == null || !registry.isCurrent(sifenConfig)) {
+            registry = build(sifenConfig);
+            registries.put(sifenConfig, registry);
+        }
+        return registry.profiles.get(operacion);
+    }
+
+    private static String[] getSource(SifenConfig sifenConfig) {
+        return new String[]{
+                sifenConfig.getUrlBase(),
+                sifenConfig.getUrlBaseLocal(),
+                sifenConfig.getPathRecibe(),
+                sifenConfig.getPathRecibeLote(),
+                sifenConfig.getPathEvento(),
+                sifenConfig.getPathConsulta(),
+                sifenConfig.getPathConsultaLote(),
+                sifenConfig.getPathConsultaRUC(),
+                sifenConfig.getUserAgent()
+        };
+    }
+
+    private boolean isCurrent(SifenConfig sifenConfig) {
+        return source[0] == sifenConfig.getUrlBase()
+                && source[1] == sifenConfig.getUrlBaseLocal()
+                && source[2] == sifenConfig.getPathRecibe()
+                && source[3] == sifenConfig.getPathRecibeLote()
+                && source[4] == sifenConfig.getPathEvento()
+                && source[5] == sifenConfig.getPathConsulta()
+                && source[6] == sifenConfig.getPathConsultaLote()
+                && source[7] == sifenConfig.getPathConsultaRUC()
+                && source[8] == sifenConfig.getUserAgent();
+    }
+
+    private static EndpointRegistry build(SifenConfig sifenConfig) throws SifenException {
+        String[] source = getSource(sifenConfig);
+        String urlBase = SifenUtil.coalesce(sifenConfig.getUrlBase(), sifenConfig.getUrlBaseLocal());
+
+        MessageFactory messageFactory;
+        try {
+            messageFactory = SoapHelper.getMessageFactory();
+        } catch (SOAPException e) {
+            throw SifenExceptionUtil.requestPreparationError("No se pudo crear la fábrica de mensajes SOAP", e);
+        }
+
+        Map<EndpointProfile.Operacion, EndpointProfile> profiles = new EnumMap<>(EndpointProfile.Operacion.class);
+        String userAgent = sifenConfig.getUserAgent();
+        put(profiles, EndpointProfile.Operacion.RECIBE, urlBase + sifenConfig.getPathRecibe(), messageFactory, userAgent);
+        put(profiles, EndpointProfile.Operacion.RECIBE_LOTE, urlBase + sifenConfig.getPathRecibeLote(), messageFactory, userAgent);
+        put(profiles, EndpointProfile.Operacion.EVENTO, urlBase + sifenConfig.getPathEvento(), messageFactory, userAgent);
+        put(profiles, EndpointProfile.Operacion.CONSULTA, urlBase + sifenConfig.getPathConsulta(), messageFactory, userAgent);
+        put(profiles, EndpointProfile.Operacion.CONSULTA_LOTE, urlBase + sifenConfig.getPathConsultaLote(), messageFactory, userAgent);
+        put(profiles, EndpointProfile.Operacion.CONSULTA_RUC, urlBase + sifenConfig.getPathConsultaRUC(), messageFactory, userAgent);
+
+        for (EndpointProfile profile : profiles.values()) {
+            logger.fine("Perfil de endpoint: " + profile);
+        }
+        return new EndpointRegistry(source, profiles);
+    }
+
+    private static void put(Map<EndpointProfile.Operacion, EndpointProfile> profiles, EndpointProfile.Operacion operacion,
+                            String urlString, MessageFactory messageFactory, String userAgent) throws SifenException {
+        try {
+            URL url = new URL(urlString);
+            if (!url.getProtocol().equalsIgnoreCase("https") && !url.getProtocol().equalsIgnoreCase("http")) {
+                throw SifenExceptionUtil.invalidConfiguration("El protocolo " + url.getProtocol() + " del URL " + urlString + " es inválido");
+            }
+            profiles.put(operacion, new EndpointProfile(operacion, url, messageFactory, userAgent));
+        } catch (MalformedURLException e) {
+            throw SifenExceptionUtil.invalidConfiguration("El URL " + urlString + " es inválido: " + e.getLocalizedMessage(), e);
+        }
+    }
+}
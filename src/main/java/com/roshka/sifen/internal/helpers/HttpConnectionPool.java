@@ -0,0 +1,212 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Pool de conexiones persistentes (keep-alive) hacia los endpoints de Sifen.
+ * <p>
+ * Las conexiones físicas son mantenidas por el caché keep-alive de {@link javax.net.ssl.HttpsURLConnection}, que solo
+ * reutiliza un socket si la petición utiliza la misma instancia de {@link SSLSocketFactory}. Por eso cada endpoint
+ * mantiene una única fábrica de sockets, limita la cantidad de conexiones simultáneas y, cuando la conexión a ser
+ * reutilizada estuvo inactiva más del tiempo configurado, rota la fábrica para que los sockets viejos no vuelvan a
+ * utilizarse.
+ * <p>
+ * El caché keep-alive del JDK conserva como máximo {@code http.maxConnections} conexiones inactivas por destino (5 por
+ * defecto), y cierra las que sobran al liberarse. Si httpMaxConexionesPorHost es mayor, las conexiones simultáneas
+ * siguen limitadas por httpMaxConexionesPorHost, pero solo se reutilizan hasta {@code http.maxConnections}; para
+ * reutilizar más, se debe aumentar dicha propiedad del sistema antes de la primera petición.
+ */
+public class HttpConnectionPool {
+    private final static Logger logger = Logger.getLogger(HttpConnectionPool.class.toString());
+    private static final ConcurrentHashMap<EndpointKey, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene el endpoint del pool correspondiente al URL y al contexto SSL recibidos, creándolo si aún no existe.
+     *
+     * @param url         URL de la petición.
+     * @param sslContext  Contexto SSL con el que se abrirán las conexiones.
+     * @param sifenConfig Configuración de Sifen utilizada para crear el endpoint.
+     * @return El endpoint del pool.
+     */
+    public static Endpoint getEndpoint(URL url, SSLContext sslContext, SifenConfig sifenConfig) {
+        int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+        EndpointKey key = new EndpointKey(url.getHost().toLowerCase(), port, sslContext, Math.max(1, sifenConfig.getHttpMaxConexionesPorHost()),
+                sifenConfig.getHttpTiempoMaxInactividad(), sifenConfig.getHttpConnectTimeout());
+        return endpoints.computeIfAbsent(key, k -> new Endpoint(k, sslContext));
+    }
+
+    /**
+     * Descarta todos los endpoints del pool. Las conexiones que estén en uso terminan normalmente, y las inactivas
+     * dejan de ser reutilizadas.
+     */
+    public static void clear() {
+        endpoints.clear();
+    }
+
+    /**
+     * Descarta los endpoints que utilizan el contexto SSL recibido. Se utiliza cuando el contexto deja de estar en el
+     * caché de certificados.
+     *
+     * @param sslContext Contexto SSL descartado.
+     */
+    public static void clear(SSLContext sslContext) {
+        endpoints.keySet().removeIf(key -> key.sslContext == sslContext);
+    }
+
+    /**
+     * Endpoint del pool, identificado por host, puerto, contexto SSL y la configuración del pool (cantidad máxima de
+     * conexiones, tiempo máximo de inactividad y tiempo de espera de una conexión).
+     */
+    public static class Endpoint {
+        private final EndpointKey key;
+        private final SSLContext sslContext;
+        private final Semaphore permits;
+        private final long maxIdleNanos;
+        private final long acquireTimeoutMillis;
+        private final int maxIdleConnections;
+
+        // Momento en que cada conexión inactiva volvió al caché keep-alive, la más reciente primero. El caché reutiliza
+        // primero la conexión liberada más recientemente, por lo que el tope corresponde a la próxima a reutilizarse.
+        private final Deque<Long> idleSince = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile SSLSocketFactory socketFactory;
+
+        private Endpoint(EndpointKey key, SSLContext sslContext) {
+            this.key = key;
+            this.sslContext = sslContext;
+            this.permits = new Semaphore(key.maxConnections, true);
+            this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(key.maxIdleMillis);
+            this.acquireTimeoutMillis = key.acquireTimeoutMillis;
+            this.maxIdleConnections = Math.min(key.maxConnections, Math.max(1, Integer.getInteger("http.maxConnections", 5)));
+            this.socketFactory = sslContext.getSocketFactory();
+        }
+
+        /**
+         * Reserva una conexión del endpoint. Si todas las conexiones están en uso, espera como máximo el tiempo de
+         * conexión configurado.
+         *
+         * @return La fábrica de sockets a utilizar en la conexión, para que el socket sea tomado del caché keep-alive.
+         * @throws SifenException Si no se pudo obtener una conexión a tiempo.
+         */
+        public SSLSocketFactory acquire() throws SifenException {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw SifenExceptionUtil.invalidSOAPRequest("Se interrumpió la espera de una conexión hacia " + key.host, e);
+            }
+
+            if (!acquired) {
+                String message = "No hay conexiones disponibles hacia " + key.host + ":" + key.port
+                        + " luego de esperar " + acquireTimeoutMillis + " ms";
+                // La petición no llegó a enviarse, por lo que puede reintentarse como un error de conexión
+                throw SifenExceptionUtil.invalidSOAPRequest(message, new IOException(message));
+            }
+
+            lock.lock();
+            try {
+                // Si la conexión a reutilizar estuvo inactiva demasiado tiempo, las anteriores también lo estuvieron
+                Long since = idleSince.pollFirst();
+                if (since != null && System.nanoTime() - since > maxIdleNanos) {
+                    evict();
+                }
+                return socketFactory;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Libera la conexión reservada previamente con {@link #acquire()}.
+         *
+         * @param reusable Si la conexión vuelve al caché keep-alive para ser reutilizada; false si fue cerrada.
+         */
+        public void release(boolean reusable) {
+            if (reusable) {
+                lock.lock();
+                try {
+                    idleSince.addFirst(System.nanoTime());
+                    // El caché keep-alive cierra las conexiones que exceden su capacidad
+                    while (idleSince.size() > maxIdleConnections) {
+                        idleSince.pollLast();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            permits.release();
+        }
+
+        /**
+         * Descarta las conexiones inactivas del endpoint. Se utiliza cuando la conexión estuvo demasiado tiempo sin
+         * uso, o luego de un error de entrada/salida, para evitar reutilizar un socket cerrado por el servidor.
+         */
+        public void evict() {
+            logger.fine("Descartando conexiones inactivas hacia " + key.host + ":" + key.port);
+            lock.lock();
+            try {
+                idleSince.clear();
+                socketFactory = sslContext.getSocketFactory();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return La cantidad de conexiones que pueden reservarse sin esperar.
+         */
+        public int getConexionesDisponibles() {
+            return permits.availablePermits();
+        }
+    }
+
+    private static class EndpointKey {
+        private final String host;
+        private final int port;
+        private final SSLContext sslContext;
+        private final int maxConnections;
+        private final int maxIdleMillis;
+        private final int acquireTimeoutMillis;
+
+        private EndpointKey(String host, int port, SSLContext sslContext, int maxConnections, int maxIdleMillis, int acquireTimeoutMillis) {
+            this.host = host;
+            this.port = port;
+            this.sslContext = sslContext;
+            this.maxConnections = maxConnections;
+            this.maxIdleMillis = maxIdleMillis;
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EndpointKey)) return false;
+            EndpointKey that = (EndpointKey) o;
+            return port == that.port && host.equals(that.host) && sslContext == that.sslContext
+                    && maxConnections == that.maxConnections && maxIdleMillis == that.maxIdleMillis
+                    && acquireTimeoutMillis == that.acquireTimeoutMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, port, System.identityHashCode(sslContext), maxConnections, maxIdleMillis, acquireTimeoutMillis);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.exceptions.SifenExceptionCodes;
+import com.roshka.sifen.core.resilience.CircuitBreakerListener;
+import com.roshka.sifen.core.resilience.EndpointMetrics;
+import com.roshka.sifen.core.resilience.EstadoCircuito;
+import com.roshka.sifen.internal.SOAPResponse;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Helper encargado de los reintentos y del circuito (circuit breaker) de las peticiones a los endpoints de Sifen.
+ * <p>
+ * Solo se reintentan los errores transitorios: errores de entrada/salida y respuestas HTTP 429, 502, 503 o 504. Las
+ * peticiones idempotentes se reintentan siempre; las demás, solo si el error ocurrió antes de enviar el mensaje. Entre
+ * intentos se espera un tiempo exponencial con jitter, para que los clientes no reintenten todos a la vez.
+ * <p>
+ * Si un endpoint acumula la cantidad configurada de fallos consecutivos, el circuito se abre y las peticiones se
+ * rechazan sin ser enviadas. Pasado el tiempo configurado, se permite una petición de prueba que cierra el circuito si
+ * tiene éxito, o lo vuelve a abrir si falla.
+ */
+public class ResilienceHelper {
+    private final static Logger logger = Logger.getLogger(ResilienceHelper.class.toString());
+    private static final ConcurrentHashMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private static final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Petición SOAP a ser ejecutada, posiblemente más de una vez.
+     */
+    @FunctionalInterface
+    public interface SoapCall {
+        SOAPResponse call(Attempt attempt) throws SifenException;
+    }
+
+    /**
+     * Intento de una petición. Permite saber si el error ocurrió antes o después de enviar el mensaje.
+     */
+    public static class Attempt {
+        private boolean requestSent;
+
+        /**
+         * Indica que la conexión fue establecida y el mensaje comenzó a enviarse.
+         */
+        public void markRequestSent() {
+            this.requestSent = true;
+        }
+
+        public boolean isRequestSent() {
+            return requestSent;
+        }
+    }
+
+    /**
+     * Ejecuta la petición, aplicando la política de reintentos y el circuito del endpoint.
+     *
+     * @param sifenConfig Configuración de Sifen de la petición.
+     * @param urlString   URL del endpoint.
+     * @param idempotent  Si es true, la petición puede reenviarse aunque el mensaje ya haya sido enviado.
+     * @param soapCall    Petición a ser ejecutada.
+     * @return La respuesta de la petición.
+     * @throws SifenException Si la petición falló luego de los reintentos, o si el circuito del endpoint está abierto.
+     */
+    public static SOAPResponse execute(SifenConfig sifenConfig, String urlString, boolean idempotent, SoapCall soapCall) throws SifenException {
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(urlString, CircuitBreaker::new);
+        int maxRetries = Math.max(0, sifenConfig.getReintentosMax());
+
+        for (int retry = 0; ; retry++) {
+            if (!circuitBreaker.allowRequest(sifenConfig)) {
+                circuitBreaker.rejected.incrementAndGet();
+                throw SifenExceptionUtil.serviceUnavailable("El circuito hacia " + urlString + " está abierto por fallos "
+                        + "consecutivos. La petición no fue enviada.");
+            }
+
+            Attempt attempt = new Attempt();
+            circuitBreaker.calls.incrementAndGet();
+            SOAPResponse soapResponse;
+            try {
+                soapResponse = soapCall.call(attempt);
+            } catch (SifenException e) {
+                if (!isTransient(e)) {
+                    circuitBreaker.onIgnored();
+                    throw e;
+                }
+
+                circuitBreaker.onFailure(sifenConfig);
+                if (retry >= maxRetries || (!idempotent && attempt.isRequestSent())) {
+                    throw e;
+                }
+                logger.warning("Error transitorio en la petición a " + urlString + ": " + e.getMessage());
+                waitBeforeRetry(sifenConfig, retry, circuitBreaker);
+                continue;
+            }
+
+            if (!isTransient(soapResponse.getStatus())) {
+                circuitBreaker.onSuccess();
+                return soapResponse;
+            }
+
+            circuitBreaker.onFailure(sifenConfig);
+            if (retry >= maxRetries || !idempotent) {
+                return soapResponse;
+            }
+            logger.warning("Sifen respondió HTTP " + soapResponse.getStatus() + " en la petición a " + urlString);
+            waitBeforeRetry(sifenConfig, retry, circuitBreaker);
+        }
+    }
+
+    /**
+     * @return Las métricas de todos los endpoints a los que se realizaron peticiones.
+     */
+    public static List<EndpointMetrics> getMetrics() {
+        List<EndpointMetrics> metrics = new ArrayList<>();
+        for (CircuitBreaker circuitBreaker : circuitBreakers.values()) {
+            metrics.add(circuitBreaker.getMetrics());
+        }
+        return metrics;
+    }
+
+    public static void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(CircuitBreakerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Descarta el estado y las métricas de todos los circuitos.
+     */
+    public static void reset() {
+        circuitBreakers.clear();
+    }
+
+    private static boolean isTransient(SifenException e) {
+        return SifenExceptionCodes.INVALID_SOAP_REQUEST_CODE.equals(e.getCode()) && e.getCause() instanceof IOException
+                && !(e.getCause() instanceof MalformedURLException);
+    }
+
+    private static boolean isTransient(int status) {
+        return status == 429 || status == HttpURLConnection.HTTP_BAD_GATEWAY
+                || status == HttpURLConnection.HTTP_UNAVAILABLE || status == HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+    }
+
+    // Espera exponencial con jitter completo: aleatoria entre 0 y min(espera máxima, espera inicial * 2^reintento)
+    private static void waitBeforeRetry(SifenConfig sifenConfig, int retry, CircuitBreaker circuitBreaker) throws SifenException {
+        long initial = Math.max(1, sifenConfig.getReintentosEsperaInicial());
+        long cap = Math.max(initial, sifenConfig.getReintentosEsperaMax());
+        long backoff = Math.min(cap, initial << Math.min(retry, 20));
+        long wait = ThreadLocalRandom.current().nextLong(backoff + 1);
+
+        circuitBreaker.retries.incrementAndGet();
+        logger.info("Reintentando la petición a " + circuitBreaker.endpoint + " en " + wait + " ms (reintento " + (retry + 1) + ")");
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SifenExceptionUtil.invalidSOAPRequest("Se interrumpió la espera para reintentar la petición a " + circuitBreaker.endpoint, e);
+        }
+    }
+
+    private static class CircuitBreaker {
+        private final String endpoint;
+        private final AtomicReference<EstadoCircuito> state = new AtomicReference<>(EstadoCircuito.CERRADO);
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long openedAt;
+
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong opened = new AtomicLong();
+        private final AtomicLong halfOpened = new AtomicLong();
+        private final AtomicLong closed = new AtomicLong();
+
+        private CircuitBreaker(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private boolean allowRequest(SifenConfig sifenConfig) {
+            if (sifenConfig.getCircuitoUmbralFallos() <= 0) {
+                return true;
+            }
+
+            EstadoCircuito current = state.get();
+            if (current == EstadoCircuito.CERRADO) {
+                return true;
+            }
+            if (current == EstadoCircuito.ABIERTO
+                    && System.nanoTime() - openedAt >= TimeUnit.MILLISECONDS.toNanos(sifenConfig.getCircuitoTiempoAbierto())) {
+                // Solo el hilo que logra la transición realiza la petición de prueba
+                return transition(EstadoCircuito.ABIERTO, EstadoCircuito.SEMIABIERTO);
+            }
+            return false;
+        }
+
+        private void onSuccess() {
+            consecutiveFailures.set(0);
+            transition(EstadoCircuito.SEMIABIERTO, EstadoCircuito.CERRADO);
+        }
+
+        private void onFailure(SifenConfig sifenConfig) {
+            failures.incrementAndGet();
+            int count = consecutiveFailures.incrementAndGet();
+            int threshold = sifenConfig.getCircuitoUmbralFallos();
+            if (threshold <= 0) {
+                return;
+            }
+
+            openedAt = System.nanoTime();
+            if (!transition(EstadoCircuito.SEMIABIERTO, EstadoCircuito.ABIERTO) && count >= threshold) {
+                transition(EstadoCircuito.CERRADO, EstadoCircuito.ABIERTO);
+            }
+        }
+
+        // Un error que no depende del endpoint no cambia el estado, pero libera la petición de prueba. El tiempo de
+        // apertura ya está vencido, por lo que la próxima petición vuelve a ser de prueba.
+        private void onIgnored() {
+            state.compareAndSet(EstadoCircuito.SEMIABIERTO, EstadoCircuito.ABIERTO);
+        }
+
+        private boolean transition(EstadoCircuito from, EstadoCircuito to) {
+            if (!state.compareAndSet(from, to)) {
+                return false;
+            }
+
+            switch (to) {
+                case ABIERTO:
+                    opened.incrementAndGet();
+                    logger.warning("Circuito hacia " + endpoint + " abierto luego de " + consecutiveFailures.get() + " fallos consecutivos");
+                    break;
+                case SEMIABIERTO:
+                    halfOpened.incrementAndGet();
+                    logger.info("Circuito hacia " + endpoint + " semiabierto, se realiza una petición de prueba");
+                    break;
+                case CERRADO:
+                    closed.incrementAndGet();
+                    logger.info("Circuito hacia " + endpoint + " cerrado");
+                    break;
+            }
+
+            for (CircuitBreakerListener listener : listeners) {
+                try {
+                    listener.onTransicion(endpoint, from, to);
+                } catch (RuntimeException e) {
+                    logger.warning("Error en el listener del circuito: " + e.getMessage());
+                }
+            }
+            return true;
+        }
+
+        private EndpointMetrics getMetrics() {
+            return new EndpointMetrics(endpoint, state.get(), calls.get(), failures.get(), retries.get(), rejected.get(),
+                    opened.get(), halfOpened.get(), closed.get());
+        }
+    }
+}
@@ -2,30 +2,46 @@ package com.roshka.sifen.internal.helpers;
 
 import com.roshka.sifen.core.SifenConfig;
 import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.LruCache;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
+import com.roshka.sifen.internal.util.SifenUtil;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 import java.io.*;
 import java.security.*;
+import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.util.Base64;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
 
 /**
  * Helper encargado de manejar la conexión SSL y los certificados.
+ * <p>
+ * Los almacenes de claves se cachean por certificado (ruta o contenido, contraseña y fecha de modificación del
+ * archivo), por lo que el PKCS12 se lee y descifra una sola vez. Los contextos SSL se cachean por la huella SHA-256 del
+ * certificado, así cada configuración utiliza su propia identidad mTLS aunque se usen varias en la misma JVM. Las
+ * credenciales de firma de cada certificado se cachean junto a su almacén de claves.
  */
 public class SSLContextHelper {
     private final static Logger logger = getLogger(SSLContextHelper.class.toString());
-    private static SSLContext _sslContext;
 
-    public static SSLContext getContextFromConfig(SifenConfig sifenConfig) throws SifenException {
-        if (_sslContext != null)
-            return _sslContext;
+    private static final LruCache<CertificateKey, CacheEntry<CachedKeyStore>> keyStores = new LruCache<>(null);
+    private static final LruCache<String, CacheEntry<SSLContext>> sslContexts = new LruCache<>(entry -> {
+        SSLContext sslContext = entry.peek();
+        if (sslContext != null) {
+            HttpConnectionPool.clear(sslContext);
+        }
+    });
 
-        logger.info("Contexto SSL no cargado aún. Empezando carga...");
+    public static SSLContext getContextFromConfig(SifenConfig sifenConfig) throws SifenException {
         if (!isCertificateConfigurationValid(sifenConfig)) {
             try {
                 logger.info("Se utilizará un contexto SSL por defecto.");
@@ -35,7 +51,125 @@ public class SSLContextHelper {
             }
         }
 
-        KeyStore keyStore = getCertificateKeyStore(sifenConfig.getCertificadoCliente(), sifenConfig.getContrasenaCertificadoCliente());
+        CachedKeyStore cachedKeyStore = getCachedKeyStore(sifenConfig);
+        String contextKey = cachedKeyStore.fingerprint + "/" + sifenConfig.getTlsTiempoSesion();
+        CacheEntry<SSLContext> entry = sslContexts.computeIfAbsent(contextKey, k -> new CacheEntry<>(),
+                sifenConfig.getCertificadosCacheMax());
+        try {
+            return entry.get(() -> createSSLContext(sifenConfig, cachedKeyStore.keyStore));
+        } catch (SifenException e) {
+            sslContexts.remove(contextKey, entry);
+            throw e;
+        }
+    }
+
+    public static KeyStore getCertificateKeyStore(SifenConfig sifenConfig) throws SifenException {
+        if (!isCertificateConfigurationValid(sifenConfig)) {
+            throw SifenExceptionUtil.invalidConfiguration("Configuración del certificado no establecida. No se puede obtener la clave para la firma.");
+        }
+
+        return getCachedKeyStore(sifenConfig).keyStore;
+    }
+
+    /**
+     * Obtiene las credenciales de firma del certificado de la configuración. Se obtienen una sola vez por certificado
+     * y se descartan junto con su almacén de claves.
+     *
+     * @param sifenConfig Configuración de Sifen.
+     * @return Las credenciales de firma.
+     * @throws SifenException Si el certificado no está configurado o no se pudo obtener su clave privada.
+     */
+    public static SigningCredentials getSigningCredentials(SifenConfig sifenConfig) throws SifenException {
+        if (!isCertificateConfigurationValid(sifenConfig)) {
+            throw SifenExceptionUtil.invalidConfiguration("Configuración del certificado no establecida. No se puede obtener la clave para la firma.");
+        }
+
+        CachedKeyStore cachedKeyStore = getCachedKeyStore(sifenConfig);
+        SigningCredentials signingCredentials = cachedKeyStore.signingCredentials;
+        if (signingCredentials == null) {
+            cachedKeyStore.lock.lock();
+            try {
+                signingCredentials = cachedKeyStore.signingCredentials;
+                if (signingCredentials == null) {
+                    signingCredentials = SigningCredentials.create(cachedKeyStore.keyStore, sifenConfig.getContrasenaCertificadoCliente());
+                    cachedKeyStore.signingCredentials = signingCredentials;
+                }
+            } finally {
+                cachedKeyStore.lock.unlock();
+            }
+        }
+        return signingCredentials;
+    }
+
+    /**
+     * Descarta del caché el almacén de claves y el contexto SSL del certificado de la configuración recibida. La
+     * próxima petición vuelve a leer el certificado.
+     *
+     * @param sifenConfig Configuración cuyo certificado se descarta.
+     */
+    public static void invalidate(SifenConfig sifenConfig) {
+        String certificate = sifenConfig.getCertificadoCliente();
+        if (certificate == null) {
+            return;
+        }
+
+        Set<String> fingerprints = new HashSet<>();
+        keyStores.removeIf((key, entry) -> {
+            if (!key.certificate.equals(certificate)) {
+                return false;
+            }
+            CachedKeyStore cachedKeyStore = entry.peek();
+            if (cachedKeyStore != null) {
+                fingerprints.add(cachedKeyStore.fingerprint);
+            }
+            return true;
+        });
+        sslContexts.removeIf((key, entry) -> fingerprints.contains(key.substring(0, key.lastIndexOf('/'))));
+    }
+
+    /**
+     * Descarta del caché todos los almacenes de claves y contextos SSL.
+     */
+    public static void invalidateAll() {
+        keyStores.clear();
+        sslContexts.clear();
+    }
+
+    private static CachedKeyStore getCachedKeyStore(SifenConfig sifenConfig) throws SifenException {
+        String certificate = sifenConfig.getCertificadoCliente();
+        String password = sifenConfig.getContrasenaCertificadoCliente();
+
+        // Un certificado ya cargado como contenido Base64 no es un archivo, por lo que no se consulta el disco
+        CertificateKey contentKey = new CertificateKey(certificate, password, 0, 0);
+        CacheEntry<CachedKeyStore> contentEntry = keyStores.get(contentKey);
+        CachedKeyStore loaded = contentEntry != null ? contentEntry.peek() : null;
+        if (loaded != null && !loaded.fromFile) {
+            return loaded;
+        }
+
+        // Si el certificado es un archivo, su fecha de modificación y tamaño forman parte de la clave, para que un
+        // certificado renovado en la misma ruta se vuelva a leer
+        File file = new File(certificate);
+        boolean fromFile = file.isFile();
+        CertificateKey key = fromFile
+                ? new CertificateKey(certificate, password, file.lastModified(), file.length())
+                : contentKey;
+
+        CacheEntry<CachedKeyStore> entry = keyStores.computeIfAbsent(key, k -> new CacheEntry<>(),
+                sifenConfig.getCertificadosCacheMax());
+        try {
+            return entry.get(() -> {
+                KeyStore keyStore = getCertificateKeyStore(certificate, password);
+                return new CachedKeyStore(keyStore, getFingerprint(keyStore, certificate), fromFile);
+            });
+        } catch (SifenException e) {
+            keyStores.remove(key, entry);
+            throw e;
+        }
+    }
+
+    private static SSLContext createSSLContext(SifenConfig sifenConfig, KeyStore keyStore) throws SifenException {
+        logger.info("Contexto SSL no cargado aún para el certificado. Empezando carga...");
         KeyManagerFactory keyManagerFactory;
         try {
             keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
@@ -56,7 +190,9 @@ public class SSLContextHelper {
                     null,
                     new SecureRandom()
             );
-            return _sslContext = sslContext;
+            // Las sesiones TLS se reanudan sin handshake completo mientras no expiren
+            sslContext.getClientSessionContext().setSessionTimeout(sifenConfig.getTlsTiempoSesion());
+            return sslContext;
         } catch (KeyManagementException e) {
             throw SifenExceptionUtil.invalidSSLContext("No se inicializar el contexto SSL: " + e.getLocalizedMessage(), e);
         } catch (NoSuchAlgorithmException e) {
@@ -64,14 +200,6 @@ public class SSLContextHelper {
         }
     }
 
-    public static KeyStore getCertificateKeyStore(SifenConfig sifenConfig) throws SifenException {
-        if (!isCertificateConfigurationValid(sifenConfig)) {
-            throw SifenExceptionUtil.invalidConfiguration("Configuración del certificado no establecida. No se puede obtener la clave para la firma.");
-        }
-
-        return getCertificateKeyStore(sifenConfig.getCertificadoCliente(), sifenConfig.getContrasenaCertificadoCliente());
-    }
-
     private static KeyStore getCertificateKeyStore(String certificate, String password) throws SifenException {
         KeyStore keyStore;
         try {
@@ -89,7 +217,9 @@ public class SSLContextHelper {
                 certInputStream = new ByteArrayInputStream(Base64.getDecoder().decode(certificate));
             }
 
-            keyStore.load(certInputStream, password.toCharArray());
+            try (InputStream inputStream = certInputStream) {
+                keyStore.load(inputStream, password.toCharArray());
+            }
         } catch (IOException | NoSuchAlgorithmException | CertificateException | IllegalArgumentException e) {
             throw SifenExceptionUtil.invalidSSLContext("No se puede cargar el certificado de cliente: " + e.getLocalizedMessage(), e);
         }
@@ -97,6 +227,32 @@ public class SSLContextHelper {
         return keyStore;
     }
 
+    // Huella SHA-256 del certificado de la primera clave privada del almacén
+    private static String getFingerprint(KeyStore keyStore, String certificate) throws SifenException {
+        try {
+            Certificate first = null;
+            Enumeration<String> aliases = keyStore.aliases();
+            while (aliases.hasMoreElements()) {
+                String alias = aliases.nextElement();
+                Certificate aliasCertificate = keyStore.getCertificate(alias);
+                if (keyStore.isKeyEntry(alias) && aliasCertificate != null) {
+                    first = aliasCertificate;
+                    break;
+                }
+                if (first == null) {
+                    first = aliasCertificate;
+                }
+            }
+
+            if (first == null) {
+                return SifenUtil.sha256Hex(certificate);
+            }
+            return SifenUtil.bytesToHex(MessageDigest.getInstance("SHA-256").digest(first.getEncoded()));
+        } catch (KeyStoreException | NoSuchAlgorithmException | CertificateException e) {
+            throw SifenExceptionUtil.invalidSSLContext("No se puede obtener la huella del certificado de cliente: " + e.getLocalizedMessage(), e);
+        }
+    }
+
     private static boolean isCertificateConfigurationValid(SifenConfig sifenConfig) {
         if (sifenConfig.isUsarCertificadoCliente()) {
             if (sifenConfig.getTipoCertificadoCliente() == SifenConfig.TipoCertificadoCliente.PFX) {
@@ -112,4 +268,78 @@ public class SSLContextHelper {
         }
         return false;
     }
+
+    @FunctionalInterface
+    private interface Loader<V> {
+        V load() throws SifenException;
+    }
+
+    // Valor del caché que se carga una sola vez, aunque varios hilos lo soliciten a la vez. Se utiliza un
+    // ReentrantLock y no synchronized, para no fijar hilos virtuales a su hilo portador mientras se lee el certificado.
+    private static class CacheEntry<V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile V value;
+
+        private V get(Loader<V> loader) throws SifenException {
+            V current = value;
+            if (current != null) {
+                return current;
+            }
+            lock.lock();
+            try {
+                if (value == null) {
+                    value = loader.load();
+                }
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private V peek() {
+            return value;
+        }
+    }
+
+    private static class CachedKeyStore {
+        private final KeyStore keyStore;
+        private final String fingerprint;
+        private final boolean fromFile;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile SigningCredentials signingCredentials;
+
+        private CachedKeyStore(KeyStore keyStore, String fingerprint, boolean fromFile) {
+            this.keyStore = keyStore;
+            this.fingerprint = fingerprint;
+            this.fromFile = fromFile;
+        }
+    }
+
+    private static class CertificateKey {
+        private final String certificate;
+        private final String password;
+        private final long lastModified;
+        private final long length;
+
+        private CertificateKey(String certificate, String password, long lastModified, long length) {
+            this.certificate = certificate;
+            this.password = password;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CertificateKey)) return false;
+            CertificateKey that = (CertificateKey) o;
+            return lastModified == that.lastModified && length == that.length
+                    && certificate.equals(that.certificate) && password.equals(that.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(certificate, password, lastModified, length);
+        }
+    }
 }
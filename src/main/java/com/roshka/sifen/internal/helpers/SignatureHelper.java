@@ -4,36 +4,40 @@ import com.roshka.sifen.core.SifenConfig;
 import com.roshka.sifen.core.beans.ValidezFirmaDigital;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.Constants;
+import com.roshka.sifen.internal.util.ByteBufferInputStream;
+import com.roshka.sifen.internal.util.DocumentBuilderPool;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import javax.xml.crypto.*;
 import javax.xml.crypto.dsig.*;
 import javax.xml.crypto.dsig.dom.DOMSignContext;
 import javax.xml.crypto.dsig.dom.DOMValidateContext;
 import javax.xml.crypto.dsig.keyinfo.KeyInfo;
-import javax.xml.crypto.dsig.keyinfo.KeyInfoFactory;
 import javax.xml.crypto.dsig.keyinfo.X509Data;
 import javax.xml.crypto.dsig.spec.C14NMethodParameterSpec;
 import javax.xml.crypto.dsig.spec.TransformParameterSpec;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.soap.SOAPElement;
-import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.security.*;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,6 +47,9 @@ import java.util.regex.Pattern;
 public class SignatureHelper {
     private static final XMLSignatureFactory _xmlSignatureFactory = XMLSignatureFactory.getInstance();
     private static final List<Transform> transforms;
+    private static final Pattern SERIALNUMBER_PATTERN = subjectAttributePattern("SERIALNUMBER");
+    private static final Pattern CN_PATTERN = subjectAttributePattern("CN");
+    private static final Pattern O_PATTERN = subjectAttributePattern("O");
 
     static {
         transforms = new ArrayList<>();
@@ -55,11 +62,17 @@ public class SignatureHelper {
         }
     }
 
-    public static SignedInfo signDocument(SifenConfig sifenConfig, SOAPElement signatureParentNode, String signedNodeId) throws SifenException {
-        // FIX: XMLDSig necesita que el atributo "Id" esté registrado como tipo ID en el DOM
-        Document doc = signatureParentNode.getOwnerDocument();
-        try { markIdAttributes(doc.getDocumentElement()); } catch (Exception ignored) {}
-
+    /**
+     * Firma el elemento recibido, agregando la firma como último hijo de signatureParentNode.
+     *
+     * @param sifenConfig         Configuración de Sifen, de la que se obtiene el certificado.
+     * @param signatureParentNode Elemento en el que se agrega la firma.
+     * @param signedElement       Elemento a firmar (Ej.: DE o rEve), referenciado por su atributo Id.
+     * @return El SignedInfo de la firma.
+     * @throws SifenException Si ocurre un error al firmar.
+     */
+    public static SignedInfo signDocument(SifenConfig sifenConfig, Element signatureParentNode, Element signedElement) throws SifenException {
+        String signedNodeId = signedElement.getAttribute("Id");
         try {
             Reference ref = _xmlSignatureFactory.newReference("#" + signedNodeId,
                     _xmlSignatureFactory.newDigestMethod(DigestMethod.SHA256, null),
@@ -71,65 +84,96 @@ public class SignatureHelper {
                     Collections.singletonList(ref)
             );
 
-            KeyStore keyStore = SSLContextHelper.getCertificateKeyStore(sifenConfig);
-            String alias = keyStore.aliases().nextElement();
-            X509Certificate certificate = (X509Certificate) keyStore.getCertificate(alias);
-
-            KeyInfoFactory keyInfoFactory = _xmlSignatureFactory.getKeyInfoFactory();
-            X509Data x509Data = keyInfoFactory.newX509Data(Collections.singletonList(certificate));
-            KeyInfo keyInfo = keyInfoFactory.newKeyInfo(Collections.singletonList(x509Data));
-
-            XMLSignature signature = _xmlSignatureFactory.newXMLSignature(signedInfo, keyInfo);
-            PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, sifenConfig.getContrasenaCertificadoCliente().toCharArray());
+            // La clave privada, el certificado y el KeyInfo se obtienen una sola vez por certificado
+            SigningCredentials credentials = SSLContextHelper.getSigningCredentials(sifenConfig);
+            XMLSignature signature = _xmlSignatureFactory.newXMLSignature(signedInfo, credentials.getKeyInfo());
 
-            DOMSignContext signatureContext = new DOMSignContext(privateKey, signatureParentNode);
+            // XMLDSig necesita que el atributo "Id" esté registrado como tipo ID. Se registra solo en el elemento
+            // firmado, sin recorrer el documento (que en un lote contiene todos los DE firmados previamente).
+            DOMSignContext signatureContext = new DOMSignContext(credentials.getPrivateKey(), signatureParentNode);
+            signatureContext.setIdAttributeNS(signedElement, null, "Id");
             signature.sign(signatureContext);
 
             return signedInfo;
         } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException | XMLSignatureException |
-                 MarshalException | KeyStoreException | UnrecoverableKeyException e) {
+                 MarshalException e) {
             throw SifenExceptionUtil.requestSigningError("Ocurrió un error al firmar la petición SOAP utilizando el certificado activo", e);
         }
     }
 
-    public static ValidezFirmaDigital validateSignature(String xml, String type) {
-        File xmlFile;
+    /**
+     * Valida la firma del DE recibido como XML ("XML") o como ruta de archivo ("PATH").
+     *
+     * @param xml         XML o ruta del archivo del DE.
+     * @param type        Tipo del valor recibido.
+     * @param sifenConfig Configuración de Sifen, de la que se obtiene la validación de la cadena del certificado. Puede
+     *                    ser nula.
+     * @return La validez de la firma del DE.
+     */
+    public static ValidezFirmaDigital validateSignature(String xml, String type, SifenConfig sifenConfig) {
         if (type.equals("XML")) {
-            try {
-                // Create file from xml string
-                xmlFile = File.createTempFile(String.valueOf(UUID.randomUUID()), ".xml");
-
-                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
-                        Files.newOutputStream(xmlFile.toPath()), StandardCharsets.UTF_8
-                ));
-                writer.write(xml);
-                writer.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-                return ValidezFirmaDigital.create(false, "Ocurrió un error al crear el archivo XML.");
-            }
-        } else {
-            xmlFile = new File(xml);
+            // El XML se parsea en memoria, sin crear archivos temporales
+            return validateSignature(new InputSource(new StringReader(xml)), null, sifenConfig);
         }
+        return validateSignature(new File(xml), sifenConfig);
+    }
+
+    public static ValidezFirmaDigital validateSignature(File xml, SifenConfig sifenConfig) {
+        return validateSignature(new InputSource(xml.toURI().toASCIIString()), null, sifenConfig);
+    }
+
+    public static ValidezFirmaDigital validateSignature(byte[] xml, SifenConfig sifenConfig) {
+        return validateSignature(new InputSource(new ByteArrayInputStream(xml)), null, sifenConfig);
+    }
+
+    public static ValidezFirmaDigital validateSignature(InputStream xml, SifenConfig sifenConfig) {
+        return validateSignature(xml, null, sifenConfig);
+    }
 
-        // Validate signature
-        return validateSignature(xmlFile);
+    /**
+     * Valida la firma del DE leído del stream, reutilizando los certificados de firmantes ya procesados en el caché.
+     *
+     * @param xml         Stream con el XML del DE.
+     * @param signerCache Caché de certificados de firmantes. Puede ser nulo.
+     * @param sifenConfig Configuración de Sifen, de la que se obtiene la validación de la cadena del certificado. Puede
+     *                    ser nula.
+     * @return La validez de la firma del DE.
+     */
+    public static ValidezFirmaDigital validateSignature(InputStream xml, SignerCache signerCache, SifenConfig sifenConfig) {
+        return validateSignature(new InputSource(xml), signerCache, sifenConfig);
     }
 
-    public static ValidezFirmaDigital validateSignature(File xml) {
+    public static ValidezFirmaDigital validateSignature(ByteBuffer xml, SifenConfig sifenConfig) {
+        if (xml.hasArray()) {
+            return validateSignature(new InputSource(new ByteArrayInputStream(xml.array(),
+                    xml.arrayOffset() + xml.position(), xml.remaining())), null, sifenConfig);
+        }
+        return validateSignature(new InputSource(new ByteBufferInputStream(xml)), null, sifenConfig);
+    }
+
+    private static ValidezFirmaDigital validateSignature(InputSource xml, SignerCache signerCache, SifenConfig sifenConfig) {
+        // Parse the document to be validated
+        Document document;
         try {
-            // Parse the document to be validated
-            DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-            builderFactory.setNamespaceAware(true);
-            Document document;
-            try {
-                document = builderFactory.newDocumentBuilder().parse(xml);
-            } catch (SAXException e) {
-                e.printStackTrace();
-                return ValidezFirmaDigital.create(false, "Ocurrió un error al parsear el " +
-                        "archivo XML. Revise que el archivo sea un XML válido, y que tenga un solo nodo raíz.");
-            }
+            document = DocumentBuilderPool.parse(xml);
+        } catch (SAXException e) {
+            e.printStackTrace();
+            return ValidezFirmaDigital.create(false, "Ocurrió un error al parsear el " +
+                    "archivo XML. Revise que el archivo sea un XML válido, y que tenga un solo nodo raíz.");
+        } catch (ParserConfigurationException | IOException e) {
+            e.printStackTrace();
+            return ValidezFirmaDigital.create(false, "Ocurrió un error al validar la firma " +
+                    "digital del Documento Electrónico.");
+        }
+        return validateSignature(document, signerCache, sifenConfig);
+    }
+
+    public static ValidezFirmaDigital validateSignature(Document document, SifenConfig sifenConfig) {
+        return validateSignature(document, null, sifenConfig);
+    }
 
+    private static ValidezFirmaDigital validateSignature(Document document, SignerCache signerCache, SifenConfig sifenConfig) {
+        try {
             // Find Signature
             NodeList signatureNodes = document.getElementsByTagName("Signature");
             if (signatureNodes.getLength() == 0) {
@@ -137,8 +181,13 @@ public class SignatureHelper {
                         "el Documento Electrónico.");
             }
 
+            // Reuse the signer certificate if it was already parsed
+            Element signatureElement = (Element) signatureNodes.item(0);
+            Signer signer = signerCache != null ? signerCache.get(signatureElement) : null;
+
             // Get signed element from document
-            DOMValidateContext valContext = new DOMValidateContext(new X509KeySelector(), signatureNodes.item(0));
+            DOMValidateContext valContext = new DOMValidateContext(
+                    signer != null ? signer.keySelector : X509KeySelector.INSTANCE, signatureElement);
             NodeList DENodes = document.getElementsByTagName("DE");
             if (DENodes.getLength() > 0) {
                 valContext.setIdAttributeNS((Element) DENodes.item(0), null, "Id");
@@ -149,7 +198,12 @@ public class SignatureHelper {
             XMLSignature signature = _xmlSignatureFactory.unmarshalXMLSignature(valContext);
 
             // Get subjects from certificate for further validation
-            List<ValidezFirmaDigital.SujetoCertificado> certificateSubjects = getCertificateSubjects(signature.getKeyInfo());
+            X509Certificate certificate = signer != null
+                    ? signer.certificate
+                    : X509KeySelector.getCertificate(signature.getKeyInfo());
+            List<ValidezFirmaDigital.SujetoCertificado> certificateSubjects = signer != null
+                    ? new ArrayList<>(signer.subjects)
+                    : getCertificateSubjects(certificate);
 
             // Validate the Signature
             boolean isValid = signature.validate(valContext);
@@ -158,8 +212,18 @@ public class SignatureHelper {
                         certificateSubjects);
             }
 
-            return checkDocumentIssuer(document, certificateSubjects);
-        } catch (MarshalException | XMLSignatureException | ParserConfigurationException | IOException e) {
+            ValidezFirmaDigital issuerValidity = checkDocumentIssuer(document, certificateSubjects);
+            if (!issuerValidity.isValido() || sifenConfig == null || !sifenConfig.isFirmaValidarCadena()) {
+                return issuerValidity;
+            }
+
+            // Validate the certificate chain and revocation
+            String untrustedReason = CertificateTrustHelper.validateTrust(certificate, sifenConfig);
+            if (untrustedReason != null) {
+                return ValidezFirmaDigital.create(false, untrustedReason, certificateSubjects);
+            }
+            return issuerValidity;
+        } catch (MarshalException | XMLSignatureException e) {
             e.printStackTrace();
             return ValidezFirmaDigital.create(false, "Ocurrió un error al validar la firma " +
                     "digital del Documento Electrónico.");
@@ -175,16 +239,15 @@ public class SignatureHelper {
         }
 
         NodeList dDVEmiNodes = document.getElementsByTagName("dDVEmi");
-        if (dRucEmNodes.getLength() == 0) {
+        if (dDVEmiNodes.getLength() == 0) {
             return ValidezFirmaDigital.create(false, "No se encontró el nodo 'dDVEmi' en " +
                     "el Documento Electrónico.", certificateSubjects);
         }
 
-        String issuerRuc = dRucEmNodes.item(0).getTextContent();
-        String issuerDv = dDVEmiNodes.item(0).getTextContent();
+        String issuerDocument = dRucEmNodes.item(0).getTextContent() + "-" + dDVEmiNodes.item(0).getTextContent();
 
         for (ValidezFirmaDigital.SujetoCertificado subject : certificateSubjects) {
-            if (subject.getNumeroDocumento().equals(issuerRuc + "-" + issuerDv)) {
+            if (issuerDocument.equals(subject.getNumeroDocumento())) {
                 return ValidezFirmaDigital.create(true, certificateSubjects);
             }
         }
@@ -193,11 +256,8 @@ public class SignatureHelper {
                 "no coincide con el encontrado en la firma digital.", certificateSubjects);
     }
 
-    private static List<ValidezFirmaDigital.SujetoCertificado> getCertificateSubjects(KeyInfo keyInfo) {
+    private static List<ValidezFirmaDigital.SujetoCertificado> getCertificateSubjects(X509Certificate certificate) {
         List<ValidezFirmaDigital.SujetoCertificado> certificateSubjects = new ArrayList<>();
-
-        // Get certificate from Electronic Document
-        java.security.cert.X509Certificate certificate = X509KeySelector.getCertificate(keyInfo);
         if (certificate == null) return certificateSubjects;
 
         // Get main subject information from certificate
@@ -205,8 +265,8 @@ public class SignatureHelper {
             String subject = certificate.getSubjectDN().getName();
 
             certificateSubjects.add(ValidezFirmaDigital.SujetoCertificado.create(
-                    getAttributeFromSubject(subject, "SERIALNUMBER"),
-                    SifenUtil.coalesce(getAttributeFromSubject(subject, "CN"), getAttributeFromSubject(subject, "O"))
+                    getAttributeFromSubject(subject, SERIALNUMBER_PATTERN),
+                    SifenUtil.coalesce(getAttributeFromSubject(subject, CN_PATTERN), getAttributeFromSubject(subject, O_PATTERN))
             ));
         } catch (Exception ignored) {
         }
@@ -215,8 +275,7 @@ public class SignatureHelper {
         return certificateSubjects;
     }
 
-    private static String getAttributeFromSubject(String subject, String attributeName) {
-        Pattern pattern = Pattern.compile("(?<=" + attributeName + "=)[\\w\\s-]+");
+    private static String getAttributeFromSubject(String subject, Pattern pattern) {
         Matcher matcher = pattern.matcher(subject);
         if (matcher.find()) {
             return matcher.group();
@@ -224,10 +283,20 @@ public class SignatureHelper {
         return null;
     }
 
+    private static Pattern subjectAttributePattern(String attributeName) {
+        return Pattern.compile("(?<=" + attributeName + "=)[\\w\\s-]+");
+    }
+
     private static class X509KeySelector extends KeySelector {
+        // No tiene estado, por lo que se comparte entre todas las validaciones
+        private static final X509KeySelector INSTANCE = new X509KeySelector();
+
         public KeySelectorResult select(KeyInfo keyInfo, Purpose purpose, AlgorithmMethod method,
                                         XMLCryptoContext context) throws KeySelectorException {
-            X509Certificate certificate = getCertificate(keyInfo);
+            return select(getCertificate(keyInfo), method);
+        }
+
+        private static KeySelectorResult select(X509Certificate certificate, AlgorithmMethod method) throws KeySelectorException {
             if (certificate != null) {
                 final PublicKey key = certificate.getPublicKey();
                 if (key.getAlgorithm().equalsIgnoreCase("RSA") && method.getAlgorithm().equalsIgnoreCase(Constants.RSA_SHA256)) {
@@ -253,23 +322,88 @@ public class SignatureHelper {
         }
     }
 
-    // FIX: XMLDSig necesita que el atributo "Id" esté registrado como ID en el DOM,
-    // sino falla con: "Cannot resolve element with ID ..."
-    private static void markIdAttributes(org.w3c.dom.Element el) {
-        if (el == null) return;
-        if (el.hasAttribute("Id")) {
-            try { el.setIdAttribute("Id", true); } catch (Exception ignored) {}
+    /**
+     * Caché de los certificados de firmantes encontrados al validar varios DE. Cada certificado distinto se decodifica,
+     * y se extraen los datos de su sujeto, una sola vez; los DE siguientes firmados con el mismo certificado lo
+     * reutilizan. Es seguro para ser utilizado desde varios hilos.
+     */
+    public static class SignerCache {
+        private final ConcurrentHashMap<String, Signer> signers = new ConcurrentHashMap<>();
+        private final AtomicLong hits = new AtomicLong();
+
+        /**
+         * @return Cantidad de certificados distintos procesados.
+         */
+        public int size() {
+            return signers.size();
+        }
+
+        /**
+         * @return Cantidad de veces que se reutilizó un certificado ya procesado.
+         */
+        public long getHits() {
+            return hits.get();
         }
-        if (el.hasAttribute("id")) {
-            try { el.setIdAttribute("id", true); } catch (Exception ignored) {}
+
+        // Obtiene el firmante del certificado incluido en la firma, y quita el KeyInfo para que el certificado no se
+        // vuelva a decodificar al leer la firma. El KeyInfo no forma parte de lo firmado, por lo que la validez no cambia.
+        private Signer get(Element signatureElement) {
+            NodeList keyInfoNodes = signatureElement.getElementsByTagNameNS(XMLSignature.XMLNS, "KeyInfo");
+            if (keyInfoNodes.getLength() != 1) return null;
+
+            Element keyInfo = (Element) keyInfoNodes.item(0);
+            NodeList certificateNodes = keyInfo.getElementsByTagNameNS(XMLSignature.XMLNS, "X509Certificate");
+            if (certificateNodes.getLength() != 1) return null;
+
+            String encoded = removeWhitespace(certificateNodes.item(0).getTextContent());
+            boolean[] created = new boolean[1];
+            Signer signer = signers.computeIfAbsent(encoded, key -> {
+                created[0] = true;
+                return Signer.create(key);
+            });
+            if (signer == null) return null;
+
+            if (!created[0]) hits.incrementAndGet();
+            keyInfo.getParentNode().removeChild(keyInfo);
+            return signer;
         }
-        org.w3c.dom.Node n = el.getFirstChild();
-        while (n != null) {
-            if (n instanceof org.w3c.dom.Element) {
-                markIdAttributes((org.w3c.dom.Element) n);
+
+        private static String removeWhitespace(String value) {
+            StringBuilder builder = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c > ' ') builder.append(c);
             }
-            n = n.getNextSibling();
+            return builder.toString();
         }
     }
 
-}
\ No newline at end of file
+    private static class Signer {
+        private final X509Certificate certificate;
+        private final KeySelector keySelector;
+        private final List<ValidezFirmaDigital.SujetoCertificado> subjects;
+
+        private Signer(X509Certificate certificate) {
+            this.certificate = certificate;
+            this.keySelector = new KeySelector() {
+                @Override
+                public KeySelectorResult select(KeyInfo keyInfo, Purpose purpose, AlgorithmMethod method,
+                                                XMLCryptoContext context) throws KeySelectorException {
+                    return X509KeySelector.select(certificate, method);
+                }
+            };
+            this.subjects = Collections.unmodifiableList(getCertificateSubjects(certificate));
+        }
+
+        // Si el certificado no puede decodificarse, la firma se valida sin caché y el error se informa como siempre
+        private static Signer create(String encoded) {
+            try {
+                CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+                return new Signer((X509Certificate) certificateFactory.generateCertificate(
+                        new ByteArrayInputStream(Base64.getDecoder().decode(encoded))));
+            } catch (CertificateException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
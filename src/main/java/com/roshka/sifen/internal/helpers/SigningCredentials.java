@@ -0,0 +1,76 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import javax.xml.crypto.dsig.XMLSignatureFactory;
+import javax.xml.crypto.dsig.keyinfo.KeyInfo;
+import javax.xml.crypto.dsig.keyinfo.KeyInfoFactory;
+import javax.xml.crypto.dsig.keyinfo.X509Data;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+
+/**
+ * Credenciales de firma de un certificado: la clave privada, el certificado y el KeyInfo a incluir en cada firma.
+ * <p>
+ * Se obtienen una sola vez por certificado (ver {@link SSLContextHelper#getSigningCredentials}), por lo que firmar un
+ * documento solo requiere calcular el digest y la firma RSA. Todos los valores son inmutables y pueden compartirse
+ * entre hilos.
+ */
+public class SigningCredentials {
+    private final PrivateKey privateKey;
+    private final X509Certificate certificate;
+    private final KeyInfo keyInfo;
+
+    private SigningCredentials(PrivateKey privateKey, X509Certificate certificate, KeyInfo keyInfo) {
+        this.privateKey = privateKey;
+        this.certificate = certificate;
+        this.keyInfo = keyInfo;
+    }
+
+    /**
+     * Obtiene las credenciales de firma del primer alias del almacén de claves.
+     *
+     * @param keyStore Almacén de claves del certificado.
+     * @param password Contraseña de la clave privada.
+     * @return Las credenciales de firma.
+     * @throws SifenException Si no se pudo obtener la clave privada o el certificado.
+     */
+    static SigningCredentials create(KeyStore keyStore, String password) throws SifenException {
+        try {
+            String alias = keyStore.aliases().nextElement();
+            Certificate certificate = keyStore.getCertificate(alias);
+            Key key = keyStore.getKey(alias, password.toCharArray());
+            if (!(certificate instanceof X509Certificate) || !(key instanceof PrivateKey)) {
+                throw SifenExceptionUtil.requestSigningError("El certificado activo no contiene una clave privada y un certificado X.509", null);
+            }
+
+            KeyInfoFactory keyInfoFactory = XMLSignatureFactory.getInstance().getKeyInfoFactory();
+            X509Data x509Data = keyInfoFactory.newX509Data(Collections.singletonList(certificate));
+            KeyInfo keyInfo = keyInfoFactory.newKeyInfo(Collections.singletonList(x509Data));
+
+            return new SigningCredentials((PrivateKey) key, (X509Certificate) certificate, keyInfo);
+        } catch (KeyStoreException | NoSuchAlgorithmException | UnrecoverableKeyException | RuntimeException e) {
+            throw SifenExceptionUtil.requestSigningError("No se pudo obtener la clave privada del certificado activo: " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    public X509Certificate getCertificate() {
+        return certificate;
+    }
+
+    public KeyInfo getKeyInfo() {
+        return keyInfo;
+    }
+}
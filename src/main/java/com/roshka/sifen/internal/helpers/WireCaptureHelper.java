@@ -0,0 +1,232 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.capture.DirectoryWireCaptureSink;
+import com.roshka.sifen.core.capture.WireCapture;
+import com.roshka.sifen.core.capture.WireCaptureSink;
+import com.roshka.sifen.internal.util.BoundedRingBuffer;
+import com.roshka.sifen.internal.util.ByteArrayBuffer;
+
+import java.net.HttpURLConnection;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Helper encargado de capturar los mensajes intercambiados con Sifen.
+ * <p>
+ * Las capturas se encolan en un buffer circular acotado y son escritas por un hilo en segundo plano, por lo que el
+ * hilo de la petición nunca espera operaciones de disco. Si el buffer está lleno, la captura se descarta. Los hilos de
+ * escritura se detienen con {@link #shutdown(long)}.
+ */
+public class WireCaptureHelper {
+    private final static Logger logger = Logger.getLogger(WireCaptureHelper.class.toString());
+    private static final ConcurrentHashMap<Object, Writer> writers = new ConcurrentHashMap<>();
+    private static final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Crea la captura de una petición. Si la captura está deshabilitada, o la petición no entra en la muestra, retorna
+     * una captura inactiva que no guarda nada.
+     *
+     * @param sifenConfig Configuración de Sifen de la petición.
+     * @param dId         Identificador de la petición, utilizado para el muestreo y para relacionar los mensajes.
+     * @return La captura de la petición.
+     */
+    public static Exchange newExchange(SifenConfig sifenConfig, long dId) {
+        if (!sifenConfig.isCapturaHabilitada() || !isSampled(dId, sifenConfig.getCapturaTasaMuestreo())) {
+            return Exchange.INACTIVE;
+        }
+        return new Exchange(getWriter(sifenConfig), dId, sifenConfig.isCapturaSoloErrores());
+    }
+
+    /**
+     * Detiene los hilos de escritura, luego de escribir las capturas encoladas. Las capturas de peticiones posteriores
+     * inician nuevos hilos.
+     *
+     * @param timeoutMillis Tiempo máximo de espera por cada hilo, en milisegundos.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    public static void shutdown(long timeoutMillis) throws InterruptedException {
+        for (Object key : writers.keySet()) {
+            Writer writer = writers.remove(key);
+            if (writer != null) {
+                writer.stop(timeoutMillis);
+            }
+        }
+    }
+
+    /**
+     * @return Cantidad de capturas descartadas por estar lleno el buffer.
+     */
+    public static long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    // El muestreo depende solo del dId, para que todos los mensajes de una petición se capturen juntos
+    private static boolean isSampled(long dId, double rate) {
+        if (rate >= 1) {
+            return true;
+        }
+        if (rate <= 0) {
+            return false;
+        }
+        long hash = dId * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (hash & 0xFFFFFF) < rate * 0x1000000;
+    }
+
+    private static Writer getWriter(SifenConfig sifenConfig) {
+        WireCaptureSink sink = sifenConfig.getCapturaSink();
+        Object key = sink != null ? sink : sifenConfig.getCapturaDirectorio();
+        return writers.computeIfAbsent(key, k -> new Writer(sink != null ? sink
+                : new DirectoryWireCaptureSink(Paths.get(sifenConfig.getCapturaDirectorio()), sifenConfig.getCapturaMaxArchivos()),
+                sifenConfig.getCapturaCapacidad()));
+    }
+
+    /**
+     * Captura de los mensajes de una petición, incluidos sus reintentos. Los mensajes se encolan apenas se agregan,
+     * salvo en el modo de solo errores, en el que se retienen hasta que finaliza la petición con {@link #finish(boolean)}.
+     */
+    public static class Exchange {
+        public static final Exchange INACTIVE = new Exchange(null, 0, false);
+
+        private final Writer writer;
+        private final long dId;
+        private final boolean onlyErrors;
+        private final List<WireCapture> pending;
+        private boolean error;
+
+        private Exchange(Writer writer, long dId, boolean onlyErrors) {
+            this.writer = writer;
+            this.dId = dId;
+            this.onlyErrors = onlyErrors;
+            this.pending = onlyErrors ? new ArrayList<>() : null;
+        }
+
+        /**
+         * @return true si los mensajes de la petición deben ser capturados. Permite evitar preparar los datos de la
+         * captura cuando no se van a utilizar.
+         */
+        public boolean isActive() {
+            return writer != null;
+        }
+
+        /**
+         * Agrega un mensaje generado durante la preparación de la petición (Ej.: el lote de documentos).
+         *
+         * @param tipo Tipo del mensaje.
+         * @param data Contenido del mensaje. No debe ser modificado luego.
+         */
+        public void attach(WireCapture.Tipo tipo, ByteArrayBuffer data) {
+            if (isActive()) {
+                add(new WireCapture(tipo, dId, null, 0, data.toReadOnlyByteBuffer()));
+            }
+        }
+
+        /**
+         * Registra el resultado de un intento de la petición, junto con el mensaje enviado y el recibido.
+         *
+         * @param url      URL de la petición.
+         * @param request  Mensaje enviado, o null si no llegó a generarse.
+         * @param status   Código de estado HTTP, o -1 si no se obtuvo una respuesta.
+         * @param response Mensaje recibido, o null si no fue conservado.
+         */
+        public void complete(String url, ByteArrayBuffer request, int status, ByteArrayBuffer response) {
+            if (!isActive()) {
+                return;
+            }
+
+            boolean error = status != HttpURLConnection.HTTP_OK && status != HttpURLConnection.HTTP_ACCEPTED;
+            if (request != null) {
+                add(new WireCapture(WireCapture.Tipo.SOAP_REQUEST, dId, url, status, request.toReadOnlyByteBuffer()));
+            }
+            if (response != null) {
+                add(new WireCapture(error ? WireCapture.Tipo.SOAP_ERROR : WireCapture.Tipo.SOAP_RESPONSE, dId, url, status, response.toReadOnlyByteBuffer()));
+            }
+            this.error |= error;
+        }
+
+        /**
+         * Finaliza la captura, luego del último intento. En el modo de solo errores, se encolan todos los mensajes de
+         * la petición (incluidos los adjuntos y los intentos previos) si algún intento o la petición fallaron.
+         *
+         * @param failed true si la petición terminó con una excepción.
+         */
+        public void finish(boolean failed) {
+            if (!isActive() || !onlyErrors) {
+                return;
+            }
+            if (error || failed) {
+                for (WireCapture capture : pending) {
+                    writer.offer(capture);
+                }
+            }
+            pending.clear();
+        }
+
+        private void add(WireCapture capture) {
+            if (onlyErrors) {
+                pending.add(capture);
+            } else {
+                writer.offer(capture);
+            }
+        }
+    }
+
+    private static class Writer implements Runnable {
+        private final WireCaptureSink sink;
+        private final BoundedRingBuffer<WireCapture> buffer;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Writer(WireCaptureSink sink, int capacity) {
+            this.sink = sink;
+            this.buffer = new BoundedRingBuffer<>(capacity);
+            this.thread = new Thread(this, "sifen-wire-capture");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void offer(WireCapture capture) {
+            if (!running) {
+                discarded.incrementAndGet();
+            } else if (buffer.offer(capture)) {
+                LockSupport.unpark(thread);
+            } else if (discarded.incrementAndGet() % 100 == 1) {
+                logger.warning("El buffer de captura está lleno. Capturas descartadas: " + discarded.get());
+            }
+        }
+
+        private void stop(long timeoutMillis) throws InterruptedException {
+            running = false;
+            LockSupport.unpark(thread);
+            thread.join(timeoutMillis);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                WireCapture capture = buffer.poll();
+                if (capture == null) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                    continue;
+                }
+
+                try {
+                    sink.write(capture);
+                } catch (Exception e) {
+                    logger.warning("No se pudo guardar la captura " + capture.getTipo() + " de la petición "
+                            + capture.getdId() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
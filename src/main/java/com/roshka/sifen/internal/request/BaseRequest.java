@@ -4,23 +4,24 @@ import com.roshka.sifen.core.SifenConfig;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
+import com.roshka.sifen.internal.helpers.EndpointRegistry;
+import com.roshka.sifen.internal.helpers.ResilienceHelper;
 import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.WireCaptureHelper;
 import com.roshka.sifen.internal.response.BaseResponse;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
-import com.roshka.sifen.internal.util.SifenUtil;
 
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.StringWriter;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 abstract class BaseRequest {
     private final long dId;
     private final SifenConfig sifenConfig;
+    private EndpointProfile endpointProfile;
+    private WireCaptureHelper.Exchange wireCapture = WireCaptureHelper.Exchange.INACTIVE;
     private final static Logger logger = Logger.getLogger(BaseRequest.class.toString());
 
     BaseRequest(long dId, SifenConfig sifenConfig) {
@@ -28,40 +29,58 @@ abstract class BaseRequest {
         this.sifenConfig = sifenConfig;
     }
 
+    /**
+     * @return La operación de Sifen que realiza la petición, de la que se obtiene el perfil de su endpoint.
+     */
+    abstract EndpointProfile.Operacion getOperacion();
+
     abstract SOAPMessage setupSoapMessage(GenerationCtx generationCtx) throws SifenException;
 
     abstract BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException;
+
+    /**
+     * Indica si la petición puede reenviarse ante un error transitorio aunque el mensaje ya haya llegado a Sifen.
+     *
+     * @return false por defecto; las peticiones no idempotentes solo se reintentan si el mensaje no llegó a enviarse.
+     */
+    boolean isIdempotent() {
+        return false;
+    }
     
-    public BaseResponse makeRequest(GenerationCtx generationCtx,String url) throws SifenException {
+    public BaseResponse makeRequest(GenerationCtx generationCtx) throws SifenException {
+        EndpointProfile profile = EndpointRegistry.getProfile(sifenConfig, this.getOperacion());
         try {
+            this.endpointProfile = profile;
+            this.wireCapture = WireCaptureHelper.newExchange(sifenConfig, dId);
+
             // Preparamos el mensaje
             SOAPMessage message = this.setupSoapMessage(generationCtx);
             message.setProperty(SOAPMessage.WRITE_XML_DECLARATION, "true");
             message.setProperty(SOAPMessage.CHARACTER_SET_ENCODING, "UTF-8");
             logger.info("XML generado, se realiza la petición");
 
-//             Para obtener el xml
-            final StringWriter sw = new StringWriter();
-
+            // Realizamos la consulta. El mensaje se serializa una sola vez, al enviarse.
+            SOAPResponse soapResponse;
+            boolean failed = true;
             try {
-                TransformerFactory.newInstance().newTransformer().transform(
-                        new DOMSource(message.getSOAPPart()),
-                        new StreamResult(sw));
-            } catch (TransformerException e) {
-                throw new RuntimeException(e);
+                soapResponse = ResilienceHelper.execute(sifenConfig, profile.getUrlString(), this.isIdempotent(),
+                        attempt -> SoapHelper.makeSoapRequest(sifenConfig, profile, message, wireCapture, attempt));
+                failed = false;
+            } finally {
+                // La captura se cierra luego de todos los intentos, para conservar los adjuntos si falla el último
+                wireCapture.finish(failed);
             }
+            BaseResponse response = this.processResponse(soapResponse);
 
-            String xml = sw.toString();
-            logger.info("Este es el xml a enviarse a la SIFEN \n" + xml);
-//            System.out.println(xml);
-            // Realizamos la consulta
-            String requestUrl = SifenUtil.coalesce(sifenConfig.getUrlBase(), sifenConfig.getUrlBaseLocal()) + url;
-            BaseResponse response = this.processResponse(SoapHelper.makeSoapRequest(sifenConfig, requestUrl, message));
-            response.setRequestSent(xml);
+            // El xml enviado se obtiene de los bytes efectivamente enviados, solo si se solicita
+            response.setRequestSentBody(soapResponse.getRequestBody());
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine("Este es el xml enviado a la SIFEN \n" + response.getRequestSent());
+            }
             logger.info("Petición realizada, se formatea la respuesta");
             return response;
         } catch (SOAPException e) {
-            String msg = "Ocurrió un error al realizan la petición a: " + url + ". Mensaje: " + e.getLocalizedMessage();
+            String msg = "Ocurrió un error al realizan la petición a: " + profile.getUrlString() + ". Mensaje: " + e.getLocalizedMessage();
             throw SifenExceptionUtil.invalidSOAPRequest(msg, e);
         }
     }
@@ -73,4 +92,12 @@ abstract class BaseRequest {
     SifenConfig getSifenConfig() {
         return sifenConfig;
     }
+
+    EndpointProfile getEndpointProfile() {
+        return endpointProfile;
+    }
+
+    WireCaptureHelper.Exchange getWireCapture() {
+        return wireCapture;
+    }
 }
\ No newline at end of file
@@ -6,7 +6,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
-import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
 import com.roshka.sifen.internal.response.BaseResponse;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
@@ -18,7 +18,6 @@ import javax.xml.soap.SOAPBody;
 import javax.xml.soap.SOAPBodyElement;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -32,11 +31,16 @@ public class ReqConsDe extends BaseRequest {
         super(dId, sifenConfig);
     }
 
+    @Override
+    EndpointProfile.Operacion getOperacion() {
+        return EndpointProfile.Operacion.CONSULTA;
+    }
+
     @Override
     SOAPMessage setupSoapMessage(GenerationCtx generationCtx) throws SifenException {
         try {
             // Main Element
-            SOAPMessage message = SoapHelper.createSoapMessage();
+            SOAPMessage message = getEndpointProfile().createSoapMessage();
             SOAPBody soapBody = message.getSOAPBody();
             SOAPBodyElement rEnviConsDeRequest = soapBody.addBodyElement(new QName(Constants.SIFEN_NS_URI, "rEnviConsDeRequest"));
 
@@ -50,14 +54,16 @@ public class ReqConsDe extends BaseRequest {
         }
     }
 
+    @Override
+    boolean isIdempotent() {
+        return true;
+    }
+
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
         Node rEnviConsDe = null;
-        String rawResponse = null;
         try {
-            SOAPMessage soapMessage = ResponseUtil.parseSoapMessage(soapResponse.getSoapResponse());
-            rEnviConsDe = ResponseUtil.getMainNode(soapMessage, "rEnviConsDeResponse");
-            rawResponse = ResponseUtil.getXmlFromMessage(soapMessage, false);
+            rEnviConsDe = ResponseUtil.parseEscapedNode(ResponseUtil.getMainNode(soapResponse, "rEnviConsDeResponse"));
         } catch (SifenException e) {
             logger.warning(e.getMessage());
         }
@@ -68,7 +74,8 @@ public class ReqConsDe extends BaseRequest {
         }
 
         respuestaConsultaDE.setCodigoEstado(soapResponse.getStatus());
-        respuestaConsultaDE.setRespuestaBruta(rawResponse != null ? rawResponse : new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        String rawResponse = soapResponse.getRawDataAsString();
+        respuestaConsultaDE.setRespuestaBruta(rawResponse != null ? ResponseUtil.unescapeXml(rawResponse) : null);
         return respuestaConsultaDE;
     }
 
@@ -6,7 +6,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
-import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
 import com.roshka.sifen.internal.response.BaseResponse;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
@@ -18,7 +18,6 @@ import javax.xml.soap.SOAPBody;
 import javax.xml.soap.SOAPBodyElement;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -32,11 +31,16 @@ public class ReqConsRuc extends BaseRequest {
         super(dId, sifenConfig);
     }
 
+    @Override
+    EndpointProfile.Operacion getOperacion() {
+        return EndpointProfile.Operacion.CONSULTA_RUC;
+    }
+
     @Override
     SOAPMessage setupSoapMessage(GenerationCtx generationCtx) throws SifenException {
         try {
             // Main Element
-            SOAPMessage message = SoapHelper.createSoapMessage();
+            SOAPMessage message = getEndpointProfile().createSoapMessage();
 SOAPBody soapBody = message.getSOAPBody();
             SOAPBodyElement rResEnviConsRUC = soapBody.addBodyElement(new QName(Constants.SIFEN_NS_URI, "rEnviConsRUC"));
 
@@ -50,6 +54,11 @@ SOAPBody soapBody = message.getSOAPBody();
         }
     }
 
+    @Override
+    boolean isIdempotent() {
+        return true;
+    }
+
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
         Node mainNode = null;
@@ -59,7 +68,7 @@ SOAPBody soapBody = message.getSOAPBody();
         String[] nodeNameVariants = {"rResEnviConsRuc", "rResEnviConsRUC"};
         for (String nodeName : nodeNameVariants) {
             try {
-                mainNode = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), nodeName);
+                mainNode = ResponseUtil.getMainNode(soapResponse, nodeName);
                 if (mainNode != null) {
                     foundNodeName = nodeName;
                     logger.info("Nodo de respuesta encontrado: " + nodeName);
@@ -73,7 +82,7 @@ SOAPBody soapBody = message.getSOAPBody();
         // Si no encontramos el nodo esperado, intentar con rRetEnviDe (respuesta de error del servidor)
         if (mainNode == null) {
             try {
-                mainNode = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rRetEnviDe");
+                mainNode = ResponseUtil.getMainNode(soapResponse, "rRetEnviDe");
                 if (mainNode != null) {
                     foundNodeName = "rRetEnviDe";
                     logger.warning("Servidor devolvió rRetEnviDe en lugar de rResEnviConsRUC - posible error de ruteo SIFEN");
@@ -98,7 +107,7 @@ SOAPBody soapBody = message.getSOAPBody();
         }
 
         respuestaConsultaRUC.setCodigoEstado(soapResponse.getStatus());
-        respuestaConsultaRUC.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaConsultaRUC.setRespuestaBruta(soapResponse.getRawDataAsString());
         return respuestaConsultaRUC;
     }
     
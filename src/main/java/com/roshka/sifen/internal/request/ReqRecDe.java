@@ -5,16 +5,21 @@ import com.roshka.sifen.core.beans.DocumentoElectronico;
 import com.roshka.sifen.core.beans.response.RespuestaRecepcionDE;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.SOAPResponse;
+import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.DEXmlHelper;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
 import com.roshka.sifen.internal.response.BaseResponse;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import org.w3c.dom.Node;
 
+import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPBodyElement;
+import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -22,26 +27,46 @@ import java.util.logging.Logger;
  */
 public class ReqRecDe extends BaseRequest {
     private DocumentoElectronico DE;
+    private byte[] rDEXml;
     private final static Logger logger = Logger.getLogger(ReqRecDe.class.toString());
 
     public ReqRecDe(long dId, SifenConfig sifenConfig) {
         super(dId, sifenConfig);
     }
 
+    @Override
+    EndpointProfile.Operacion getOperacion() {
+        return EndpointProfile.Operacion.RECIBE;
+    }
+
     @Override
     SOAPMessage setupSoapMessage(GenerationCtx generationCtx) throws SifenException {
         try {
+            if (this.rDEXml != null) {
+                return setupSoapMessageFromXml();
+            }
             return this.DE.setupSOAPElements(generationCtx, this.getdId(), this.getSifenConfig());
         } catch (SOAPException e) {
             throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al preparar el cuerpo de la petición SOAP", e);
         }
     }
 
+    // El rDE recibido como XML se firma tal cual, sin pasar por DocumentoElectronico
+    private SOAPMessage setupSoapMessageFromXml() throws SOAPException, SifenException {
+        SOAPMessage message = getEndpointProfile().createSoapMessage();
+        SOAPBodyElement rEnviDe = message.getSOAPBody().addBodyElement(new QName(Constants.SIFEN_NS_URI, "rEnviDe"));
+        rEnviDe.addChildElement(new QName(Constants.SIFEN_NS_URI, "dId")).setTextContent(String.valueOf(this.getdId()));
+
+        SOAPElement xDE = rEnviDe.addChildElement(new QName(Constants.SIFEN_NS_URI, "xDE"));
+        DEXmlHelper.appendSignedRDE(xDE, this.rDEXml, this.getSifenConfig());
+        return message;
+    }
+
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
         Node rRetEnviDe = null;
         try {
-            rRetEnviDe = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rRetEnviDe");
+            rRetEnviDe = ResponseUtil.getMainNode(soapResponse, "rRetEnviDe");
         } catch (SifenException e) {
             logger.warning(e.getMessage());
         }
@@ -52,11 +77,15 @@ public class ReqRecDe extends BaseRequest {
         }
 
         respuestaRecepcionDE.setCodigoEstado(soapResponse.getStatus());
-        respuestaRecepcionDE.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaRecepcionDE.setRespuestaBruta(soapResponse.getRawDataAsString());
         return respuestaRecepcionDE;
     }
 
     public void setDE(DocumentoElectronico DE) {
         this.DE = DE;
     }
-}
\ No newline at end of file
+
+    public void setRDEXml(byte[] rDEXml) {
+        this.rDEXml = rDEXml;
+    }
+}
@@ -7,7 +7,7 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
-import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
 import com.roshka.sifen.internal.response.BaseResponse;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
@@ -16,7 +16,6 @@ import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.soap.*;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -30,11 +29,16 @@ public class ReqRecEventoDe extends BaseRequest {
         super(dId, sifenConfig);
     }
 
+    @Override
+    EndpointProfile.Operacion getOperacion() {
+        return EndpointProfile.Operacion.EVENTO;
+    }
+
     @Override
     SOAPMessage setupSoapMessage(GenerationCtx generationCtx) throws SifenException {
         try {
             // Main Element
-            SOAPMessage message = SoapHelper.createSoapMessage();
+            SOAPMessage message = getEndpointProfile().createSoapMessage();
             SOAPBody soapBody = message.getSOAPBody();
 
             SOAPBodyElement rEnviEventoDe = soapBody.addBodyElement(new QName(Constants.SIFEN_NS_URI, "rEnviEventoDe"));
@@ -58,7 +62,7 @@ public class ReqRecEventoDe extends BaseRequest {
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
         Node rRetEnviEventoDe = null;
         try {
-            rRetEnviEventoDe = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rRetEnviEventoDe");
+            rRetEnviEventoDe = ResponseUtil.getMainNode(soapResponse, "rRetEnviEventoDe");
         } catch (SifenException e) {
             logger.warning(e.getMessage());
         }
@@ -69,7 +73,7 @@ public class ReqRecEventoDe extends BaseRequest {
         }
 
         respuestaRecepcionEvento.setCodigoEstado(soapResponse.getStatus());
-        respuestaRecepcionEvento.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaRecepcionEvento.setRespuestaBruta(soapResponse.getRawDataAsString());
         return respuestaRecepcionEvento;
     }
 
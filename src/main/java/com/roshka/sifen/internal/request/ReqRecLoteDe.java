@@ -2,35 +2,38 @@ package com.roshka.sifen.internal.request;
 
 import com.roshka.sifen.core.SifenConfig;
 import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.capture.WireCapture;
 import com.roshka.sifen.core.beans.response.RespuestaRecepcionLoteDE;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
-import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
 import com.roshka.sifen.internal.response.BaseResponse;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.ByteArrayBuffer;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.SerializedSoapMessage;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.TransformerPool;
+import com.roshka.sifen.internal.util.ZipBase64OutputStream;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.soap.*;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
-import java.util.Base64;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 /**
@@ -39,6 +42,7 @@ import java.util.logging.Logger;
 public class ReqRecLoteDe extends BaseRequest {
     private List<DocumentoElectronico> DEList;
     private final static Logger logger = Logger.getLogger(ReqRecLoteDe.class.toString());
+    private static final int BODY_BUFFER_SIZE = 64 * 1024;
 //    @Value("#{new Boolean('${useReceivedCDC}')}")
 //    public Boolean useReceivedCDC;
 //    private Boolean useReceivedCDC = true;
@@ -47,97 +51,116 @@ public class ReqRecLoteDe extends BaseRequest {
         super(dId, sifenConfig);
     }
 
+    @Override
+    EndpointProfile.Operacion getOperacion() {
+        return EndpointProfile.Operacion.RECIBE_LOTE;
+    }
+
     @Override
     SOAPMessage setupSoapMessage(GenerationCtx generationCtx) throws SifenException {
         try {
-            SOAPMessage message = SoapHelper.createSoapMessage();
-            SOAPBody soapBody = message.getSOAPBody();
-
-            // Main Element
-            SOAPBodyElement rEnvioLote = soapBody.addBodyElement(new QName(Constants.SIFEN_NS_URI, "rEnvioLote"));
-            rEnvioLote.addChildElement("dId").setTextContent(String.valueOf(this.getdId()));
-            SOAPElement xDE = rEnvioLote.addChildElement("xDE");
-
-            SOAPMessage tmpMsg = SoapHelper.createSoapMessage();
-              SOAPBody tmpBody = tmpMsg.getSOAPBody();
-              SOAPBodyElement rLoteDE = tmpBody.addBodyElement(new QName(Constants.SIFEN_NS_URI, "rLoteDE"));
-
-                // FIX 0160: declarar xsi + schemaLocation a nivel rLoteDE
-                rLoteDE.addNamespaceDeclaration("xsi", "http://www.w3.org/2001/XMLSchema-instance");
-                rLoteDE.setAttributeNS("http://www.w3.org/2001/XMLSchema-instance", "xsi:schemaLocation",
-                        Constants.SIFEN_NS_URI + " rLoteDE_v150.xsd");
-
-
-                // FIX: en envío por lote, dVerFor debe existir también a nivel rLoteDE
-                rLoteDE.addChildElement("dVerFor").setTextContent("150");
-            for (DocumentoElectronico DE : DEList) {
-                DE.setupDE(generationCtx, rLoteDE, this.getSifenConfig());
+            SOAPElement rLoteDE = this.createRLoteDE();
+            if (this.getSifenConfig().isLoteParalelo() && DEList.size() > 1) {
+                this.setupDEListParallel(generationCtx, rLoteDE);
+            } else {
+                for (DocumentoElectronico DE : DEList) {
+                    DE.setupDE(generationCtx, rLoteDE, this.getSifenConfig());
+                }
             }
 //            FIN CAMBIO
 
-            // Obtenemos el XML
-            final StringWriter sw = new StringWriter();
-            try {
-                Transformer transformer = TransformerFactory.newInstance().newTransformer();
-                // Configurar sin indentación para preservar canonicalización XMLDSig
-                transformer.setOutputProperty(OutputKeys.INDENT, "no");
-                transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "0");
-                transformer.transform(new DOMSource(rLoteDE), new StreamResult(sw));
+            // El XML del lote se comprime y codifica en Base64 a medida que se serializa, directamente dentro del xDE
+            ByteArrayBuffer body = new ByteArrayBuffer(BODY_BUFFER_SIZE);
+            body.write(("<rEnvioLote xmlns=\"" + Constants.SIFEN_NS_URI + "\"><dId>" + this.getdId() + "</dId><xDE>")
+                    .getBytes(StandardCharsets.UTF_8));
+
+            boolean capture = this.getWireCapture().isActive();
+            ByteArrayBuffer xml = capture ? new ByteArrayBuffer() : null;
+            ByteArrayBuffer zipFile = capture ? new ByteArrayBuffer() : null;
+            try (ZipBase64OutputStream xDE = new ZipBase64OutputStream(body, SifenUtil.getZipEntryName(),
+                    this.getSifenConfig().getLoteNivelCompresion(), xml, zipFile)) {
+                // El Transformer identidad no indenta, lo que preserva la canonicalización XMLDSig
+                TransformerPool.transform(new DOMSource(rLoteDE), new StreamResult(xDE));
             } catch (TransformerException e) {
                 throw new RuntimeException(e);
             }
+            body.write("</xDE></rEnvioLote>".getBytes(StandardCharsets.UTF_8));
 
+            if (capture) {
+                this.getWireCapture().attach(WireCapture.Tipo.LOTE_XML, xml);
+                this.getWireCapture().attach(WireCapture.Tipo.LOTE_ZIP, zipFile);
+            }
 
-              // DEBUG_DUMP_RLOTEDE_BEGIN
-              try {
-                  java.nio.file.Path dir = java.nio.file.Paths.get("build", "tmp", "sifen");
-                  java.nio.file.Files.createDirectories(dir);
-                  String ts = java.time.LocalDateTime.now().format(
-                          java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")
-                  );
-
-                  String xmlRaw = sw.toString();
-                  java.nio.file.Path outXml = dir.resolve("rLoteDE_raw_" + ts + ".xml");
-                  java.nio.file.Files.write(outXml, xmlRaw.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-                  logger.warning("DEBUG: rLoteDE RAW guardado en: " + outXml.toAbsolutePath());
-
-              } catch (Exception e) {
-                  logger.warning("DEBUG: no pude guardar rLoteDE RAW: " + e.getMessage());
-              }
-              // DEBUG_DUMP_RLOTEDE_END
-            // Comprimimos a un archivo zip
-            byte[] zipFile = SifenUtil.compressXmlToZip(sw.toString());
-
-
-              // DEBUG_DUMP_RLOTEDE_BEGIN
-              try {
-                  java.nio.file.Path dir = java.nio.file.Paths.get("build", "tmp", "sifen");
-                  java.nio.file.Files.createDirectories(dir);
-                  String ts = java.time.LocalDateTime.now().format(
-                          java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")
-                  );
-                  java.nio.file.Path outZip = dir.resolve("rLoteDE_zip_" + ts + ".zip");
-                  java.nio.file.Files.write(outZip, zipFile);
-                  logger.warning("DEBUG: rLoteDE ZIP guardado en: " + outZip.toAbsolutePath());
-              } catch (Exception e) {
-                  logger.warning("DEBUG: no pude guardar rLoteDE ZIP: " + e.getMessage());
-              }
-              // DEBUG_DUMP_RLOTEDE_END
-            // Convertimos el zip a Base64
-            String rLoteDEBase64 = new String(Base64.getEncoder().encode(zipFile), StandardCharsets.UTF_8);
-            xDE.setTextContent(rLoteDEBase64);
-
-            return message;
+            return new SerializedSoapMessage(body);
         } catch (SOAPException | IOException e) {
             throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al preparar el cuerpo de la petición SOAP", e);
         }
     }
 
+    private SOAPElement createRLoteDE() throws SOAPException {
+        SOAPMessage tmpMsg = getEndpointProfile().createSoapMessage();
+        SOAPBody tmpBody = tmpMsg.getSOAPBody();
+        SOAPBodyElement rLoteDE = tmpBody.addBodyElement(new QName(Constants.SIFEN_NS_URI, "rLoteDE"));
+
+        // FIX 0160: declarar xsi + schemaLocation a nivel rLoteDE
+        rLoteDE.addNamespaceDeclaration("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        rLoteDE.setAttributeNS("http://www.w3.org/2001/XMLSchema-instance", "xsi:schemaLocation",
+                Constants.SIFEN_NS_URI + " rLoteDE_v150.xsd");
+
+        // FIX: en envío por lote, dVerFor debe existir también a nivel rLoteDE
+        rLoteDE.addChildElement("dVerFor").setTextContent("150");
+        return rLoteDE;
+    }
+
+    /**
+     * Prepara y firma cada DE en paralelo. Cada DE se genera en su propio mensaje, bajo un rLoteDE igual al del lote
+     * para que los namespaces en alcance (y por lo tanto la firma y el XML) sean los mismos que en la preparación
+     * secuencial. Luego los DE se importan al lote en el orden original.
+     */
+    private void setupDEListParallel(GenerationCtx generationCtx, SOAPElement rLoteDE) throws SOAPException, SifenException {
+        Executor executor = this.getSifenConfig().getLoteEjecutor() != null
+                ? this.getSifenConfig().getLoteEjecutor()
+                : ForkJoinPool.commonPool();
+
+        List<CompletableFuture<Node>> futures = new ArrayList<>(DEList.size());
+        for (DocumentoElectronico DE : DEList) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    SOAPElement parent = this.createRLoteDE();
+                    DE.setupDE(generationCtx, parent, this.getSifenConfig());
+                    return parent.getLastChild();
+                } catch (SOAPException | SifenException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+
+        Document document = rLoteDE.getOwnerDocument();
+        try {
+            for (CompletableFuture<Node> future : futures) {
+                rLoteDE.appendChild(document.importNode(future.join(), true));
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<Node> future : futures) {
+                future.cancel(false);
+            }
+
+            Throwable cause = e.getCause();
+            if (cause instanceof SifenException) {
+                throw (SifenException) cause;
+            }
+            if (cause instanceof SOAPException) {
+                throw (SOAPException) cause;
+            }
+            throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al preparar los DE del lote en paralelo", cause);
+        }
+    }
+
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
         Node rResEnviLoteDe = null;
         try {
-            rResEnviLoteDe = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rResEnviLoteDe");
+            rResEnviLoteDe = ResponseUtil.getMainNode(soapResponse, "rResEnviLoteDe");
         } catch (SifenException e) {
             logger.warning(e.getMessage());
         }
@@ -148,7 +171,7 @@ public class ReqRecLoteDe extends BaseRequest {
         }
 
         respuestaRecepcionLoteDE.setCodigoEstado(soapResponse.getStatus());
-        respuestaRecepcionLoteDE.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaRecepcionLoteDE.setRespuestaBruta(soapResponse.getRawDataAsString());
         return respuestaRecepcionLoteDE;
     }
 
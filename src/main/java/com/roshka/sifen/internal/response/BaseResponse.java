@@ -1,9 +1,12 @@
 package com.roshka.sifen.internal.response;
 
 import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.ByteArrayBuffer;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import org.w3c.dom.Node;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Clase abstracta heredada por las clases de respuestas a las peticiones.
  */
@@ -13,7 +16,8 @@ public abstract class BaseResponse extends SifenObjectBase {
 
     private String dCodRes;
     private String dMsgRes;
-    private String requestSent;
+    private volatile String requestSent;
+    private volatile ByteArrayBuffer requestSentBody;
 
     @Override
     public void setValueFromChildNode(Node value) throws SifenException {
@@ -56,11 +60,35 @@ public abstract class BaseResponse extends SifenObjectBase {
         this.dMsgRes = dMsgRes;
     }
 
+    /**
+     * @return El XML de la petición enviada a Sifen. Se decodifica a partir de los bytes enviados la primera vez que
+     * se solicita.
+     */
     public String getRequestSent() {
-        return requestSent;
+        // Se leen los campos una sola vez, en el orden inverso al que se escriben, para que una lectura concurrente
+        // obtenga el XML ya decodificado o vuelva a decodificar los bytes, pero nunca encuentre ambos nulos
+        ByteArrayBuffer body = requestSentBody;
+        String sent = requestSent;
+        if (sent == null && body != null) {
+            sent = body.toString(StandardCharsets.UTF_8);
+            requestSent = sent;
+            requestSentBody = null;
+        }
+        return sent;
     }
 
     public void setRequestSent(String requestSent) {
         this.requestSent = requestSent;
+        this.requestSentBody = null;
+    }
+
+    /**
+     * Método interno, no usar.
+     *
+     * @param requestSentBody Bytes de la petición enviada, en UTF-8, de los que se obtiene el XML al solicitarse.
+     */
+    public void setRequestSentBody(ByteArrayBuffer requestSentBody) {
+        this.requestSent = null;
+        this.requestSentBody = requestSentBody;
     }
 }
\ No newline at end of file
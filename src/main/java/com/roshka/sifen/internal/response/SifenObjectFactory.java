@@ -3,7 +3,6 @@ package com.roshka.sifen.internal.response;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import java.util.logging.Logger;
 
@@ -14,23 +13,23 @@ public class SifenObjectFactory {
     private final static Logger logger = Logger.getLogger(SifenObjectFactory.class.toString());
 
     public static <T extends SifenObjectBase> T getFromNode(Node mainNode, Class<T> sifenObjectBase) throws SifenException {
+        T object;
         try {
-            T object = sifenObjectBase.newInstance();
-            getFromNode(mainNode, object);
-            return object;
-        } catch (InstantiationException | IllegalAccessException e) {
+            object = SifenObjectRegistry.getSupplier(sifenObjectBase).get();
+        } catch (RuntimeException e) {
             logger.throwing(SifenObjectFactory.class.getCanonicalName(), "getFromNode", e);
             throw SifenExceptionUtil.unexpectedError(
                     "Error de instanciación al intentar crear un objeto de clase: " + sifenObjectBase.getCanonicalName() + " -> " + e.getLocalizedMessage(), e
             );
         }
+        getFromNode(mainNode, object);
+        return object;
     }
 
     public static <T extends SifenObjectBase> void getFromNode(Node mainNode, T object) throws SifenException {
-        NodeList childNodes = mainNode.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++) {
-            Node node = childNodes.item(i);
+        // Se recorren los hermanos directamente, sin crear la NodeList de los hijos
+        for (Node node = mainNode.getFirstChild(); node != null; node = node.getNextSibling()) {
             object.setValueFromChildNode(node);
         }
     }
-}
\ No newline at end of file
+}
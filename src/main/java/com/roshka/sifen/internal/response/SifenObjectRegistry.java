@@ -0,0 +1,206 @@
+package com.roshka.sifen.internal.response;
+
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.EventosDE;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaDE;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaLoteDE;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaRUC;
+import com.roshka.sifen.core.beans.response.RespuestaRecepcionDE;
+import com.roshka.sifen.core.beans.response.RespuestaRecepcionEvento;
+import com.roshka.sifen.core.beans.response.RespuestaRecepcionLoteDE;
+import com.roshka.sifen.core.fields.request.de.TdDatGralOpe;
+import com.roshka.sifen.core.fields.request.de.TgActEco;
+import com.roshka.sifen.core.fields.request.de.TgCamAE;
+import com.roshka.sifen.core.fields.request.de.TgCamCarg;
+import com.roshka.sifen.core.fields.request.de.TgCamCond;
+import com.roshka.sifen.core.fields.request.de.TgCamDEAsoc;
+import com.roshka.sifen.core.fields.request.de.TgCamEnt;
+import com.roshka.sifen.core.fields.request.de.TgCamEsp;
+import com.roshka.sifen.core.fields.request.de.TgCamFE;
+import com.roshka.sifen.core.fields.request.de.TgCamGen;
+import com.roshka.sifen.core.fields.request.de.TgCamIVA;
+import com.roshka.sifen.core.fields.request.de.TgCamItem;
+import com.roshka.sifen.core.fields.request.de.TgCamNCDE;
+import com.roshka.sifen.core.fields.request.de.TgCamNRE;
+import com.roshka.sifen.core.fields.request.de.TgCamSal;
+import com.roshka.sifen.core.fields.request.de.TgCamTrans;
+import com.roshka.sifen.core.fields.request.de.TgCompPub;
+import com.roshka.sifen.core.fields.request.de.TgCuotas;
+import com.roshka.sifen.core.fields.request.de.TgDatRec;
+import com.roshka.sifen.core.fields.request.de.TgDtipDE;
+import com.roshka.sifen.core.fields.request.de.TgEmis;
+import com.roshka.sifen.core.fields.request.de.TgGrupAdi;
+import com.roshka.sifen.core.fields.request.de.TgGrupEner;
+import com.roshka.sifen.core.fields.request.de.TgGrupPolSeg;
+import com.roshka.sifen.core.fields.request.de.TgGrupSeg;
+import com.roshka.sifen.core.fields.request.de.TgGrupSup;
+import com.roshka.sifen.core.fields.request.de.TgOpeCom;
+import com.roshka.sifen.core.fields.request.de.TgOpeDE;
+import com.roshka.sifen.core.fields.request.de.TgPaConEIni;
+import com.roshka.sifen.core.fields.request.de.TgPagCheq;
+import com.roshka.sifen.core.fields.request.de.TgPagCred;
+import com.roshka.sifen.core.fields.request.de.TgPagTarCD;
+import com.roshka.sifen.core.fields.request.de.TgRasMerc;
+import com.roshka.sifen.core.fields.request.de.TgRespDE;
+import com.roshka.sifen.core.fields.request.de.TgTimb;
+import com.roshka.sifen.core.fields.request.de.TgTotSub;
+import com.roshka.sifen.core.fields.request.de.TgTransp;
+import com.roshka.sifen.core.fields.request.de.TgValorItem;
+import com.roshka.sifen.core.fields.request.de.TgValorRestaItem;
+import com.roshka.sifen.core.fields.request.de.TgVehNuevo;
+import com.roshka.sifen.core.fields.request.de.TgVehTras;
+import com.roshka.sifen.core.fields.request.event.TgGroupTiEvt;
+import com.roshka.sifen.core.fields.request.event.TrGeDevCCFFCue;
+import com.roshka.sifen.core.fields.request.event.TrGeDevCCFFDev;
+import com.roshka.sifen.core.fields.request.event.TrGeVeAnt;
+import com.roshka.sifen.core.fields.request.event.TrGeVeCCFF;
+import com.roshka.sifen.core.fields.request.event.TrGeVeCan;
+import com.roshka.sifen.core.fields.request.event.TrGeVeConf;
+import com.roshka.sifen.core.fields.request.event.TrGeVeDescon;
+import com.roshka.sifen.core.fields.request.event.TrGeVeDisconf;
+import com.roshka.sifen.core.fields.request.event.TrGeVeInu;
+import com.roshka.sifen.core.fields.request.event.TrGeVeNotRec;
+import com.roshka.sifen.core.fields.request.event.TrGeVeRem;
+import com.roshka.sifen.core.fields.request.event.TrGeVeRetAce;
+import com.roshka.sifen.core.fields.request.event.TrGeVeRetAnu;
+import com.roshka.sifen.core.fields.request.event.TrGeVeTr;
+import com.roshka.sifen.core.fields.request.event.TrGesEve;
+import com.roshka.sifen.core.fields.response.TgResProc;
+import com.roshka.sifen.core.fields.response.TxProtDe;
+import com.roshka.sifen.core.fields.response.batch.TgResProcLote;
+import com.roshka.sifen.core.fields.response.de.TrContEv;
+import com.roshka.sifen.core.fields.response.de.TxContenDE;
+import com.roshka.sifen.core.fields.response.de.TxContenEv;
+import com.roshka.sifen.core.fields.response.event.TgResProcEVe;
+import com.roshka.sifen.core.fields.response.ruc.TxContRuc;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro de los constructores de las clases que se generan a partir de los nodos XML de los DE y de las respuestas.
+ * Los constructores se registran una sola vez como referencias a métodos, por lo que crear los objetos no requiere
+ * reflexión. Las clases no registradas se crean con su constructor sin parámetros, que se busca una sola vez.
+ */
+class SifenObjectRegistry {
+    private static final ClassValue<Supplier<?>> suppliers = new ClassValue<Supplier<?>>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> type) {
+            Supplier<?> supplier = registered.get(type);
+            return supplier != null ? supplier : reflectiveSupplier(type);
+        }
+    };
+    private static final Map<Class<?>, Supplier<?>> registered;
+
+    static {
+        Map<Class<?>, Supplier<?>> suppliers = new HashMap<>();
+        register(suppliers, DocumentoElectronico.class, DocumentoElectronico::new);
+        register(suppliers, EventosDE.class, EventosDE::new);
+        register(suppliers, RespuestaConsultaDE.class, RespuestaConsultaDE::new);
+        register(suppliers, RespuestaConsultaLoteDE.class, RespuestaConsultaLoteDE::new);
+        register(suppliers, RespuestaConsultaRUC.class, RespuestaConsultaRUC::new);
+        register(suppliers, RespuestaRecepcionDE.class, RespuestaRecepcionDE::new);
+        register(suppliers, RespuestaRecepcionEvento.class, RespuestaRecepcionEvento::new);
+        register(suppliers, RespuestaRecepcionLoteDE.class, RespuestaRecepcionLoteDE::new);
+        register(suppliers, TdDatGralOpe.class, TdDatGralOpe::new);
+        register(suppliers, TgActEco.class, TgActEco::new);
+        register(suppliers, TgCamAE.class, TgCamAE::new);
+        register(suppliers, TgCamCarg.class, TgCamCarg::new);
+        register(suppliers, TgCamCond.class, TgCamCond::new);
+        register(suppliers, TgCamDEAsoc.class, TgCamDEAsoc::new);
+        register(suppliers, TgCamEnt.class, TgCamEnt::new);
+        register(suppliers, TgCamEsp.class, TgCamEsp::new);
+        register(suppliers, TgCamFE.class, TgCamFE::new);
+        register(suppliers, TgCamGen.class, TgCamGen::new);
+        register(suppliers, TgCamIVA.class, TgCamIVA::new);
+        register(suppliers, TgCamItem.class, TgCamItem::new);
+        register(suppliers, TgCamNCDE.class, TgCamNCDE::new);
+        register(suppliers, TgCamNRE.class, TgCamNRE::new);
+        register(suppliers, TgCamSal.class, TgCamSal::new);
+        register(suppliers, TgCamTrans.class, TgCamTrans::new);
+        register(suppliers, TgCompPub.class, TgCompPub::new);
+        register(suppliers, TgCuotas.class, TgCuotas::new);
+        register(suppliers, TgDatRec.class, TgDatRec::new);
+        register(suppliers, TgDtipDE.class, TgDtipDE::new);
+        register(suppliers, TgEmis.class, TgEmis::new);
+        register(suppliers, TgGroupTiEvt.class, TgGroupTiEvt::new);
+        register(suppliers, TgGrupAdi.class, TgGrupAdi::new);
+        register(suppliers, TgGrupEner.class, TgGrupEner::new);
+        register(suppliers, TgGrupPolSeg.class, TgGrupPolSeg::new);
+        register(suppliers, TgGrupSeg.class, TgGrupSeg::new);
+        register(suppliers, TgGrupSup.class, TgGrupSup::new);
+        register(suppliers, TgOpeCom.class, TgOpeCom::new);
+        register(suppliers, TgOpeDE.class, TgOpeDE::new);
+        register(suppliers, TgPaConEIni.class, TgPaConEIni::new);
+        register(suppliers, TgPagCheq.class, TgPagCheq::new);
+        register(suppliers, TgPagCred.class, TgPagCred::new);
+        register(suppliers, TgPagTarCD.class, TgPagTarCD::new);
+        register(suppliers, TgRasMerc.class, TgRasMerc::new);
+        register(suppliers, TgResProc.class, TgResProc::new);
+        register(suppliers, TgResProcEVe.class, TgResProcEVe::new);
+        register(suppliers, TgResProcLote.class, TgResProcLote::new);
+        register(suppliers, TgRespDE.class, TgRespDE::new);
+        register(suppliers, TgTimb.class, TgTimb::new);
+        register(suppliers, TgTotSub.class, TgTotSub::new);
+        register(suppliers, TgTransp.class, TgTransp::new);
+        register(suppliers, TgValorItem.class, TgValorItem::new);
+        register(suppliers, TgValorRestaItem.class, TgValorRestaItem::new);
+        register(suppliers, TgVehNuevo.class, TgVehNuevo::new);
+        register(suppliers, TgVehTras.class, TgVehTras::new);
+        register(suppliers, TrContEv.class, TrContEv::new);
+        register(suppliers, TrGeDevCCFFCue.class, TrGeDevCCFFCue::new);
+        register(suppliers, TrGeDevCCFFDev.class, TrGeDevCCFFDev::new);
+        register(suppliers, TrGeVeAnt.class, TrGeVeAnt::new);
+        register(suppliers, TrGeVeCCFF.class, TrGeVeCCFF::new);
+        register(suppliers, TrGeVeCan.class, TrGeVeCan::new);
+        register(suppliers, TrGeVeConf.class, TrGeVeConf::new);
+        register(suppliers, TrGeVeDescon.class, TrGeVeDescon::new);
+        register(suppliers, TrGeVeDisconf.class, TrGeVeDisconf::new);
+        register(suppliers, TrGeVeInu.class, TrGeVeInu::new);
+        register(suppliers, TrGeVeNotRec.class, TrGeVeNotRec::new);
+        register(suppliers, TrGeVeRem.class, TrGeVeRem::new);
+        register(suppliers, TrGeVeRetAce.class, TrGeVeRetAce::new);
+        register(suppliers, TrGeVeRetAnu.class, TrGeVeRetAnu::new);
+        register(suppliers, TrGeVeTr.class, TrGeVeTr::new);
+        register(suppliers, TrGesEve.class, TrGesEve::new);
+        register(suppliers, TxContRuc.class, TxContRuc::new);
+        register(suppliers, TxContenDE.class, TxContenDE::new);
+        register(suppliers, TxContenEv.class, TxContenEv::new);
+        register(suppliers, TxProtDe.class, TxProtDe::new);
+        registered = suppliers;
+    }
+
+    private static <T extends SifenObjectBase> void register(Map<Class<?>, Supplier<?>> suppliers, Class<T> type, Supplier<T> supplier) {
+        suppliers.put(type, supplier);
+    }
+
+    /**
+     * @param type Clase del objeto a crear.
+     * @param <T>  Tipo del objeto a crear.
+     * @return El Supplier que crea objetos de la clase recibida.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends SifenObjectBase> Supplier<T> getSupplier(Class<T> type) {
+        return (Supplier<T>) suppliers.get(type);
+    }
+
+    private static Supplier<?> reflectiveSupplier(Class<?> type) {
+        Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException | SecurityException e) {
+            throw new IllegalArgumentException("La clase " + type.getCanonicalName() + " no tiene un constructor sin parámetros", e);
+        }
+
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e.getCause() != null ? e.getCause() : e);
+            }
+        };
+    }
+}
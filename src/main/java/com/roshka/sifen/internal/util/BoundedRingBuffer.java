@@ -0,0 +1,66 @@
+package com.roshka.sifen.internal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada y sin bloqueos, para múltiples productores y un único consumidor. Si la cola está llena, los
+ * elementos nuevos se descartan en lugar de bloquear al productor.
+ *
+ * @param <T> Tipo de los elementos de la cola.
+ */
+public class BoundedRingBuffer<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * @param capacity Capacidad mínima de la cola. Se redondea a la siguiente potencia de 2.
+     */
+    public BoundedRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Agrega un elemento a la cola. Puede ser llamado desde cualquier hilo.
+     *
+     * @param element Elemento a agregar.
+     * @return false si la cola está llena y el elemento fue descartado.
+     */
+    public boolean offer(T element) {
+        while (true) {
+            long t = tail.get();
+            if (t - head >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) t & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Retira el próximo elemento de la cola. Solo debe ser llamado desde el hilo consumidor.
+     *
+     * @return El próximo elemento, o null si la cola está vacía.
+     */
+    public T poll() {
+        long h = head;
+        int index = (int) h & mask;
+        T element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = h + 1;
+        return element;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,133 @@
+package com.roshka.sifen.internal.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Buffer de bytes en memoria, similar a {@link java.io.ByteArrayOutputStream}, pero que permite leer su contenido sin
+ * copiarlo y cuyos métodos no son sincronizados (no bloquea hilos virtuales al escribir en un socket).
+ */
+public class ByteArrayBuffer extends OutputStream {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private byte[] buf;
+    private int count;
+
+    public ByteArrayBuffer() {
+        this(1024);
+    }
+
+    public ByteArrayBuffer(int initialCapacity) {
+        this.buf = new byte[Math.max(16, initialCapacity)];
+    }
+
+    private ByteArrayBuffer(byte[] buf) {
+        this.buf = buf;
+        this.count = buf.length;
+    }
+
+    /**
+     * Crea un buffer con el contenido recibido, sin copiarlo.
+     *
+     * @param data Contenido del buffer. No debe ser modificado luego.
+     * @return El buffer creado.
+     */
+    public static ByteArrayBuffer wrap(byte[] data) {
+        return new ByteArrayBuffer(data);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * Lee el contenido completo del stream recibido y lo agrega al buffer.
+     *
+     * @param inputStream Stream a ser leído.
+     * @return El mismo buffer.
+     * @throws IOException Si ocurre un error al leer el stream.
+     */
+    public ByteArrayBuffer readFrom(InputStream inputStream) throws IOException {
+        while (true) {
+            ensureCapacity(count + 1);
+            int length = inputStream.read(buf, count, buf.length - count);
+            if (length == -1) {
+                return this;
+            }
+            count += length;
+        }
+    }
+
+    /**
+     * Escribe el contenido del buffer en el stream recibido, sin copiarlo.
+     *
+     * @param outputStream Stream de destino.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buf, 0, count);
+    }
+
+    /**
+     * @return Un stream de lectura sobre el contenido del buffer, sin copiarlo.
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(buf, 0, count);
+    }
+
+    /**
+     * @return Una vista de solo lectura del contenido del buffer, sin copiarlo.
+     */
+    public ByteBuffer toReadOnlyByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return Una copia del contenido del buffer.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    public String toString(Charset charset) {
+        return new String(buf, 0, count, charset);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("El buffer excede el tamaño máximo permitido");
+        }
+        if (minCapacity > buf.length) {
+            int newCapacity = Math.max(buf.length << 1, minCapacity);
+            if (newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE) {
+                newCapacity = Math.max(minCapacity, MAX_ARRAY_SIZE);
+            }
+            buf = Arrays.copyOf(buf, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.roshka.sifen.internal.util;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Stream de lectura sobre el contenido restante de un {@link ByteBuffer}, sin copiarlo. Lee sobre un duplicado del
+ * buffer, por lo que la posición del buffer original no se modifica.
+ */
+public class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+
+        int length = Math.min(len, buffer.remaining());
+        buffer.get(b, off, length);
+        return length;
+    }
+
+    @Override
+    public long skip(long n) {
+        int length = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        // Se invoca sobre Buffer para no depender de la sobrecarga covariante de ByteBuffer, inexistente en Java 8
+        ((Buffer) buffer).position(buffer.position() + length);
+        return length;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
@@ -0,0 +1,199 @@
+package com.roshka.sifen.internal.util;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Formateo y parseo de las fechas utilizadas en los XML de Sifen.
+ * <p>
+ * Los formatos habituales (años de 4 dígitos, fechas válidas) se escriben y se leen carácter por carácter, sin crear
+ * formatters ni lanzar excepciones para elegir el formato. Cualquier otro valor se delega en los formatters, que se
+ * crean una sola vez y son inmutables, por lo que el resultado y los errores son los mismos que con ellos.
+ */
+public class DateTimeCodec {
+    /**
+     * Fecha y hora sin zona horaria (Ej.: 2021-03-25T10:15:30).
+     */
+    public static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    /**
+     * Fecha y hora con zona horaria (Ej.: 2021-03-25T10:15:30-03:00).
+     */
+    public static final DateTimeFormatter DATE_TIME_OFFSET = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+    /**
+     * Fecha (Ej.: 2021-03-25).
+     */
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * Fecha sin separadores, utilizada en el CDC (Ej.: 20210325).
+     */
+    public static final DateTimeFormatter COMPACT_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final int DATE_LENGTH = 10;
+    private static final int DATE_TIME_LENGTH = 19;
+
+    /**
+     * @param dateTime Fecha y hora a formatear.
+     * @return La fecha y hora en el formato {@link #DATE_TIME}.
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            return dateTime.format(DATE_TIME);
+        }
+
+        char[] chars = new char[DATE_TIME_LENGTH];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, dateTime.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, dateTime.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        writeDigits(chars, 11, dateTime.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, dateTime.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, dateTime.getSecond(), 2);
+        return new String(chars);
+    }
+
+    /**
+     * Agrega la fecha en el formato {@link #COMPACT_DATE}.
+     *
+     * @param out  Destino de la fecha.
+     * @param date Fecha a agregar.
+     * @return El destino recibido.
+     */
+    public static StringBuilder appendCompactDate(StringBuilder out, LocalDate date) {
+        int year = date.getYear();
+        if (year < 1 || year > 9999) {
+            return out.append(date.format(COMPACT_DATE));
+        }
+
+        appendDigits(out, year, 4);
+        appendDigits(out, date.getMonthValue(), 2);
+        return appendDigits(out, date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Parsea una fecha y hora en el formato {@link #DATE_TIME} o {@link #DATE_TIME_OFFSET}. La zona horaria, si se
+     * encuentra, se descarta.
+     *
+     * @param text Texto a parsear.
+     * @return La fecha y hora.
+     * @throws DateTimeParseException Si el texto no corresponde a ninguno de los formatos.
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        int length = text.length();
+        if ((length == DATE_TIME_LENGTH || isOffset(text, DATE_TIME_LENGTH)) && isDate(text)
+                && text.charAt(10) == 'T' && text.charAt(13) == ':' && text.charAt(16) == ':') {
+            int hour = readDigits(text, 11, 2);
+            int minute = readDigits(text, 14, 2);
+            int second = readDigits(text, 17, 2);
+            if (hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 && second >= 0 && second <= 59) {
+                return LocalDateTime.of(readDigits(text, 0, 4), readDigits(text, 5, 2), readDigits(text, 8, 2),
+                        hour, minute, second);
+            }
+        }
+
+        // Se elige el formatter según si el texto coincide con el formato sin zona horaria, sin lanzar excepciones
+        return LocalDateTime.parse(text, matches(DATE_TIME, text) ? DATE_TIME : DATE_TIME_OFFSET);
+    }
+
+    /**
+     * Parsea una fecha en el formato {@link #DATE}.
+     *
+     * @param text Texto a parsear.
+     * @return La fecha.
+     * @throws DateTimeParseException Si el texto no corresponde al formato.
+     */
+    public static LocalDate parseDate(String text) {
+        if (text.length() == DATE_LENGTH && isDate(text)) {
+            return LocalDate.of(readDigits(text, 0, 4), readDigits(text, 5, 2), readDigits(text, 8, 2));
+        }
+        return LocalDate.parse(text, DATE);
+    }
+
+    // yyyy-MM-dd al inicio del texto, con un día que existe en el mes. Los días inexistentes los resuelve el formatter.
+    private static boolean isDate(String text) {
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return false;
+        }
+        int year = readDigits(text, 0, 4);
+        int month = readDigits(text, 5, 2);
+        int day = readDigits(text, 8, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        return day <= 28 || day <= lengthOfMonth(year, month);
+    }
+
+    // Z o ±hh:mm a partir de la posición indicada, hasta el final del texto
+    private static boolean isOffset(String text, int start) {
+        int length = text.length() - start;
+        if (length == 1) {
+            return text.charAt(start) == 'Z';
+        }
+        if (length != 6) {
+            return false;
+        }
+        char sign = text.charAt(start);
+        int hours = readDigits(text, start + 1, 2);
+        int minutes = readDigits(text, start + 4, 2);
+        return (sign == '+' || sign == '-') && text.charAt(start + 3) == ':'
+                && hours >= 0 && hours <= 18 && minutes >= 0 && minutes <= 59 && (hours < 18 || minutes == 0);
+    }
+
+    private static boolean matches(DateTimeFormatter formatter, String text) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parseUnresolved(text, position);
+        return parsed != null && position.getErrorIndex() < 0 && position.getIndex() == text.length();
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // Valor de los dígitos ASCII, o -1 si alguno de los caracteres no es un dígito
+    private static int readDigits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] chars, int start, int value, int count) {
+        for (int i = start + count - 1; i >= start; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static StringBuilder appendDigits(StringBuilder out, int value, int count) {
+        for (int divisor = count == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+        return out;
+    }
+}
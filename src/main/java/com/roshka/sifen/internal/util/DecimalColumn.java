@@ -0,0 +1,109 @@
+package com.roshka.sifen.internal.util;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columna de decimales, almacenados como valor sin escala (long) y escala (byte), sin un objeto por fila. Los valores
+ * que no entran en un long o cuya escala está fuera del rango 0-18 se guardan aparte como BigDecimal. Admite nulos.
+ * <p>
+ * Cada valor se recupera con el mismo valor y escala con el que fue guardado.
+ */
+public class DecimalColumn {
+    private static final int MAX_SCALE = 18;
+    private static final int MAX_PRECISION = 18;
+    private static final byte NULL = -1;
+    private static final byte INFLATED = -2;
+
+    private long[] unscaled;
+    private byte[] scales;
+    private Map<Integer, BigDecimal> inflated;
+
+    public DecimalColumn(int capacity) {
+        this.unscaled = new long[capacity];
+        this.scales = new byte[capacity];
+        Arrays.fill(this.scales, NULL);
+    }
+
+    /**
+     * @param row   Fila a modificar. Si está fuera de la capacidad actual, la columna crece.
+     * @param value Valor a guardar. Puede ser nulo.
+     */
+    public void set(int row, BigDecimal value) {
+        ensureCapacity(row + 1);
+        if (inflated != null) {
+            inflated.remove(row);
+        }
+
+        if (value == null) {
+            scales[row] = NULL;
+        } else if (value.scale() < 0 || value.scale() > MAX_SCALE || value.precision() > MAX_PRECISION) {
+            if (inflated == null) {
+                inflated = new HashMap<>();
+            }
+            inflated.put(row, value);
+            scales[row] = INFLATED;
+        } else {
+            unscaled[row] = value.scale() == 0 ? value.longValue() : value.scaleByPowerOfTen(value.scale()).longValue();
+            scales[row] = (byte) value.scale();
+        }
+    }
+
+    /**
+     * @param row Fila a obtener.
+     * @return El valor de la fila, o null si no tiene valor.
+     */
+    public BigDecimal get(int row) {
+        byte scale = row < scales.length ? scales[row] : NULL;
+        if (scale == NULL) {
+            return null;
+        }
+        return scale == INFLATED ? inflated.get(row) : BigDecimal.valueOf(unscaled[row], scale);
+    }
+
+    /**
+     * Carga el valor de la fila en el decimal de punto fijo, sin crear un BigDecimal.
+     *
+     * @param row    Fila a cargar.
+     * @param target Decimal en el que se carga el valor.
+     * @return El decimal recibido.
+     * @throws NullPointerException Si la fila no tiene valor.
+     */
+    public FixedPointDecimal load(int row, FixedPointDecimal target) {
+        byte scale = row < scales.length ? scales[row] : NULL;
+        if (scale == NULL) {
+            throw new NullPointerException("La fila " + row + " no tiene valor");
+        }
+        return scale == INFLATED ? target.set(inflated.get(row)) : target.set(unscaled[row], scale);
+    }
+
+    /**
+     * @param row Fila a consultar.
+     * @return true si la fila no tiene valor.
+     */
+    public boolean isNull(int row) {
+        return row >= scales.length || scales[row] == NULL;
+    }
+
+    /**
+     * @param row      Fila a comparar.
+     * @param unscaled Valor sin escala.
+     * @param scale    Escala.
+     * @return true si la fila tiene exactamente ese valor y escala, igual que {@link BigDecimal#equals(Object)}.
+     */
+    public boolean equalsValue(int row, long unscaled, int scale) {
+        return row < scales.length && scales[row] == scale && this.unscaled[row] == unscaled;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > scales.length) {
+            int newCapacity = Math.max(capacity, scales.length * 2);
+            int oldCapacity = scales.length;
+            unscaled = Arrays.copyOf(unscaled, newCapacity);
+            scales = Arrays.copyOf(scales, newCapacity);
+            Arrays.fill(scales, oldCapacity, newCapacity, NULL);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.roshka.sifen.internal.util;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de parsers DOM (namespace-aware, sin DTD ni entidades externas). Crear un {@link DocumentBuilderFactory} y un
+ * {@link DocumentBuilder} por documento es costoso, y los parsers no son thread-safe, por lo que cada hilo toma uno del
+ * pool y lo devuelve al terminar. No depende de ThreadLocal, para que funcione igual con hilos virtuales.
+ */
+public class DocumentBuilderPool {
+    private static final int MAX_IDLE = 32;
+
+    private static final DocumentBuilderFactory documentBuilderFactory;
+    private static final ConcurrentLinkedQueue<DocumentBuilder> idle = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger idleCount = new AtomicInteger();
+
+    static {
+        documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(true);
+        documentBuilderFactory.setExpandEntityReferences(false);
+        try {
+            documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            documentBuilderFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        } catch (ParserConfigurationException ignored) {
+            // El parser no soporta la característica; se utiliza su configuración por defecto
+        }
+    }
+
+    public static Document parse(InputStream inputStream) throws SAXException, IOException, ParserConfigurationException {
+        return parse(new InputSource(inputStream));
+    }
+
+    /**
+     * Parsea el documento utilizando un parser del pool.
+     *
+     * @param inputSource Origen del documento.
+     * @return El documento parseado.
+     * @throws SAXException                 Si el XML es inválido.
+     * @throws IOException                  Si ocurre un error al leer el origen.
+     * @throws ParserConfigurationException Si no se pudo crear el parser.
+     */
+    public static Document parse(InputSource inputSource) throws SAXException, IOException, ParserConfigurationException {
+        DocumentBuilder documentBuilder = acquire();
+        try {
+            return documentBuilder.parse(inputSource);
+        } finally {
+            release(documentBuilder);
+        }
+    }
+
+    private static DocumentBuilder acquire() throws ParserConfigurationException {
+        DocumentBuilder documentBuilder = idle.poll();
+        if (documentBuilder != null) {
+            idleCount.decrementAndGet();
+            return documentBuilder;
+        }
+        synchronized (documentBuilderFactory) {
+            // DocumentBuilderFactory no es thread-safe
+            return documentBuilderFactory.newDocumentBuilder();
+        }
+    }
+
+    private static void release(DocumentBuilder documentBuilder) {
+        documentBuilder.reset();
+        if (idleCount.incrementAndGet() <= MAX_IDLE) {
+            idle.offer(documentBuilder);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.roshka.sifen.internal.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Índice de los valores de un enum por su código numérico, construido una sola vez. Si los códigos son pequeños se
+ * utiliza un arreglo indexado por el código; si no, un mapa. Igual que la búsqueda lineal a la que reemplaza, si dos
+ * valores comparten el código se retorna el primero, y si ninguno lo tiene se retorna null.
+ *
+ * @param <E> Tipo del enum.
+ */
+public final class EnumCodeIndex<E extends Enum<E>> {
+    private static final int MAX_DENSE_CODE = 4096;
+
+    private final E[] dense;
+    private final Map<Integer, E> sparse;
+
+    private EnumCodeIndex(E[] dense, Map<Integer, E> sparse) {
+        this.dense = dense;
+        this.sparse = sparse;
+    }
+
+    /**
+     * @param values Valores del enum, en el orden de declaración.
+     * @param code   Función que obtiene el código de cada valor.
+     * @param <E>    Tipo del enum.
+     * @return El índice de los valores por código.
+     */
+    public static <E extends Enum<E>> EnumCodeIndex<E> of(E[] values, ToIntFunction<E> code) {
+        int min = 0, max = 0;
+        for (E value : values) {
+            min = Math.min(min, code.applyAsInt(value));
+            max = Math.max(max, code.applyAsInt(value));
+        }
+
+        if (min >= 0 && max <= MAX_DENSE_CODE) {
+            E[] dense = Arrays.copyOf(values, max + 1);
+            Arrays.fill(dense, null);
+            for (E value : values) {
+                int key = code.applyAsInt(value);
+                if (dense[key] == null) {
+                    dense[key] = value;
+                }
+            }
+            return new EnumCodeIndex<>(dense, null);
+        }
+
+        Map<Integer, E> sparse = new HashMap<>();
+        for (E value : values) {
+            sparse.putIfAbsent(code.applyAsInt(value), value);
+        }
+        return new EnumCodeIndex<>(null, sparse);
+    }
+
+    /**
+     * @param code Código a buscar.
+     * @return El valor con el código recibido, o null si no existe.
+     */
+    public E get(int code) {
+        if (dense != null) {
+            return code >= 0 && code < dense.length ? dense[code] : null;
+        }
+        return sparse.get(code);
+    }
+}
@@ -0,0 +1,49 @@
+package com.roshka.sifen.internal.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice de los valores de un enum por su nombre, sin distinguir mayúsculas de minúsculas, construido una sola vez.
+ * Si ningún valor tiene el nombre recibido se retorna null.
+ *
+ * @param <E> Tipo del enum.
+ */
+public final class EnumNameIndex<E extends Enum<E>> {
+    private final Map<String, E> byName;
+    private final Map<String, E> byUpperCaseName;
+
+    private EnumNameIndex(Map<String, E> byName, Map<String, E> byUpperCaseName) {
+        this.byName = byName;
+        this.byUpperCaseName = byUpperCaseName;
+    }
+
+    /**
+     * @param values Valores del enum.
+     * @param <E>    Tipo del enum.
+     * @return El índice de los valores por nombre.
+     */
+    public static <E extends Enum<E>> EnumNameIndex<E> of(E[] values) {
+        Map<String, E> byName = new HashMap<>();
+        Map<String, E> byUpperCaseName = new HashMap<>();
+        for (E value : values) {
+            byName.put(value.name(), value);
+            byUpperCaseName.putIfAbsent(value.name().toUpperCase(Locale.ROOT), value);
+        }
+        return new EnumNameIndex<>(byName, byUpperCaseName);
+    }
+
+    /**
+     * @param name Nombre a buscar, sin distinguir mayúsculas de minúsculas.
+     * @return El valor con el nombre recibido, o null si no existe.
+     */
+    public E get(String name) {
+        if (name == null) {
+            return null;
+        }
+        // Los valores llegan normalmente con el nombre exacto, por lo que se evita convertirlos a mayúsculas
+        E value = byName.get(name);
+        return value != null ? value : byUpperCaseName.get(name.toUpperCase(Locale.ROOT));
+    }
+}
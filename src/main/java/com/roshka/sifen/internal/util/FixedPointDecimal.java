@@ -0,0 +1,297 @@
+package com.roshka.sifen.internal.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Decimal mutable de punto fijo, representado como un long escalado, para los cálculos de ítems y totales del DE.
+ * <p>
+ * Cada operación produce exactamente el mismo valor y la misma escala que la operación equivalente de
+ * {@link BigDecimal} (la suma conserva la mayor escala, la multiplicación suma las escalas y las divisiones y cambios
+ * de escala redondean con {@link RoundingMode#HALF_UP}), por lo que {@link #toBigDecimal()} es idéntico al resultado
+ * calculado con BigDecimal. Con montos en guaraníes o con 2 decimales los cálculos no crean objetos intermedios; si
+ * un operando no entra en un long o una operación desborda, el valor pasa a calcularse con BigDecimal.
+ * <p>
+ * No es thread-safe. Los métodos modifican la instancia y la retornan, para poder encadenarlos.
+ */
+public final class FixedPointDecimal {
+    private static final int MAX_SCALE = 18;
+    private static final long NOT_COMPACT = Long.MIN_VALUE;
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private long unscaled;
+    private int scale;
+    // Valor calculado con BigDecimal, desde que una operación no pudo realizarse con long
+    private BigDecimal inflated;
+
+    private FixedPointDecimal(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+    }
+
+    /**
+     * @return Un decimal con el valor 0 y escala 0, igual que {@link BigDecimal#ZERO}.
+     */
+    public static FixedPointDecimal zero() {
+        return new FixedPointDecimal(0, 0);
+    }
+
+    /**
+     * @param value Valor inicial.
+     * @return Un decimal con el mismo valor y escala.
+     */
+    public static FixedPointDecimal of(BigDecimal value) {
+        return zero().set(value);
+    }
+
+    /**
+     * Reemplaza el valor, para reutilizar la instancia.
+     *
+     * @param value Nuevo valor.
+     * @return Este decimal.
+     */
+    public FixedPointDecimal set(BigDecimal value) {
+        long valueUnscaled = unscaledOf(value);
+        if (valueUnscaled != NOT_COMPACT) {
+            unscaled = valueUnscaled;
+            scale = value.scale();
+            inflated = null;
+        } else {
+            inflated = value;
+        }
+        return this;
+    }
+
+    /**
+     * Reemplaza el valor por unscaledValue × 10^-scale, igual que {@link BigDecimal#valueOf(long, int)}.
+     *
+     * @param unscaledValue Valor sin escala.
+     * @param scale         Escala.
+     * @return Este decimal.
+     */
+    public FixedPointDecimal set(long unscaledValue, int scale) {
+        inflated = null;
+        if (scale < 0 || scale > MAX_SCALE || !assign(unscaledValue, scale)) {
+            inflated = BigDecimal.valueOf(unscaledValue, scale);
+        }
+        return this;
+    }
+
+    public FixedPointDecimal add(BigDecimal value) {
+        long valueUnscaled = unscaledOf(value);
+        if (inflated != null || valueUnscaled == NOT_COMPACT || !addUnscaled(valueUnscaled, value.scale())) {
+            inflated = toBigDecimal().add(value);
+        }
+        return this;
+    }
+
+    public FixedPointDecimal add(FixedPointDecimal value) {
+        if (inflated != null || value.inflated != null || !addUnscaled(value.unscaled, value.scale)) {
+            inflated = toBigDecimal().add(value.toBigDecimal());
+        }
+        return this;
+    }
+
+    public FixedPointDecimal subtract(BigDecimal value) {
+        long valueUnscaled = unscaledOf(value);
+        if (inflated != null || valueUnscaled == NOT_COMPACT || !addUnscaled(-valueUnscaled, value.scale())) {
+            inflated = toBigDecimal().subtract(value);
+        }
+        return this;
+    }
+
+    public FixedPointDecimal multiply(BigDecimal value) {
+        long valueUnscaled = unscaledOf(value);
+        if (inflated != null || valueUnscaled == NOT_COMPACT || !multiplyUnscaled(valueUnscaled, value.scale())) {
+            inflated = toBigDecimal().multiply(value);
+        }
+        return this;
+    }
+
+    public FixedPointDecimal multiply(FixedPointDecimal value) {
+        if (inflated != null || value.inflated != null || !multiplyUnscaled(value.unscaled, value.scale)) {
+            inflated = toBigDecimal().multiply(value.toBigDecimal());
+        }
+        return this;
+    }
+
+    /**
+     * Igual que {@link BigDecimal#setScale(int, RoundingMode)} con {@link RoundingMode#HALF_UP}.
+     *
+     * @param newScale Escala del resultado.
+     * @return Este decimal.
+     */
+    public FixedPointDecimal setScale(int newScale) {
+        if (inflated != null || !setScaleHalfUp(newScale)) {
+            inflated = toBigDecimal().setScale(newScale, RoundingMode.HALF_UP);
+        }
+        return this;
+    }
+
+    /**
+     * Igual que {@link BigDecimal#divide(BigDecimal, int, RoundingMode)} con {@link RoundingMode#HALF_UP}.
+     *
+     * @param divisor     Divisor.
+     * @param resultScale Escala del resultado.
+     * @return Este decimal.
+     */
+    public FixedPointDecimal divide(BigDecimal divisor, int resultScale) {
+        long divisorUnscaled = unscaledOf(divisor);
+        if (inflated != null || divisorUnscaled == NOT_COMPACT || !divideUnscaled(divisorUnscaled, divisor.scale(), resultScale)) {
+            inflated = toBigDecimal().divide(divisor, resultScale, RoundingMode.HALF_UP);
+        }
+        return this;
+    }
+
+    public FixedPointDecimal divide(FixedPointDecimal divisor, int resultScale) {
+        if (inflated != null || divisor.inflated != null || !divideUnscaled(divisor.unscaled, divisor.scale, resultScale)) {
+            inflated = toBigDecimal().divide(divisor.toBigDecimal(), resultScale, RoundingMode.HALF_UP);
+        }
+        return this;
+    }
+
+    /**
+     * Divide por el valor unscaledDivisor × 10^-divisorScale (Ej.: 11 y 1 para 1.1), sin crear el BigDecimal del
+     * divisor salvo que la división no pueda realizarse con long.
+     *
+     * @param unscaledDivisor Valor sin escala del divisor.
+     * @param divisorScale    Escala del divisor.
+     * @param resultScale     Escala del resultado.
+     * @return Este decimal.
+     */
+    public FixedPointDecimal divide(long unscaledDivisor, int divisorScale, int resultScale) {
+        if (inflated != null || !divideUnscaled(unscaledDivisor, divisorScale, resultScale)) {
+            inflated = toBigDecimal().divide(BigDecimal.valueOf(unscaledDivisor, divisorScale), resultScale, RoundingMode.HALF_UP);
+        }
+        return this;
+    }
+
+    /**
+     * @return Un nuevo decimal con el mismo valor y escala, para continuar los cálculos sin modificar este.
+     */
+    public FixedPointDecimal copy() {
+        FixedPointDecimal copy = new FixedPointDecimal(unscaled, scale);
+        copy.inflated = inflated;
+        return copy;
+    }
+
+    /**
+     * @return Un BigDecimal con el mismo valor y escala.
+     */
+    public BigDecimal toBigDecimal() {
+        return inflated != null ? inflated : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    // Las operaciones con long solo modifican el valor si pudieron realizarse; si no, retornan false
+
+    private boolean addUnscaled(long valueUnscaled, int valueScale) {
+        int resultScale = Math.max(scale, valueScale);
+        long result;
+        try {
+            result = Math.addExact(Math.multiplyExact(unscaled, POWERS_OF_TEN[resultScale - scale]),
+                    Math.multiplyExact(valueUnscaled, POWERS_OF_TEN[resultScale - valueScale]));
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        return assign(result, resultScale);
+    }
+
+    private boolean multiplyUnscaled(long valueUnscaled, int valueScale) {
+        if (scale + valueScale > MAX_SCALE) {
+            return false;
+        }
+        long result;
+        try {
+            result = Math.multiplyExact(unscaled, valueUnscaled);
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        return assign(result, scale + valueScale);
+    }
+
+    private boolean setScaleHalfUp(int newScale) {
+        if (newScale < 0 || newScale > MAX_SCALE) {
+            return false;
+        }
+        if (newScale < scale) {
+            return assign(divideHalfUp(unscaled, POWERS_OF_TEN[scale - newScale]), newScale);
+        }
+        long result;
+        try {
+            result = Math.multiplyExact(unscaled, POWERS_OF_TEN[newScale - scale]);
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        return assign(result, newScale);
+    }
+
+    // (unscaled × 10^-scale) / (divisor × 10^-divisorScale), con el resultado en resultScale:
+    // unscaled × 10^(resultScale + divisorScale - scale) / divisor, redondeado
+    private boolean divideUnscaled(long divisorUnscaled, int divisorScale, int resultScale) {
+        if (divisorUnscaled == 0 || divisorUnscaled == NOT_COMPACT || divisorScale < 0 || divisorScale > MAX_SCALE
+                || resultScale < 0 || resultScale > MAX_SCALE) {
+            // La división por cero la resuelve BigDecimal, con su excepción
+            return false;
+        }
+        int exponent = resultScale + divisorScale - scale;
+        if (Math.abs(exponent) > MAX_SCALE) {
+            return false;
+        }
+        long dividend = unscaled;
+        long divisor = divisorUnscaled;
+        try {
+            if (exponent >= 0) {
+                dividend = Math.multiplyExact(dividend, POWERS_OF_TEN[exponent]);
+            } else {
+                divisor = Math.multiplyExact(divisor, POWERS_OF_TEN[-exponent]);
+            }
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        if (dividend == NOT_COMPACT || divisor == NOT_COMPACT) {
+            return false;
+        }
+        return assign(divideHalfUp(dividend, divisor), resultScale);
+    }
+
+    private boolean assign(long newUnscaled, int newScale) {
+        if (newUnscaled == NOT_COMPACT) {
+            return false;
+        }
+        unscaled = newUnscaled;
+        scale = newScale;
+        return true;
+    }
+
+    // Cociente redondeado al entero más cercano; los empates se alejan de cero. Ninguno de los operandos es Long.MIN_VALUE.
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        long absDivisor = Math.abs(divisor);
+        if (remainder != 0 && remainder >= absDivisor - remainder) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    // Valor sin escala, o NOT_COMPACT si el valor no entra en un long o su escala está fuera del rango soportado
+    private static long unscaledOf(BigDecimal value) {
+        int valueScale = value.scale();
+        if (valueScale < 0 || valueScale > MAX_SCALE || value.precision() > MAX_SCALE) {
+            return NOT_COMPACT;
+        }
+        return valueScale == 0 ? value.longValue() : value.scaleByPowerOfTen(valueScale).longValue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.roshka.sifen.internal.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria de tamaño acotado, que descarta los elementos usados menos recientemente (LRU). Es seguro para ser
+ * utilizado desde varios hilos; el listener de descarte se invoca fuera del bloqueo del caché.
+ *
+ * @param <K> Tipo de las claves.
+ * @param <V> Tipo de los valores.
+ */
+public class LruCache<K, V> {
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final Consumer<V> onEviction;
+
+    /**
+     * @param onEviction Listener invocado con cada valor descartado o quitado del caché. Puede ser nulo.
+     */
+    public LruCache(Consumer<V> onEviction) {
+        this.onEviction = onEviction;
+    }
+
+    public V get(K key) {
+        synchronized (map) {
+            return map.get(key);
+        }
+    }
+
+    /**
+     * Obtiene el valor de la clave, o lo crea si no existe. Si al agregarlo se supera el tamaño máximo, se descartan
+     * los valores usados menos recientemente.
+     *
+     * @param key             Clave del valor.
+     * @param mappingFunction Función que crea el valor. Se invoca con el caché bloqueado, por lo que debe ser rápida.
+     * @param maxSize         Cantidad máxima de valores del caché.
+     * @return El valor existente o el creado.
+     */
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction, int maxSize) {
+        List<V> evicted = new ArrayList<>(0);
+        V value;
+        synchronized (map) {
+            value = map.get(key);
+            if (value == null) {
+                value = mappingFunction.apply(key);
+                map.put(key, value);
+
+                Iterator<V> iterator = map.values().iterator();
+                while (map.size() > Math.max(1, maxSize) && iterator.hasNext()) {
+                    evicted.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+        }
+        notifyEviction(evicted);
+        return value;
+    }
+
+    /**
+     * Quita el valor de la clave, solo si todavía corresponde al valor recibido.
+     *
+     * @param key   Clave del valor.
+     * @param value Valor a ser quitado.
+     * @return true si el valor fue quitado.
+     */
+    public boolean remove(K key, V value) {
+        boolean removed;
+        synchronized (map) {
+            removed = map.remove(key, value);
+        }
+        if (removed && onEviction != null) {
+            onEviction.accept(value);
+        }
+        return removed;
+    }
+
+    /**
+     * Quita los valores que cumplen con la condición recibida.
+     *
+     * @param filter Condición a evaluar sobre cada clave y valor.
+     * @return La cantidad de valores quitados.
+     */
+    public int removeIf(BiPredicate<K, V> filter) {
+        List<V> removed = new ArrayList<>();
+        synchronized (map) {
+            Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, V> entry = iterator.next();
+                if (filter.test(entry.getKey(), entry.getValue())) {
+                    removed.add(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+        notifyEviction(removed);
+        return removed.size();
+    }
+
+    public int clear() {
+        return removeIf((key, value) -> true);
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    private void notifyEviction(List<V> values) {
+        if (onEviction != null) {
+            for (V value : values) {
+                onEviction.accept(value);
+            }
+        }
+    }
+}
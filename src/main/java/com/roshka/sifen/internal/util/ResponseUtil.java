@@ -1,24 +1,20 @@
 package com.roshka.sifen.internal.util;
 
 import com.roshka.sifen.core.exceptions.SifenException;
-import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.SOAPResponse;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPBody;
-import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.logging.Logger;
 
 /**
@@ -27,18 +23,14 @@ import java.util.logging.Logger;
 public class ResponseUtil {
     private final static Logger logger = Logger.getLogger(ResponseUtil.class.toString());
 
-    public static Node getMainNode(SOAPMessage soapMessage, String nodeName) throws SifenException {
-        SOAPBody soapBody;
-        try {
-            soapBody = soapMessage.getSOAPBody();
-        } catch (SOAPException e) {
+    public static Node getMainNode(SOAPResponse soapResponse, String nodeName) throws SifenException {
+        if (soapResponse.getSoapProtocol() == null) {
+            if (!soapResponse.isRequestSuccessful())
+                throw SifenExceptionUtil.invalidSOAPResponse("Sifen respondió HTTP " + soapResponse.getStatus() + " sin un mensaje SOAP. No se puede obtener el nodo principal.");
             throw SifenExceptionUtil.invalidSOAPResponse("El cuerpo del mensaje SOAP es nulo. No se puede obtener el nodo principal.");
         }
 
-        if (soapBody == null)
-            throw SifenExceptionUtil.invalidSOAPResponse("El cuerpo del mensaje SOAP es nulo. No se puede obtener el nodo principal.");
-
-        Node node = soapBody.getFirstChild();
+        Node node = soapResponse.getBodyNode();
         if (node == null)
             throw SifenExceptionUtil.invalidSOAPResponse("El cuerpo del mensaje SOAP tiene el primer nodo nulo.");
 
@@ -50,30 +42,70 @@ public class ResponseUtil {
         return node;
     }
 
-    public static SOAPMessage parseSoapMessage(SOAPMessage soapMessage) {
-        String xml = getXmlFromMessage(soapMessage, false);
-        xml = SifenUtil.unescapeXML(xml)
-                .replaceAll("<\\?xml version=\"1.0\" encoding=\"UTF-8\"\\?>", "")
-                .replaceAll(">[\\s\r\n]*<", "><");
+    /**
+     * Vuelve a parsear el nodo recibido, interpretando como XML el contenido que Sifen envía escapado (Ej.: el DE
+     * dentro de xContenDE).
+     *
+     * @param node Nodo principal de la respuesta.
+     * @return El nodo con el contenido escapado convertido en elementos, o el mismo nodo si no pudo ser parseado.
+     */
+    public static Node parseEscapedNode(Node node) {
+        String xml = unescapeXml(getXmlFromNode(node));
 
         try {
-            soapMessage = SoapHelper.parseSoapMessage(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-        } catch (SOAPException | IOException e) {
+            XMLStreamReader reader = StaxUtil.createReader(new StringReader(xml));
+            try {
+                if (StaxUtil.nextChildElement(reader)) {
+                    return StaxUtil.readElement(reader);
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
             logger.info("Se produjo un error al parsear la respuesta XML. Ignorando.");
         }
 
-        return soapMessage;
+        return node;
     }
 
-    public static String getXmlFromMessage(SOAPMessage soapMessage, boolean removeSpaces) {
+    /**
+     * Desescapa el XML recibido y elimina la declaración XML y los espacios entre elementos.
+     *
+     * @param xml XML con contenido escapado.
+     * @return El XML desescapado.
+     */
+    public static String unescapeXml(String xml) {
+        return SifenUtil.unescapeXML(xml)
+                .replaceAll("<\\?xml version=\"1.0\" encoding=\"UTF-8\"\\?>", "")
+                .replaceAll(">[\\s\r\n]*<", "><");
+    }
+
+    public static String getXmlFromNode(Node node) {
         final StringWriter sw = new StringWriter();
         try {
-            TransformerFactory.newInstance().newTransformer().transform(new DOMSource(soapMessage.getSOAPPart()), new StreamResult(sw));
+            TransformerPool.transformFragment(new DOMSource(node), new StreamResult(sw));
         } catch (TransformerException e) {
             throw new RuntimeException(e);
         }
+        return sw.toString();
+    }
+
+    public static String getXmlFromMessage(SOAPMessage soapMessage, boolean removeSpaces) {
+        String xml;
+        if (soapMessage instanceof SerializedSoapMessage && ((SerializedSoapMessage) soapMessage).isSerialized()) {
+            // Misma declaración que la generada por el Transformer, sin construir el árbol SAAJ
+            xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" +
+                    ((SerializedSoapMessage) soapMessage).getEnvelope().toString(StandardCharsets.UTF_8);
+        } else {
+            final StringWriter sw = new StringWriter();
+            try {
+                TransformerPool.transform(new DOMSource(soapMessage.getSOAPPart()), new StreamResult(sw));
+            } catch (TransformerException e) {
+                throw new RuntimeException(e);
+            }
+            xml = sw.toString();
+        }
 
-        String xml = sw.toString();
         if (removeSpaces) {
             xml = xml.replaceAll(">[\\s\r\n]*<", "><");
         }
@@ -101,25 +133,16 @@ public class ResponseUtil {
     public static LocalDate getDateValue(Node node) {
         String date = getTextValue(node);
         if (date != null) {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            return LocalDate.parse(date, formatter);
+            return DateTimeCodec.parseDate(date);
         }
         return null;
     }
 
     public static LocalDateTime getDateTimeValue(Node node) {
         String date = getTextValue(node);
-        LocalDateTime parsedDate = null;
-
         if (date != null) {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-            try {
-                parsedDate = LocalDateTime.parse(date, formatter);
-            } catch (DateTimeParseException e) {
-                formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
-                parsedDate = LocalDateTime.parse(date, formatter);
-            }
+            return DateTimeCodec.parseDateTime(date);
         }
-        return parsedDate;
+        return null;
     }
 }
\ No newline at end of file
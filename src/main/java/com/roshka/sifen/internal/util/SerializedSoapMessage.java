@@ -0,0 +1,189 @@
+package com.roshka.sifen.internal.util;
+
+import com.roshka.sifen.internal.helpers.SoapHelper;
+
+import javax.xml.soap.*;
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Mensaje SOAP 1.2 cuyo Body ya fue serializado. Se escribe copiando los bytes, sin construir el árbol SAAJ; el árbol
+ * se construye solo si se accede al contenido del mensaje (Ej.: getSOAPPart), y desde entonces se utiliza el mensaje
+ * SAAJ para todas las operaciones.
+ */
+public class SerializedSoapMessage extends SOAPMessage {
+    private static final byte[] XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ENVELOPE_START = ("<env:Envelope xmlns:env=\"" + SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE +
+            "\"><env:Header/><env:Body>").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ENVELOPE_END = "</env:Body></env:Envelope>".getBytes(StandardCharsets.UTF_8);
+
+    private final ByteArrayBuffer body;
+    private final Map<String, Object> properties = new HashMap<>();
+    private SOAPMessage message;
+
+    /**
+     * @param body Contenido del Body del mensaje, en UTF-8. No se copia, por lo que no debe modificarse luego.
+     */
+    public SerializedSoapMessage(ByteArrayBuffer body) {
+        this.body = body;
+    }
+
+    /**
+     * @return true si el mensaje todavía no fue convertido en un árbol SAAJ, por lo que puede escribirse directamente.
+     */
+    public boolean isSerialized() {
+        return message == null;
+    }
+
+    /**
+     * @return El Envelope del mensaje, en UTF-8 y sin declaración XML. Se arma en cada invocación.
+     */
+    public ByteArrayBuffer getEnvelope() {
+        ByteArrayBuffer envelope = new ByteArrayBuffer(ENVELOPE_START.length + body.size() + ENVELOPE_END.length);
+        writeEnvelope(envelope);
+        return envelope;
+    }
+
+    private void writeEnvelope(ByteArrayBuffer out) {
+        out.write(ENVELOPE_START, 0, ENVELOPE_START.length);
+        try {
+            body.writeTo(out);
+        } catch (IOException e) {
+            // ByteArrayBuffer no produce errores de escritura
+            throw new IllegalStateException(e);
+        }
+        out.write(ENVELOPE_END, 0, ENVELOPE_END.length);
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws SOAPException, IOException {
+        Object encoding = properties.get(CHARACTER_SET_ENCODING);
+        if (message != null || (encoding != null && !"UTF-8".equalsIgnoreCase(encoding.toString()))) {
+            getMessage().writeTo(out);
+            return;
+        }
+
+        if ("true".equalsIgnoreCase(String.valueOf(properties.get(WRITE_XML_DECLARATION)))) {
+            out.write(XML_DECLARATION);
+        }
+        out.write(ENVELOPE_START);
+        body.writeTo(out);
+        out.write(ENVELOPE_END);
+    }
+
+    @Override
+    public void setProperty(String property, Object value) throws SOAPException {
+        properties.put(property, value);
+        if (message != null) {
+            message.setProperty(property, value);
+        }
+    }
+
+    @Override
+    public Object getProperty(String property) throws SOAPException {
+        return message != null ? message.getProperty(property) : properties.get(property);
+    }
+
+    private SOAPMessage getMessage() {
+        if (message == null) {
+            try {
+                SOAPMessage parsed = SoapHelper.createSoapMessage();
+                parsed.getSOAPPart().setContent(new StreamSource(getEnvelope().toInputStream()));
+                for (Map.Entry<String, Object> property : properties.entrySet()) {
+                    parsed.setProperty(property.getKey(), property.getValue());
+                }
+                message = parsed;
+            } catch (SOAPException e) {
+                throw new IllegalStateException("No se pudo construir el mensaje SOAP serializado", e);
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public void setContentDescription(String description) {
+        getMessage().setContentDescription(description);
+    }
+
+    @Override
+    public String getContentDescription() {
+        return getMessage().getContentDescription();
+    }
+
+    @Override
+    public SOAPPart getSOAPPart() {
+        return getMessage().getSOAPPart();
+    }
+
+    @Override
+    public SOAPBody getSOAPBody() throws SOAPException {
+        return getMessage().getSOAPBody();
+    }
+
+    @Override
+    public SOAPHeader getSOAPHeader() throws SOAPException {
+        return getMessage().getSOAPHeader();
+    }
+
+    @Override
+    public void removeAllAttachments() {
+        getMessage().removeAllAttachments();
+    }
+
+    @Override
+    public int countAttachments() {
+        return message != null ? message.countAttachments() : 0;
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments() {
+        return getMessage().getAttachments();
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments(MimeHeaders headers) {
+        return getMessage().getAttachments(headers);
+    }
+
+    @Override
+    public void removeAttachments(MimeHeaders headers) {
+        getMessage().removeAttachments(headers);
+    }
+
+    @Override
+    public AttachmentPart getAttachment(SOAPElement element) throws SOAPException {
+        return getMessage().getAttachment(element);
+    }
+
+    @Override
+    public void addAttachmentPart(AttachmentPart attachmentPart) {
+        getMessage().addAttachmentPart(attachmentPart);
+    }
+
+    @Override
+    public AttachmentPart createAttachmentPart() {
+        return getMessage().createAttachmentPart();
+    }
+
+    @Override
+    public MimeHeaders getMimeHeaders() {
+        return getMessage().getMimeHeaders();
+    }
+
+    @Override
+    public void saveChanges() throws SOAPException {
+        if (message != null) {
+            message.saveChanges();
+        }
+    }
+
+    @Override
+    public boolean saveRequired() {
+        return message != null && message.saveRequired();
+    }
+}
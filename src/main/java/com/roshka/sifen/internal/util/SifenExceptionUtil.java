@@ -51,6 +51,13 @@ public class SifenExceptionUtil {
         );
     }
 
+    public static SifenException serviceUnavailable(String message) {
+        return new SifenException(
+                SifenExceptionCodes.SERVICE_UNAVAILABLE_CODE,
+                message
+        );
+    }
+
     public static SifenException unexpectedError(String message, Throwable t) {
         return new SifenException(
                 SifenExceptionCodes.UNEXPECTED_ERROR_CODE,
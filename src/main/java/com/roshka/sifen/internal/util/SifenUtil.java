@@ -1,16 +1,13 @@
 package com.roshka.sifen.internal.util;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -23,8 +20,12 @@ import java.util.zip.ZipOutputStream;
  * Util con propósitos generales.
  */
 public class SifenUtil {
+    private static final DateTimeFormatter ZIP_ENTRY_DATE_FORMATTER = DateTimeFormatter.ofPattern("ddMMyyyy");
+    private static final char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
+    private static final int DIGEST_BUFFER_SIZE = 256;
+    private static final MessageDigest SHA256_PROTOTYPE = newSha256Prototype();
+
     public static String bytesToHex(byte[] bytes) {
-        char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
         char[] hexChars = new char[bytes.length * 2];
         for (int j = 0; j < bytes.length; j++) {
             int v = bytes[j] & 0xFF;
@@ -34,22 +35,129 @@ public class SifenUtil {
         return new String(hexChars);
     }
 
+    /**
+     * Agrega los bytes codificados en hexadecimal (en minúsculas) al destino.
+     *
+     * @param out   Destino de la codificación.
+     * @param bytes Bytes a codificar.
+     * @return El destino recibido.
+     */
+    public static StringBuilder appendHex(StringBuilder out, byte[] bytes) {
+        out.ensureCapacity(out.length() + bytes.length * 2);
+        for (byte b : bytes) {
+            int v = b & 0xFF;
+            out.append(HEX_ARRAY[v >>> 4]).append(HEX_ARRAY[v & 0x0F]);
+        }
+        return out;
+    }
+
+    /**
+     * Codifica en hexadecimal los bytes UTF-8 del texto. Si el texto es ASCII, se codifica sin obtener sus bytes.
+     *
+     * @param string Texto a codificar.
+     * @return Los bytes UTF-8 del texto en hexadecimal.
+     */
+    public static String stringToHex(String string) {
+        int length = string.length();
+        char[] hexChars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c >= 0x80) {
+                return bytesToHex(string.getBytes(StandardCharsets.UTF_8));
+            }
+            hexChars[i * 2] = HEX_ARRAY[c >>> 4];
+            hexChars[i * 2 + 1] = HEX_ARRAY[c & 0x0F];
+        }
+        return new String(hexChars);
+    }
+
     public static String sha256Hex(String input) {
-        try {
-            MessageDigest md5 = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md5.digest(input.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(Integer.toHexString((b & 0xFF) | 0x100), 1, 3);
+        return sha256Hex(input, 0, input.length());
+    }
+
+    /**
+     * Calcula el hash SHA-256 de los bytes UTF-8 de una parte del texto, sin copiarla.
+     *
+     * @param input Texto del que se calcula el hash.
+     * @param start Posición inicial, inclusive.
+     * @param end   Posición final, exclusive.
+     * @return El hash en hexadecimal, o null si SHA-256 no está disponible.
+     */
+    public static String sha256Hex(CharSequence input, int start, int end) {
+        MessageDigest digest = newSha256();
+        if (digest == null) {
+            return null;
+        }
+
+        // Los caracteres ASCII se pasan por un buffer; desde el primer carácter que no lo es, se codifica el resto
+        byte[] buffer = new byte[Math.min(end - start, DIGEST_BUFFER_SIZE)];
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= 0x80) {
+                digest.update(buffer, 0, count);
+                count = 0;
+                digest.update(input.subSequence(i, end).toString().getBytes(StandardCharsets.UTF_8));
+                break;
+            }
+            if (count == buffer.length) {
+                digest.update(buffer, 0, count);
+                count = 0;
+            }
+            buffer[count++] = (byte) c;
+        }
+        digest.update(buffer, 0, count);
+
+        byte[] hash = digest.digest();
+        char[] hexChars = new char[hash.length * 2];
+        for (int j = 0; j < hash.length; j++) {
+            int v = hash[j] & 0xFF;
+            hexChars[j * 2] = HEX_ARRAY[v >>> 4];
+            hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
+        }
+        return new String(hexChars);
+    }
+
+    // Se clona un MessageDigest ya inicializado, que es más barato que obtener uno del proveedor en cada invocación
+    private static MessageDigest newSha256() {
+        if (SHA256_PROTOTYPE != null) {
+            try {
+                return (MessageDigest) SHA256_PROTOTYPE.clone();
+            } catch (CloneNotSupportedException ignored) {
             }
-            return sb.toString();
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             return null;
         }
     }
 
     public static String leftPad(String string, char character, int length) {
-        return String.format("%" + length + "s", string).replace(' ', character);
+        String value = String.valueOf(string);
+        return appendLeftPad(new StringBuilder(Math.max(value.length(), length)), value, character, length).toString();
+    }
+
+    /**
+     * Agrega el texto al destino, completado a la izquierda con el carácter indicado hasta la longitud indicada. Igual
+     * que {@link #leftPad(String, char, int)}, los espacios del texto también se reemplazan por el carácter.
+     *
+     * @param out       Destino del texto.
+     * @param string    Texto a agregar. Si es nulo, se agrega "null".
+     * @param character Carácter de relleno.
+     * @param length    Longitud mínima del texto agregado.
+     * @return El destino recibido.
+     */
+    public static StringBuilder appendLeftPad(StringBuilder out, String string, char character, int length) {
+        String value = String.valueOf(string);
+        for (int i = value.length(); i < length; i++) {
+            out.append(character);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.append(c == ' ' ? character : c);
+        }
+        return out;
     }
 
     public static String generateDv(String ruc) {
@@ -61,7 +169,10 @@ public class SifenUtil {
 
         for (int i = ruc.length() - 1; i >= 0; i--) {
             k = k > baseMax ? 2 : k;
-            int n = Integer.parseInt(ruc.substring(i, i + 1));
+            int n = Character.digit(ruc.charAt(i), 10);
+            if (n < 0) {
+                throw new NumberFormatException("For input string: \"" + ruc.charAt(i) + "\"");
+            }
             total += n * k;
             k++;
         }
@@ -127,27 +238,60 @@ public class SifenUtil {
     }
 
     public static String buildUrlParams(HashMap<String, String> params) {
-        if (params.isEmpty()) return "";
+        return appendUrlParams(new StringBuilder(), params).toString();
+    }
 
-        StringBuilder paramsString = new StringBuilder();
+    /**
+     * Agrega los parámetros al destino, como clave=valor separados por &amp;, en el orden del mapa.
+     *
+     * @param out    Destino de los parámetros.
+     * @param params Parámetros a agregar.
+     * @return El destino recibido.
+     */
+    public static StringBuilder appendUrlParams(StringBuilder out, Map<String, String> params) {
+        boolean first = true;
         for (Map.Entry<String, String> param : params.entrySet()) {
-            paramsString.append(param.getKey()).append("=").append(param.getValue()).append("&");
+            if (!first) {
+                out.append('&');
+            }
+            out.append(param.getKey()).append('=').append(param.getValue());
+            first = false;
         }
-        return paramsString.substring(0, paramsString.length() - 1);
+        return out;
     }
 
+    /**
+     * Comprime el XML en un zip en memoria, con una única entrada nombrada según {@link #getZipEntryName()}.
+     *
+     * @param str XML a comprimir.
+     * @return El zip generado.
+     * @throws IOException Si ocurre un error al comprimir.
+     */
     public static byte[] compressXmlToZip(String str) throws IOException {
-        String fileName = "DE_" + new SimpleDateFormat("ddMMyyyy").format(new Date());
-        File zip = File.createTempFile(fileName, ".zip");
-        ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip.toPath()));
-        ZipEntry entry = new ZipEntry(fileName + ".xml");
-        out.putNextEntry(entry);
+        ByteArrayBuffer zip = new ByteArrayBuffer(str.length() / 4 + 256);
+        try (ZipOutputStream out = new ZipOutputStream(zip)) {
+            out.putNextEntry(new ZipEntry(getZipEntryName()));
+            out.write(str.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return zip.toByteArray();
+    }
 
-        out.write(str.getBytes(StandardCharsets.UTF_8));
-        out.closeEntry();
-        out.close();
+    /**
+     * @return Nombre de la entrada del zip de un lote: DE_ seguido de la fecha actual (ddMMyyyy) y la extensión .xml.
+     */
+    public static String getZipEntryName() {
+        return "DE_" + LocalDate.now().format(ZIP_ENTRY_DATE_FORMATTER) + ".xml";
+    }
 
-        return Files.readAllBytes(Paths.get(zip.getAbsolutePath()));
+    private static MessageDigest newSha256Prototype() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.clone();
+            return digest;
+        } catch (NoSuchAlgorithmException | CloneNotSupportedException e) {
+            return null;
+        }
     }
 
     public static boolean isBlank(String str) {
@@ -0,0 +1,30 @@
+package com.roshka.sifen.internal.util;
+
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
+
+/**
+ * XmlElement que construye el contenido como nodos SAAJ, dentro del mensaje SOAP.
+ */
+class SoapXmlElement implements XmlElement {
+    private final SOAPElement element;
+
+    SoapXmlElement(SOAPElement element) {
+        this.element = element;
+    }
+
+    @Override
+    public XmlElement addChildElement(String localName) throws SOAPException {
+        return new SoapXmlElement(element.addChildElement(localName));
+    }
+
+    @Override
+    public void setTextContent(String text) {
+        element.setTextContent(text);
+    }
+
+    @Override
+    public void setAttribute(String name, String value) {
+        element.setAttribute(name, value);
+    }
+}
@@ -0,0 +1,180 @@
+package com.roshka.sifen.internal.util;
+
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Util encargado de leer XML en forma de stream (StAX), construyendo nodos DOM solo para los elementos necesarios.
+ */
+public class StaxUtil {
+    private static final XMLInputFactory xmlInputFactory;
+    private static final DOMImplementation domImplementation;
+
+    static {
+        xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try {
+            DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+            documentBuilderFactory.setNamespaceAware(true);
+            domImplementation = documentBuilderFactory.newDocumentBuilder().getDOMImplementation();
+        } catch (ParserConfigurationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public static XMLStreamReader createReader(InputStream inputStream) throws XMLStreamException {
+        return xmlInputFactory.createXMLStreamReader(inputStream);
+    }
+
+    public static XMLStreamReader createReader(Reader reader) throws XMLStreamException {
+        return xmlInputFactory.createXMLStreamReader(reader);
+    }
+
+    /**
+     * Avanza el reader hasta el próximo elemento de inicio, sin salir del elemento actual.
+     *
+     * @param reader Reader posicionado dentro de un elemento.
+     * @return true si se encontró un elemento hijo, false si se llegó al fin del elemento actual.
+     * @throws XMLStreamException Si el XML es inválido.
+     */
+    public static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (depth == 0) {
+                    return true;
+                }
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 0) {
+                    return false;
+                }
+                depth--;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Descarta el elemento en el que está posicionado el reader, junto con todo su contenido. Al terminar, el reader
+     * queda posicionado en el fin de dicho elemento.
+     *
+     * @param reader Reader posicionado en un evento START_ELEMENT.
+     * @throws XMLStreamException Si el XML es inválido.
+     */
+    public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Construye un elemento DOM, en un documento nuevo, a partir del elemento en el que está posicionado el reader. Al
+     * terminar, el reader queda posicionado en el fin de dicho elemento. Los espacios en blanco entre elementos se
+     * descartan, igual que al compactar el XML antes de parsearlo.
+     *
+     * @param reader Reader posicionado en un evento START_ELEMENT.
+     * @return El elemento DOM construido.
+     * @throws XMLStreamException Si el XML es inválido.
+     */
+    public static Element readElement(XMLStreamReader reader) throws XMLStreamException {
+        Document document = domImplementation.createDocument(null, null, null);
+        Element root = null;
+        Node current = document;
+        StringBuilder text = new StringBuilder();
+
+        do {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    flushText(document, current, text, false);
+                    Element element = createElement(document, reader);
+                    current.appendChild(element);
+                    if (root == null) {
+                        root = element;
+                    }
+                    current = element;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    text.append(reader.getText());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    flushText(document, current, text, !current.hasChildNodes());
+                    if (current == root) {
+                        return root;
+                    }
+                    current = current.getParentNode();
+                    break;
+            }
+            reader.next();
+        } while (true);
+    }
+
+    private static Element createElement(Document document, XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        String qualifiedName = prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+        String namespaceURI = reader.getNamespaceURI();
+        Element element = document.createElementNS(namespaceURI == null || namespaceURI.isEmpty() ? null : namespaceURI, qualifiedName);
+
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String nsPrefix = reader.getNamespacePrefix(i);
+            String attributeName = nsPrefix == null || nsPrefix.isEmpty() ? "xmlns" : "xmlns:" + nsPrefix;
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attributeName, reader.getNamespaceURI(i));
+        }
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attributePrefix = reader.getAttributePrefix(i);
+            String attributeNamespace = reader.getAttributeNamespace(i);
+            String attributeName = attributePrefix == null || attributePrefix.isEmpty()
+                    ? reader.getAttributeLocalName(i)
+                    : attributePrefix + ":" + reader.getAttributeLocalName(i);
+            element.setAttributeNS(attributeNamespace == null || attributeNamespace.isEmpty() ? null : attributeNamespace,
+                    attributeName, reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static void flushText(Document document, Node parent, StringBuilder text, boolean keepWhitespace) {
+        if (text.length() == 0) {
+            return;
+        }
+        if (keepWhitespace || !isWhitespace(text)) {
+            parent.appendChild(document.createTextNode(text.toString()));
+        }
+        text.setLength(0);
+    }
+
+    private static boolean isWhitespace(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,181 @@
+package com.roshka.sifen.internal.util;
+
+import javax.xml.soap.SOAPException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escritor de XML que genera el documento a medida que se agregan los elementos, sin construir un árbol DOM.
+ * <p>
+ * Todos los elementos del documento comparten el namespace por defecto de la raíz. Cada elemento se cierra al
+ * agregar un hermano o un hijo a alguno de sus ancestros; modificarlo después produce un IllegalStateException.
+ * No es thread-safe.
+ */
+public class StreamingXmlWriter {
+    private static final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+    private final ByteArrayOutputStream outputStream;
+    private final XMLStreamWriter writer;
+    private final String namespaceURI;
+    private final List<Element> openElements = new ArrayList<>();
+    private boolean startTagOpen;
+
+    /**
+     * @param namespaceURI    Namespace por defecto del documento.
+     * @param rootLocalName   Nombre del elemento raíz.
+     * @param initialCapacity Tamaño inicial, en bytes, del buffer de salida.
+     * @throws SOAPException Si no se pudo iniciar la escritura.
+     */
+    public StreamingXmlWriter(String namespaceURI, String rootLocalName, int initialCapacity) throws SOAPException {
+        this.outputStream = new ByteArrayOutputStream(initialCapacity);
+        this.namespaceURI = namespaceURI;
+        try {
+            this.writer = outputFactory.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+            writer.setDefaultNamespace(namespaceURI);
+            writer.writeStartElement("", rootLocalName, namespaceURI);
+            writer.writeDefaultNamespace(namespaceURI);
+        } catch (XMLStreamException e) {
+            throw writeError(e);
+        }
+        this.startTagOpen = true;
+        this.openElements.add(new Element(0));
+    }
+
+    /**
+     * @return El elemento raíz.
+     */
+    public XmlElement getRoot() {
+        return openElements.get(0);
+    }
+
+    /**
+     * Agrega al elemento raíz una declaración de namespace. Debe invocarse antes de agregar hijos o texto a la raíz.
+     *
+     * @param prefix       Prefijo del namespace.
+     * @param namespaceURI URI del namespace.
+     * @throws SOAPException Si la declaración no pudo ser agregada.
+     */
+    public void addNamespaceDeclaration(String prefix, String namespaceURI) throws SOAPException {
+        checkStartTagOpen(openElements.get(0));
+        try {
+            writer.setPrefix(prefix, namespaceURI);
+            writer.writeNamespace(prefix, namespaceURI);
+        } catch (XMLStreamException e) {
+            throw writeError(e);
+        }
+    }
+
+    /**
+     * Agrega al elemento raíz un atributo con namespace, cuyo prefijo ya debe estar declarado. Debe invocarse antes de
+     * agregar hijos o texto a la raíz.
+     *
+     * @param namespaceURI URI del namespace del atributo.
+     * @param localName    Nombre del atributo.
+     * @param value        Valor del atributo.
+     * @throws SOAPException Si el atributo no pudo ser agregado.
+     */
+    public void setRootAttributeNS(String namespaceURI, String localName, String value) throws SOAPException {
+        checkStartTagOpen(openElements.get(0));
+        try {
+            writer.writeAttribute(writer.getPrefix(namespaceURI), namespaceURI, localName, value);
+        } catch (XMLStreamException e) {
+            throw writeError(e);
+        }
+    }
+
+    /**
+     * Cierra todos los elementos abiertos y retorna el documento generado. Luego de invocarse, ya no pueden agregarse
+     * elementos.
+     *
+     * @return El XML generado, en UTF-8 y sin declaración XML.
+     * @throws SOAPException Si el documento no pudo ser terminado.
+     */
+    public byte[] toByteArray() throws SOAPException {
+        try {
+            closeAbove(-1);
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw writeError(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    // Cierra los elementos descendientes del nivel indicado, que ya no pueden recibir contenido
+    private void closeAbove(int depth) throws XMLStreamException {
+        while (openElements.size() > depth + 1) {
+            openElements.remove(openElements.size() - 1);
+            writer.writeEndElement();
+            startTagOpen = false;
+        }
+    }
+
+    private void checkOpen(Element element) {
+        if (element.depth >= openElements.size() || openElements.get(element.depth) != element) {
+            throw new IllegalStateException("El elemento ya fue cerrado; los hijos deben agregarse en el orden del documento.");
+        }
+    }
+
+    private void checkStartTagOpen(Element element) {
+        checkOpen(element);
+        if (!startTagOpen || openElements.size() != element.depth + 1) {
+            throw new IllegalStateException("Los atributos deben agregarse antes que los hijos y el texto del elemento.");
+        }
+    }
+
+    private static SOAPException writeError(XMLStreamException e) {
+        return new SOAPException("Ocurrió un error al escribir el XML: " + e.getLocalizedMessage(), e);
+    }
+
+    private class Element implements XmlElement {
+        private final int depth;
+
+        private Element(int depth) {
+            this.depth = depth;
+        }
+
+        @Override
+        public XmlElement addChildElement(String localName) throws SOAPException {
+            checkOpen(this);
+            Element child = new Element(depth + 1);
+            try {
+                closeAbove(depth);
+                writer.writeStartElement("", localName, namespaceURI);
+            } catch (XMLStreamException e) {
+                throw writeError(e);
+            }
+            openElements.add(child);
+            startTagOpen = true;
+            return child;
+        }
+
+        @Override
+        public void setTextContent(String text) throws SOAPException {
+            checkOpen(this);
+            try {
+                closeAbove(depth);
+                if (text != null) {
+                    writer.writeCharacters(text);
+                }
+            } catch (XMLStreamException e) {
+                throw writeError(e);
+            }
+            startTagOpen = false;
+        }
+
+        @Override
+        public void setAttribute(String name, String value) throws SOAPException {
+            checkStartTagOpen(this);
+            try {
+                writer.writeAttribute(name, value);
+            } catch (XMLStreamException e) {
+                throw writeError(e);
+            }
+        }
+    }
+}
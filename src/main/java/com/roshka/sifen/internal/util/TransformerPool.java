@@ -0,0 +1,81 @@
+package com.roshka.sifen.internal.util;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de Transformers identidad, utilizados para serializar nodos DOM. Igual que en {@link DocumentBuilderPool}, el
+ * {@link TransformerFactory} se obtiene una sola vez y cada hilo toma un Transformer del pool y lo devuelve al
+ * terminar, ya restablecido a su configuración inicial.
+ */
+public class TransformerPool {
+    private static final int MAX_IDLE = 32;
+
+    private static final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private static final ConcurrentLinkedQueue<Transformer> idle = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * Serializa el origen en el resultado, incluyendo la declaración XML.
+     *
+     * @param source Origen a serializar.
+     * @param result Destino de la serialización.
+     * @throws TransformerException Si ocurre un error al serializar.
+     */
+    public static void transform(Source source, Result result) throws TransformerException {
+        transform(source, result, false);
+    }
+
+    /**
+     * Serializa el origen en el resultado, sin la declaración XML. Se utiliza para serializar fragmentos que luego se
+     * insertan en otro documento.
+     *
+     * @param source Origen a serializar.
+     * @param result Destino de la serialización.
+     * @throws TransformerException Si ocurre un error al serializar.
+     */
+    public static void transformFragment(Source source, Result result) throws TransformerException {
+        transform(source, result, true);
+    }
+
+    private static void transform(Source source, Result result, boolean omitXmlDeclaration) throws TransformerException {
+        Transformer transformer = acquire();
+        try {
+            if (omitXmlDeclaration) {
+                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            }
+            transformer.transform(source, result);
+        } finally {
+            release(transformer);
+        }
+    }
+
+    private static Transformer acquire() throws TransformerConfigurationException {
+        Transformer transformer = idle.poll();
+        if (transformer != null) {
+            idleCount.decrementAndGet();
+            return transformer;
+        }
+        synchronized (transformerFactory) {
+            // TransformerFactory no es thread-safe
+            return transformerFactory.newTransformer();
+        }
+    }
+
+    private static void release(Transformer transformer) {
+        // Restablece las propiedades de salida y los parámetros modificados durante el uso
+        transformer.reset();
+        if (idleCount.incrementAndGet() <= MAX_IDLE) {
+            idle.offer(transformer);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+}
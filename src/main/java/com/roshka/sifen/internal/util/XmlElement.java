@@ -0,0 +1,47 @@
+package com.roshka.sifen.internal.util;
+
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
+
+/**
+ * Elemento XML en construcción, utilizado por las clases de campos del DE para generar su contenido sin depender de
+ * la forma en la que se escribe el XML.
+ * <p>
+ * Los hijos se agregan en el orden del documento: una vez que se agrega un hijo a un elemento, los hijos agregados
+ * anteriormente a ese elemento ya no pueden modificarse.
+ */
+public interface XmlElement {
+    /**
+     * Agrega un elemento hijo, en el mismo namespace que este elemento.
+     *
+     * @param localName Nombre del elemento.
+     * @return El elemento agregado.
+     * @throws SOAPException Si el elemento no pudo ser agregado.
+     */
+    XmlElement addChildElement(String localName) throws SOAPException;
+
+    /**
+     * Establece el texto del elemento. Si es nulo, el elemento queda vacío.
+     *
+     * @param text Texto del elemento.
+     * @throws SOAPException Si el texto no pudo ser agregado.
+     */
+    void setTextContent(String text) throws SOAPException;
+
+    /**
+     * Agrega un atributo, sin namespace, al elemento. Debe invocarse antes de agregar hijos o texto.
+     *
+     * @param name  Nombre del atributo.
+     * @param value Valor del atributo.
+     * @throws SOAPException Si el atributo no pudo ser agregado.
+     */
+    void setAttribute(String name, String value) throws SOAPException;
+
+    /**
+     * @param element Elemento SAAJ a ser utilizado.
+     * @return Un XmlElement que agrega los hijos directamente al elemento SAAJ.
+     */
+    static XmlElement of(SOAPElement element) {
+        return new SoapXmlElement(element);
+    }
+}
@@ -0,0 +1,107 @@
+package com.roshka.sifen.internal.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Stream que comprime lo que se escribe en un zip de una sola entrada y escribe el zip codificado en Base64 en el
+ * stream de salida, a medida que se genera. No se utilizan archivos temporales ni se guarda una copia del zip.
+ * <p>
+ * Al cerrarse termina el zip y el Base64, pero no cierra el stream de salida.
+ */
+public class ZipBase64OutputStream extends OutputStream {
+    private final ZipOutputStream zipOutputStream;
+    private final OutputStream input;
+    private boolean closed;
+
+    /**
+     * @param out              Stream en el que se escribe el zip codificado en Base64.
+     * @param entryName        Nombre de la entrada del zip.
+     * @param compressionLevel Nivel de compresión, de 0 a 9, o -1 para el nivel por defecto.
+     * @param contentCopy      Stream en el que se copia el contenido sin comprimir. Puede ser nulo.
+     * @param zipCopy          Stream en el que se copia el zip sin codificar. Puede ser nulo.
+     * @throws IOException Si no se pudo iniciar la entrada del zip.
+     */
+    public ZipBase64OutputStream(OutputStream out, String entryName, int compressionLevel, OutputStream contentCopy,
+                                 OutputStream zipCopy) throws IOException {
+        OutputStream base64OutputStream = Base64.getEncoder().wrap(new NonClosingOutputStream(out));
+        this.zipOutputStream = new ZipOutputStream(zipCopy == null ? base64OutputStream : new TeeOutputStream(base64OutputStream, zipCopy));
+        this.zipOutputStream.setLevel(compressionLevel);
+        this.zipOutputStream.putNextEntry(new ZipEntry(entryName));
+        this.input = contentCopy == null ? zipOutputStream : new TeeOutputStream(zipOutputStream, contentCopy);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        input.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        input.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        zipOutputStream.closeEntry();
+        // Cierra el encoder Base64, que escribe el relleno final; el stream de salida queda abierto
+        zipOutputStream.close();
+    }
+
+    private static class NonClosingOutputStream extends OutputStream {
+        private final OutputStream out;
+
+        private NonClosingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // Escribe en el stream principal y en la copia; al cerrarse solo cierra el principal
+    private static class TeeOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final OutputStream copy;
+
+        private TeeOutputStream(OutputStream out, OutputStream copy) {
+            this.out = out;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.roshka.sifen.test.de;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Mediciones de tiempo y memoria asignada compartidas por las pruebas de rendimiento. Las mediciones no se ejecutan con
+ * las pruebas unitarias: se omiten salvo que se defina la propiedad {@value #PROPERTY}, lo que hace la tarea
+ * {@code gradle benchmark}.
+ */
+public final class Benchmark {
+    public static final String PROPERTY = "sifen.benchmarks";
+
+    private Benchmark() {
+    }
+
+    /**
+     * Omite la prueba actual si las mediciones no están habilitadas.
+     */
+    public static void assumeEnabled() {
+        Assume.assumeTrue("Mediciones deshabilitadas, se habilitan con -D" + PROPERTY + "=true", Boolean.getBoolean(PROPERTY));
+    }
+
+    /**
+     * Ejecuta la operación warmup veces sin medirla, y luego rounds veces midiendo cada ejecución.
+     *
+     * @param warmup    Cantidad de ejecuciones de calentamiento.
+     * @param rounds    Cantidad de ejecuciones medidas.
+     * @param operation Operación a medir.
+     * @return La mediana del tiempo y de la memoria asignada por ejecución.
+     * @throws Exception Si falla la operación.
+     */
+    public static Result measure(int warmup, int rounds, Operation operation) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("La JVM no informa la memoria asignada por hilo", threadMXBean.isThreadAllocatedMemorySupported());
+
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long[] bytes = new long[rounds], nanos = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            operation.run();
+            nanos[round] = System.nanoTime() - start;
+            bytes[round] = threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+        }
+        return new Result(median(bytes), median(nanos));
+    }
+
+    public static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    public static class Result {
+        private final long bytes;
+        private final long nanos;
+
+        private Result(long bytes, long nanos) {
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return nanos / 1000 + " µs, " + bytes / 1024 + " KiB";
+        }
+    }
+}
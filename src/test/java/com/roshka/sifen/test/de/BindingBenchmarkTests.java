@@ -0,0 +1,79 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaDE;
+import com.roshka.sifen.internal.Constants;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.DocumentBuilderPool;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import java.io.StringReader;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Binding de una respuesta de consulta de DE que contiene un DE completo, y parseo del XML de un DE: se verifica el
+ * resultado y se informan el tiempo y las asignaciones de memoria por operación.
+ */
+public class BindingBenchmarkTests {
+    private final static Logger logger = Logger.getLogger(BindingBenchmarkTests.class.toString());
+    private static final int WARMUP = 300;
+    private static final int ROUNDS = 300;
+
+    private static DocumentoElectronico de;
+    private static Node response;
+    private static String rDE;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        String certificate = BindingBenchmarkTests.class.getClassLoader().getResource("tests/certificados/prueba.p12").getPath();
+        SifenConfig sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+
+        de = DocumentoElectronicoFixtures.createDE(1);
+        String xml = de.generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+        rDE = xml.substring(xml.indexOf("<rDE"), xml.indexOf("</rDE>") + "</rDE>".length());
+
+        String consulta = "<rEnviConsDeResponse xmlns=\"" + Constants.SIFEN_NS_URI + "\"><dCodRes>0422</dCodRes>" +
+                "<dMsgRes>CDC encontrado</dMsgRes><xContenDE>" + rDE + "<dProtAut>1234567890</dProtAut></xContenDE>" +
+                "</rEnviConsDeResponse>";
+        response = DocumentBuilderPool.parse(new InputSource(new StringReader(consulta))).getDocumentElement();
+    }
+
+    @Test
+    public void testBindingRespuestaConsultaDE() throws Exception {
+        RespuestaConsultaDE respuesta = SifenObjectFactory.getFromNode(response, RespuestaConsultaDE.class);
+
+        assertEquals("0422", respuesta.getdCodRes());
+        assertEquals("1234567890", respuesta.getxContenDE().getdProtAut());
+
+        DocumentoElectronico bound = respuesta.getxContenDE().getDE();
+        assertEquals(de.getId(), bound.getId());
+        assertEquals(de.getgDtipDE().getgCamItemList().size(), bound.getgDtipDE().getgCamItemList().size());
+        assertNotNull(bound.getEnlaceQR());
+    }
+
+    @Test
+    public void testTiempoPorBinding() throws Exception {
+        Benchmark.assumeEnabled();
+        measure("Binding de RespuestaConsultaDE", () -> SifenObjectFactory.getFromNode(response, RespuestaConsultaDE.class));
+    }
+
+    @Test
+    public void testTiempoPorParseoDE() throws Exception {
+        assertEquals(de.getId(), new DocumentoElectronico(rDE).getId());
+        Benchmark.assumeEnabled();
+        measure("Parseo del XML de un DE", () -> new DocumentoElectronico(rDE));
+    }
+
+    private static void measure(String description, Benchmark.Operation operation) throws Exception {
+        logger.info(description + " con " + de.getgDtipDE().getgCamItemList().size() + " ítems: " +
+                Benchmark.measure(WARMUP, ROUNDS, operation) + " por operación");
+    }
+}
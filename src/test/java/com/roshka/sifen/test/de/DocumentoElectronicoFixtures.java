@@ -0,0 +1,123 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.*;
+import com.roshka.sifen.core.types.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * DE de prueba armados en memoria, sin archivos ni conexión a Sifen, compartidos por los tests.
+ */
+public class DocumentoElectronicoFixtures {
+
+    private DocumentoElectronicoFixtures() {
+    }
+
+    /**
+     * Factura electrónica en guaraníes con 20 ítems de servicio gravados al 10%, con fechas fijas.
+     *
+     * @param number Número del documento (dNumDoc).
+     * @return El DE, sin generar ni firmar.
+     */
+    public static DocumentoElectronico createDE(int number) {
+        LocalDateTime date = LocalDateTime.of(2026, 1, 1, 10, 0, 0);
+
+        DocumentoElectronico de = new DocumentoElectronico();
+        de.setdFecFirma(date);
+        de.setdSisFact((short) 1);
+
+        TgOpeDE gOpeDE = new TgOpeDE();
+        gOpeDE.setiTipEmi(TTipEmi.NORMAL);
+        de.setgOpeDE(gOpeDE);
+
+        TgTimb gTimb = new TgTimb();
+        gTimb.setiTiDE(TTiDE.FACTURA_ELECTRONICA);
+        gTimb.setdNumTim(12557662);
+        gTimb.setdEst("001");
+        gTimb.setdPunExp("002");
+        gTimb.setdNumDoc(String.format("%07d", number));
+        gTimb.setdFeIniT(LocalDate.parse("2019-07-31"));
+        de.setgTimb(gTimb);
+
+        TdDatGralOpe gDatGralOpe = new TdDatGralOpe();
+        gDatGralOpe.setdFeEmiDE(date);
+
+        TgOpeCom gOpeCom = new TgOpeCom();
+        gOpeCom.setiTipTra(TTipTra.PRESTACION_SERVICIOS);
+        gOpeCom.setiTImp(TTImp.IVA);
+        gOpeCom.setcMoneOpe(CMondT.PYG);
+        gDatGralOpe.setgOpeCom(gOpeCom);
+
+        TgEmis gEmis = new TgEmis();
+        gEmis.setdRucEm("80080553");
+        gEmis.setdDVEmi("4");
+        gEmis.setiTipCont(TiTipCont.PERSONA_JURIDICA);
+        gEmis.setdNomEmi("de generado en ambiente de prueba - sin valor comercial ni fiscal");
+        gEmis.setdDirEmi("Mayor Bullo");
+        gEmis.setdNumCas("670");
+        gEmis.setcDepEmi(TDepartamento.CAPITAL);
+        gEmis.setcCiuEmi(1);
+        gEmis.setdDesCiuEmi("ASUNCION (DISTRITO)");
+        gEmis.setdTelEmi("212376717");
+        gEmis.setdEmailE("prueba@roshka.com");
+        TgActEco gActEco = new TgActEco();
+        gActEco.setcActEco("62090");
+        gActEco.setdDesActEco("OTRAS ACTIVIDADES de TECNOLOGÍA de LA INFORMACIÓN Y SERVICIOS INFORMÁTICOS");
+        gEmis.setgActEcoList(new ArrayList<>(Collections.singletonList(gActEco)));
+        gDatGralOpe.setgEmis(gEmis);
+
+        TgDatRec gDatRec = new TgDatRec();
+        gDatRec.setiNatRec(TiNatRec.NO_CONTRIBUYENTE);
+        gDatRec.setiTiOpe(TiTiOpe.B2C);
+        gDatRec.setcPaisRec(PaisType.PRY);
+        gDatRec.setiTipIDRec(TiTipDocRec.CEDULA_PARAGUAYA);
+        gDatRec.setdNumIDRec("4579993");
+        gDatRec.setdNomRec("Receptor de prueba");
+        gDatGralOpe.setgDatRec(gDatRec);
+        de.setgDatGralOpe(gDatGralOpe);
+
+        TgDtipDE gDtipDE = new TgDtipDE();
+        TgCamFE gCamFE = new TgCamFE();
+        gCamFE.setiIndPres(TiIndPres.OPERACION_ELECTRONICA);
+        gDtipDE.setgCamFE(gCamFE);
+
+        TgCamCond gCamCond = new TgCamCond();
+        gCamCond.setiCondOpe(TiCondOpe.CONTADO);
+        TgPaConEIni gPaConEIni = new TgPaConEIni();
+        gPaConEIni.setiTiPago(TiTiPago.EFECTIVO);
+        gPaConEIni.setdMonTiPag(BigDecimal.valueOf(110000));
+        gPaConEIni.setcMoneTiPag(CMondT.PYG);
+        gCamCond.setgPaConEIniList(new ArrayList<>(Collections.singletonList(gPaConEIni)));
+        gDtipDE.setgCamCond(gCamCond);
+
+        gDtipDE.setgCamItemList(new ArrayList<>());
+        for (int i = 0; i < 20; i++) {
+            TgCamItem gCamItem = new TgCamItem();
+            gCamItem.setdCodInt(String.format("%03d", i));
+            gCamItem.setdDesProSer("Servicio " + i);
+            gCamItem.setcUniMed(TcUniMed.UNI);
+            gCamItem.setdCantProSer(BigDecimal.ONE);
+
+            TgValorItem gValorItem = new TgValorItem();
+            gValorItem.setdPUniProSer(BigDecimal.valueOf(5500));
+            gValorItem.setgValorRestaItem(new TgValorRestaItem());
+            gCamItem.setgValorItem(gValorItem);
+
+            TgCamIVA gCamIVA = new TgCamIVA();
+            gCamIVA.setiAfecIVA(TiAfecIVA.GRAVADO);
+            gCamIVA.setdPropIVA(BigDecimal.valueOf(100));
+            gCamIVA.setdTasaIVA(BigDecimal.valueOf(10));
+            gCamItem.setgCamIVA(gCamIVA);
+
+            gDtipDE.getgCamItemList().add(gCamItem);
+        }
+        de.setgDtipDE(gDtipDE);
+        de.setgTotSub(new TgTotSub());
+        return de;
+    }
+}
@@ -0,0 +1,107 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.capture.WireCapture;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.helpers.ResilienceHelper;
+import com.roshka.sifen.internal.helpers.WireCaptureHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifica que la preparación en paralelo de los DE de un lote genere exactamente el mismo xDE que la secuencial. El
+ * lote se envía a un puerto local cerrado, y el mensaje enviado se obtiene de la captura.
+ */
+public class LoteParaleloTests {
+    private static final int DE_POR_LOTE = 8;
+
+    private final List<WireCapture> captures = new CopyOnWriteArrayList<>();
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setup() {
+        String certificate = getClass().getClassLoader().getResource("tests/certificados/prueba.p12").getPath();
+        sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        sifenConfig.setUrlBase("https://127.0.0.1:1");
+        sifenConfig.setReintentosMax(0);
+        sifenConfig.setCapturaHabilitada(true);
+        sifenConfig.setCapturaSink(captures::add);
+        ResilienceHelper.reset();
+    }
+
+    @Test
+    public void testMismoXDESecuencialYParalelo() throws Exception {
+        sifenConfig.setLoteParalelo(false);
+        byte[] secuencial = enviarLote();
+        sifenConfig.setLoteParalelo(true);
+        byte[] paralelo = enviarLote();
+
+        String xml = new String(secuencial, StandardCharsets.UTF_8);
+        assertEquals(DE_POR_LOTE, xml.split("<rDE ", -1).length - 1);
+        assertEquals(xml, new String(paralelo, StandardCharsets.UTF_8));
+    }
+
+    // Envía el lote y retorna el XML descomprimido del xDE de la petición capturada
+    private byte[] enviarLote() throws Exception {
+        List<DocumentoElectronico> deList = new ArrayList<>();
+        for (int i = 1; i <= DE_POR_LOTE; i++) {
+            DocumentoElectronico de = DocumentoElectronicoFixtures.createDE(i);
+            de.getgOpeDE().setdCodSeg(String.format("%09d", 100000000 + i));
+            deList.add(de);
+        }
+
+        captures.clear();
+        try {
+            Sifen.recepcionLoteDE(deList, sifenConfig);
+            fail("Se esperaba un error de conexión");
+        } catch (SifenException ignored) {
+        }
+        WireCaptureHelper.shutdown(5000);
+
+        WireCapture request = null;
+        for (WireCapture capture : captures) {
+            if (capture.getTipo() == WireCapture.Tipo.SOAP_REQUEST) {
+                request = capture;
+            }
+        }
+        assertNotNull("No se capturó la petición", request);
+
+        String body = new String(request.getData(), StandardCharsets.UTF_8);
+        String xDE = body.substring(body.indexOf("<xDE>") + "<xDE>".length(), body.indexOf("</xDE>"));
+        return unzip(Base64.getDecoder().decode(xDE));
+    }
+
+    private static byte[] unzip(byte[] zip) throws IOException {
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            assertNotNull(zipInputStream.getNextEntry());
+            return readAll(zipInputStream);
+        }
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,34 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.fields.request.de.TablaItems;
+import com.roshka.sifen.core.fields.request.de.TgCamItem;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Informa la memoria asignada por ítem al cargar los ítems de un DE en gCamItemList y en una TablaItems.
+ */
+public class TablaItemsBenchmarkTests {
+    private final static Logger logger = Logger.getLogger(TablaItemsBenchmarkTests.class.toString());
+    private static final int ITEMS = 5000;
+    private static final int WARMUP = 2;
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void testMemoriaPorItem() throws Exception {
+        Benchmark.assumeEnabled();
+        List<TgCamItem> lista = TablaItemsTests.createItems(ITEMS, false);
+        assertEquals(ITEMS, TablaItemsTests.toTablaItems(lista).getCantidadItems());
+
+        Benchmark.Result listaResult = Benchmark.measure(WARMUP, ROUNDS, () -> TablaItemsTests.createItems(ITEMS, false));
+        // Los valores de la lista se descartan luego de cargarlos en la tabla
+        Benchmark.Result tablaResult = Benchmark.measure(WARMUP, ROUNDS, () -> TablaItemsTests.toTablaItems(lista));
+
+        logger.info(ITEMS + " ítems: gCamItemList " + listaResult.getBytes() / ITEMS + " bytes por ítem, TablaItems " +
+                tablaResult.getBytes() / ITEMS + " bytes por ítem");
+    }
+}
@@ -0,0 +1,191 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.*;
+import com.roshka.sifen.core.types.CMondT;
+import com.roshka.sifen.core.types.TcUniMed;
+import com.roshka.sifen.core.types.TdCondTiCam;
+import com.roshka.sifen.core.types.TiAfecIVA;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.ResponseUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compara los ítems cargados en gCamItemList y en una TablaItems: el XML y los totales deben ser idénticos.
+ */
+public class TablaItemsTests {
+    private static final int ITEMS = 300;
+
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setup() {
+        String certificate = getClass().getClassLoader().getResource("tests/certificados/prueba.p12").getPath();
+        sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+    }
+
+    @Test
+    public void testMismoXmlYTotalesEnGuaranies() throws Exception {
+        assertMismoXmlYTotales(DocumentoElectronicoFixtures.createDE(1), false);
+    }
+
+    @Test
+    public void testMismoXmlYTotalesEnDolaresConCambioPorItem() throws Exception {
+        DocumentoElectronico de = DocumentoElectronicoFixtures.createDE(1);
+        TgOpeCom gOpeCom = de.getgDatGralOpe().getgOpeCom();
+        gOpeCom.setcMoneOpe(CMondT.USD);
+        gOpeCom.setdCondTiCam(TdCondTiCam.POR_ITEM);
+        assertMismoXmlYTotales(de, true);
+    }
+
+    @Test
+    public void testTablaCrece() {
+        TablaItems tablaItems = new TablaItems(1);
+        for (int i = 0; i < 100; i++) {
+            tablaItems.nuevoItem()
+                    .setdCodInt(String.valueOf(i))
+                    .setdDesProSer("Servicio")
+                    .setcUniMed(TcUniMed.UNI)
+                    .setdCantProSer(BigDecimal.valueOf(i, 2))
+                    .setdPUniProSer(new BigDecimal("123456789012345678901234.5"))
+                    .agregar();
+        }
+        assertEquals(100, tablaItems.getCantidadItems());
+        TgCamItem gCamItem = tablaItems.getItem(99);
+        assertEquals("99", gCamItem.getdCodInt());
+        assertEquals(new BigDecimal("0.99"), gCamItem.getdCantProSer());
+        assertEquals(new BigDecimal("123456789012345678901234.5"), gCamItem.getgValorItem().getdPUniProSer());
+        assertEquals(BigDecimal.ZERO, gCamItem.getgValorItem().getgValorRestaItem().getdDescItem());
+        assertEquals(null, gCamItem.getgCamIVA());
+    }
+
+    private void assertMismoXmlYTotales(DocumentoElectronico de, boolean cambioPorItem) throws Exception {
+        List<TgCamItem> items = createItems(ITEMS, cambioPorItem);
+        TgDtipDE gDtipDE = de.getgDtipDE();
+
+        gDtipDE.setgCamItemList(copyItems(items));
+        gDtipDE.setTablaItems(null);
+        String xmlLista = generate(de);
+        String totalesLista = totales(de.getgTotSub());
+
+        gDtipDE.setgCamItemList(null);
+        gDtipDE.setTablaItems(toTablaItems(items));
+        assertEquals(ITEMS, gDtipDE.getCantidadItems());
+        assertEquals(xmlLista, generate(de));
+        assertEquals(totalesLista, totales(de.getgTotSub()));
+
+        // Parte de los ítems en la lista y el resto en la tabla
+        gDtipDE.setgCamItemList(copyItems(items.subList(0, ITEMS / 3)));
+        gDtipDE.setTablaItems(toTablaItems(items.subList(ITEMS / 3, ITEMS)));
+        assertEquals(ITEMS, gDtipDE.getCantidadItems());
+        assertEquals(xmlLista, generate(de));
+        assertEquals(totalesLista, totales(de.getgTotSub()));
+    }
+
+    private String generate(DocumentoElectronico de) throws Exception {
+        return ResponseUtil.getXmlFromMessage(de.setupSOAPElements(GenerationCtx.getDefaultFromConfig(sifenConfig), 1, sifenConfig), true);
+    }
+
+    private static String totales(TgTotSub gTotSub) {
+        return gTotSub.getdSub10() + " " + gTotSub.getdSub5() + " " + gTotSub.getdSubExe() + " " + gTotSub.getdSubExo() +
+                " " + gTotSub.getdTotOpe() + " " + gTotSub.getdTotDesc() + " " + gTotSub.getdTotDescGlotem() + " " +
+                gTotSub.getdTotAntItem() + " " + gTotSub.getdTotAnt() + " " + gTotSub.getdIVA10() + " " +
+                gTotSub.getdIVA5() + " " + gTotSub.getdBaseGrav10() + " " + gTotSub.getdBaseGrav5() + " " +
+                gTotSub.getdTotalGs();
+    }
+
+    static List<TgCamItem> createItems(int count, boolean cambioPorItem) {
+        Random random = new Random(count);
+        TcUniMed[] unidades = {TcUniMed.UNI, TcUniMed.LT, TcUniMed.M3};
+        List<TgCamItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TgCamItem gCamItem = new TgCamItem();
+            gCamItem.setdCodInt(String.format("%05d", i));
+            gCamItem.setdDesProSer("Servicio " + (i % 7));
+            gCamItem.setcUniMed(unidades[i % unidades.length]);
+            gCamItem.setdCantProSer(BigDecimal.valueOf(1 + random.nextInt(5000), random.nextInt(3)));
+            if (i % 11 == 0)
+                gCamItem.setdInfItem("Información adicional");
+
+            BigDecimal dPUniProSer = BigDecimal.valueOf(1000 + random.nextInt(200000), cambioPorItem ? 2 : 0);
+            TgValorRestaItem gValorRestaItem = new TgValorRestaItem();
+            if (i % 3 == 0)
+                gValorRestaItem.setdDescItem(dPUniProSer.divide(BigDecimal.TEN, 0, RoundingMode.DOWN));
+
+            TgValorItem gValorItem = new TgValorItem();
+            gValorItem.setdPUniProSer(dPUniProSer);
+            if (cambioPorItem)
+                gValorItem.setdTiCamIt(BigDecimal.valueOf(7000 + random.nextInt(500)));
+            gValorItem.setgValorRestaItem(gValorRestaItem);
+            gCamItem.setgValorItem(gValorItem);
+
+            TgCamIVA gCamIVA = new TgCamIVA();
+            int tipo = random.nextInt(4);
+            gCamIVA.setiAfecIVA(tipo == 3 ? TiAfecIVA.EXENTO : TiAfecIVA.GRAVADO);
+            gCamIVA.setdPropIVA(tipo == 3 ? BigDecimal.ZERO : BigDecimal.valueOf(100));
+            gCamIVA.setdTasaIVA(tipo == 3 ? BigDecimal.ZERO : BigDecimal.valueOf(tipo == 2 ? 5 : 10));
+            gCamItem.setgCamIVA(gCamIVA);
+            items.add(gCamItem);
+        }
+        return items;
+    }
+
+    // Copia los campos cargados, sin los importes calculados en una generación anterior
+    private static List<TgCamItem> copyItems(List<TgCamItem> items) {
+        List<TgCamItem> copy = new ArrayList<>(items.size());
+        for (TgCamItem item : items) {
+            TgCamItem gCamItem = new TgCamItem();
+            gCamItem.setdCodInt(item.getdCodInt());
+            gCamItem.setdDesProSer(item.getdDesProSer());
+            gCamItem.setcUniMed(item.getcUniMed());
+            gCamItem.setdCantProSer(item.getdCantProSer());
+            gCamItem.setdInfItem(item.getdInfItem());
+
+            TgValorRestaItem gValorRestaItem = new TgValorRestaItem();
+            gValorRestaItem.setdDescItem(item.getgValorItem().getgValorRestaItem().getdDescItem());
+            TgValorItem gValorItem = new TgValorItem();
+            gValorItem.setdPUniProSer(item.getgValorItem().getdPUniProSer());
+            gValorItem.setdTiCamIt(item.getgValorItem().getdTiCamIt());
+            gValorItem.setgValorRestaItem(gValorRestaItem);
+            gCamItem.setgValorItem(gValorItem);
+
+            TgCamIVA gCamIVA = new TgCamIVA();
+            gCamIVA.setiAfecIVA(item.getgCamIVA().getiAfecIVA());
+            gCamIVA.setdPropIVA(item.getgCamIVA().getdPropIVA());
+            gCamIVA.setdTasaIVA(item.getgCamIVA().getdTasaIVA());
+            gCamItem.setgCamIVA(gCamIVA);
+            copy.add(gCamItem);
+        }
+        return copy;
+    }
+
+    static TablaItems toTablaItems(List<TgCamItem> items) {
+        TablaItems tablaItems = new TablaItems(items.size());
+        for (TgCamItem item : items) {
+            tablaItems.nuevoItem()
+                    .setdCodInt(item.getdCodInt())
+                    .setdDesProSer(item.getdDesProSer())
+                    .setcUniMed(item.getcUniMed())
+                    .setdCantProSer(item.getdCantProSer())
+                    .setdInfItem(item.getdInfItem())
+                    .setdPUniProSer(item.getgValorItem().getdPUniProSer())
+                    .setdTiCamIt(item.getgValorItem().getdTiCamIt())
+                    .setdDescItem(item.getgValorItem().getgValorRestaItem().getdDescItem())
+                    .setiAfecIVA(item.getgCamIVA().getiAfecIVA())
+                    .setdPropIVA(item.getgCamIVA().getdPropIVA())
+                    .setdTasaIVA(item.getgCamIVA().getdTasaIVA())
+                    .agregar();
+        }
+        return tablaItems;
+    }
+}
@@ -0,0 +1,83 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.ResponseUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.xml.soap.SOAPMessage;
+import java.io.OutputStream;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compara la generación del XML de los DE con nodos SAAJ y con el escritor de XML: el resultado debe ser idéntico, y
+ * se informan las asignaciones de memoria y el tiempo por DE de cada una, hasta la escritura de la petición.
+ */
+public class XmlGenerationBenchmarkTests {
+    private final static Logger logger = Logger.getLogger(XmlGenerationBenchmarkTests.class.toString());
+    private static final int[] ITEMS = {1, 20, 100};
+    private static final int WARMUP = 30;
+    private static final int ROUNDS = 15;
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private SifenConfig saajConfig;
+    private SifenConfig streamingConfig;
+
+    @Before
+    public void setup() {
+        String certificate = getClass().getClassLoader().getResource("tests/certificados/prueba.p12").getPath();
+        saajConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        streamingConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        streamingConfig.setGeneracionXmlStreaming(true);
+    }
+
+    @Test
+    public void testMismoXmlConAmbasGeneraciones() throws Exception {
+        for (int items : ITEMS) {
+            DocumentoElectronico de = createDE(items);
+            assertEquals("XML distinto con " + items + " ítems", generate(de, saajConfig), generate(de, streamingConfig));
+        }
+    }
+
+    @Test
+    public void testAsignacionesPorDE() throws Exception {
+        Benchmark.assumeEnabled();
+        for (int items : ITEMS) {
+            DocumentoElectronico de = createDE(items);
+            Benchmark.Result saaj = Benchmark.measure(WARMUP, ROUNDS, () -> prepare(de, saajConfig));
+            Benchmark.Result streaming = Benchmark.measure(WARMUP, ROUNDS, () -> prepare(de, streamingConfig));
+            logger.info(items + " ítems: SAAJ " + saaj + " por DE; streaming " + streaming + " por DE");
+        }
+    }
+
+    // Preparación y escritura de la petición de recepción, incluida la firma, tal como la realiza ReqRecDe
+    private static void prepare(DocumentoElectronico de, SifenConfig sifenConfig) throws Exception {
+        SOAPMessage message = de.setupSOAPElements(GenerationCtx.getDefaultFromConfig(sifenConfig), 1, sifenConfig);
+        message.writeTo(DISCARD);
+    }
+
+    private static String generate(DocumentoElectronico de, SifenConfig sifenConfig) throws Exception {
+        return ResponseUtil.getXmlFromMessage(de.setupSOAPElements(GenerationCtx.getDefaultFromConfig(sifenConfig), 1, sifenConfig), true);
+    }
+
+    private static DocumentoElectronico createDE(int items) {
+        DocumentoElectronico de = DocumentoElectronicoFixtures.createDE(1);
+        while (de.getgDtipDE().getgCamItemList().size() < items) {
+            de.getgDtipDE().getgCamItemList().addAll(de.getgDtipDE().getgCamItemList());
+        }
+        de.getgDtipDE().getgCamItemList().subList(items, de.getgDtipDE().getgCamItemList().size()).clear();
+        return de;
+    }
+}
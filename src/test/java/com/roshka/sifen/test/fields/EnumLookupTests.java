@@ -0,0 +1,44 @@
+package com.roshka.sifen.test.fields;
+
+import com.roshka.sifen.core.types.CMondT;
+import com.roshka.sifen.core.types.PaisType;
+import com.roshka.sifen.core.types.TcUniMed;
+import com.roshka.sifen.core.types.TiTiPago;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EnumLookupTests {
+
+    @Test
+    public void testGetByValRetornaElValorDeCadaCodigo() {
+        for (TcUniMed unidad : TcUniMed.values()) {
+            assertEquals(firstByVal(TcUniMed.values(), unidad.getVal()), TcUniMed.getByVal(unidad.getVal()));
+        }
+        for (TiTiPago tipo : TiTiPago.values()) {
+            assertEquals(tipo, TiTiPago.getByVal(tipo.getVal()));
+        }
+        assertNull(TcUniMed.getByVal((short) 0));
+        assertNull(TcUniMed.getByVal((short) -1));
+        assertNull(TiTiPago.getByVal(Short.MAX_VALUE));
+    }
+
+    @Test
+    public void testGetByNameSinDistinguirMayusculas() {
+        assertEquals(CMondT.PYG, CMondT.getByName("PYG"));
+        assertEquals(CMondT.USD, CMondT.getByName("usd"));
+        assertEquals(PaisType.PRY, PaisType.getByName("Pry"));
+        assertNull(PaisType.getByName("XXX"));
+        assertNull(CMondT.getByName(null));
+    }
+
+    private static TcUniMed firstByVal(TcUniMed[] values, short val) {
+        for (TcUniMed value : values) {
+            if (value.getVal() == val) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
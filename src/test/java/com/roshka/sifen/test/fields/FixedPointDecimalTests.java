@@ -0,0 +1,323 @@
+package com.roshka.sifen.test.fields;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.TgCamIVA;
+import com.roshka.sifen.core.fields.request.de.TgCamItem;
+import com.roshka.sifen.core.fields.request.de.TgOpeCom;
+import com.roshka.sifen.core.fields.request.de.TgTotSub;
+import com.roshka.sifen.core.fields.request.de.TgValorItem;
+import com.roshka.sifen.core.fields.request.de.TgValorRestaItem;
+import com.roshka.sifen.core.fields.util.RedondeoUtil;
+import com.roshka.sifen.core.types.CMondT;
+import com.roshka.sifen.core.types.TdCondTiCam;
+import com.roshka.sifen.core.types.TiAfecIVA;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.FixedPointDecimal;
+import com.roshka.sifen.test.de.DocumentoElectronicoFixtures;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas basadas en propiedades: con valores aleatorios (semilla fija), cada operación de punto fijo y los totales
+ * del DE deben ser idénticos, en valor y escala, a los calculados con BigDecimal. Los totales de dos DE armados a
+ * partir de los de DETest y DEMonedaExtranjeraTest se verifican además contra valores calculados a mano.
+ */
+public class FixedPointDecimalTests {
+    private static final int OPERATIONS = 200_000;
+    private static final int DOCUMENTS = 150;
+
+    @Test
+    public void testOperacionesIgualesABigDecimal() {
+        Random random = new Random(20240612);
+        FixedPointDecimal accumulator = FixedPointDecimal.zero();
+        BigDecimal expected = BigDecimal.ZERO;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (i % 50 == 0) {
+                BigDecimal initial = randomDecimal(random);
+                accumulator = FixedPointDecimal.of(initial);
+                expected = initial;
+            }
+
+            BigDecimal operand = randomDecimal(random);
+            int scale = random.nextInt(5);
+            String operation;
+            try {
+                switch (random.nextInt(6)) {
+                    case 0:
+                        operation = "add";
+                        expected = expected.add(operand);
+                        accumulator.add(operand);
+                        break;
+                    case 1:
+                        operation = "subtract";
+                        expected = expected.subtract(operand);
+                        accumulator.subtract(operand);
+                        break;
+                    case 2:
+                        operation = "multiply";
+                        expected = expected.multiply(operand);
+                        accumulator.multiply(FixedPointDecimal.of(operand));
+                        break;
+                    case 3:
+                        operation = "setScale";
+                        expected = expected.setScale(scale, RoundingMode.HALF_UP);
+                        accumulator.setScale(scale);
+                        break;
+                    case 4:
+                        operation = "divide";
+                        if (operand.signum() == 0) {
+                            assertDivisionPorCero(accumulator, operand, scale);
+                            continue;
+                        }
+                        expected = expected.divide(operand, scale, RoundingMode.HALF_UP);
+                        accumulator.divide(operand, scale);
+                        break;
+                    default:
+                        operation = "divide 1.1";
+                        expected = expected.divide(new BigDecimal("1.1"), scale, RoundingMode.HALF_UP);
+                        accumulator.divide(11, 1, scale);
+                        break;
+                }
+            } catch (ArithmeticException e) {
+                // Escalas fuera del rango de BigDecimal tras muchas multiplicaciones: se reinicia
+                accumulator = FixedPointDecimal.zero();
+                expected = BigDecimal.ZERO;
+                continue;
+            }
+
+            assertEquals(operation + " " + operand, expected, accumulator.toBigDecimal());
+            if (expected.precision() > 40) {
+                accumulator = FixedPointDecimal.zero();
+                expected = BigDecimal.ZERO;
+            }
+        }
+    }
+
+    @Test
+    public void testTotalesIgualesAlCalculoConBigDecimal() throws Exception {
+        Random random = new Random(20240613);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            DocumentoElectronico de = randomDE(random);
+            generate(de);
+            assertTotales(de, "DE " + i);
+        }
+    }
+
+    @Test
+    public void testTotalesCalculadosAMano() throws Exception {
+        // Ítems de DETest: 120000 sin descuento y 88000 con un descuento de 1.3
+        DocumentoElectronico guaranies = DocumentoElectronicoFixtures.createDE(1);
+        List<TgCamItem> items = guaranies.getgDtipDE().getgCamItemList();
+        items.subList(2, items.size()).clear();
+        setItem(items.get(0), "1", "120000", "0");
+        setItem(items.get(1), "1", "88000", "1.3");
+        generate(guaranies);
+        assertTotales(guaranies, "DE en guaraníes");
+
+        // 120000 + 87998.7 redondeado, IVA 10909 + 8000, base gravada 109091 + 79999, redondeo a múltiplo de 50
+        TgTotSub gTotSub = guaranies.getgTotSub();
+        assertEquals(new BigDecimal("207999"), gTotSub.getdTotOpe());
+        assertEquals(new BigDecimal("18909"), gTotSub.getdIVA10());
+        assertEquals(new BigDecimal("189090"), gTotSub.getdBaseGrav10());
+        assertEquals(new BigDecimal("49"), gTotSub.getdRedon());
+        assertEquals(new BigDecimal("207950"), gTotSub.getdTotGralOpe());
+
+        // Ítem de DEMonedaExtranjeraTest, con tipo de cambio global
+        DocumentoElectronico dolares = DocumentoElectronicoFixtures.createDE(1);
+        TgOpeCom gOpeCom = dolares.getgDatGralOpe().getgOpeCom();
+        gOpeCom.setcMoneOpe(CMondT.USD);
+        gOpeCom.setdCondTiCam(TdCondTiCam.GLOBAL);
+        gOpeCom.setdTiCam(BigDecimal.valueOf(7135.0));
+        items = dolares.getgDtipDE().getgCamItemList();
+        items.subList(1, items.size()).clear();
+        setItem(items.get(0), "13.6647", "95.847", "5.3");
+        generate(dolares);
+        assertTotales(dolares, "DE en dólares");
+
+        // (95.847 - 5.3) * 13.6647 = 1237.2975909, redondeo a múltiplo de 0.50
+        gTotSub = dolares.getgTotSub();
+        assertEquals(new BigDecimal("1237.30"), gTotSub.getdTotOpe());
+        assertEquals(new BigDecimal("112.48"), gTotSub.getdIVA10());
+        assertEquals(new BigDecimal("1124.82"), gTotSub.getdBaseGrav10());
+        assertEquals(0, new BigDecimal("1237.50").compareTo(gTotSub.getdTotGralOpe()));
+        assertEquals(0, new BigDecimal("8829562.5").compareTo(gTotSub.getdTotalGs()));
+    }
+
+    private void generate(DocumentoElectronico de) throws Exception {
+        String certificate = getClass().getClassLoader().getResource("tests/certificados/prueba.p12").getPath();
+        SifenConfig sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        GenerationCtx generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        generationCtx.setHabilitarNotaTecnica13(true);
+        de.generarXml(generationCtx, sifenConfig);
+    }
+
+    private static void setItem(TgCamItem gCamItem, String cantidad, String precioUnitario, String descuento) {
+        gCamItem.setdCantProSer(new BigDecimal(cantidad));
+        gCamItem.getgValorItem().setdPUniProSer(new BigDecimal(precioUnitario));
+        gCamItem.getgValorItem().getgValorRestaItem().setdDescItem(new BigDecimal(descuento));
+    }
+
+    private static void assertDivisionPorCero(FixedPointDecimal accumulator, BigDecimal divisor, int scale) {
+        try {
+            accumulator.copy().divide(divisor, scale);
+            fail("Se esperaba un error al dividir por cero");
+        } catch (ArithmeticException ignored) {
+        }
+    }
+
+    // Montos habituales en guaraníes y con decimales, y algunos que no entran en un long al operar
+    private static BigDecimal randomDecimal(Random random) {
+        int kind = random.nextInt(10);
+        if (kind < 4) {
+            return BigDecimal.valueOf(random.nextInt(20_000_000) - 1_000_000);
+        } else if (kind < 8) {
+            return BigDecimal.valueOf(random.nextInt(2_000_000) - 100_000, 1 + random.nextInt(3));
+        } else if (kind == 8) {
+            return BigDecimal.valueOf(random.nextLong() / (1 + random.nextInt(1000)), random.nextInt(4));
+        }
+        return BigDecimal.valueOf(random.nextInt(3));
+    }
+
+    private static DocumentoElectronico randomDE(Random random) {
+        DocumentoElectronico de = DocumentoElectronicoFixtures.createDE(1);
+        TgOpeCom gOpeCom = de.getgDatGralOpe().getgOpeCom();
+        boolean guaranies = random.nextInt(3) > 0;
+        if (!guaranies) {
+            gOpeCom.setcMoneOpe(CMondT.USD);
+            gOpeCom.setdCondTiCam(random.nextBoolean() ? TdCondTiCam.GLOBAL : TdCondTiCam.POR_ITEM);
+            gOpeCom.setdTiCam(new BigDecimal("7301.25"));
+        }
+
+        List<TgCamItem> items = de.getgDtipDE().getgCamItemList();
+        items.subList(1 + random.nextInt(8), items.size()).clear();
+        for (TgCamItem gCamItem : items) {
+            TgValorItem gValorItem = gCamItem.getgValorItem();
+            TgValorRestaItem gValorRestaItem = gValorItem.getgValorRestaItem();
+            TgCamIVA gCamIVA = gCamItem.getgCamIVA();
+
+            BigDecimal price = guaranies
+                    ? BigDecimal.valueOf(1 + random.nextInt(5_000_000))
+                    : BigDecimal.valueOf(1 + random.nextInt(500_000), 2);
+            if (random.nextInt(20) == 0) {
+                price = price.multiply(BigDecimal.valueOf(1_000_000_000_000L));
+            }
+            gValorItem.setdPUniProSer(price);
+            gValorItem.setdTiCamIt(BigDecimal.valueOf(7000 + random.nextInt(500), random.nextInt(3)));
+            gCamItem.setdCantProSer(BigDecimal.valueOf(1 + random.nextInt(5000), random.nextInt(4)));
+            gValorRestaItem.setdDescItem(random.nextBoolean() ? BigDecimal.ZERO
+                    : price.multiply(BigDecimal.valueOf(random.nextInt(30), 2)).setScale(random.nextInt(3), RoundingMode.DOWN));
+            if (random.nextInt(4) == 0) {
+                gValorRestaItem.setdDescGloItem(BigDecimal.valueOf(random.nextInt(1000), random.nextInt(3)));
+            }
+
+            gCamIVA.setiAfecIVA(TiAfecIVA.values()[random.nextInt(TiAfecIVA.values().length)]);
+            gCamIVA.setdTasaIVA(BigDecimal.valueOf(random.nextBoolean() ? 10 : 5));
+            gCamIVA.setdPropIVA(gCamIVA.getiAfecIVA() == TiAfecIVA.GRAVADO_PARCIAL
+                    ? BigDecimal.valueOf(10 + random.nextInt(90)) : BigDecimal.valueOf(100));
+        }
+        return de;
+    }
+
+    // Cálculo de referencia con BigDecimal, tal como se realizaba antes del punto fijo, con el redondeo de RedondeoUtil
+    private static void assertTotales(DocumentoElectronico de, String description) {
+        TgOpeCom gOpeCom = de.getgDatGralOpe().getgOpeCom();
+        CMondT cMoneOpe = gOpeCom.getcMoneOpe();
+        TdCondTiCam dCondTiCam = gOpeCom.getdCondTiCam();
+        int scale = cMoneOpe == CMondT.PYG ? 0 : 2;
+        BigDecimal hundred = BigDecimal.valueOf(100);
+
+        BigDecimal dSub10 = BigDecimal.ZERO, dIVA10 = BigDecimal.ZERO, dBaseGrav10 = BigDecimal.ZERO;
+        BigDecimal dSub5 = BigDecimal.ZERO, dIVA5 = BigDecimal.ZERO, dBaseGrav5 = BigDecimal.ZERO;
+        BigDecimal dSubExo = BigDecimal.ZERO, dSubExe = BigDecimal.ZERO, dTotDesc = BigDecimal.ZERO;
+        BigDecimal dTotDescGlotem = BigDecimal.ZERO, dTotalGs = BigDecimal.ZERO;
+
+        for (TgCamItem gCamItem : de.getgDtipDE().getgCamItemList()) {
+            TgValorItem gValorItem = gCamItem.getgValorItem();
+            TgValorRestaItem gValorRestaItem = gValorItem.getgValorRestaItem();
+            TgCamIVA gCamIVA = gCamItem.getgCamIVA();
+            BigDecimal price = gValorItem.getdPUniProSer();
+            BigDecimal quantity = gCamItem.getdCantProSer();
+            BigDecimal descGlo = gValorRestaItem.getdDescGloItem() != null ? gValorRestaItem.getdDescGloItem() : BigDecimal.ZERO;
+
+            assertEquals(description, price.multiply(quantity).setScale(scale, RoundingMode.HALF_UP), gValorItem.getdTotBruOpeItem());
+            assertEquals(description, gValorRestaItem.getdDescItem().multiply(hundred).divide(price, 2, RoundingMode.HALF_UP), gValorRestaItem.getdPorcDesIt());
+            BigDecimal dTotOpeItem = price.subtract(gValorRestaItem.getdDescItem()).subtract(descGlo).multiply(quantity);
+            assertEquals(description, dTotOpeItem, gValorRestaItem.getdTotOpeItem());
+            if (dCondTiCam != null && dCondTiCam.getVal() == 2) {
+                assertEquals(description, dTotOpeItem.multiply(gValorItem.getdTiCamIt()), gValorRestaItem.getdTotOpeGs());
+            }
+
+            BigDecimal total = dTotOpeItem.setScale(scale, RoundingMode.HALF_UP);
+            BigDecimal propIVA = gCamIVA.getdPropIVA().divide(hundred, scale, RoundingMode.HALF_UP);
+            short iAfecIVA = gCamIVA.getiAfecIVA().getVal();
+            boolean tasa10 = gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(10));
+            if (iAfecIVA == 1 || iAfecIVA == 4) {
+                BigDecimal dBasGravIVA = total.multiply(propIVA).divide(BigDecimal.valueOf(tasa10 ? 1.1 : 1.05), scale, RoundingMode.HALF_UP);
+                BigDecimal dLiqIVAItem = total.multiply(propIVA).divide(BigDecimal.valueOf(tasa10 ? 11 : 21), scale, RoundingMode.HALF_UP);
+                assertEquals(description, dBasGravIVA, gCamIVA.getdBasGravIVA());
+                assertEquals(description, dLiqIVAItem, gCamIVA.getdLiqIVAItem());
+                if (tasa10) {
+                    dSub10 = dSub10.add(total);
+                    dIVA10 = dIVA10.add(dLiqIVAItem);
+                    dBaseGrav10 = dBaseGrav10.add(dBasGravIVA);
+                } else {
+                    dSub5 = dSub5.add(total);
+                    dIVA5 = dIVA5.add(dLiqIVAItem);
+                    dBaseGrav5 = dBaseGrav5.add(dBasGravIVA);
+                }
+            } else if (iAfecIVA == 2) {
+                dSubExo = dSubExo.add(total);
+            } else {
+                dSubExe = dSubExe.add(total);
+            }
+
+            BigDecimal dBasExe = iAfecIVA == 4
+                    ? total.multiply(hundred.subtract(gCamIVA.getdPropIVA())).multiply(hundred)
+                    .divide(gCamIVA.getdTasaIVA().multiply(gCamIVA.getdPropIVA()).add(BigDecimal.valueOf(10000)), scale, RoundingMode.HALF_UP)
+                    : BigDecimal.valueOf(0);
+            assertEquals(description, dBasExe, gCamIVA.getdBasExe());
+
+            dTotDesc = dTotDesc.add(gValorRestaItem.getdDescItem().multiply(quantity));
+            dTotDescGlotem = dTotDescGlotem.add(descGlo);
+            if (cMoneOpe != CMondT.PYG && dCondTiCam.getVal() == 2) {
+                dTotalGs = dTotalGs.add(gValorRestaItem.getdTotOpeGs());
+            }
+        }
+
+        TgTotSub gTotSub = de.getgTotSub();
+        BigDecimal dTotOpe = dSub10.add(dSub5).add(dSubExo).add(dSubExe);
+        BigDecimal dRedon = RedondeoUtil.redondeoOficialSET(cMoneOpe, dTotOpe);
+        BigDecimal dTotGralOpe = dTotOpe.subtract(dRedon).add(BigDecimal.ZERO);
+        if (cMoneOpe != CMondT.PYG && dCondTiCam.getVal() == 1) {
+            dTotalGs = dTotGralOpe.multiply(gOpeCom.getdTiCam());
+        }
+
+        assertEquals(description, dSub10, gTotSub.getdSub10());
+        assertEquals(description, dIVA10, gTotSub.getdIVA10());
+        assertEquals(description, dBaseGrav10, gTotSub.getdBaseGrav10());
+        assertEquals(description, dSub5, gTotSub.getdSub5());
+        assertEquals(description, dIVA5, gTotSub.getdIVA5());
+        assertEquals(description, dBaseGrav5, gTotSub.getdBaseGrav5());
+        assertEquals(description, dSubExo, gTotSub.getdSubExo());
+        assertEquals(description, dSubExe, gTotSub.getdSubExe());
+        assertEquals(description, dTotOpe, gTotSub.getdTotOpe());
+        assertEquals(description, dTotDesc, gTotSub.getdTotDesc());
+        assertEquals(description, dTotDescGlotem, gTotSub.getdTotDescGlotem());
+        assertEquals(description, dRedon.abs(), gTotSub.getdRedon());
+        assertEquals(description, dTotGralOpe, gTotSub.getdTotGralOpe());
+        assertEquals(description, dIVA5.add(dIVA10).add(BigDecimal.ZERO.setScale(scale)), gTotSub.getdTotIVA());
+        assertEquals(description, dBaseGrav5.add(dBaseGrav10), gTotSub.getdTBasGraIVA());
+        if (cMoneOpe != CMondT.PYG) {
+            assertEquals(description, dTotalGs, gTotSub.getdTotalGs());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.roshka.sifen.test.fields;
+
+import com.roshka.sifen.core.fields.request.de.TgCamIVA;
+import com.roshka.sifen.core.fields.request.de.TgValorItem;
+import com.roshka.sifen.core.fields.request.de.TgValorRestaItem;
+import com.roshka.sifen.core.types.CMondT;
+import com.roshka.sifen.core.types.TTiDE;
+import com.roshka.sifen.core.types.TTImp;
+import com.roshka.sifen.core.types.TdCondTiCam;
+import com.roshka.sifen.core.types.TiAfecIVA;
+import com.roshka.sifen.internal.Constants;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.util.ResponseUtil;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPElement;
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifica que los campos del DE se sigan pudiendo generar sobre un {@link SOAPElement}, como antes de la generación
+ * mediante XmlElement.
+ */
+public class SOAPElementCompatibilityTests {
+
+    @Test
+    public void testGeneracionSobreSOAPElement() throws Exception {
+        SOAPElement gCamItem = SoapHelper.createSoapMessage().getSOAPBody()
+                .addBodyElement(new QName(Constants.SIFEN_NS_URI, "gCamItem"));
+
+        TgValorItem gValorItem = new TgValorItem();
+        gValorItem.setdPUniProSer(new BigDecimal("11000"));
+        gValorItem.setgValorRestaItem(new TgValorRestaItem());
+        gValorItem.setupSOAPElements(gCamItem, TTiDE.FACTURA_ELECTRONICA, TdCondTiCam.GLOBAL, TTImp.IVA, BigDecimal.ONE, CMondT.PYG);
+
+        TgCamIVA gCamIVA = new TgCamIVA();
+        gCamIVA.setiAfecIVA(TiAfecIVA.GRAVADO);
+        gCamIVA.setdPropIVA(BigDecimal.valueOf(100));
+        gCamIVA.setdTasaIVA(BigDecimal.TEN);
+        gCamIVA.setupSOAPElements(new GenerationCtx(), gCamItem, CMondT.PYG, gValorItem.getgValorRestaItem().getdTotOpeItem());
+
+        String xml = ResponseUtil.getXmlFromNode(gCamItem);
+        assertEquals("11000", between(xml, "dTotBruOpeItem"));
+        assertEquals("11000", between(xml, "dTotOpeItem"));
+        assertEquals("1000", between(xml, "dLiqIVAItem"));
+    }
+
+    private static String between(String xml, String tag) {
+        int start = xml.indexOf("<" + tag + ">") + tag.length() + 2;
+        return xml.substring(start, xml.indexOf("</" + tag + ">"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.roshka.sifen.test.format;
+
+import com.roshka.sifen.internal.util.DateTimeCodec;
+import com.roshka.sifen.internal.util.SifenUtil;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CodecTests {
+
+    @Test
+    public void testFormatDateTimeIgualAlFormatter() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        LocalDateTime[] values = {
+                LocalDateTime.of(2021, 3, 5, 7, 8, 9),
+                LocalDateTime.of(1, 1, 1, 0, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(0, 6, 15, 12, 0),
+                LocalDateTime.of(12345, 6, 15, 12, 0)
+        };
+        for (LocalDateTime value : values) {
+            assertEquals(value.format(formatter), DateTimeCodec.formatDateTime(value));
+        }
+        assertEquals("20210305", DateTimeCodec.appendCompactDate(new StringBuilder(), LocalDate.of(2021, 3, 5)).toString());
+    }
+
+    @Test
+    public void testParseDateTimeConYSinZonaHoraria() {
+        LocalDateTime expected = LocalDateTime.of(2021, 3, 5, 7, 8, 9);
+        assertEquals(expected, DateTimeCodec.parseDateTime("2021-03-05T07:08:09"));
+        assertEquals(expected, DateTimeCodec.parseDateTime("2021-03-05T07:08:09-03:00"));
+        assertEquals(expected, DateTimeCodec.parseDateTime("2021-03-05T07:08:09Z"));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 0, 0), DateTimeCodec.parseDateTime("2024-02-29T00:00:00"));
+
+        // Los casos que no son habituales los resuelve el formatter, igual que antes
+        assertEquals(LocalDateTime.of(2021, 2, 28, 10, 0), DateTimeCodec.parseDateTime("2021-02-30T10:00:00"));
+        assertEquals(LocalDate.of(2021, 2, 28), DateTimeCodec.parseDate("2021-02-30"));
+        assertEquals(LocalDate.of(2021, 12, 31), DateTimeCodec.parseDate("2021-12-31"));
+
+        for (String invalid : new String[]{"2021-03-05", "2021-03-05T25:00:00", "2021-03-05T07:08:09+3", "2021-3-05T07:08:09", ""}) {
+            try {
+                DateTimeCodec.parseDateTime(invalid);
+                fail("Se esperaba un error con " + invalid);
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testLeftPadYDv() {
+        assertEquals("00000123", SifenUtil.leftPad("123", '0', 8));
+        assertEquals("123456789", SifenUtil.leftPad("123456789", '0', 8));
+        assertEquals(String.format("%8s", "1 2").replace(' ', '0'), SifenUtil.leftPad("1 2", '0', 8));
+        assertEquals("0000null", SifenUtil.leftPad(null, '0', 8));
+        assertEquals("8", SifenUtil.generateDv("80089752"));
+        assertEquals("5", SifenUtil.generateDv("88888801"));
+        try {
+            SifenUtil.generateDv("8008975A");
+            fail("Se esperaba un error con un RUC no numérico");
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    @Test
+    public void testHexYSha256() throws Exception {
+        assertEquals("323032312d30332d3035", SifenUtil.stringToHex("2021-03-05"));
+        assertEquals("c3b1", SifenUtil.stringToHex("ñ"));
+        assertEquals(SifenUtil.bytesToHex("añ".getBytes(StandardCharsets.UTF_8)), SifenUtil.appendHex(new StringBuilder(), "añ".getBytes(StandardCharsets.UTF_8)).toString());
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 700; i++) {
+            input.append(i % 97 == 0 ? 'ñ' : (char) ('a' + i % 26));
+        }
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(input.toString().getBytes(StandardCharsets.UTF_8));
+        assertEquals(SifenUtil.bytesToHex(expected), SifenUtil.sha256Hex(input.toString()));
+        assertEquals(SifenUtil.sha256Hex(input.substring(10, 600)), SifenUtil.sha256Hex(input, 10, 600));
+
+        LinkedHashMap<String, String> params = new LinkedHashMap<>();
+        params.put("nVersion", "150");
+        params.put("Id", "01");
+        assertEquals("nVersion=150&Id=01", SifenUtil.buildUrlParams(params));
+        assertEquals("", SifenUtil.buildUrlParams(new LinkedHashMap<>()));
+    }
+}
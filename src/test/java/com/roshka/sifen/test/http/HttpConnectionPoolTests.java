@@ -0,0 +1,154 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.exceptions.SifenExceptionCodes;
+import com.roshka.sifen.internal.SOAPResponse;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
+import com.roshka.sifen.internal.helpers.EndpointRegistry;
+import com.roshka.sifen.internal.helpers.HttpConnectionPool;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.URL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HttpConnectionPoolTests {
+    private static final String RESPONSE = "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\"><env:Body>" +
+            "<ns2:rEnviConsDeResponse xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"><ns2:dCodRes>0420</ns2:dCodRes></ns2:rEnviConsDeResponse>" +
+            "</env:Body></env:Envelope>";
+
+    private LocalHttpsServer server;
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setup() throws Exception {
+        HttpConnectionPool.clear();
+        server = new LocalHttpsServer();
+        sifenConfig = new SifenConfig();
+        sifenConfig.setUrlBase(server.getUrlBase());
+        sifenConfig.setHttpMaxConexionesPorHost(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        HttpConnectionPool.clear();
+    }
+
+    @Test
+    public void testPermisoLiberadoAlTerminar() throws Exception {
+        server.respond(200, "application/soap+xml; charset=utf-8", RESPONSE);
+        EndpointProfile profile = EndpointRegistry.getProfile(sifenConfig, EndpointProfile.Operacion.CONSULTA);
+
+        // Con una sola conexión por host, la segunda petición solo puede hacerse si la primera liberó el permiso
+        for (int i = 0; i < 2; i++) {
+            SOAPResponse soapResponse = SoapHelper.makeSoapRequest(sifenConfig, profile, profile.createSoapMessage());
+            assertEquals(200, soapResponse.getStatus());
+            assertEquals(1, getEndpoint(profile).getConexionesDisponibles());
+        }
+        assertEquals(2, server.getRequests());
+    }
+
+    @Test
+    public void testPermisoLiberadoAlFallar() throws Exception {
+        EndpointProfile profile = EndpointRegistry.getProfile(sifenConfig, EndpointProfile.Operacion.CONSULTA);
+        server.close();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                SoapHelper.makeSoapRequest(sifenConfig, profile, profile.createSoapMessage());
+                fail();
+            } catch (SifenException e) {
+                // Error de conexión, no de falta de conexiones disponibles
+                assertEquals(SifenExceptionCodes.INVALID_SOAP_REQUEST_CODE, e.getCode());
+                assertTrue(e.getCause() instanceof IOException);
+                assertTrue(e.getMessage().contains("entrada/salida"));
+            }
+            assertEquals(1, getEndpoint(profile).getConexionesDisponibles());
+        }
+        server = new LocalHttpsServer();
+    }
+
+    @Test
+    public void testSinConexionesDisponibles() throws Exception {
+        // El tiempo de espera de una conexión es el tiempo de conexión configurado
+        SifenConfig shortTimeout = new SifenConfig() {
+            @Override
+            public int getHttpConnectTimeout() {
+                return 10;
+            }
+        };
+        shortTimeout.setHttpMaxConexionesPorHost(1);
+        HttpConnectionPool.Endpoint endpoint = HttpConnectionPool.getEndpoint(new URL(server.getUrlBase()), SSLContext.getDefault(), shortTimeout);
+        endpoint.acquire();
+        try {
+            endpoint.acquire();
+            fail();
+        } catch (SifenException e) {
+            // La petición no se envió, por lo que se puede reintentar como un error de conexión
+            assertEquals(SifenExceptionCodes.INVALID_SOAP_REQUEST_CODE, e.getCode());
+            assertTrue(e.getCause() instanceof IOException);
+        } finally {
+            endpoint.release(false);
+        }
+        assertEquals(1, endpoint.getConexionesDisponibles());
+    }
+
+    @Test
+    public void testEndpointSegunConfiguracion() throws Exception {
+        URL url = new URL(server.getUrlBase());
+        SSLContext sslContext = SSLContext.getDefault();
+        HttpConnectionPool.Endpoint endpoint = HttpConnectionPool.getEndpoint(url, sslContext, sifenConfig);
+        assertSame(endpoint, HttpConnectionPool.getEndpoint(url, sslContext, sifenConfig));
+
+        SifenConfig otherConfig = new SifenConfig();
+        otherConfig.setHttpMaxConexionesPorHost(3);
+        HttpConnectionPool.Endpoint other = HttpConnectionPool.getEndpoint(url, sslContext, otherConfig);
+        assertNotSame(endpoint, other);
+        assertEquals(1, endpoint.getConexionesDisponibles());
+        assertEquals(3, other.getConexionesDisponibles());
+
+        otherConfig.setHttpMaxConexionesPorHost(1);
+        otherConfig.setHttpTiempoMaxInactividad(sifenConfig.getHttpTiempoMaxInactividad() + 1);
+        assertNotSame(endpoint, HttpConnectionPool.getEndpoint(url, sslContext, otherConfig));
+    }
+
+    @Test
+    public void testInactividadPorConexion() throws Exception {
+        sifenConfig.setHttpMaxConexionesPorHost(2);
+        sifenConfig.setHttpTiempoMaxInactividad(50);
+        HttpConnectionPool.Endpoint endpoint = HttpConnectionPool.getEndpoint(new URL(server.getUrlBase()), SSLContext.getDefault(), sifenConfig);
+
+        // Una conexión inactiva por más tiempo que el máximo hace que se descarten las conexiones del caché
+        SSLSocketFactory socketFactory = endpoint.acquire();
+        endpoint.release(true);
+        Thread.sleep(100);
+        SSLSocketFactory rotated = endpoint.acquire();
+        assertNotSame(socketFactory, rotated);
+
+        // Una conexión liberada recientemente se reutiliza, aunque otra del mismo endpoint haya estado inactiva
+        SSLSocketFactory second = endpoint.acquire();
+        assertSame(rotated, second);
+        endpoint.release(true);
+        Thread.sleep(100);
+        endpoint.release(true);
+        assertSame(rotated, endpoint.acquire());
+        endpoint.release(false);
+    }
+
+    private HttpConnectionPool.Endpoint getEndpoint(EndpointProfile profile) throws SifenException {
+        return HttpConnectionPool.getEndpoint(profile.getUrl(), SSLContextHelper.getContextFromConfig(sifenConfig), sifenConfig);
+    }
+}
@@ -0,0 +1,104 @@
+package com.roshka.sifen.test.http;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTPS local para las pruebas de SoapHelper. Utiliza el certificado de prueba, que el cliente acepta mientras
+ * el servidor está iniciado (contexto SSL por defecto y verificación del nombre del host del proceso), y responde a
+ * cada petición con el estado, tipo de contenido y cuerpo configurados.
+ */
+public class LocalHttpsServer implements AutoCloseable {
+    private static final String PASSWORD = "prueba";
+
+    private final HttpsServer server;
+    private final SSLContext previousDefaultContext;
+    private final HostnameVerifier previousHostnameVerifier;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile int status = 200;
+    private volatile String contentType = "application/soap+xml; charset=utf-8";
+    private volatile byte[] body = new byte[0];
+
+    public LocalHttpsServer() throws Exception {
+        String certificate = getClass().getClassLoader().getResource("tests/certificados/prueba.p12").getPath();
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream inputStream = new FileInputStream(certificate)) {
+            keyStore.load(inputStream, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD.toCharArray());
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        // El cliente confía en el certificado del servidor a través del contexto SSL por defecto
+        KeyStore trusted = KeyStore.getInstance("PKCS12");
+        trusted.load(null, null);
+        trusted.setCertificateEntry("servidor", keyStore.getCertificate(keyStore.aliases().nextElement()));
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trusted);
+        SSLContext clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, trustManagerFactory.getTrustManagers(), null);
+        previousDefaultContext = SSLContext.getDefault();
+        SSLContext.setDefault(clientContext);
+        previousHostnameVerifier = HttpsURLConnection.getDefaultHostnameVerifier();
+        HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> "127.0.0.1".equals(hostname));
+
+        server = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                byte[] buffer = new byte[8192];
+                while (requestBody.read(buffer) != -1) {
+                    // Descartar
+                }
+            }
+            byte[] responseBody = body;
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, responseBody.length == 0 ? -1 : responseBody.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(responseBody);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Establece la respuesta a las próximas peticiones.
+     */
+    public void respond(int status, String contentType, String body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String getUrlBase() {
+        return "https://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.stop(0);
+        SSLContext.setDefault(previousDefaultContext);
+        HttpsURLConnection.setDefaultHostnameVerifier(previousHostnameVerifier);
+    }
+}
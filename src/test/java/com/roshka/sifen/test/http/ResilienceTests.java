@@ -0,0 +1,144 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.capture.WireCapture;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.exceptions.SifenExceptionCodes;
+import com.roshka.sifen.core.resilience.EstadoCircuito;
+import com.roshka.sifen.internal.SOAPResponse;
+import com.roshka.sifen.internal.helpers.ResilienceHelper;
+import com.roshka.sifen.internal.helpers.WireCaptureHelper;
+import com.roshka.sifen.internal.util.ByteArrayBuffer;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ResilienceTests {
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setup() {
+        ResilienceHelper.reset();
+        sifenConfig = new SifenConfig();
+        sifenConfig.setReintentosMax(2);
+        sifenConfig.setReintentosEsperaInicial(1);
+        sifenConfig.setReintentosEsperaMax(5);
+        sifenConfig.setCircuitoUmbralFallos(3);
+        sifenConfig.setCircuitoTiempoAbierto(60 * 1000);
+    }
+
+    @Test
+    public void testConsultaSeReintenta() {
+        AtomicInteger calls = new AtomicInteger();
+        try {
+            ResilienceHelper.execute(sifenConfig, "https://test/consulta", true, attempt -> {
+                calls.incrementAndGet();
+                attempt.markRequestSent();
+                throw SifenExceptionUtil.invalidSOAPRequest("reset", new IOException("Connection reset"));
+            });
+            fail();
+        } catch (SifenException e) {
+            assertEquals(SifenExceptionCodes.INVALID_SOAP_REQUEST_CODE, e.getCode());
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testRecepcionEnviadaNoSeReintenta() {
+        AtomicInteger calls = new AtomicInteger();
+        try {
+            ResilienceHelper.execute(sifenConfig, "https://test/recibe-lote", false, attempt -> {
+                calls.incrementAndGet();
+                attempt.markRequestSent();
+                throw SifenExceptionUtil.invalidSOAPRequest("reset", new IOException("Connection reset"));
+            });
+            fail();
+        } catch (SifenException e) {
+            assertEquals(SifenExceptionCodes.INVALID_SOAP_REQUEST_CODE, e.getCode());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testRecepcionNoEnviadaSeReintenta() throws SifenException {
+        AtomicInteger calls = new AtomicInteger();
+        SOAPResponse soapResponse = ResilienceHelper.execute(sifenConfig, "https://test/recibe-lote", false, attempt -> {
+            if (calls.incrementAndGet() == 1) {
+                throw SifenExceptionUtil.invalidSOAPRequest("refused", new ConnectException("Connection refused"));
+            }
+            return response(200);
+        });
+        assertEquals(200, soapResponse.getStatus());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testCircuitoAbiertoRechazaPeticiones() throws SifenException {
+        String url = "https://test/consulta-ruc";
+        for (int i = 0; i < 3; i++) {
+            ResilienceHelper.execute(sifenConfig, url, false, attempt -> response(503));
+        }
+        assertEquals(EstadoCircuito.ABIERTO, ResilienceHelper.getMetrics().get(0).getEstado());
+
+        AtomicInteger calls = new AtomicInteger();
+        try {
+            ResilienceHelper.execute(sifenConfig, url, true, attempt -> {
+                calls.incrementAndGet();
+                return response(200);
+            });
+            fail();
+        } catch (SifenException e) {
+            assertEquals(SifenExceptionCodes.SERVICE_UNAVAILABLE_CODE, e.getCode());
+        }
+        assertEquals(0, calls.get());
+        assertEquals(1, ResilienceHelper.getMetrics().get(0).getRechazos());
+    }
+
+    @Test
+    public void testCapturaDeErroresConservaAdjuntosEntreReintentos() throws Exception {
+        List<WireCapture> captures = new CopyOnWriteArrayList<>();
+        sifenConfig.setCapturaHabilitada(true);
+        sifenConfig.setCapturaSoloErrores(true);
+        sifenConfig.setCapturaSink(captures::add);
+
+        WireCaptureHelper.Exchange wireCapture = WireCaptureHelper.newExchange(sifenConfig, 1);
+        wireCapture.attach(WireCapture.Tipo.LOTE_XML, ByteArrayBuffer.wrap("<rLoteDE/>".getBytes(StandardCharsets.UTF_8)));
+        boolean failed = true;
+        try {
+            ResilienceHelper.execute(sifenConfig, "https://test/consulta-lote", true, attempt -> {
+                attempt.markRequestSent();
+                wireCapture.complete("https://test/consulta-lote", ByteArrayBuffer.wrap(new byte[]{1}), -1, null);
+                throw SifenExceptionUtil.invalidSOAPRequest("reset", new IOException("Connection reset"));
+            });
+            failed = false;
+        } catch (SifenException ignored) {
+        } finally {
+            wireCapture.finish(failed);
+        }
+        WireCaptureHelper.shutdown(5000);
+
+        // El adjunto y los 3 intentos se guardan juntos al fallar la petición
+        assertEquals(4, captures.size());
+        assertEquals(WireCapture.Tipo.LOTE_XML, captures.get(0).getTipo());
+        assertEquals("<rLoteDE/>", new String(captures.get(0).getData(), StandardCharsets.UTF_8));
+        for (WireCapture capture : captures.subList(1, 4)) {
+            assertEquals(WireCapture.Tipo.SOAP_REQUEST, capture.getTipo());
+        }
+    }
+
+    private static SOAPResponse response(int status) {
+        SOAPResponse soapResponse = new SOAPResponse();
+        soapResponse.setStatus(status);
+        return soapResponse;
+    }
+}
@@ -0,0 +1,74 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.resilience.EndpointMetrics;
+import com.roshka.sifen.internal.SOAPResponse;
+import com.roshka.sifen.internal.helpers.EndpointProfile;
+import com.roshka.sifen.internal.helpers.EndpointRegistry;
+import com.roshka.sifen.internal.helpers.ResilienceHelper;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.WireCaptureHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.xml.soap.SOAPMessage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SoapHelperTests {
+    private LocalHttpsServer server;
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setup() throws Exception {
+        ResilienceHelper.reset();
+        server = new LocalHttpsServer();
+        sifenConfig = new SifenConfig();
+        sifenConfig.setUrlBase(server.getUrlBase());
+        sifenConfig.setReintentosMax(2);
+        sifenConfig.setReintentosEsperaInicial(1);
+        sifenConfig.setReintentosEsperaMax(5);
+        sifenConfig.setCircuitoUmbralFallos(10);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        ResilienceHelper.reset();
+    }
+
+    @Test
+    public void testErrorHttpSinMensajeSoapSeReintenta() throws Exception {
+        String html = "<html><body><h1>503 Service Temporarily Unavailable</h1></body></html>";
+        server.respond(503, "text/html", html);
+
+        EndpointProfile profile = EndpointRegistry.getProfile(sifenConfig, EndpointProfile.Operacion.CONSULTA);
+        SOAPMessage soapMessage = profile.createSoapMessage();
+        SOAPResponse soapResponse = ResilienceHelper.execute(sifenConfig, profile.getUrlString(), true, attempt ->
+                SoapHelper.makeSoapRequest(sifenConfig, profile, soapMessage, WireCaptureHelper.Exchange.INACTIVE, attempt));
+
+        // El 503 se clasifica por el estado HTTP: se reintenta y cuenta como fallo para el circuito
+        assertEquals(3, server.getRequests());
+        assertEquals(503, soapResponse.getStatus());
+        assertNull(soapResponse.getSoapProtocol());
+        assertNull(soapResponse.getBodyNode());
+        assertEquals(html, soapResponse.getRawDataAsString());
+
+        EndpointMetrics metrics = ResilienceHelper.getMetrics().get(0);
+        assertEquals(3, metrics.getFallos());
+        assertEquals(2, metrics.getReintentos());
+    }
+
+    @Test
+    public void testErrorHttpSinCuerpo() throws Exception {
+        server.respond(502, "text/html", "");
+
+        EndpointProfile profile = EndpointRegistry.getProfile(sifenConfig, EndpointProfile.Operacion.CONSULTA);
+        SOAPResponse soapResponse = SoapHelper.makeSoapRequest(sifenConfig, profile, profile.createSoapMessage());
+
+        assertEquals(502, soapResponse.getStatus());
+        assertNull(soapResponse.getSoapProtocol());
+    }
+}
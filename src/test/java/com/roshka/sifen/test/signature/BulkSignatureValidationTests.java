@@ -0,0 +1,139 @@
+package com.roshka.sifen.test.signature;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.signature.EstadisticasValidacionFirmas;
+import com.roshka.sifen.core.signature.FuenteDE;
+import com.roshka.sifen.core.signature.ResultadoValidacionFirma;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.test.de.DocumentoElectronicoFixtures;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica la validación masiva de firmas desde un directorio, un archivo ZIP y un iterador de fuentes.
+ */
+public class BulkSignatureValidationTests {
+    private final static Logger logger = Logger.getLogger(BulkSignatureValidationTests.class.toString());
+    private static final int DOCUMENTS = 6;
+    private static final String TAMPERED = "de-modificado.xml";
+
+    private static Map<String, byte[]> documents;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        String certificate = BulkSignatureValidationTests.class.getClassLoader()
+                .getResource("tests/certificados/prueba.p12").getPath();
+        SifenConfig sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        GenerationCtx generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+
+        documents = new HashMap<>();
+        for (int i = 1; i <= DOCUMENTS; i++) {
+            String xml = DocumentoElectronicoFixtures.createDE(i).generarXml(generationCtx, sifenConfig);
+            documents.put("de-" + i + ".xml", xml.getBytes(StandardCharsets.UTF_8));
+            if (i == 1) {
+                documents.put(TAMPERED, xml.replace("Receptor de prueba", "Receptor modificado")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testValidacionDesdeDirectorio() throws Exception {
+        Path directory = Files.createTempDirectory("sifen-firmas");
+        for (Map.Entry<String, byte[]> document : documents.entrySet()) {
+            Files.write(directory.resolve(document.getKey()), document.getValue());
+        }
+        Files.write(directory.resolve("leeme.txt"), new byte[]{'x'});
+
+        Map<String, ResultadoValidacionFirma> results = new HashMap<>();
+        EstadisticasValidacionFirmas statistics = Sifen.validarFirmasDE(directory,
+                result -> results.put(directory.relativize(Paths.get(result.getNombre())).toString(), result))
+                .getResultado().get(1, TimeUnit.MINUTES);
+
+        assertResults(results, statistics);
+    }
+
+    @Test
+    public void testValidacionDesdeZip() throws Exception {
+        Path zip = Files.createTempFile("sifen-firmas", ".zip");
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (Map.Entry<String, byte[]> document : documents.entrySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(document.getKey()));
+                zipOutputStream.write(document.getValue());
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        Map<String, ResultadoValidacionFirma> results = new HashMap<>();
+        EstadisticasValidacionFirmas statistics = Sifen.validarFirmasDE(zip, result -> results.put(result.getNombre(), result), 3, null)
+                .getResultado().get(1, TimeUnit.MINUTES);
+
+        assertResults(results, statistics);
+    }
+
+    @Test
+    public void testValidacionDesdeFuentes() throws Exception {
+        List<FuenteDE> sources = new ArrayList<>();
+        for (Map.Entry<String, byte[]> document : documents.entrySet()) {
+            sources.add(FuenteDE.desdeBytes(document.getKey(), document.getValue()));
+        }
+        sources.add(new FuenteDE() {
+            @Override
+            public String getNombre() {
+                return "ilegible.xml";
+            }
+
+            @Override
+            public InputStream abrir() throws IOException {
+                throw new IOException("sin acceso");
+            }
+        });
+
+        Map<String, ResultadoValidacionFirma> results = new HashMap<>();
+        EstadisticasValidacionFirmas statistics = Sifen.validarFirmasDE(sources.iterator(), result -> results.put(result.getNombre(), result))
+                .getResultado().get(1, TimeUnit.MINUTES);
+
+        assertEquals(1, statistics.getErrores());
+        assertFalse(results.remove("ilegible.xml").getValidez().isValido());
+        assertResults(results, new EstadisticasValidacionFirmas(statistics.getProcesados() - 1, statistics.getValidos(),
+                statistics.getInvalidos() - 1, 0, statistics.getCertificadosDistintos(),
+                statistics.getCertificadosReutilizados(), statistics.getTiempoNanos()));
+    }
+
+    private static void assertResults(Map<String, ResultadoValidacionFirma> results, EstadisticasValidacionFirmas statistics) {
+        logger.info(statistics.toString());
+        assertEquals(documents.size(), results.size());
+        for (Map.Entry<String, ResultadoValidacionFirma> entry : results.entrySet()) {
+            ResultadoValidacionFirma result = entry.getValue();
+            assertEquals(result.toString(), !entry.getKey().equals(TAMPERED), result.getValidez().isValido());
+            assertEquals("80080553-4", result.getValidez().getSujetosCertificado().get(0).getNumeroDocumento());
+        }
+
+        assertEquals(documents.size(), statistics.getProcesados());
+        assertEquals(DOCUMENTS, statistics.getValidos());
+        assertEquals(1, statistics.getInvalidos());
+        assertEquals(1, statistics.getCertificadosDistintos());
+        assertEquals(documents.size() - 1, statistics.getCertificadosReutilizados());
+        assertTrue(statistics.getDocumentosPorSegundo() > 0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.roshka.sifen.test.signature;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.test.de.DocumentoElectronicoFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica la validación de la cadena de confianza y de la revocación del certificado del firmante.
+ */
+public class CertificateChainValidationTests {
+    private static final String CERTIFICADOS = "tests/certificados/";
+
+    private static byte[] deFirmadoPorCa;
+    private static byte[] deAutofirmado;
+
+    private SifenConfig sifenConfig;
+
+    @BeforeClass
+    public static void setupDocuments() throws Exception {
+        deFirmadoPorCa = signedDE(resource("cadena/prueba-ca.p12"));
+        deAutofirmado = signedDE(resource("prueba.p12"));
+    }
+
+    @Before
+    public void setup() throws Exception {
+        sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX,
+                resource("cadena/prueba-ca.p12"), "prueba");
+        sifenConfig.setFirmaValidarCadena(true);
+        sifenConfig.setFirmaAnclasConfianza(resource("cadena/ca.pem"));
+        Sifen.setSifenConfig(sifenConfig);
+    }
+
+    @After
+    public void tearDown() {
+        // La configuración es global; las demás pruebas validan firmas sin verificar la cadena
+        sifenConfig.setFirmaValidarCadena(false);
+    }
+
+    @Test
+    public void testCadenaValida() {
+        assertValid(Sifen.validarFirmaDE(deFirmadoPorCa));
+
+        sifenConfig.setFirmaCrls(resource("cadena/ca.crl"));
+        assertValid(Sifen.validarFirmaDE(deFirmadoPorCa));
+    }
+
+    @Test
+    public void testCertificadoRevocado() {
+        sifenConfig.setFirmaCrls(resource("cadena/ca-revocado.crl"));
+
+        ValidezFirmaDigital validez = Sifen.validarFirmaDE(deFirmadoPorCa);
+        assertFalse(validez.isValido());
+        assertTrue(validez.getMotivoInvalidez(), validez.getMotivoInvalidez().contains("revocado"));
+    }
+
+    @Test
+    public void testCertificadoSinCadenaDeConfianza() {
+        assertFalse(Sifen.validarFirmaDE(deAutofirmado).isValido());
+
+        sifenConfig.setFirmaValidarCadena(false);
+        assertValid(Sifen.validarFirmaDE(deAutofirmado));
+    }
+
+    @Test
+    public void testCrlActualizadaLuegoDelTtl() throws Exception {
+        Path crl = Files.createTempFile("sifen-crl", ".crl");
+        try {
+            Files.copy(Paths.get(resource("cadena/ca.crl")), crl, StandardCopyOption.REPLACE_EXISTING);
+            sifenConfig.setFirmaCrls(crl.toString());
+            sifenConfig.setFirmaCadenaTtl(3600);
+            assertValid(Sifen.validarFirmaDE(deFirmadoPorCa));
+
+            // Dentro del TTL no se vuelve a consultar el estado de los archivos
+            Files.copy(Paths.get(resource("cadena/ca-revocado.crl")), crl, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(crl, FileTime.fromMillis(System.currentTimeMillis() + 60 * 1000));
+            assertValid(Sifen.validarFirmaDE(deFirmadoPorCa));
+
+            // Vencido el TTL, se detecta el cambio y se vuelve a cargar la CRL
+            sifenConfig.setFirmaCadenaTtl(0);
+            assertFalse(Sifen.validarFirmaDE(deFirmadoPorCa).isValido());
+        } finally {
+            Files.delete(crl);
+        }
+    }
+
+    private static byte[] signedDE(String certificate) throws Exception {
+        SifenConfig config = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        return DocumentoElectronicoFixtures.createDE(1).generarXml(GenerationCtx.getDefaultFromConfig(config), config)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String resource(String name) {
+        return CertificateChainValidationTests.class.getClassLoader().getResource(CERTIFICADOS + name).getPath();
+    }
+
+    private static void assertValid(ValidezFirmaDigital validez) {
+        assertTrue(validez.getMotivoInvalidez(), validez.isValido());
+    }
+}
@@ -0,0 +1,60 @@
+package com.roshka.sifen.test.signature;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.test.de.DocumentoElectronicoFixtures;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica la validación de firmas de DE a partir de datos en memoria.
+ */
+public class InMemorySignatureValidationTests {
+    private static String xml;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        String certificate = InMemorySignatureValidationTests.class.getClassLoader()
+                .getResource("tests/certificados/prueba.p12").getPath();
+        SifenConfig sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        xml = DocumentoElectronicoFixtures.createDE(1).generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+    }
+
+    @Test
+    public void testFirmaValidaDesdeMemoria() {
+        byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+
+        assertValid(Sifen.validarFirmaDEDesdeXml(xml));
+        assertValid(Sifen.validarFirmaDE(bytes));
+        assertValid(Sifen.validarFirmaDE(new ByteArrayInputStream(bytes)));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 4);
+        direct.put(new byte[]{1, 2}).put(bytes).flip().position(2);
+        assertValid(Sifen.validarFirmaDE(direct));
+        assertEquals("La posición del buffer no debe modificarse", 2, direct.position());
+
+        ByteBuffer slice = ByteBuffer.wrap(("  " + xml).getBytes(StandardCharsets.UTF_8), 2, bytes.length).slice();
+        assertValid(Sifen.validarFirmaDE(slice));
+    }
+
+    @Test
+    public void testFirmaInvalidaSiSeModificaElDE() {
+        String tampered = xml.replace("Receptor de prueba", "Receptor modificado");
+        ValidezFirmaDigital validez = Sifen.validarFirmaDE(tampered.getBytes(StandardCharsets.UTF_8));
+        assertFalse(validez.isValido());
+    }
+
+    private static void assertValid(ValidezFirmaDigital validez) {
+        assertTrue(validez.getMotivoInvalidez(), validez.isValido());
+    }
+}
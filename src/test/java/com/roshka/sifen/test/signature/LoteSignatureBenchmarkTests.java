@@ -0,0 +1,73 @@
+package com.roshka.sifen.test.signature;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.Constants;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.test.de.Benchmark;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
+import java.util.logging.Logger;
+
+import static com.roshka.sifen.test.de.DocumentoElectronicoFixtures.createDE;
+
+/**
+ * Verifica que el costo de firmar un DE no dependa de la cantidad de DE ya firmados en el mismo lote.
+ */
+public class LoteSignatureBenchmarkTests {
+    private final static Logger logger = Logger.getLogger(LoteSignatureBenchmarkTests.class.toString());
+    private static final int[] LOTE_SIZES = {1, 10, 25, 50};
+    private static final int ROUNDS = 3;
+
+    private SifenConfig sifenConfig;
+    private GenerationCtx generationCtx;
+
+    @Before
+    public void setup() {
+        String certificate = getClass().getClassLoader().getResource("tests/certificados/prueba.p12").getPath();
+        sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+    }
+
+    @Test
+    public void testCostoPorDeConstanteSegunTamanoDeLote() throws Exception {
+        Benchmark.assumeEnabled();
+
+        // Calentamiento: carga del certificado y compilación JIT
+        measureLastSignature(LOTE_SIZES[LOTE_SIZES.length - 1]);
+
+        long[] costs = new long[LOTE_SIZES.length];
+        for (int i = 0; i < LOTE_SIZES.length; i++) {
+            long[] rounds = new long[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                rounds[round] = measureLastSignature(LOTE_SIZES[i]);
+            }
+            costs[i] = Benchmark.median(rounds);
+            logger.info("Lote de " + LOTE_SIZES[i] + " DE: " + (costs[i] / 1000) + " µs para firmar el último DE");
+        }
+
+        // Con un recorrido del documento completo por firma, el costo crecería con el tamaño del lote. Se informa la
+        // relación en lugar de verificarla, porque el tiempo depende de la carga de la máquina
+        logger.info("Relación entre el último y el primer tamaño de lote: " + String.format("%.2f", (double) costs[costs.length - 1] / costs[0]));
+    }
+
+    // Firma size - 1 DE en un mismo rLoteDE y retorna el tiempo, en nanosegundos, de preparar y firmar el último
+    private long measureLastSignature(int size) throws SOAPException, SifenException {
+        SOAPElement rLoteDE = SoapHelper.createSoapMessage().getSOAPBody()
+                .addBodyElement(new QName(Constants.SIFEN_NS_URI, "rLoteDE"));
+        for (int i = 1; i < size; i++) {
+            createDE(i).setupDE(generationCtx, rLoteDE, sifenConfig);
+        }
+
+        DocumentoElectronico last = createDE(size);
+        long start = System.nanoTime();
+        last.setupDE(generationCtx, rLoteDE, sifenConfig);
+        return System.nanoTime() - start;
+    }
+}
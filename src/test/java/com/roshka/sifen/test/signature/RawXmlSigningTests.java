@@ -0,0 +1,93 @@
+package com.roshka.sifen.test.signature;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.Constants;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.DocumentBuilderPool;
+import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.test.de.DocumentoElectronicoFixtures;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.crypto.dsig.XMLSignature;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifica la firma de DE recibidos como XML, sin pasar por el objeto DocumentoElectronico.
+ */
+public class RawXmlSigningTests {
+    private static SifenConfig sifenConfig;
+    private static Document firmadoDesdeObjeto;
+    private static byte[] rDESinFirmar;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        String certificate = RawXmlSigningTests.class.getClassLoader()
+                .getResource("tests/certificados/prueba.p12").getPath();
+        sifenConfig = new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificate, "prueba");
+        String xml = DocumentoElectronicoFixtures.createDE(1).generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+        firmadoDesdeObjeto = parse(xml);
+
+        Element rDE = (Element) parse(xml).getElementsByTagNameNS(Constants.SIFEN_NS_URI, "rDE").item(0);
+        for (Node child = rDE.getFirstChild(), next; child != null; child = next) {
+            next = child.getNextSibling();
+            if ("gCamFuFD".equals(child.getLocalName()) || XMLSignature.XMLNS.equals(child.getNamespaceURI())) {
+                rDE.removeChild(child);
+            }
+        }
+        rDESinFirmar = ResponseUtil.getXmlFromNode(rDE).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testMismaFirmaYQRQueDesdeObjeto() throws Exception {
+        String firmado = Sifen.firmarDEDesdeXml(rDESinFirmar, sifenConfig);
+        Document firmadoDesdeXml = parse(firmado);
+
+        assertEquals(text(firmadoDesdeObjeto, XMLSignature.XMLNS, "DigestValue"), text(firmadoDesdeXml, XMLSignature.XMLNS, "DigestValue"));
+        assertEquals(text(firmadoDesdeObjeto, Constants.SIFEN_NS_URI, "dCarQR"), text(firmadoDesdeXml, Constants.SIFEN_NS_URI, "dCarQR"));
+
+        ValidezFirmaDigital validez = Sifen.validarFirmaDE(firmado.getBytes(StandardCharsets.UTF_8));
+        assertTrue(validez.getMotivoInvalidez(), validez.isValido());
+    }
+
+    @Test
+    public void testFirmaReemplazaLaAnterior() throws Exception {
+        String firmado = Sifen.firmarDEDesdeXml(rDESinFirmar, sifenConfig);
+        String refirmado = Sifen.firmarDEDesdeXml(firmado.getBytes(StandardCharsets.UTF_8), sifenConfig);
+
+        Document document = parse(refirmado);
+        assertEquals(1, document.getElementsByTagNameNS(XMLSignature.XMLNS, "Signature").getLength());
+        assertEquals(1, document.getElementsByTagNameNS(Constants.SIFEN_NS_URI, "gCamFuFD").getLength());
+        assertTrue(Sifen.validarFirmaDE(refirmado.getBytes(StandardCharsets.UTF_8)).isValido());
+    }
+
+    @Test
+    public void testXmlSinDE() {
+        try {
+            Sifen.firmarDEDesdeXml(("<rDE xmlns=\"" + Constants.SIFEN_NS_URI + "\"><dVerFor>150</dVerFor></rDE>")
+                    .getBytes(StandardCharsets.UTF_8), sifenConfig);
+            fail("Se esperaba un error por la falta del DE");
+        } catch (SifenException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("'DE'"));
+        }
+    }
+
+    private static Document parse(String xml) throws Exception {
+        return DocumentBuilderPool.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String text(Document document, String namespace, String localName) {
+        return document.getElementsByTagNameNS(namespace, localName).item(0).getTextContent();
+    }
+}
@@ -0,0 +1,259 @@
+package com.roshka.sifen.test.soap;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaDE;
+import com.roshka.sifen.internal.SOAPResponse;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.util.StaxUtil;
+import com.roshka.sifen.test.http.LocalHttpsServer;
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPConstants;
+import javax.xml.soap.SOAPMessage;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SoapResponseParserTests {
+    private static final String SOAP_1_1_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String SOAP_1_2_NS = "http://www.w3.org/2003/05/soap-envelope";
+
+    private static final String CONSULTA_DE = "<env:Envelope xmlns:env=\"" + SOAP_1_2_NS + "\">\n" +
+            "  <env:Header/>\n" +
+            "  <env:Body>\n" +
+            "    <ns2:rEnviConsDeResponse xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">\n" +
+            "      <ns2:dFecProc>2022-05-04T10:43:09-04:00</ns2:dFecProc>\n" +
+            "      <ns2:dCodRes>0422</ns2:dCodRes>\n" +
+            "      <ns2:dMsgRes>CDC encontrado</ns2:dMsgRes>\n" +
+            "      <ns2:xContenDE>&lt;?xml version=\"1.0\" encoding=\"UTF-8\"?&gt;&lt;rContDe xmlns=\"http://ekuatia.set.gov.py/sifen/xsd\"&gt;\n" +
+            "        &lt;dProtAut&gt;4513216587&lt;/dProtAut&gt;&lt;xContEv&gt;&lt;rContEv&gt;&lt;dFecProc&gt;2022-05-04T10:50:00-04:00&lt;/dFecProc&gt;&lt;/rContEv&gt;&lt;/xContEv&gt;\n" +
+            "      &lt;/rContDe&gt;</ns2:xContenDE>\n" +
+            "    </ns2:rEnviConsDeResponse>\n" +
+            "  </env:Body>\n" +
+            "</env:Envelope>";
+
+    private static final String CONSULTA_LOTE = "<env:Envelope xmlns:env=\"" + SOAP_1_2_NS + "\">" +
+            "<env:Header/>" +
+            "<env:Body>" +
+            "<ns2:rResEnviConsLoteDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+            "<ns2:dFecProc>2022-05-04T10:43:09-04:00</ns2:dFecProc>" +
+            "<ns2:dCodResLot>0362</ns2:dCodResLot>" +
+            "<ns2:dMsgResLot>Procesamiento de lote {1234} concluido</ns2:dMsgResLot>" +
+            "<ns2:gResProcLote>" +
+            "<ns2:id>01800695631001001000000612021112917595714694</ns2:id>" +
+            "<ns2:dEstRes>Aprobado</ns2:dEstRes>" +
+            "<ns2:dProtAut>4513216587</ns2:dProtAut>" +
+            "<ns2:gResProc><ns2:dCodRes>0260</ns2:dCodRes><ns2:dMsgRes>Autorizaci&#243;n del DE satisfactoria</ns2:dMsgRes></ns2:gResProc>" +
+            "</ns2:gResProcLote>" +
+            "<ns2:gResProcLote>" +
+            "<ns2:id>01800695631001001000000712021112917595714695</ns2:id>" +
+            "<ns2:dEstRes>Rechazado</ns2:dEstRes>" +
+            "<ns2:gResProc><ns2:dCodRes>1000</ns2:dCodRes><ns2:dMsgRes>CDC inv&#225;lido</ns2:dMsgRes></ns2:gResProc>" +
+            "</ns2:gResProcLote>" +
+            "</ns2:rResEnviConsLoteDe>" +
+            "</env:Body>" +
+            "</env:Envelope>";
+
+    @Test
+    public void testSoap12() throws Exception {
+        SOAPResponse soapResponse = read(CONSULTA_LOTE);
+        assertEquals(SOAPConstants.SOAP_1_2_PROTOCOL, soapResponse.getSoapProtocol());
+        assertEquals("rResEnviConsLoteDe", soapResponse.getBodyNode().getLocalName());
+    }
+
+    @Test
+    public void testSoap11() throws Exception {
+        SOAPResponse soapResponse = read("<soap:Envelope xmlns:soap=\"" + SOAP_1_1_NS + "\"><soap:Body>" +
+                "<ns2:rResEnviConsRUC xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"><ns2:dCodRes>0502</ns2:dCodRes></ns2:rResEnviConsRUC>" +
+                "</soap:Body></soap:Envelope>");
+        assertEquals(SOAPConstants.SOAP_1_1_PROTOCOL, soapResponse.getSoapProtocol());
+        assertEquals("rResEnviConsRUC", soapResponse.getBodyNode().getLocalName());
+        assertEquals("0502", soapResponse.getBodyNode().getFirstChild().getTextContent());
+    }
+
+    @Test
+    public void testHeaderSeOmite() throws Exception {
+        // Un Body dentro del Header, o en otro namespace, no es el Body del mensaje
+        SOAPResponse soapResponse = read("<env:Envelope xmlns:env=\"" + SOAP_1_2_NS + "\">" +
+                "<env:Header><h:Traza xmlns:h=\"urn:traza\"><env:Body><h:Falso/></env:Body><h:Id>1</h:Id></h:Traza></env:Header>" +
+                "<x:Body xmlns:x=\"urn:otro\"><x:Falso/></x:Body>" +
+                "<env:Body><ns2:rRetEnviDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"/></env:Body>" +
+                "</env:Envelope>");
+        assertEquals("rRetEnviDe", soapResponse.getBodyNode().getLocalName());
+    }
+
+    @Test
+    public void testBodyVacio() throws Exception {
+        SOAPResponse soapResponse = read("<env:Envelope xmlns:env=\"" + SOAP_1_2_NS + "\"><env:Body/></env:Envelope>");
+        assertEquals(SOAPConstants.SOAP_1_2_PROTOCOL, soapResponse.getSoapProtocol());
+        assertNull(soapResponse.getBodyNode());
+    }
+
+    @Test
+    public void testSinBody() {
+        assertInvalid("<env:Envelope xmlns:env=\"" + SOAP_1_2_NS + "\"><env:Header/></env:Envelope>");
+    }
+
+    @Test
+    public void testNamespaceDesconocido() {
+        assertInvalid("<env:Envelope xmlns:env=\"urn:desconocido\"><env:Body/></env:Envelope>");
+        assertInvalid("<Envelope><Body/></Envelope>");
+    }
+
+    @Test
+    public void testSinEnvelope() {
+        assertInvalid("<html><body>Error</body></html>");
+        assertInvalid("");
+    }
+
+    @Test
+    public void testStaxUtil() throws Exception {
+        XMLStreamReader reader = StaxUtil.createReader(new ByteArrayInputStream(
+                "<a><b><c/>texto</b><d x=\"1\"> <e>  </e> </d></a>".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(StaxUtil.nextChildElement(reader));
+        assertEquals("a", reader.getLocalName());
+        assertTrue(StaxUtil.nextChildElement(reader));
+        assertEquals("b", reader.getLocalName());
+        StaxUtil.skipElement(reader);
+        assertEquals("b", reader.getLocalName());
+        assertTrue(StaxUtil.nextChildElement(reader));
+
+        // Se descartan los espacios entre elementos, pero no el contenido de un elemento sin hijos
+        Element d = StaxUtil.readElement(reader);
+        assertEquals("d", d.getLocalName());
+        assertEquals("1", d.getAttribute("x"));
+        assertEquals(1, d.getChildNodes().getLength());
+        assertEquals("  ", d.getFirstChild().getTextContent());
+        assertFalse(StaxUtil.nextChildElement(reader));
+        assertEquals("a", reader.getLocalName());
+        reader.close();
+    }
+
+    @Test
+    public void testConsultaDEIgualQueSAAJ() throws Exception {
+        assertSameAsBaseline(CONSULTA_DE, "rEnviConsDeResponse");
+    }
+
+    @Test
+    public void testConsultaLoteIgualQueSAAJ() throws Exception {
+        assertSameAsBaseline(CONSULTA_LOTE, "rResEnviConsLoteDe");
+    }
+
+    @Test
+    public void testRespuestaSinGuardarBruta() throws Exception {
+        try (LocalHttpsServer server = new LocalHttpsServer()) {
+            server.respond(200, "application/soap+xml; charset=utf-8", CONSULTA_DE);
+            SifenConfig sifenConfig = new SifenConfig();
+            sifenConfig.setUrlBase(server.getUrlBase());
+            sifenConfig.setUsarCertificadoCliente(false);
+            sifenConfig.setIdCSC("0001");
+            sifenConfig.setCSC("ABCD0000000000000000000000000000");
+            sifenConfig.setGuardarRespuestaBruta(false);
+
+            // La respuesta se procesa directamente desde la conexión, sin conservar el cuerpo
+            RespuestaConsultaDE respuesta = Sifen.consultaDE("01800695631001001000000612021112917595714694", sifenConfig);
+            assertEquals(200, respuesta.getCodigoEstado());
+            assertNull(respuesta.getRespuestaBruta());
+            assertEquals("0422", respuesta.getdCodRes());
+            assertEquals("CDC encontrado", respuesta.getdMsgRes());
+            assertEquals(LocalDateTime.of(2022, 5, 4, 10, 43, 9), respuesta.getdFecProc());
+        }
+    }
+
+    private static SOAPResponse read(String xml) throws XMLStreamException {
+        SOAPResponse soapResponse = new SOAPResponse();
+        SoapHelper.readSoapResponse(stream(xml), soapResponse);
+        return soapResponse;
+    }
+
+    private static void assertInvalid(String xml) {
+        try {
+            read(xml);
+            fail("Se esperaba un error al leer: " + xml);
+        } catch (XMLStreamException ignored) {
+        }
+    }
+
+    /**
+     * Compara el nodo obtenido con StAX con el que se obtenía con SAAJ: se parseaba el mensaje, se desescapaba el XML
+     * completo y se volvía a parsear, para tomar el primer nodo del Body.
+     */
+    private static void assertSameAsBaseline(String xml, String nodeName) throws Exception {
+        SOAPResponse soapResponse = read(xml);
+        soapResponse.setStatus(200);
+        Node actual = ResponseUtil.parseEscapedNode(ResponseUtil.getMainNode(soapResponse, nodeName));
+
+        MessageFactory messageFactory = MessageFactory.newInstance(SOAPConstants.SOAP_1_2_PROTOCOL);
+        SOAPMessage soapMessage = messageFactory.createMessage(null, stream(xml));
+        StringWriter sw = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(soapMessage.getSOAPPart()), new StreamResult(sw));
+        String unescaped = SifenUtil.unescapeXML(sw.toString())
+                .replaceAll("<\\?xml version=\"1.0\" encoding=\"UTF-8\"\\?>", "")
+                .replaceAll(">[\\s\r\n]*<", "><");
+        soapMessage = messageFactory.createMessage(null, stream(unescaped));
+        Node expected = soapMessage.getSOAPBody().getFirstChild();
+
+        assertSameNode(expected, actual);
+    }
+
+    private static void assertSameNode(Node expected, Node actual) {
+        assertEquals(expected.getNodeType(), actual.getNodeType());
+        if (expected.getNodeType() != Node.ELEMENT_NODE) {
+            assertEquals(expected.getNodeValue(), actual.getNodeValue());
+            return;
+        }
+
+        assertEquals(expected.getNamespaceURI(), actual.getNamespaceURI());
+        assertEquals(expected.getLocalName(), actual.getLocalName());
+        assertEquals(attributes(expected), attributes(actual));
+
+        expected.normalize();
+        actual.normalize();
+        Node expectedChild = expected.getFirstChild();
+        Node actualChild = actual.getFirstChild();
+        while (expectedChild != null && actualChild != null) {
+            assertSameNode(expectedChild, actualChild);
+            expectedChild = expectedChild.getNextSibling();
+            actualChild = actualChild.getNextSibling();
+        }
+        assertNull(expectedChild);
+        assertNull(actualChild);
+    }
+
+    private static String attributes(Node node) {
+        StringBuilder sb = new StringBuilder();
+        NamedNodeMap attributes = node.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            if (!"http://www.w3.org/2000/xmlns/".equals(attribute.getNamespaceURI())) {
+                sb.append(attribute.getNamespaceURI()).append(':').append(attribute.getLocalName())
+                        .append('=').append(attribute.getNodeValue()).append(';');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}